@@ -0,0 +1,64 @@
+package com.moa.build;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 컬럼 스키마 → HttpPageSample 모델 / CSV 바인더 / JSON 직렬화기 / 바이너리 컬럼 목록 생성
+ */
+public abstract class GenerateSampleSchemaTask extends DefaultTask {
+
+    @InputFile
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract RegularFileProperty getSchemaFile();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    public void generate() throws IOException {
+        SampleSchema schema = SampleSchema.parse(getSchemaFile().get().getAsFile().toPath());
+        Path out = getOutputDir().get().getAsFile().toPath();
+        clean(out);
+
+        write(out, "com/moa/moadata/model/HttpPageSample.java", SampleSchemaGenerator.model(schema));
+        write(out, "com/moa/moadata/model/HttpPageSampleSerializer.java", SampleSchemaGenerator.serializer(schema));
+        write(out, "com/moa/moadata/reader/HttpPageSampleBinder.java", SampleSchemaGenerator.binder(schema));
+        write(out, "com/moa/moadata/websocket/codec/HttpPageSampleColumns.java", SampleSchemaGenerator.columns(schema));
+
+        getLogger().lifecycle("HttpPageSample 스키마: 필드 {}개 (CSV {}개) 코드 생성",
+                schema.columns().size(), schema.csvColumns().size());
+    }
+
+    private static void write(Path root, String relative, String source) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+    }
+
+    private static void clean(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (!path.equals(root)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
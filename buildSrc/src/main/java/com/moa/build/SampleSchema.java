@@ -0,0 +1,116 @@
+package com.moa.build;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * HttpPageSample 컬럼 스키마 (src/main/schema/http_page_sample.columns)
+ *
+ * <pre>
+ * # 주석
+ * ## 구역 주석 (생성되는 모델에 그대로)
+ * 필드명  타입  CSV헤더(- 이면 CSV에서 읽지 않음)
+ * </pre>
+ */
+public record SampleSchema(List<Column> columns) {
+
+    public enum Type {
+        STRING("String"),
+        INT("Integer"),
+        LONG("Long"),
+        DOUBLE("Double"),
+        TIMESTAMP("LocalDateTime");
+
+        private final String javaType;
+
+        Type(String javaType) {
+            this.javaType = javaType;
+        }
+
+        public String javaType() {
+            return javaType;
+        }
+    }
+
+    /**
+     * @param section 이 컬럼 앞에 붙는 구역 주석 (없으면 null)
+     * @param blankBefore 모델에서 앞에 빈 줄을 둘지
+     */
+    public record Column(String name, Type type, String csvHeader, String section, boolean blankBefore) {
+
+        public boolean fromCsv() {
+            return csvHeader != null;
+        }
+
+        /**
+         * rowKey → ROW_KEY
+         */
+        public String constantName() {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+
+        public String getter() {
+            return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        public String setter() {
+            return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    public List<Column> csvColumns() {
+        return columns.stream().filter(Column::fromCsv).toList();
+    }
+
+    public static SampleSchema parse(Path file) throws IOException {
+        List<Column> columns = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        String section = null;
+        boolean blank = false;
+        int lineNo = 0;
+
+        for (String raw : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNo++;
+            String line = raw.strip();
+            if (line.isEmpty()) {
+                blank = true;
+                continue;
+            }
+            if (line.startsWith("##")) {
+                section = line.substring(2).strip();
+                continue;
+            }
+            if (line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(file.getFileName() + ":" + lineNo + " 형식 오류 (필드명 타입 CSV헤더): " + raw);
+            }
+            if (!names.add(parts[0])) {
+                throw new IllegalArgumentException(file.getFileName() + ":" + lineNo + " 중복 필드: " + parts[0]);
+            }
+            Type type;
+            try {
+                type = Type.valueOf(parts[1]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(file.getFileName() + ":" + lineNo + " 알 수 없는 타입: " + parts[1]);
+            }
+
+            columns.add(new Column(parts[0], type, "-".equals(parts[2]) ? null : parts[2],
+                    section, blank && !columns.isEmpty()));
+            section = null;
+            blank = false;
+        }
+
+        return new SampleSchema(Collections.unmodifiableList(columns));
+    }
+}
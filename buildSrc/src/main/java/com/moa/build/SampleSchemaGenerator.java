@@ -0,0 +1,404 @@
+package com.moa.build;
+
+import com.moa.build.SampleSchema.Column;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스키마 → Java 소스 (모델 / CSV 바인더 / JSON 직렬화기 / 바이너리 컬럼 목록)
+ *
+ * 모든 필드 접근을 펼쳐서 생성하므로 런타임에 리플렉션 / 이름 조회가 없다.
+ */
+public final class SampleSchemaGenerator {
+
+    private static final String HEADER = "// 생성 코드 - 직접 수정하지 말고 src/main/schema/http_page_sample.columns 수정 후 다시 빌드\n";
+
+    private SampleSchemaGenerator() {
+    }
+
+    /**
+     * com.moa.moadata.model.HttpPageSample
+     */
+    public static String model(SampleSchema schema) {
+        StringBuilder out = new StringBuilder(HEADER);
+        out.append("""
+                package com.moa.moadata.model;
+
+                import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+                import lombok.AllArgsConstructor;
+                import lombok.Builder;
+                import lombok.Data;
+                import lombok.NoArgsConstructor;
+
+                import java.time.LocalDateTime;
+
+                @Data
+                @Builder
+                @NoArgsConstructor
+                @AllArgsConstructor
+                @JsonSerialize(using = HttpPageSampleSerializer.class)
+                public class HttpPageSample {
+
+                """);
+        for (Column column : schema.columns()) {
+            if (column.blankBefore()) {
+                out.append('\n');
+            }
+            if (column.section() != null) {
+                out.append("    // ").append(column.section()).append('\n');
+            }
+            out.append("    private ").append(column.type().javaType()).append(' ').append(column.name()).append(";\n");
+        }
+        out.append("""
+
+                    /**
+                     * 필드 복사본 (필드가 모두 불변 값이라 원본과 상태를 공유하지 않음)
+                     */
+                    public HttpPageSample copy() {
+                        HttpPageSample copy = new HttpPageSample();
+                """);
+        for (Column column : schema.columns()) {
+            out.append("        copy.").append(column.name()).append(" = ").append(column.name()).append(";\n");
+        }
+        out.append("        return copy;\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * com.moa.moadata.model.HttpPageSampleSerializer
+     */
+    public static String serializer(SampleSchema schema) {
+        StringBuilder out = new StringBuilder(HEADER);
+        out.append("""
+                package com.moa.moadata.model;
+
+                import com.fasterxml.jackson.core.JsonGenerator;
+                import com.fasterxml.jackson.core.io.SerializedString;
+                import com.fasterxml.jackson.databind.SerializerProvider;
+                import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+                import java.io.IOException;
+
+                /**
+                 * HttpPageSample JSON 직렬화 (필드마다 펼친 코드, 필드명은 미리 인코딩)
+                 *
+                 * 필드 순서 / null 출력은 빈 직렬화와 같고, 날짜는 ObjectMapper에 등록된 직렬화기를 그대로 쓴다.
+                 */
+                public final class HttpPageSampleSerializer extends StdSerializer<HttpPageSample> {
+
+                """);
+        for (Column column : schema.columns()) {
+            out.append("    private static final SerializedString ").append(column.constantName())
+                    .append(" = new SerializedString(\"").append(column.name()).append("\");\n");
+        }
+        out.append("""
+
+                    public HttpPageSampleSerializer() {
+                        super(HttpPageSample.class);
+                    }
+
+                    @Override
+                    public void serialize(HttpPageSample value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                        gen.writeStartObject(value);
+                """);
+        for (Column column : schema.columns()) {
+            out.append("        gen.writeFieldName(").append(column.constantName()).append(");\n");
+            String getter = "value." + column.getter() + "()";
+            switch (column.type()) {
+                case STRING -> out.append("        writeString(gen, ").append(getter).append(");\n");
+                case INT -> out.append("        writeInt(gen, ").append(getter).append(");\n");
+                case LONG -> out.append("        writeLong(gen, ").append(getter).append(");\n");
+                case DOUBLE -> out.append("        writeDouble(gen, ").append(getter).append(");\n");
+                case TIMESTAMP -> out.append("        provider.defaultSerializeValue(").append(getter).append(", gen);\n");
+            }
+        }
+        out.append("""
+                        gen.writeEndObject();
+                    }
+
+                    private static void writeString(JsonGenerator gen, String v) throws IOException {
+                        if (v == null) gen.writeNull(); else gen.writeString(v);
+                    }
+
+                    private static void writeInt(JsonGenerator gen, Integer v) throws IOException {
+                        if (v == null) gen.writeNull(); else gen.writeNumber(v.intValue());
+                    }
+
+                    private static void writeLong(JsonGenerator gen, Long v) throws IOException {
+                        if (v == null) gen.writeNull(); else gen.writeNumber(v.longValue());
+                    }
+
+                    private static void writeDouble(JsonGenerator gen, Double v) throws IOException {
+                        if (v == null) gen.writeNull(); else gen.writeNumber(v.doubleValue());
+                    }
+                }
+                """);
+        return out.toString();
+    }
+
+    /**
+     * com.moa.moadata.reader.HttpPageSampleBinder
+     */
+    public static String binder(SampleSchema schema) {
+        List<Column> csv = schema.csvColumns();
+        StringBuilder out = new StringBuilder(HEADER);
+        out.append("""
+                package com.moa.moadata.reader;
+
+                import com.moa.moadata.model.HttpPageSample;
+
+                import java.util.ArrayList;
+                import java.util.HashMap;
+                import java.util.List;
+                import java.util.Map;
+
+                /**
+                 * CSV 행 → HttpPageSample
+                 *
+                 * 헤더를 한 번 해석해서 필드별 컬럼 위치를 배열로 들고, 행마다 위치로 바로 읽는다.
+                 * (빈 값 / 숫자 변환 실패는 0, 정수 컬럼도 "12.0" 같은 값을 허용)
+                 */
+                public final class HttpPageSampleBinder {
+
+                """);
+        out.append("    /** CSV에서 읽는 필드 수 */\n");
+        out.append("    public static final int FIELD_COUNT = ").append(csv.size()).append(";\n\n");
+        out.append("    private static final String[] HEADERS = {\n");
+        for (int i = 0; i < csv.size(); i++) {
+            out.append("            \"").append(csv.get(i).csvHeader()).append('"')
+                    .append(i < csv.size() - 1 ? ",\n" : "\n");
+        }
+        out.append("""
+                    };
+
+                    private final int[] index;
+
+                    private HttpPageSampleBinder(int[] index) {
+                        this.index = index;
+                    }
+
+                    /**
+                     * CSV 헤더 줄로 컬럼 위치 해석 (헤더에 없는 필드는 빈 값으로 읽힘)
+                     */
+                    public static HttpPageSampleBinder forHeader(String[] headers) {
+                        Map<String, Integer> positions = new HashMap<>();
+                        for (int i = 0; i < headers.length; i++) {
+                            if (headers[i] != null) {
+                                positions.put(headers[i].trim(), i);
+                            }
+                        }
+
+                        int[] index = new int[FIELD_COUNT];
+                        for (int f = 0; f < FIELD_COUNT; f++) {
+                            index[f] = positions.getOrDefault(HEADERS[f], -1);
+                        }
+                        return new HttpPageSampleBinder(index);
+                    }
+
+                    /**
+                     * 헤더에 없는 CSV 컬럼명
+                     */
+                    public List<String> missingColumns() {
+                        List<String> missing = new ArrayList<>();
+                        for (int f = 0; f < FIELD_COUNT; f++) {
+                            if (index[f] < 0) {
+                                missing.add(HEADERS[f]);
+                            }
+                        }
+                        return missing;
+                    }
+
+                    /**
+                     * 한 행 바인딩 (CSV에서 읽지 않는 필드는 null)
+                     */
+                    public HttpPageSample bind(String[] cols) {
+                        int[] index = this.index;
+                        HttpPageSample sample = new HttpPageSample();
+                """);
+        for (int i = 0; i < csv.size(); i++) {
+            Column column = csv.get(i);
+            String read = switch (column.type()) {
+                case STRING -> "raw";
+                case INT -> "toInt";
+                case LONG -> "toLong";
+                case DOUBLE -> "toDouble";
+                case TIMESTAMP -> throw new IllegalArgumentException("TIMESTAMP 컬럼은 CSV에서 읽을 수 없음: " + column.name());
+            };
+            out.append("        sample.").append(column.setter()).append('(').append(read)
+                    .append("(cols, index[").append(i).append("]));\n");
+        }
+        out.append("""
+                        return sample;
+                    }
+
+                    /**
+                     * CSV 헤더 → 필드 위치, 없으면 -1
+                     */
+                    public static int fieldIndex(String header) {
+                        Integer field = FIELD_BY_HEADER.get(header);
+                        return field == null ? -1 : field;
+                    }
+
+                    /**
+                     * 모델 필드명(camelCase) → 필드 위치, CSV에서 읽지 않는 필드면 -1
+                     */
+                    public static int fieldIndexOfName(String name) {
+                        Integer field = FIELD_BY_NAME.get(name);
+                        return field == null ? -1 : field;
+                    }
+
+                    public static String header(int field) {
+                        return HEADERS[field];
+                    }
+
+                    public static String name(int field) {
+                        return NAMES[field];
+                    }
+
+                """);
+
+        out.append("    private static final String[] NAMES = {\n");
+        for (int i = 0; i < csv.size(); i++) {
+            out.append("            \"").append(csv.get(i).name()).append('"')
+                    .append(i < csv.size() - 1 ? ",\n" : "\n");
+        }
+        out.append("""
+                    };
+
+                    private static final Map<String, Integer> FIELD_BY_HEADER = positions(HEADERS);
+                    private static final Map<String, Integer> FIELD_BY_NAME = positions(NAMES);
+
+                    private static Map<String, Integer> positions(String[] keys) {
+                        Map<String, Integer> map = new HashMap<>();
+                        for (int i = 0; i < keys.length; i++) {
+                            map.put(keys[i], i);
+                        }
+                        return map;
+                    }
+
+                    // ============== 컬럼 단위 바인딩 (값을 필드 타입으로 변환) ==============
+
+                """);
+        setter(out, csv, "setLong", "long", Map.of(
+                SampleSchema.Type.INT, "(int) value",
+                SampleSchema.Type.LONG, "value",
+                SampleSchema.Type.DOUBLE, "(double) value",
+                SampleSchema.Type.STRING, "Long.toString(value)"));
+        setter(out, csv, "setDouble", "double", Map.of(
+                SampleSchema.Type.INT, "(int) value",
+                SampleSchema.Type.LONG, "(long) value",
+                SampleSchema.Type.DOUBLE, "value",
+                SampleSchema.Type.STRING, "Double.toString(value)"));
+        setter(out, csv, "setString", "String", Map.of(
+                SampleSchema.Type.INT, "parseInt(value)",
+                SampleSchema.Type.LONG, "parseLong(value)",
+                SampleSchema.Type.DOUBLE, "parseDouble(value)",
+                SampleSchema.Type.STRING, "value"));
+
+        out.append("""
+                    private static String raw(String[] cols, int i) {
+                        if (i < 0 || i >= cols.length) {
+                            return "";
+                        }
+                        String value = cols[i];
+                        return value == null ? "" : value.trim();
+                    }
+
+                    private static Integer toInt(String[] cols, int i) {
+                        return parseInt(raw(cols, i));
+                    }
+
+                    private static Long toLong(String[] cols, int i) {
+                        return parseLong(raw(cols, i));
+                    }
+
+                    private static Double toDouble(String[] cols, int i) {
+                        return parseDouble(raw(cols, i));
+                    }
+
+                    private static int parseInt(String v) {
+                        if (v.isEmpty()) return 0;
+                        try {
+                            return (int) Double.parseDouble(v);
+                        } catch (NumberFormatException e) {
+                            return 0;
+                        }
+                    }
+
+                    private static long parseLong(String v) {
+                        if (v.isEmpty()) return 0L;
+                        try {
+                            return (long) Double.parseDouble(v);
+                        } catch (NumberFormatException e) {
+                            return 0L;
+                        }
+                    }
+
+                    private static double parseDouble(String v) {
+                        if (v.isEmpty()) return 0.0;
+                        try {
+                            return Double.parseDouble(v);
+                        } catch (NumberFormatException e) {
+                            return 0.0;
+                        }
+                    }
+                }
+                """);
+        return out.toString();
+    }
+
+    private static void setter(StringBuilder out, List<Column> csv, String method, String valueType,
+                               Map<SampleSchema.Type, String> conversions) {
+        out.append("    public static void ").append(method).append("(HttpPageSample sample, int field, ")
+                .append(valueType).append(" value) {\n");
+        out.append("        switch (field) {\n");
+        for (int i = 0; i < csv.size(); i++) {
+            Column column = csv.get(i);
+            out.append("            case ").append(i).append(" -> sample.").append(column.setter()).append('(')
+                    .append(conversions.get(column.type())).append(");\n");
+        }
+        out.append("            default -> throw new IllegalArgumentException(\"필드 위치: \" + field);\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+    }
+
+    /**
+     * com.moa.moadata.websocket.codec.HttpPageSampleColumns
+     */
+    public static String columns(SampleSchema schema) {
+        StringBuilder out = new StringBuilder(HEADER);
+        out.append("""
+                package com.moa.moadata.websocket.codec;
+
+                import com.moa.moadata.model.HttpPageSample;
+
+                import java.util.List;
+
+                /**
+                 * 바이너리 프레임 컬럼 목록 (컬럼 번호 = 스키마 순서, getter 직접 참조)
+                 */
+                final class HttpPageSampleColumns {
+
+                    static final List<SampleColumn> ALL = List.of(
+                """);
+        List<Column> columns = schema.columns();
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            out.append("            new SampleColumn(").append(i).append(", \"").append(column.name())
+                    .append("\", ColumnType.").append(column.type().name())
+                    .append(", HttpPageSample::").append(column.getter()).append(')')
+                    .append(i < columns.size() - 1 ? ",\n" : "\n");
+        }
+        out.append("""
+                    );
+
+                    private HttpPageSampleColumns() {
+                    }
+                }
+                """);
+        return out.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.moa.moadata.harness;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 템플릿 CSV 행을 반복해서 대용량 CSV 생성 (row_key만 행마다 다르게)
+ *
+ * 같은 행 수의 파일이 이미 있으면 재사용
+ */
+@Slf4j
+public final class CsvGenerator {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    private CsvGenerator() {
+    }
+
+    public static Path generate(Path template, Path workDir, long rows) throws IOException {
+        Path target = workDir.resolve("http_page_sample-" + rows + ".csv");
+        if (Files.exists(target)) {
+            log.info("📄 기존 CSV 재사용: {}", target);
+            return target;
+        }
+        Files.createDirectories(workDir);
+
+        String header;
+        List<String[]> templateRows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(template, EUC_KR)) {
+            header = reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) templateRows.add(line.split(",", -1));
+            }
+        }
+
+        int rowKeyIndex = List.of(header.split(",", -1)).indexOf("row_key");
+        long startNanos = System.nanoTime();
+        Path temp = workDir.resolve(target.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, EUC_KR)) {
+            writer.write(header);
+            writer.write("\r\n");
+            for (long r = 0; r < rows; r++) {
+                String[] cols = templateRows.get((int) (r % templateRows.size()));
+                for (int c = 0; c < cols.length; c++) {
+                    if (c > 0) writer.write(',');
+                    writer.write(c == rowKeyIndex ? Long.toHexString(r) : cols[c]);
+                }
+                writer.write("\r\n");
+            }
+        }
+        Files.move(temp, target);
+
+        log.info("📄 CSV 생성 완료: {}행, {}MB, {}ms", rows, Files.size(target) >> 20,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return target;
+    }
+}
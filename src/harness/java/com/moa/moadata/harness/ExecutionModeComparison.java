@@ -0,0 +1,50 @@
+package com.moa.moadata.harness;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 실행 모델 비교 (같은 설정으로 하네스를 두 번 실행)
+ *
+ * 느린 백엔드 + 많은 SSE 클라이언트에서 차이가 드러나도록 기본값을 바꿔서 실행한다.
+ * 실행: ./gradlew harnessCompare -Pharness.sse-clients=2000 -Pharness.backend-latency-ms=200
+ */
+@Slf4j
+public class ExecutionModeComparison {
+
+    public static void main(String[] args) throws Exception {
+        HarnessConfig config = HarnessConfig.fromSystemProperties();
+        Path csv = CsvGenerator.generate(config.template(), config.workDir(), config.rows());
+
+        Map<String, Object> platform = ReplayHarness.run(config, csv, false);
+        Map<String, Object> virtual = ReplayHarness.run(config, csv, true);
+
+        log.info("========== 실행 모델 비교 (SSE {}개, 백엔드 지연 {}ms) ==========",
+                config.sseClients(), config.backendLatencyMs());
+        log.info("{}", line("platform", platform));
+        log.info("{}", line("virtual", virtual));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("platform", platform);
+        report.put("virtual", virtual);
+        ReplayHarness.writeReport(config.workDir().resolve("report-execution-modes.json"), report);
+        System.exit(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String line(String label, Map<String, Object> report) {
+        Map<String, Object> backend = (Map<String, Object>) report.get("backend");
+        Map<String, Object> backendLatency = (Map<String, Object>) backend.get("endToEndMs");
+        Map<String, Object> sse = (Map<String, Object>) report.get("sse");
+        Map<String, Object> sseLatency = (Map<String, Object>) sse.get("endToEndMs");
+        Map<String, Object> runtime = (Map<String, Object>) report.get("runtime");
+
+        return String.format("%-8s | 백엔드 %,10.0f행/s p99 %8.1fms | SSE 연결 %5s개 p99 %8.1fms | 플랫폼 스레드 최대 %5s | 힙 최대 %,6sMB",
+                label, (double) backend.get("rowsPerSec"), (double) backendLatency.get("p99"),
+                sse.get("connected"), (double) sseLatency.get("p99"),
+                runtime.get("platformThreadsPeak"), runtime.get("heapMaxUsedMb"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.moa.moadata.harness;
+
+import java.nio.file.Path;
+
+/**
+ * 하네스 설정 (시스템 프로퍼티 harness.*, gradle -Pharness.xxx=... 로 전달)
+ */
+public record HarnessConfig(
+        long rows,
+        int sseClients,
+        int batchSize,
+        long sendIntervalMs,
+        int warmupSeconds,
+        int durationSeconds,
+        long backendLatencyMs,
+        long backendJitterMs,
+        double backendErrorRate,
+        Path workDir,
+        Path template
+) {
+
+    public static HarnessConfig fromSystemProperties() {
+        return new HarnessConfig(
+                Long.getLong("harness.rows", 2_000_000L),
+                Integer.getInteger("harness.sse-clients", 50),
+                Integer.getInteger("harness.batch-size", 2_000),
+                Long.getLong("harness.send-interval-ms", 100L),
+                Integer.getInteger("harness.warmup-seconds", 15),
+                Integer.getInteger("harness.duration-seconds", 60),
+                Long.getLong("harness.backend-latency-ms", 5L),
+                Long.getLong("harness.backend-jitter-ms", 10L),
+                Double.parseDouble(System.getProperty("harness.backend-error-rate", "0.0")),
+                Path.of(System.getProperty("harness.work-dir", "build/harness")),
+                Path.of(System.getProperty("harness.template", "src/jmh/resources/fixtures/http_page_sample.csv"))
+        );
+    }
+
+    /**
+     * 초당 공급 행 수 (스케줄러가 밀리지 않는다고 가정한 상한)
+     */
+    public double offeredRowsPerSecond() {
+        return batchSize * 1000.0 / sendIntervalMs;
+    }
+}
@@ -0,0 +1,216 @@
+package com.moa.moadata.harness;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moa.moadata.MoaDataApplication;
+import com.moa.moadata.reader.DatasetLoadState;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.scheduler.DataSenderScheduler;
+import com.moa.moadata.stats.sketch.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종단 처리량 하네스 (오프라인, 단일 머신)
+ *
+ * 생성 CSV → 파일 기반 S3 → 애플리케이션 → 백엔드 스텁 / 합성 SSE 클라이언트
+ * 워밍업 이후 측정 구간의 지속 처리량, 종단 지연 p50/p99, 힙/GC를 보고한다.
+ *
+ * 실행: ./gradlew harness -Pharness.rows=2000000 -Pharness.sse-clients=100
+ */
+@Slf4j
+public class ReplayHarness {
+
+    static final String BUCKET = "harness-bucket";
+
+    public static void main(String[] args) throws Exception {
+        HarnessConfig config = HarnessConfig.fromSystemProperties();
+        boolean virtualThreads = Boolean.getBoolean("harness.virtual-threads");
+        log.info("🧪 하네스 설정: {} (가상 스레드: {})", config, virtualThreads);
+
+        Path csv = CsvGenerator.generate(config.template(), config.workDir(), config.rows());
+        Map<String, Object> report = run(config, csv, virtualThreads);
+        writeReport(config.workDir().resolve("report.json"), report);
+        System.exit(0);
+    }
+
+    /**
+     * 스텁 서버 + 애플리케이션을 띄워 워밍업 후 측정하고 종료
+     */
+    static Map<String, Object> run(HarnessConfig config, Path csv, boolean virtualThreads) throws Exception {
+        StubServer stub = new StubServer(BUCKET, csv, config);
+        stub.start();
+        String stubUrl = "http://127.0.0.1:" + stub.getPort();
+
+        ConfigurableApplicationContext context = startApplication(config, csv, stubUrl, virtualThreads);
+        RuntimeSampler sampler = new RuntimeSampler();
+        List<SyntheticSseClient> clients = new ArrayList<>();
+        try {
+            S3DataReader reader = context.getBean(S3DataReader.class);
+            // 데이터셋은 백그라운드 로딩 → 측정 전에 전부 읽을 때까지 대기
+            while (reader.getLoadProgress().getState() == DatasetLoadState.LOADING) {
+                Thread.sleep(50);
+            }
+            if (reader.getLoadProgress().getState() == DatasetLoadState.FAILED) {
+                throw new IllegalStateException("데이터셋 로딩 실패: " + reader.getLoadProgress().snapshot());
+            }
+            log.info("📦 로딩 완료: {}행 (힙 {}MB)", reader.getDataset().size(), sampler.sample() >> 20);
+
+            int port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+            clients = connectClients(config, URI.create("http://127.0.0.1:" + port + "/api/sse/connect"));
+
+            context.getBean(DataSenderScheduler.class).start();
+
+            log.info("🔥 워밍업 {}초", config.warmupSeconds());
+            Thread.sleep(config.warmupSeconds() * 1000L);
+            stub.reset();
+            clients.forEach(SyntheticSseClient::reset);
+            sampler.reset();
+
+            log.info("⏱️ 측정 {}초", config.durationSeconds());
+            long startNanos = System.nanoTime();
+            long lastRows = 0;
+            for (int s = 1; s <= config.durationSeconds(); s++) {
+                Thread.sleep(1000);
+                long heap = sampler.sample();
+                long totalRows = stub.getRows();
+                log.info("  [{}s] 백엔드 {}행/s | 힙 {}MB", s, totalRows - lastRows, heap >> 20);
+                lastRows = totalRows;
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+            Map<String, Object> report = report(config, stub, clients, sampler, seconds);
+            report.put("virtualThreads", virtualThreads);
+            return report;
+        } finally {
+            clients.forEach(SyntheticSseClient::stop);
+            context.close();
+            stub.stop();
+        }
+    }
+
+    static ConfigurableApplicationContext startApplication(HarnessConfig config, Path csv, String stubUrl,
+                                                           boolean virtualThreads) {
+        return new SpringApplicationBuilder(MoaDataApplication.class)
+                .properties(applicationProperties(config, csv, stubUrl, virtualThreads))
+                .run();
+    }
+
+    /**
+     * 스텁 서버를 바라보는 애플리케이션 설정 (같은 JVM 실행 / 자식 JVM 인자 공용)
+     */
+    static Map<String, Object> applicationProperties(HarnessConfig config, Path csv, String stubUrl,
+                                                     boolean virtualThreads) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("aws.region", "us-east-1");
+        properties.put("aws.access-key", "harness");
+        properties.put("aws.secret-key", "harness");
+        properties.put("aws.s3-endpoint", stubUrl);
+        properties.put("moa.data.s3-bucket", BUCKET);
+        properties.put("moa.data.s3-key", csv.getFileName().toString());
+        properties.put("moa.data.batch-size", config.batchSize());
+        properties.put("moa.data.send-interval", config.sendIntervalMs());
+        properties.put("moa.data.loop-mode", true);
+        properties.put("moa.data.serialized-templates", Boolean.getBoolean("harness.serialized-templates"));
+        properties.put("moa.backend.url", stubUrl + "/internal");
+        // 배치마다 찍히는 INFO 로그가 측정에 섞이지 않도록
+        properties.put("logging.level.com.moa.moadata", "WARN");
+        properties.put("logging.level.com.moa.moadata.harness", "INFO");
+        return properties;
+    }
+
+    private static List<SyntheticSseClient> connectClients(HarnessConfig config, URI uri) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<SyntheticSseClient> clients = new ArrayList<>();
+        for (int i = 0; i < config.sseClients(); i++) {
+            SyntheticSseClient client = new SyntheticSseClient(httpClient, uri);
+            // 클라이언트 쪽은 가상 스레드 (서버 쪽 플랫폼 스레드 수 측정에 섞이지 않도록)
+            Thread.ofVirtual().name("sse-client-" + i).start(client);
+            clients.add(client);
+        }
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (clients.stream().filter(SyntheticSseClient::isConnected).count() < clients.size()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        log.info("📡 SSE 클라이언트 {}개 연결", clients.stream().filter(SyntheticSseClient::isConnected).count());
+        return clients;
+    }
+
+    static Map<String, Object> report(HarnessConfig config, StubServer stub, List<SyntheticSseClient> clients,
+                                              RuntimeSampler sampler, double seconds) {
+        LatencyHistogram backendLatency = stub.endToEndSnapshot();
+        LatencyHistogram sseLatency = new LatencyHistogram();
+        long sseEvents = 0;
+        long sseBytes = 0;
+        for (SyntheticSseClient client : clients) {
+            client.mergeInto(sseLatency);
+            sseEvents += client.getEvents();
+            sseBytes += client.getBytes();
+        }
+
+        Map<String, Object> backend = new LinkedHashMap<>();
+        backend.put("offeredRowsPerSec", config.offeredRowsPerSecond());
+        backend.put("rowsPerSec", stub.getRows() / seconds);
+        backend.put("requestsPerSec", stub.getRequests() / seconds);
+        backend.put("errors", stub.getErrors());
+        backend.put("mbPerSec", stub.getBytes() / seconds / (1 << 20));
+        backend.put("endToEndMs", latencySummary(backendLatency));
+
+        Map<String, Object> sse = new LinkedHashMap<>();
+        sse.put("clients", clients.size());
+        sse.put("connected", clients.stream().filter(SyntheticSseClient::isConnected).count());
+        sse.put("eventsPerSecPerClient", clients.isEmpty() ? 0.0 : sseEvents / seconds / clients.size());
+        sse.put("mbPerSec", sseBytes / seconds / (1 << 20));
+        sse.put("endToEndMs", latencySummary(sseLatency));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("durationSec", seconds);
+        report.put("backend", backend);
+        report.put("sse", sse);
+        report.put("runtime", sampler.summary(seconds));
+
+        log.info("========== 하네스 결과 ({}초) ==========", String.format("%.1f", seconds));
+        log.info("백엔드 : {}행/s (공급 {}행/s), 에러 {}건, 종단 p50 {}ms / p99 {}ms",
+                String.format("%,.0f", stub.getRows() / seconds), String.format("%,.0f", config.offeredRowsPerSecond()),
+                stub.getErrors(), format(backendLatency.quantile(0.50)), format(backendLatency.quantile(0.99)));
+        log.info("SSE    : 클라이언트 {}개, 클라이언트당 {}이벤트/s, 종단 p50 {}ms / p99 {}ms",
+                clients.size(), String.format("%.2f", (double) sse.get("eventsPerSecPerClient")),
+                format(sseLatency.quantile(0.50)), format(sseLatency.quantile(0.99)));
+        log.info("런타임 : {}", report.get("runtime"));
+        return report;
+    }
+
+    private static Map<String, Object> latencySummary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", histogram.quantile(0.50));
+        summary.put("p99", histogram.quantile(0.99));
+        summary.put("max", histogram.getMax());
+        return summary;
+    }
+
+    private static String format(double ms) {
+        return String.format("%.1f", ms);
+    }
+
+    static void writeReport(Path file, Map<String, Object> report) throws Exception {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.write(file, mapper.writeValueAsBytes(report));
+        log.info("📝 결과 저장: {}", file.toAbsolutePath());
+    }
+}
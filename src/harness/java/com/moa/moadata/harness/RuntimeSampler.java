@@ -0,0 +1,70 @@
+package com.moa.moadata.harness;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 힙 사용량 / GC 횟수·시간 / 플랫폼 스레드 수 샘플링 (측정 구간 시작 대비 증가분)
+ */
+public class RuntimeSampler {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private final Map<String, long[]> gcAtStart = new LinkedHashMap<>();
+    private long heapMaxUsed;
+    private long heapSum;
+    private int samples;
+
+    public synchronized void reset() {
+        gcAtStart.clear();
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcAtStart.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        heapMaxUsed = 0;
+        heapSum = 0;
+        samples = 0;
+        threads.resetPeakThreadCount();
+    }
+
+    /**
+     * 1초마다 호출
+     */
+    public synchronized long sample() {
+        long used = memory.getHeapMemoryUsage().getUsed();
+        heapMaxUsed = Math.max(heapMaxUsed, used);
+        heapSum += used;
+        samples++;
+        return used;
+    }
+
+    public synchronized Map<String, Object> summary(double seconds) {
+        Map<String, Object> gc = new LinkedHashMap<>();
+        long totalPauseMs = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            long[] start = gcAtStart.getOrDefault(collector.getName(), new long[2]);
+            long count = collector.getCollectionCount() - start[0];
+            long timeMs = collector.getCollectionTime() - start[1];
+            totalPauseMs += timeMs;
+            gc.put(collector.getName(), Map.of("count", count, "timeMs", timeMs));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("heapMaxUsedMb", heapMaxUsed >> 20);
+        result.put("heapAvgUsedMb", samples == 0 ? 0 : (heapSum / samples) >> 20);
+        result.put("heapCommittedMb", memory.getHeapMemoryUsage().getCommitted() >> 20);
+        result.put("gcTimeMs", totalPauseMs);
+        result.put("gcTimePercent", seconds == 0 ? 0.0 : totalPauseMs / (seconds * 10.0));
+        result.put("collectors", gc);
+        // 가상 스레드는 포함되지 않음
+        result.put("platformThreads", threads.getThreadCount());
+        result.put("platformThreadsPeak", threads.getPeakThreadCount());
+        return result;
+    }
+}
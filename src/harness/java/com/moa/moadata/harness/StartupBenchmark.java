@@ -0,0 +1,318 @@
+package com.moa.moadata.harness;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 벤치마크 (기본 JVM / AppCDS / CRaC 복원 비교)
+ *
+ * 모드마다 애플리케이션을 자식 JVM으로 띄우고 프로세스 시작 시점부터
+ * - 재생 시작 요청 수락까지 (POST /scenario/start 200)
+ * - 첫 배치가 백엔드 스텁에 도착할 때까지 (time-to-first-batch)
+ * - 1초 이동 처리량이 측정 구간 최대치의 90%에 닿을 때까지 (time-to-peak-throughput)
+ * 를 잰다.
+ *
+ * 실행: ./gradlew startupBenchmark (-Pharness.crac=true -Pharness.java=/path/to/crac-jdk/bin/java)
+ * 결과: build/harness/report-startup.json
+ */
+@Slf4j
+public class StartupBenchmark {
+
+    private static final long POLL_MS = 20;
+    private static final long SAMPLE_MS = 250;
+    private static final double PEAK_FRACTION = 0.9;
+
+    public static void main(String[] args) throws Exception {
+        HarnessConfig config = HarnessConfig.fromSystemProperties();
+        Path csv = CsvGenerator.generate(config.template(), config.workDir(), config.rows());
+
+        String java = System.getProperty("harness.java",
+                Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String classpath = System.getProperty("harness.app-classpath", System.getProperty("java.class.path"));
+        Path archive = Path.of(System.getProperty("harness.cds-archive", "build/warm-start/app.jsa"));
+        int runs = Integer.getInteger("harness.startup-runs", 3);
+
+        StartupBenchmark benchmark = new StartupBenchmark(config, csv, java, classpath);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("default", benchmark.runMode("default", List.of(), runs));
+
+        if (Files.exists(archive)) {
+            report.put("appcds", benchmark.runMode("appcds",
+                    List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath()), runs));
+        } else {
+            log.warn("⚠️ AppCDS 아카이브 없음 ({}), ./gradlew cdsArchive 후 다시 실행", archive);
+        }
+
+        if (Boolean.getBoolean("harness.crac")) {
+            report.put("crac", benchmark.runCrac(runs));
+        }
+
+        log.info("========== 기동 벤치마크 ({}행, 배치 {}건 / {}ms) ==========",
+                config.rows(), config.batchSize(), config.sendIntervalMs());
+        report.forEach((mode, result) -> {
+            if (result instanceof Map<?, ?> summary) {
+                log.info("{}", line(mode, summary));
+            }
+        });
+        ReplayHarness.writeReport(config.workDir().resolve("report-startup.json"), report);
+        System.exit(0);
+    }
+
+    private final HarnessConfig config;
+    private final Path csv;
+    private final String java;
+    private final String classpath;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    StartupBenchmark(HarnessConfig config, Path csv, String java, String classpath) {
+        this.config = config;
+        this.csv = csv;
+        this.java = java;
+        this.classpath = classpath;
+    }
+
+    /**
+     * 같은 JVM 옵션으로 여러 번 기동해서 각 실행 결과 + 중앙값
+     */
+    private Map<String, Object> runMode(String mode, List<String> jvmArgs, int runs) throws Exception {
+        List<StartupResult> results = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            StubServer stub = new StubServer(ReplayHarness.BUCKET, csv, config);
+            stub.start();
+            try {
+                int port = freePort();
+                List<String> command = command(jvmArgs, stub, port, false);
+                results.add(measure(mode, command, stub, port, i));
+            } finally {
+                stub.stop();
+            }
+        }
+        return summarize(results);
+    }
+
+    /**
+     * CRaC: 첫 실행은 데이터셋 로딩 후 체크포인트를 찍고 종료, 이후 매번 같은 이미지에서 복원
+     */
+    private Map<String, Object> runCrac(int runs) throws Exception {
+        Path image = config.workDir().resolve("crac-image");
+        deleteRecursively(image);
+        Files.createDirectories(image);
+
+        StubServer stub = new StubServer(ReplayHarness.BUCKET, csv, config);
+        stub.start();
+        try {
+            // 복원된 프로세스는 체크포인트 때의 설정(서버 포트 / 스텁 주소)을 그대로 씀
+            int port = freePort();
+            List<String> checkpoint = command(List.of("-XX:CRaCCheckpointTo=" + image.toAbsolutePath()), stub, port, true);
+            log.info("📸 CRaC 체크포인트 실행");
+            Process process = start(checkpoint, "crac-checkpoint");
+            if (!process.waitFor(10, TimeUnit.MINUTES) || isEmpty(image)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("CRaC 체크포인트 실패 (로그: startup-crac-checkpoint.log)");
+            }
+
+            List<String> restore = List.of(java, "-XX:CRaCRestoreFrom=" + image.toAbsolutePath());
+            List<StartupResult> results = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                stub.reset();
+                results.add(measure("crac", restore, stub, port, i));
+            }
+            return summarize(results);
+        } finally {
+            stub.stop();
+        }
+    }
+
+    private List<String> command(List<String> jvmArgs, StubServer stub, int port, boolean checkpoint) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-Xmx" + System.getProperty("harness.child-heap", "4g"));
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add("com.moa.moadata.MoaDataApplication");
+
+        Map<String, Object> properties = ReplayHarness.applicationProperties(
+                config, csv, "http://127.0.0.1:" + stub.getPort(), false);
+        properties.put("server.port", port);
+        properties.put("moa.warm-start.checkpoint", checkpoint);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+        return command;
+    }
+
+    private StartupResult measure(String mode, List<String> command, StubServer stub, int port, int run)
+            throws Exception {
+        long startNanos = System.nanoTime();
+        Process process = start(command, mode + "-" + run);
+        try {
+            long acceptedNanos = startScenario(port, process);
+
+            long firstBatchNanos = -1;
+            while (firstBatchNanos < 0) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " 프로세스 종료 (exit " + process.exitValue() + ")");
+                }
+                if (stub.getRows() > 0) {
+                    firstBatchNanos = System.nanoTime();
+                } else {
+                    Thread.sleep(POLL_MS);
+                }
+            }
+
+            // 처리량 샘플 (프로세스 시작 기준 시각, 누적 행 수)
+            int samples = (int) (config.durationSeconds() * 1000L / SAMPLE_MS);
+            long[] atNanos = new long[samples];
+            long[] rows = new long[samples];
+            for (int i = 0; i < samples; i++) {
+                Thread.sleep(SAMPLE_MS);
+                atNanos[i] = System.nanoTime() - startNanos;
+                rows[i] = stub.getRows();
+            }
+
+            StartupResult result = StartupResult.of(
+                    (acceptedNanos - startNanos) / 1e6, (firstBatchNanos - startNanos) / 1e6, atNanos, rows);
+            log.info("  [{} #{}] {}", mode, run + 1, result);
+            return result;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * HTTP 포트가 열릴 때까지 재생 시작 요청 반복
+     */
+    private long startScenario(int port, Process process) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/scenario/start"))
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션 프로세스 종료 (exit " + process.exitValue() + ")");
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(POLL_MS);
+        }
+        throw new IllegalStateException("재생 시작 요청이 5분 안에 수락되지 않음");
+    }
+
+    private Process start(List<String> command, String label) throws Exception {
+        Path logFile = config.workDir().resolve("startup-" + label + ".log");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private static Map<String, Object> summarize(List<StartupResult> results) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runs", results);
+        summary.put("startAcceptedMs", median(results.stream().mapToDouble(StartupResult::startAcceptedMs).toArray()));
+        summary.put("firstBatchMs", median(results.stream().mapToDouble(StartupResult::firstBatchMs).toArray()));
+        summary.put("peakThroughputMs", median(results.stream().mapToDouble(StartupResult::peakThroughputMs).toArray()));
+        summary.put("peakRowsPerSec", median(results.stream().mapToDouble(StartupResult::peakRowsPerSec).toArray()));
+        return summary;
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static String line(String mode, Map<?, ?> summary) {
+        return String.format("%-8s | 시작 수락 %,8.0fms | 첫 배치 %,8.0fms | 최대 처리량 도달 %,8.0fms (%,.0f행/s)",
+                mode, (double) summary.get("startAcceptedMs"), (double) summary.get("firstBatchMs"),
+                (double) summary.get("peakThroughputMs"), (double) summary.get("peakRowsPerSec"));
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws Exception {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * 실행 1회 결과 (시각은 모두 프로세스 시작 기준 ms)
+     */
+    record StartupResult(double startAcceptedMs, double firstBatchMs, double peakThroughputMs, double peakRowsPerSec) {
+
+        /**
+         * 1초 이동 처리량의 최대치와, 그 90%에 처음 닿은 시각
+         */
+        static StartupResult of(double startAcceptedMs, double firstBatchMs, long[] atNanos, long[] rows) {
+            int window = (int) (1000 / SAMPLE_MS);
+            double[] rates = new double[rows.length];
+            double peak = 0;
+            for (int i = window; i < rows.length; i++) {
+                double seconds = (atNanos[i] - atNanos[i - window]) / 1e9;
+                rates[i] = (rows[i] - rows[i - window]) / seconds;
+                peak = Math.max(peak, rates[i]);
+            }
+
+            double peakAtMs = Double.NaN;
+            for (int i = window; i < rows.length; i++) {
+                if (rates[i] >= peak * PEAK_FRACTION) {
+                    peakAtMs = atNanos[i] / 1e6;
+                    break;
+                }
+            }
+            return new StartupResult(startAcceptedMs, firstBatchMs, peakAtMs, peak);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("시작 수락 %,.0fms, 첫 배치 %,.0fms, 최대 처리량(%,.0f행/s)의 90%% 도달 %,.0fms",
+                    startAcceptedMs, firstBatchMs, peakRowsPerSec, peakThroughputMs);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.moa.moadata.harness;
+
+import com.moa.moadata.stats.sketch.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 스텁 서버 (JDK HttpServer)
+ *
+ * - GET/HEAD /{bucket}/{key}           : 파일 기반 S3 (path-style)
+ * - POST /internal/page-samples/batch  : 백엔드 스텁 (지연 / 에러 주입, 행 수 / 종단 지연 집계)
+ */
+@Slf4j
+public class StubServer {
+
+    private static final byte[] ROW_MARKER = "\"rowKey\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CREATED_AT_MARKER = "\"createdAt\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    // 스텁 처리는 가상 스레드 (애플리케이션 쪽 플랫폼 스레드 수 측정에 섞이지 않도록)
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String bucket;
+    private final Path objectFile;
+    private final HarnessConfig config;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LatencyHistogram endToEndMs = new LatencyHistogram();
+
+    public StubServer(String bucket, Path objectFile, HarnessConfig config) throws IOException {
+        this.bucket = bucket;
+        this.objectFile = objectFile;
+        this.config = config;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/" + bucket + "/", this::handleS3);
+        server.createContext("/internal/page-samples/batch", this::handleBatch);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("🧪 스텁 서버 시작: http://127.0.0.1:{}", getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ============== 파일 기반 S3 ==============
+    private void handleS3(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = exchange.getRequestURI().getPath().substring(bucket.length() + 2);
+            if (!key.equals(objectFile.getFileName().toString())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            long size = Files.size(objectFile);
+            long modified = Files.getLastModifiedTime(objectFile).toMillis();
+            exchange.getResponseHeaders().set("Content-Type", "text/csv");
+            exchange.getResponseHeaders().set("ETag", "\"" + Long.toHexString(size) + "-" + Long.toHexString(modified) + "\"");
+
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(size));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, size);
+            try (InputStream in = Files.newInputStream(objectFile); OutputStream out = exchange.getResponseBody()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    // ============== 백엔드 스텁 ==============
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            LocalDateTime receivedAt = LocalDateTime.now();
+
+            long delay = config.backendLatencyMs()
+                    + (config.backendJitterMs() > 0 ? ThreadLocalRandom.current().nextLong(config.backendJitterMs() + 1) : 0);
+            if (delay > 0) {
+                sleep(delay);
+            }
+
+            requests.increment();
+            if (ThreadLocalRandom.current().nextDouble() < config.backendErrorRate()) {
+                errors.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            rows.add(count(body, ROW_MARKER));
+            bytes.add(body.length);
+            LocalDateTime createdAt = firstCreatedAt(body);
+            if (createdAt != null) {
+                double ms = Duration.between(createdAt, receivedAt).toNanos() / 1_000_000.0;
+                synchronized (endToEndMs) {
+                    endToEndMs.record(Math.max(ms, 0.0));
+                }
+            }
+            exchange.sendResponseHeaders(200, -1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static int count(byte[] body, byte[] marker) {
+        int count = 0;
+        for (int i = indexOf(body, marker, 0); i >= 0; i = indexOf(body, marker, i + marker.length)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 배치 첫 행의 createdAt (배치 안의 행은 같은 시점에 생성됨)
+     */
+    static LocalDateTime firstCreatedAt(byte[] body) {
+        int start = indexOf(body, CREATED_AT_MARKER, 0);
+        if (start < 0) {
+            return null;
+        }
+        start += CREATED_AT_MARKER.length;
+        int end = start;
+        while (end < body.length && body[end] != '"') end++;
+        try {
+            return LocalDateTime.parse(new String(body, start, end - start, StandardCharsets.US_ASCII));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static int indexOf(byte[] data, byte[] marker, int from) {
+        outer:
+        for (int i = from; i <= data.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (data[i + j] != marker[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 워밍업 이후 측정 구간만 집계하도록 초기화
+     */
+    public void reset() {
+        requests.reset();
+        errors.reset();
+        rows.reset();
+        bytes.reset();
+        synchronized (endToEndMs) {
+            endToEndMs.reset();
+        }
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public LatencyHistogram endToEndSnapshot() {
+        synchronized (endToEndMs) {
+            return endToEndMs.copy();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.moa.moadata.harness;
+
+import com.moa.moadata.stats.sketch.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 합성 SSE 클라이언트 (batch-data 이벤트 수 / 수신 바이트 / createdAt 기준 종단 지연)
+ */
+public class SyntheticSseClient implements Runnable {
+
+    private static final String CREATED_AT_MARKER = "\"createdAt\":\"";
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final LatencyHistogram endToEndMs = new LatencyHistogram();
+
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    private long events;
+    private long bytes;
+
+    public SyntheticSseClient(HttpClient httpClient, URI uri) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+    }
+
+    @Override
+    public void run() {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            connected = true;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String eventName = null;
+                String line;
+                while (running && (line = reader.readLine()) != null) {
+                    synchronized (this) {
+                        bytes += line.length() + 1;
+                    }
+                    if (line.isEmpty()) {
+                        eventName = null;
+                    } else if (line.startsWith("event:")) {
+                        eventName = line.substring(6).trim();
+                    } else if (line.startsWith("data:") && "batch-data".equals(eventName)) {
+                        onBatch(line);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 하네스 종료 시 연결 끊김
+        } finally {
+            connected = false;
+        }
+    }
+
+    private void onBatch(String dataLine) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        int start = dataLine.indexOf(CREATED_AT_MARKER);
+        synchronized (this) {
+            events++;
+            if (start < 0) {
+                return;
+            }
+            start += CREATED_AT_MARKER.length();
+            int end = dataLine.indexOf('"', start);
+            try {
+                LocalDateTime createdAt = LocalDateTime.parse(dataLine.substring(start, end));
+                endToEndMs.record(Math.max(Duration.between(createdAt, receivedAt).toNanos() / 1_000_000.0, 0.0));
+            } catch (DateTimeParseException | IndexOutOfBoundsException ignored) {
+                // 잘린 데이터는 지연 집계에서 제외
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public synchronized void reset() {
+        events = 0;
+        bytes = 0;
+        endToEndMs.reset();
+    }
+
+    public synchronized long getEvents() {
+        return events;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized void mergeInto(LatencyHistogram target) {
+        target.merge(endToEndMs);
+    }
+}
@@ -0,0 +1,50 @@
+package com.moa.moadata.harness;
+
+import com.moa.moadata.reader.DatasetLoadState;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.scheduler.DataSenderScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * AppCDS 학습 실행 (-XX:ArchiveClassesAtExit 로 실행하면 종료 시 아카이브 생성)
+ *
+ * 기동 → 데이터셋 로딩 → 재생 / 백엔드 전송까지 한 번 돌려서
+ * 실제 재생 경로에서 쓰는 클래스가 모두 아카이브에 들어가게 한다.
+ *
+ * 실행: ./gradlew cdsArchive
+ */
+@Slf4j
+public class WarmStartTraining {
+
+    public static void main(String[] args) throws Exception {
+        HarnessConfig config = HarnessConfig.fromSystemProperties();
+        Path csv = CsvGenerator.generate(config.template(), config.workDir(), config.rows());
+
+        StubServer stub = new StubServer(ReplayHarness.BUCKET, csv, config);
+        stub.start();
+        ConfigurableApplicationContext context = ReplayHarness.startApplication(
+                config, csv, "http://127.0.0.1:" + stub.getPort(), false);
+        try {
+            S3DataReader reader = context.getBean(S3DataReader.class);
+            while (reader.getLoadProgress().getState() == DatasetLoadState.LOADING) {
+                Thread.sleep(50);
+            }
+            if (reader.getLoadProgress().getState() == DatasetLoadState.FAILED) {
+                throw new IllegalStateException("데이터셋 로딩 실패: " + reader.getLoadProgress().snapshot());
+            }
+
+            context.getBean(DataSenderScheduler.class).start();
+            log.info("🎓 AppCDS 학습 실행 {}초", config.warmupSeconds());
+            Thread.sleep(config.warmupSeconds() * 1000L);
+            log.info("🎓 학습 종료: 백엔드 {}행 수신", stub.getRows());
+        } finally {
+            context.close();
+            stub.stop();
+        }
+        // 정상 종료해야 ArchiveClassesAtExit 아카이브가 기록됨
+        System.exit(0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.moa.moadata.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.CsvFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 백엔드 전송 경로: Jackson 직렬화 단독 / sendBatch 전체 (네트워크 대신 즉시 200 응답)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int batchSize;
+
+    private ObjectMapper objectMapper;
+    private MoaApiClient moaApiClient;
+    private List<HttpPageSample> batch;
+
+    @Setup
+    public void setUp() {
+        // 애플리케이션과 같은 설정 (JavaTimeModule 등)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        batch = CsvFixture.samples(batchSize);
+
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+            return request;
+        });
+        moaApiClient = new MoaApiClient(restTemplate, objectMapper,
+                new ReplayMetrics(new SimpleMeterRegistry()), "http://localhost:8080");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public void sendBatch() {
+        moaApiClient.sendBatch(batch);
+    }
+}
@@ -0,0 +1,99 @@
+package com.moa.moadata.reader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.metrics.ReplayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tick 하나의 배치 조립 + 백엔드 전송 (Jackson 경로 vs 풀 버퍼 템플릿 경로)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=BatchAssembly -PjmhProfilers=gc
+ * 행당 할당 = gc.alloc.rate.norm / batchSize
+ * (요청 본문은 버리는 스트림이라 목 요청 객체 자체의 할당은 요청당 고정 비용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchAssemblyBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private S3DataReader jacksonReader;
+    private S3DataReader templateReader;
+    private MoaApiClient moaApiClient;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReplayMetrics metrics = new ReplayMetrics(new SimpleMeterRegistry());
+
+        jacksonReader = new S3DataReader(metrics, objectMapper);
+        jacksonReader.loadSamples(CsvFixture.samples(ROWS), true, false);
+
+        templateReader = new S3DataReader(metrics, objectMapper);
+        templateReader.loadSamples(CsvFixture.samples(ROWS), true, true);
+        for (int i = 0; i < ROWS; i += batchSize) {
+            templateReader.readNextChunk(batchSize, false).json().release();
+        }
+
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> new DiscardingRequest(method, uri));
+        moaApiClient = new MoaApiClient(restTemplate, objectMapper, metrics, "http://localhost:8080");
+    }
+
+    @Benchmark
+    public void jackson() {
+        moaApiClient.sendBatch(jacksonReader.readNextChunk(batchSize).samples());
+    }
+
+    @Benchmark
+    public void pooledTemplate() {
+        // WebSocket 구독자가 없는 tick 과 같은 경로 (행 객체는 공유 행 그대로)
+        ReplayChunk chunk = templateReader.readNextChunk(batchSize, false);
+        PooledBuffer json = chunk.json();
+        try {
+            moaApiClient.sendBatchJson(List.of(json), chunk.samples().size());
+        } finally {
+            json.release();
+        }
+    }
+
+    /**
+     * 본문을 모으지 않는 목 요청 (MockClientHttpRequest는 본문을 ByteArrayOutputStream에 쌓음)
+     */
+    private static class DiscardingRequest extends MockClientHttpRequest {
+
+        DiscardingRequest(HttpMethod method, URI uri) {
+            super(method, uri);
+            setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+    }
+}
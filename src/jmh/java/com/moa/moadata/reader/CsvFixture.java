@@ -0,0 +1,92 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공용 CSV 픽스처 (fixtures/http_page_sample.csv, EUC-KR, 실제 S3 파일과 같은 컬럼)
+ */
+public final class CsvFixture {
+
+    private static final String RESOURCE = "/fixtures/http_page_sample.csv";
+
+    private CsvFixture() {
+    }
+
+    /**
+     * 픽스처 원본 바이트
+     */
+    public static byte[] bytes() {
+        try (InputStream in = CsvFixture.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("픽스처 없음: " + RESOURCE);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 헤더를 제외한 데이터 행
+     */
+    public static List<String> dataLines() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(bytes()), "EUC-KR"))) {
+            List<String> lines = new ArrayList<>();
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) lines.add(line);
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 픽스처 헤더로 만든 바인더
+     */
+    public static HttpPageSampleBinder binder() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(bytes()), "EUC-KR"))) {
+            return HttpPageSampleBinder.forHeader(reader.readLine().split(",", -1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 리더 (S3 연결 없음)
+     */
+    public static S3DataReader newReader() {
+        return new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()),
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    /**
+     * 픽스처 행을 반복해서 count 건 생성
+     */
+    public static List<HttpPageSample> samples(int count) {
+        S3DataReader reader = newReader();
+        HttpPageSampleBinder binder = binder();
+        List<String> lines = dataLines();
+        List<HttpPageSample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            samples.add(reader.parseLine(lines.get(i % lines.size()), binder));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,52 @@
+package com.moa.moadata.reader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV 행 파싱 처리량 (split + 헤더 조회 + 숫자 파싱 + 빌더)
+ *
+ * parseLine 점수는 행/초, readCsv 점수는 픽스처 전체 파싱 횟수/초
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParseRowBenchmark {
+
+    private S3DataReader reader;
+    private HttpPageSampleBinder binder;
+    private List<String> lines;
+    private byte[] csv;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        reader = CsvFixture.newReader();
+        binder = CsvFixture.binder();
+        lines = CsvFixture.dataLines();
+        csv = CsvFixture.bytes();
+    }
+
+    @Benchmark
+    public Object parseLine() {
+        String line = lines.get(index);
+        index = (index + 1) % lines.size();
+        return reader.parseLine(line, binder);
+    }
+
+    @Benchmark
+    public void readCsv(Blackhole blackhole) throws IOException {
+        blackhole.consume(reader.readCsv(new ByteArrayInputStream(csv)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.moa.moadata.reader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * readNextBatch 처리량 (배치 구성 + rowKey/타임스탬프 갱신)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReadNextBatchBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int batchSize;
+
+    private S3DataReader reader;
+
+    @Setup
+    public void setUp() {
+        reader = CsvFixture.newReader();
+        reader.loadSamples(CsvFixture.samples(20_000), true);
+    }
+
+    @Benchmark
+    public Object readNextBatch() {
+        return reader.readNextBatch(batchSize);
+    }
+}
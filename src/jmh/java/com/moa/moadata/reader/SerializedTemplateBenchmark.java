@@ -0,0 +1,66 @@
+package com.moa.moadata.reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.metrics.ReplayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 루프 모드 배치 직렬화: 매번 Jackson vs 행 템플릿 스플라이스
+ *
+ * 두 경우 모두 readNextBatch 와 같은 필드 갱신을 포함 (템플릿은 첫 바퀴를 셋업에서 미리 돌림)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializedTemplateBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private ObjectMapper objectMapper;
+    private S3DataReader jacksonReader;
+    private S3DataReader templateReader;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        jacksonReader = new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()), objectMapper);
+        jacksonReader.loadSamples(CsvFixture.samples(ROWS), true, false);
+
+        templateReader = new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()), objectMapper);
+        templateReader.loadSamples(CsvFixture.samples(ROWS), true, true);
+        for (int i = 0; i < ROWS; i += batchSize) {
+            templateReader.readNextChunk(batchSize, false).json().release();
+        }
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jacksonReader.readNextBatch(batchSize));
+    }
+
+    @Benchmark
+    public int template() {
+        // WebSocket 구독자가 없는 tick 과 같은 경로 (행 객체는 공유 행 그대로)
+        PooledBuffer json = templateReader.readNextChunk(batchSize, false).json();
+        int length = json.length();
+        json.release();
+        return length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.moa.moadata.sse.service;
+
+import com.moa.moadata.config.ReplayExecutors;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.CsvFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * sendBatchData 팬아웃 (1회 인코딩 + 클라이언트 N개 큐잉, 쓰기는 구독자별 writer)
+ *
+ * 목 emitter는 소켓 대신 이벤트를 빌드해서 길이만 센다
+ * 측정은 모든 writer가 이번 배치를 다 쓸 때까지 (platform / virtual 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SseFanOutBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int clients;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ReplayExecutors replayExecutors;
+    private SseEmitterService sseEmitterService;
+    private List<HttpPageSample> batch;
+    private final AtomicLong written = new AtomicLong();
+    private long expected;
+
+    @Setup
+    public void setUp() {
+        replayExecutors = new ReplayExecutors("virtual".equals(threads), 8, 4);
+        sseEmitterService = new SseEmitterService(
+                Jackson2ObjectMapperBuilder.json().build(),
+                new ReplayMetrics(new SimpleMeterRegistry()),
+                replayExecutors,
+                // 재연결 버퍼는 측정 대상이 아님 (1000행 프레임 1024개를 잡아두면 기본 힙을 넘음)
+                Integer.MAX_VALUE, 16, 15_000, 1_000);
+        for (int i = 0; i < clients; i++) {
+            sseEmitterService.register(new NullSseEmitter(written));
+        }
+        batch = CsvFixture.samples(batchSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        replayExecutors.shutdown();
+    }
+
+    @Benchmark
+    public void sendBatchData() {
+        expected += clients;
+        sseEmitterService.sendBatchData(batch);
+        while (written.get() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    static final class NullSseEmitter extends SseEmitter {
+        private final AtomicLong written;
+        long bytes;
+
+        NullSseEmitter(AtomicLong written) {
+            this.written = written;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                bytes += data instanceof byte[] array ? array.length : data.toString().length();
+            }
+            written.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.moa.moadata.anomaly.controller;
+
+import com.moa.moadata.anomaly.model.AnomalyRule;
+import com.moa.moadata.anomaly.service.AnomalyDetectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실시간 이상 감지 조회 (감지 이벤트 자체는 SSE anomaly)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/anomalies")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnomalyController {
+
+    private final AnomalyDetectionService anomalyDetectionService;
+
+    /**
+     * 경보 중인 키 + 최근 감지 이력
+     * GET /api/anomalies
+     */
+    @GetMapping
+    public Map<String, Object> anomalies() {
+        return anomalyDetectionService.snapshot();
+    }
+
+    /**
+     * 규칙별 키 기준선
+     * GET /api/anomalies/baselines?rule=slow-country
+     */
+    @GetMapping("/baselines")
+    public Map<String, Object> baselines(@RequestParam(defaultValue = "slow-country") String rule) {
+        return anomalyDetectionService.baselines(AnomalyRule.from(rule));
+    }
+
+    /**
+     * 기준선 초기화
+     * DELETE /api/anomalies
+     */
+    @DeleteMapping
+    public Map<String, Object> reset() {
+        anomalyDetectionService.reset();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "reset");
+        response.put("message", "🧹 이상 감지 기준선 초기화 완료");
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package com.moa.moadata.anomaly.model;
+
+/**
+ * SSE anomaly 이벤트 / 최근 감지 이력 항목
+ *
+ * @param state        firing (감지) / resolved (해제)
+ * @param value        감지 시점의 현재 수준 (빠른 EWMA)
+ * @param baseline     기준선 평균
+ * @param source       감지를 일으킨 배치의 출처 (replay / scenario / synthetic)
+ * @param detectedAt   감지 시각 (epoch ms) - 시나리오 발행 시각과 비교해 감지 지연 측정
+ * @param busLatencyMs 배치가 버스에 발행된 뒤 감지까지 걸린 시간
+ */
+public record AnomalyEvent(
+        String rule,
+        String metric,
+        String key,
+        String state,
+        double value,
+        double baseline,
+        double stdDev,
+        double zScore,
+        long samples,
+        String source,
+        long detectedAt,
+        double busLatencyMs) {
+
+    public static final String FIRING = "firing";
+    public static final String RESOLVED = "resolved";
+}
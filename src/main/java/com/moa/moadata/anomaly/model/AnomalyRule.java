@@ -0,0 +1,87 @@
+package com.moa.moadata.anomaly.model;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * 감지 규칙 (키 × 지표), ScenarioService 의 장애 시나리오와 1:1
+ *
+ * key 추출 결과가 null 이면 키 없이 전체 스트림 하나로 본다.
+ * 값 추출 결과가 null 인 행은 건너뛴다.
+ */
+public enum AnomalyRule {
+
+    SLOW_COUNTRY("slow-country", "ts_page", HttpPageSample::getCountryNameReq, HttpPageSample::getTsPage, true, 100),
+    ERROR_SPIKE("error-spike", "5xx_rate", sample -> null, AnomalyRule::serverError, false, 0.02),
+    TCP_ERRORS("tcp-errors", "tcp_error_cnt", sample -> null, AnomalyRule::tcpErrors, false, 0.2),
+    SLOW_BROWSER("slow-browser", "ts_page", HttpPageSample::getUserAgentSoftwareName, HttpPageSample::getTsPage, true, 100);
+
+    private final String key;
+    private final String metric;
+    private final Function<HttpPageSample, String> keyExtractor;
+    private final Function<HttpPageSample, Double> valueExtractor;
+    private final boolean keyed;
+    private final double minStdDev;
+
+    AnomalyRule(String key, String metric,
+                Function<HttpPageSample, String> keyExtractor,
+                Function<HttpPageSample, Double> valueExtractor,
+                boolean keyed, double minStdDev) {
+        this.key = key;
+        this.metric = metric;
+        this.keyExtractor = keyExtractor;
+        this.valueExtractor = valueExtractor;
+        this.keyed = keyed;
+        this.minStdDev = minStdDev;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public boolean isKeyed() {
+        return keyed;
+    }
+
+    /**
+     * 기준선 σ 하한 (지표 단위)
+     */
+    public double getMinStdDev() {
+        return minStdDev;
+    }
+
+    public String extractKey(HttpPageSample sample) {
+        return keyExtractor.apply(sample);
+    }
+
+    public Double extractValue(HttpPageSample sample) {
+        return valueExtractor.apply(sample);
+    }
+
+    public static AnomalyRule from(String key) {
+        for (AnomalyRule rule : values()) {
+            if (rule.key.equalsIgnoreCase(key)) {
+                return rule;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 rule: " + key);
+    }
+
+    private static Double serverError(HttpPageSample sample) {
+        String code = sample.getHttpResCode();
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return code.trim().charAt(0) == '5' ? 1.0 : 0.0;
+    }
+
+    private static Double tcpErrors(HttpPageSample sample) {
+        Integer count = sample.getTcpErrorCnt();
+        return count == null ? null : count.doubleValue();
+    }
+}
@@ -0,0 +1,238 @@
+package com.moa.moadata.anomaly.service;
+
+import com.moa.moadata.anomaly.model.AnomalyEvent;
+import com.moa.moadata.anomaly.model.AnomalyRule;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.sse.service.SseEmitterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재생 스트림 실시간 이상 감지 (규칙 × 키마다 EWMA 관리도)
+ *
+ * - 행당 규칙 수만큼 O(1) 갱신, 키 개수 상한 초과 시 __other__ 로 합산 (상태 고정)
+ * - 감지 / 해제 시 SSE anomaly 이벤트 (감지 시각 포함) + 최근 이력 보관
+ * - 시나리오 주입 시각과 detectedAt 차이로 감지 지연을 잴 수 있음
+ */
+@Slf4j
+@Service
+public class AnomalyDetectionService {
+
+    public static final String ALL_KEY = "__all__";
+    public static final String OTHER_KEY = "__other__";
+    public static final String UNKNOWN_KEY = "__unknown__";
+
+    private static final AnomalyRule[] RULES = AnomalyRule.values();
+
+    private final SseEmitterService sseEmitterService;
+    private final EwmaDetector.Settings settings;
+    private final int maxKeys;
+    private final int historySize;
+
+    private final Map<AnomalyRule, Map<String, EwmaDetector>> detectors = new EnumMap<>(AnomalyRule.class);
+    private final ArrayDeque<AnomalyEvent> history = new ArrayDeque<>();
+
+    public AnomalyDetectionService(
+            SseEmitterService sseEmitterService,
+            @Value("${moa.anomaly.fast-alpha:0.1}") double fastAlpha,
+            @Value("${moa.anomaly.baseline-alpha:0.005}") double baselineAlpha,
+            @Value("${moa.anomaly.threshold:5.0}") double threshold,
+            @Value("${moa.anomaly.clear-threshold:2.5}") double clearThreshold,
+            @Value("${moa.anomaly.clip:3.0}") double clip,
+            @Value("${moa.anomaly.warmup:200}") long warmup,
+            @Value("${moa.anomaly.max-keys:64}") int maxKeys,
+            @Value("${moa.anomaly.history-size:100}") int historySize) {
+        this.sseEmitterService = sseEmitterService;
+        this.settings = new EwmaDetector.Settings(fastAlpha, baselineAlpha, threshold, clearThreshold, clip, warmup);
+        this.maxKeys = maxKeys;
+        this.historySize = historySize;
+
+        for (AnomalyRule rule : RULES) {
+            detectors.put(rule, new HashMap<>());
+        }
+    }
+
+    /**
+     * 배치 반영 (배치당 락 1회, SSE 전송은 락 밖에서)
+     *
+     * @param source           배치 출처 (이벤트에 그대로 실음)
+     * @param publishedAtNanos 버스 발행 시각 (System.nanoTime)
+     */
+    public void record(List<HttpPageSample> samples, String source, long publishedAtNanos) {
+        List<AnomalyEvent> events = null;
+
+        synchronized (this) {
+            for (HttpPageSample sample : samples) {
+                for (AnomalyRule rule : RULES) {
+                    Double value = rule.extractValue(sample);
+                    if (value == null || value.isNaN()) {
+                        continue;
+                    }
+
+                    String key = keyOf(rule, sample);
+                    EwmaDetector detector = detectorOf(rule, key);
+                    EwmaDetector.Transition transition = detector.update(value, settings, rule.getMinStdDev());
+                    if (transition == EwmaDetector.Transition.NONE) {
+                        continue;
+                    }
+
+                    AnomalyEvent event = toEvent(rule, key, detector,
+                            transition == EwmaDetector.Transition.FIRED ? AnomalyEvent.FIRING : AnomalyEvent.RESOLVED,
+                            source, publishedAtNanos);
+                    if (history.size() >= historySize) {
+                        history.pollFirst();
+                    }
+                    history.addLast(event);
+                    if (events == null) {
+                        events = new ArrayList<>();
+                    }
+                    events.add(event);
+                }
+            }
+        }
+
+        if (events != null) {
+            for (AnomalyEvent event : events) {
+                if (AnomalyEvent.FIRING.equals(event.state())) {
+                    log.warn("🚨 이상 감지: {} [{}] {}={} (기준 {}, z={}, 출처 {})",
+                            event.rule(), event.key(), event.metric(), round(event.value()),
+                            round(event.baseline()), round(event.zScore()), event.source());
+                } else {
+                    log.info("✅ 이상 해제: {} [{}]", event.rule(), event.key());
+                }
+                sseEmitterService.sendEvent("anomaly", event);
+            }
+        }
+    }
+
+    private static String keyOf(AnomalyRule rule, HttpPageSample sample) {
+        if (!rule.isKeyed()) {
+            return ALL_KEY;
+        }
+        String key = rule.extractKey(sample);
+        return (key == null || key.isBlank()) ? UNKNOWN_KEY : key;
+    }
+
+    private EwmaDetector detectorOf(AnomalyRule rule, String key) {
+        Map<String, EwmaDetector> byKey = detectors.get(rule);
+        EwmaDetector detector = byKey.get(key);
+        if (detector != null) {
+            return detector;
+        }
+
+        // 키 개수 상한 초과 → __other__ 로 합산 (상태 고정)
+        if (byKey.size() >= maxKeys) {
+            detector = byKey.get(OTHER_KEY);
+            if (detector != null) {
+                return detector;
+            }
+            key = OTHER_KEY;
+        }
+
+        detector = new EwmaDetector();
+        byKey.put(key, detector);
+        return detector;
+    }
+
+    private AnomalyEvent toEvent(AnomalyRule rule, String key, EwmaDetector detector, String state,
+                                 String source, long publishedAtNanos) {
+        return new AnomalyEvent(
+                rule.getKey(),
+                rule.getMetric(),
+                key,
+                state,
+                detector.getLevel(),
+                detector.getMean(),
+                detector.getStdDev(rule.getMinStdDev()),
+                detector.getZScore(),
+                detector.getCount(),
+                source,
+                System.currentTimeMillis(),
+                (System.nanoTime() - publishedAtNanos) / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * 현재 경보 중인 키 + 최근 감지 이력
+     */
+    public synchronized Map<String, Object> snapshot() {
+        List<Map<String, Object>> active = new ArrayList<>();
+        Map<String, Object> keys = new LinkedHashMap<>();
+
+        for (AnomalyRule rule : RULES) {
+            Map<String, EwmaDetector> byKey = detectors.get(rule);
+            keys.put(rule.getKey(), byKey.size());
+            for (Map.Entry<String, EwmaDetector> entry : byKey.entrySet()) {
+                EwmaDetector detector = entry.getValue();
+                if (!detector.isFiring()) {
+                    continue;
+                }
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("rule", rule.getKey());
+                item.put("metric", rule.getMetric());
+                item.put("key", entry.getKey());
+                item.put("value", detector.getLevel());
+                item.put("baseline", detector.getMean());
+                item.put("zScore", detector.getZScore());
+                active.add(item);
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("active", active);
+        response.put("recent", new ArrayList<>(history));
+        response.put("keys", keys);
+        response.put("threshold", settings.threshold());
+        response.put("clearThreshold", settings.clearThreshold());
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+
+    /**
+     * 규칙 하나의 키별 기준선 / 현재 수준
+     */
+    public synchronized Map<String, Object> baselines(AnomalyRule rule) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, EwmaDetector> entry : detectors.get(rule).entrySet()) {
+            EwmaDetector detector = entry.getValue();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("samples", detector.getCount());
+            item.put("baseline", detector.getMean());
+            item.put("stdDev", detector.getStdDev(rule.getMinStdDev()));
+            item.put("value", detector.getLevel());
+            item.put("zScore", detector.getZScore());
+            item.put("firing", detector.isFiring());
+            keys.put(entry.getKey(), item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("rule", rule.getKey());
+        response.put("metric", rule.getMetric());
+        response.put("keys", keys);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+
+    /**
+     * 기준선 / 이력 초기화 (다시 warmup 부터)
+     */
+    public synchronized void reset() {
+        for (Map<String, EwmaDetector> byKey : detectors.values()) {
+            byKey.clear();
+        }
+        history.clear();
+        log.info("🧹 이상 감지 기준선 초기화");
+    }
+}
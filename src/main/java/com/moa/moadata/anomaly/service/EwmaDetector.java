@@ -0,0 +1,116 @@
+package com.moa.moadata.anomaly.service;
+
+/**
+ * 키 하나의 EWMA 관리도 (상승 방향만 감지)
+ *
+ * - 기준선: 느린 EWMA 평균 / 분산 (경보 중에는 학습을 멈춰서 장애가 기준선에 흡수되지 않음)
+ * - 현재 수준: 빠른 EWMA, 기준선 대비 z = (수준 - 평균) / (σ · sqrt(λ / (2 - λ)))
+ * - 입력은 평균 + clip·σ 로 잘라서 (winsorize) 긴 꼬리 값 하나로는 경보가 나지 않게 함
+ * - z >= threshold 면 경보, 경보 중 z < clear-threshold 면 해제 (히스테리시스)
+ *
+ * 행당 O(1), 상태는 double 4개 + 카운터. 스레드 안전하지 않음 - 호출 측에서 동기화한다.
+ */
+final class EwmaDetector {
+
+    enum Transition {
+        NONE, FIRED, RESOLVED
+    }
+
+    /**
+     * 규칙 공통 설정
+     *
+     * @param fastAlpha     현재 수준 EWMA 계수 (클수록 빨리 반응, 잡음에 민감)
+     * @param baselineAlpha 기준선 EWMA 계수
+     * @param threshold     경보 z
+     * @param clearThreshold 해제 z
+     * @param clip          입력을 자르는 기준 (기준선 σ 배수)
+     * @param warmup        경보를 내기 전 최소 행 수
+     */
+    record Settings(double fastAlpha, double baselineAlpha, double threshold, double clearThreshold,
+                    double clip, long warmup) {
+
+        Settings {
+            if (!(fastAlpha > 0 && fastAlpha <= 1) || !(baselineAlpha > 0 && baselineAlpha <= 1)) {
+                throw new IllegalArgumentException("EWMA 계수는 0 초과 1 이하여야 합니다");
+            }
+            if (clearThreshold > threshold) {
+                throw new IllegalArgumentException("clear-threshold는 threshold 이하여야 합니다");
+            }
+        }
+
+        double levelScale() {
+            return Math.sqrt(fastAlpha / (2 - fastAlpha));
+        }
+    }
+
+    private long count;
+    private double mean;
+    private double variance;
+    private double level;
+    private double zScore;
+    private boolean firing;
+
+    /**
+     * 값 하나 반영
+     *
+     * @param minStdDev 기준선 σ 하한 (거의 상수인 지표에서 잡음 하나로 경보가 나지 않게)
+     */
+    Transition update(double value, Settings settings, double minStdDev) {
+        count++;
+        if (count == 1) {
+            mean = value;
+            level = value;
+            return Transition.NONE;
+        }
+
+        double stdDev = getStdDev(minStdDev);
+        double x = Math.min(value, mean + settings.clip() * stdDev);
+
+        level += settings.fastAlpha() * (x - level);
+        zScore = (level - mean) / (stdDev * settings.levelScale());
+
+        if (!firing) {
+            double diff = x - mean;
+            double increment = settings.baselineAlpha() * diff;
+            mean += increment;
+            variance = (1 - settings.baselineAlpha()) * (variance + diff * increment);
+        }
+
+        if (count < settings.warmup()) {
+            return Transition.NONE;
+        }
+        if (!firing && zScore >= settings.threshold()) {
+            firing = true;
+            return Transition.FIRED;
+        }
+        if (firing && zScore < settings.clearThreshold()) {
+            firing = false;
+            return Transition.RESOLVED;
+        }
+        return Transition.NONE;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMean() {
+        return mean;
+    }
+
+    double getStdDev(double minStdDev) {
+        return Math.max(Math.sqrt(variance), minStdDev);
+    }
+
+    double getLevel() {
+        return level;
+    }
+
+    double getZScore() {
+        return zScore;
+    }
+
+    boolean isFiring() {
+        return firing;
+    }
+}
@@ -0,0 +1,54 @@
+package com.moa.moadata.buffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 배치 버퍼 풀
+ *
+ * 비어 있으면 새로 만들고 (풀 크기를 넘는 동시 사용도 허용), 반환 시 여유가 있을 때만 보관한다.
+ * max-retained-bytes 보다 커진 버퍼는 보관하지 않음 (일시적인 큰 배치가 메모리를 계속 잡지 않도록).
+ */
+public class BufferPool {
+
+    private final ArrayBlockingQueue<PooledBuffer> free;
+    private final int initialCapacity;
+    private final int maxRetainedBytes;
+    private final LongAdder allocations = new LongAdder();
+
+    public BufferPool(int poolSize, int initialCapacity, int maxRetainedBytes) {
+        this.free = new ArrayBlockingQueue<>(poolSize);
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * 참조 카운트 1인 빈 버퍼
+     */
+    public PooledBuffer acquire() {
+        PooledBuffer buffer = free.poll();
+        if (buffer == null) {
+            allocations.increment();
+            buffer = new PooledBuffer(this, initialCapacity);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    void recycle(PooledBuffer buffer) {
+        if (buffer.capacity() <= maxRetainedBytes) {
+            free.offer(buffer);
+        }
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    /**
+     * 풀이 비어서 새로 만든 횟수
+     */
+    public long getAllocations() {
+        return allocations.sum();
+    }
+}
@@ -0,0 +1,80 @@
+package com.moa.moadata.buffer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 참조 카운트 버퍼 (마지막 release 시 풀로 반환)
+ *
+ * 전송 대상이 OutputStream(RestTemplate 요청 본문)이라 direct ByteBuffer 대신 힙 배열을 쓴다.
+ */
+public final class PooledBuffer {
+
+    private final BufferPool pool;
+    private final AtomicInteger refCount = new AtomicInteger();
+    private byte[] array;
+    private int length;
+
+    PooledBuffer(BufferPool pool, int capacity) {
+        this.pool = pool;
+        this.array = new byte[capacity];
+    }
+
+    void reset() {
+        length = 0;
+        refCount.set(1);
+    }
+
+    public byte[] array() {
+        return array;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * 용량 확보 (앞쪽 length 바이트 유지), 현재 배열 반환
+     */
+    public byte[] ensureCapacity(int capacity) {
+        if (capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(array.length * 2, capacity));
+        }
+        return array;
+    }
+
+    public PooledBuffer retain() {
+        return retain(1);
+    }
+
+    public PooledBuffer retain(int count) {
+        if (refCount.getAndAdd(count) <= 0) {
+            throw new IllegalStateException("이미 반환된 버퍼");
+        }
+        return this;
+    }
+
+    public void release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining == 0) {
+            pool.recycle(this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("버퍼 release 횟수 초과");
+        }
+    }
+
+    /**
+     * 버퍼 수명과 무관하게 보관해야 할 때 (SSE 재전송 버퍼 등)
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(array, length);
+    }
+}
@@ -0,0 +1,144 @@
+package com.moa.moadata.bus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 소비자 하나를 전용 스레드에서 돌리는 루프
+ *
+ * - 공개된 이벤트를 한 번에 모두 가져와서 처리 후 시퀀스를 한 번만 갱신 (배칭)
+ * - 처리할 게 없으면 park, 생산자가 공개 시 unpark
+ * - 핸들러 예외는 집계만 하고 다음 이벤트로 진행 (다른 소비자에 영향 없음)
+ * - 처리 후 슬롯의 풀 버퍼 참조를 반환
+ */
+@Slf4j
+class ConsumerProcessor implements Runnable {
+
+    private final ReplayEventBus bus;
+    private final ReplayEventHandler handler;
+    private final Sequence sequence = new Sequence();
+    private final long idleParkNanos;
+
+    private final LongAdder processedEvents = new LongAdder();
+    private final LongAdder processedBatches = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long maxBatchSize;
+    private volatile long lastLatencyNanos;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    ConsumerProcessor(ReplayEventBus bus, ReplayEventHandler handler, long idleParkNanos) {
+        this.bus = bus;
+        this.handler = handler;
+        this.idleParkNanos = idleParkNanos;
+    }
+
+    void start(long startSequence) {
+        sequence.set(startSequence);
+        running = true;
+        Thread t = new Thread(this, "bus-" + handler.getName());
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    void halt() {
+        running = false;
+        wake();
+    }
+
+    void join(long timeoutMs) throws InterruptedException {
+        Thread t = thread;
+        if (t != null) {
+            t.join(timeoutMs);
+        }
+    }
+
+    void wake() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    @Override
+    public void run() {
+        // 정지 요청 후에도 이미 공개된 이벤트는 마저 처리
+        while (running || bus.getCursor() > sequence.get()) {
+            long next = sequence.get() + 1;
+            long available = bus.highestPublished(next);
+
+            if (available < next) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, idleParkNanos);
+                continue;
+            }
+
+            for (long seq = next; seq <= available; seq++) {
+                ReplayBatch batch = bus.get(seq);
+                try {
+                    handler.onEvent(batch, seq, seq == available);
+                } catch (Exception e) {
+                    errors.increment();
+                    log.error("❌ 이벤트 버스 소비자 [{}] 처리 실패 (seq={}): {}", handler.getName(), seq, e.getMessage());
+                } finally {
+                    batch.release();
+                }
+                if (seq == available) {
+                    lastLatencyNanos = System.nanoTime() - batch.getPublishedAtNanos();
+                }
+            }
+
+            long count = available - next + 1;
+            sequence.set(available);
+            processedEvents.add(count);
+            processedBatches.increment();
+            if (count > maxBatchSize) {
+                maxBatchSize = count;
+            }
+        }
+    }
+
+    Sequence getSequence() {
+        return sequence;
+    }
+
+    String getName() {
+        return handler.getName();
+    }
+
+    /**
+     * 소비자 지표 (lag = 생산자 커서 - 소비자 시퀀스)
+     */
+    Map<String, Object> snapshot(long cursor) {
+        long events = processedEvents.sum();
+        long batches = processedBatches.sum();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sequence", sequence.get());
+        metrics.put("lag", cursor - sequence.get());
+        metrics.put("processedEvents", events);
+        metrics.put("processedBatches", batches);
+        metrics.put("avgBatchSize", batches == 0 ? 0 : (double) events / batches);
+        metrics.put("maxBatchSize", maxBatchSize);
+        metrics.put("errors", errors.sum());
+        metrics.put("lastLatencyMs", TimeUnit.NANOSECONDS.toMicros(lastLatencyNanos) / 1000.0);
+        return metrics;
+    }
+
+    long getProcessedEvents() {
+        return processedEvents.sum();
+    }
+
+    long getLag(long cursor) {
+        return cursor - sequence.get();
+    }
+}
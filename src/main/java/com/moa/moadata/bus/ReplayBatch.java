@@ -0,0 +1,67 @@
+package com.moa.moadata.bus;
+
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 링 버퍼 슬롯 (미리 할당해서 재사용)
+ *
+ * 생산자가 슬롯을 채운 뒤 공개하고, 모든 소비자가 지나가기 전까지는 덮어쓰지 않는다.
+ * 행 목록도 슬롯이 가진 리스트에 복사해서 재사용하므로, 소비자는 onEvent 밖으로 리스트 자체를 들고 나가면 안 된다.
+ */
+public class ReplayBatch {
+
+    public static final String SOURCE_REPLAY = "replay";
+    public static final String SOURCE_SCENARIO = "scenario";
+    public static final String SOURCE_SYNTHETIC = "synthetic";
+
+    private final ArrayList<HttpPageSample> samples = new ArrayList<>();
+    private PooledBuffer json;
+    private String source;
+    private long publishedAtNanos;
+
+    void set(List<HttpPageSample> samples, PooledBuffer json, String source, long publishedAtNanos) {
+        this.samples.clear();
+        this.samples.ensureCapacity(samples.size());
+        // addAll은 toArray 복사본을 만들어서 인덱스로 복사
+        for (int i = 0, n = samples.size(); i < n; i++) {
+            this.samples.add(samples.get(i));
+        }
+        this.json = json;
+        this.source = source;
+        this.publishedAtNanos = publishedAtNanos;
+    }
+
+    /**
+     * 소비자 하나가 처리를 마쳤을 때 (공개 시 소비자 수만큼 retain 됨)
+     */
+    void release() {
+        if (json != null) {
+            json.release();
+        }
+    }
+
+    public List<HttpPageSample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * 미리 직렬화된 JSON 배열 (행 템플릿 모드에서만, 아니면 null)
+     *
+     * onEvent 이후에도 쓰려면 retain 하고 다 쓴 뒤 release.
+     */
+    public PooledBuffer getJson() {
+        return json;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getPublishedAtNanos() {
+        return publishedAtNanos;
+    }
+}
@@ -0,0 +1,236 @@
+package com.moa.moadata.bus;
+
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.model.HttpPageSample;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프로세스 내부 이벤트 버스 (Disruptor 방식 링 버퍼)
+ *
+ * - 슬롯은 미리 할당해서 재사용, 생산자는 CAS로 시퀀스를 확보 (다중 생산자: 스케줄러 + 시나리오)
+ * - 슬롯별 공개 플래그로 소비자가 락 없이 공개 여부 확인
+ * - 소비자마다 전용 스레드와 자기 시퀀스 → 백엔드가 느리거나 실패해도 SSE는 독립적으로 진행
+ * - 가장 느린 소비자가 한 바퀴 뒤처지면 가득 참 → publish 는 false 반환 (스케줄러는 읽은 위치를 되돌리고 그 tick을 건너뜀)
+ */
+@Slf4j
+@Component
+public class ReplayEventBus implements SmartLifecycle {
+
+    private final ReplayBatch[] slots;
+    private final AtomicIntegerArray published;
+    private final int mask;
+    private final int indexShift;
+    private final long idleParkNanos;
+
+    private final Sequence cursor = new Sequence();
+    private final List<ConsumerProcessor> consumers = new ArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running;
+
+    public ReplayEventBus(
+            List<ReplayEventHandler> handlers,
+            @Value("${moa.bus.ring-size:1024}") int ringSize,
+            @Value("${moa.bus.idle-park-micros:1000}") long idleParkMicros) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("moa.bus.ring-size는 2의 거듭제곱이어야 합니다: " + ringSize);
+        }
+
+        this.slots = new ReplayBatch[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            slots[i] = new ReplayBatch();
+        }
+        this.published = new AtomicIntegerArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            published.set(i, -1);
+        }
+        this.mask = ringSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(ringSize);
+        this.idleParkNanos = TimeUnit.MICROSECONDS.toNanos(idleParkMicros);
+
+        for (ReplayEventHandler handler : handlers) {
+            consumers.add(new ConsumerProcessor(this, handler, idleParkNanos));
+        }
+    }
+
+    // ============== 생산자 ==============
+
+    /**
+     * 배치 공개
+     *
+     * @return 링이 가득 차서 공개하지 못했으면 false
+     */
+    public boolean publish(List<HttpPageSample> samples, String source) {
+        return publish(samples, null, source);
+    }
+
+    /**
+     * 미리 직렬화한 JSON 배열과 함께 배치 공개
+     *
+     * 버퍼는 소비자 수만큼 retain 되고 각 소비자가 처리 후 release (생산자 자신의 참조는 생산자가 release)
+     *
+     * @return 링이 가득 차서 공개하지 못했으면 false
+     */
+    public boolean publish(List<HttpPageSample> samples, PooledBuffer json, String source) {
+        long next;
+        long current;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - slots.length > minimumConsumerSequence()) {
+                rejected.increment();
+                return false;
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        int index = (int) (next & mask);
+        if (json != null) {
+            json.retain(consumers.size());
+        }
+        slots[index].set(samples, json, source, System.nanoTime());
+        published.lazySet(index, (int) (next >>> indexShift));
+
+        for (ConsumerProcessor consumer : consumers) {
+            consumer.wake();
+        }
+        return true;
+    }
+
+    /**
+     * 지금 배치 하나를 더 올릴 자리가 있는지 (다른 생산자와 경쟁하므로 publish 가 그래도 false 일 수 있음)
+     */
+    public boolean hasCapacity() {
+        return cursor.get() + 1 - slots.length <= minimumConsumerSequence();
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = cursor.get();
+        for (ConsumerProcessor consumer : consumers) {
+            minimum = Math.min(minimum, consumer.getSequence().get());
+        }
+        return minimum;
+    }
+
+    // ============== 소비자 ==============
+
+    /**
+     * from 부터 연속으로 공개된 마지막 시퀀스 (없으면 from - 1)
+     */
+    long highestPublished(long from) {
+        long upper = cursor.get();
+        for (long seq = from; seq <= upper; seq++) {
+            if (published.get((int) (seq & mask)) != (int) (seq >>> indexShift)) {
+                return seq - 1;
+            }
+        }
+        return upper;
+    }
+
+    ReplayBatch get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    long getCursor() {
+        return cursor.get();
+    }
+
+    // ============== 상태 ==============
+
+    public Map<String, Object> snapshot() {
+        long current = cursor.get();
+
+        Map<String, Object> consumerMetrics = new LinkedHashMap<>();
+        for (ConsumerProcessor consumer : consumers) {
+            consumerMetrics.put(consumer.getName(), consumer.snapshot(current));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("ringSize", slots.length);
+        response.put("cursor", current);
+        response.put("rejected", rejected.sum());
+        response.put("consumers", consumerMetrics);
+        return response;
+    }
+
+    public long getCursorValue() {
+        return cursor.get();
+    }
+
+    public List<String> getConsumerNames() {
+        List<String> names = new ArrayList<>(consumers.size());
+        for (ConsumerProcessor consumer : consumers) {
+            names.add(consumer.getName());
+        }
+        return names;
+    }
+
+    public long getConsumerLag(String name) {
+        ConsumerProcessor consumer = findConsumer(name);
+        return consumer == null ? 0 : consumer.getLag(cursor.get());
+    }
+
+    public long getConsumerProcessed(String name) {
+        ConsumerProcessor consumer = findConsumer(name);
+        return consumer == null ? 0 : consumer.getProcessedEvents();
+    }
+
+    private ConsumerProcessor findConsumer(String name) {
+        for (ConsumerProcessor consumer : consumers) {
+            if (consumer.getName().equals(name)) {
+                return consumer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 가장 뒤처진 소비자의 lag
+     */
+    public long getMaxLag() {
+        return cursor.get() - minimumConsumerSequence();
+    }
+
+    // ============== 라이프사이클 ==============
+
+    @Override
+    public void start() {
+        long start = cursor.get();
+        for (ConsumerProcessor consumer : consumers) {
+            consumer.start(start);
+        }
+        running = true;
+        log.info("🚌 이벤트 버스 시작 (링 {}칸, 소비자 {}개)", slots.length, consumers.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (ConsumerProcessor consumer : consumers) {
+            consumer.halt();
+        }
+        for (ConsumerProcessor consumer : consumers) {
+            try {
+                consumer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("🚌 이벤트 버스 정지");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
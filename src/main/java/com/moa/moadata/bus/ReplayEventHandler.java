@@ -0,0 +1,19 @@
+package com.moa.moadata.bus;
+
+/**
+ * 이벤트 버스 소비자 (빈으로 등록하면 전용 스레드에서 실행)
+ */
+public interface ReplayEventHandler {
+
+    /**
+     * 소비자 이름 (스레드 이름 / 지표 키)
+     */
+    String getName();
+
+    /**
+     * 이벤트 처리
+     *
+     * @param endOfBatch 이번에 한꺼번에 가져온 이벤트 중 마지막이면 true (모아서 보내는 소비자용)
+     */
+    void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) throws Exception;
+}
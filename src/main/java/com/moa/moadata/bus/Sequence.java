@@ -0,0 +1,54 @@
+package com.moa.moadata.bus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 캐시 라인 패딩된 시퀀스 (생산자 커서 / 소비자 진행 위치)
+ */
+class LhsPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends LhsPadding {
+    protected volatile long value;
+}
+
+class RhsPadding extends SequenceValue {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+public final class Sequence extends RhsPadding {
+
+    public static final long INITIAL_VALUE = -1L;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    public void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
@@ -0,0 +1,31 @@
+package com.moa.moadata.bus.controller;
+
+import com.moa.moadata.bus.ReplayEventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 이벤트 버스 상태 엔드포인트
+ */
+@RestController
+@RequestMapping("/api/bus")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BusController {
+
+    private final ReplayEventBus replayEventBus;
+
+    /**
+     * 소비자별 시퀀스 / lag / 배칭 지표
+     * GET /api/bus/status
+     */
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return replayEventBus.snapshot();
+    }
+}
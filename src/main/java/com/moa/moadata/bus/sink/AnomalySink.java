@@ -0,0 +1,27 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.anomaly.service.AnomalyDetectionService;
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 이상 감지 소비자
+ */
+@Component
+@RequiredArgsConstructor
+public class AnomalySink implements ReplayEventHandler {
+
+    private final AnomalyDetectionService anomalyDetectionService;
+
+    @Override
+    public String getName() {
+        return "anomaly";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        anomalyDetectionService.record(batch.getSamples(), batch.getSource(), batch.getPublishedAtNanos());
+    }
+}
@@ -0,0 +1,116 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.config.ReplayExecutors;
+import com.moa.moadata.model.HttpPageSample;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 백엔드 API 전송 소비자
+ *
+ * 밀려 있는 배치는 max-coalesce 건까지 묶어서 한 번에 전송 (백엔드가 느릴 때 요청 수 감소)
+ * 행 템플릿 모드의 배치는 풀 버퍼를 retain 해두고 요청 본문으로 이어서 전송 (재직렬화 / 합치기 복사 없음)
+ * 템플릿 배치와 일반 배치가 섞이면 모드가 바뀔 때 먼저 모아둔 것을 전송
+ * 전송은 백엔드 전송 실행기에서 최대 max-in-flight 개까지 동시에 (다 차면 소비자가 대기 → 링이 밀리면서 묶음이 커짐)
+ */
+@Component
+public class BackendSink implements ReplayEventHandler {
+
+    private final MoaApiClient moaApiClient;
+    private final Executor backendSenders;
+    private final Semaphore inFlight;
+    private final int maxCoalesce;
+    private List<HttpPageSample> pending = new ArrayList<>();
+    private List<PooledBuffer> pendingJson = new ArrayList<>();
+    private int pendingRows;
+
+    public BackendSink(
+            MoaApiClient moaApiClient,
+            ReplayExecutors replayExecutors,
+            @Value("${moa.bus.backend-max-coalesce:5000}") int maxCoalesce,
+            @Value("${moa.backend.max-in-flight:4}") int maxInFlight) {
+        this.moaApiClient = moaApiClient;
+        this.backendSenders = replayExecutors.getBackendSenders();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxCoalesce = maxCoalesce;
+    }
+
+    @Override
+    public String getName() {
+        return "backend";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        PooledBuffer json = batch.getJson();
+        if (json != null) {
+            if (!pending.isEmpty()) {
+                flush();
+            }
+            pendingJson.add(json.retain());
+        } else {
+            if (!pendingJson.isEmpty()) {
+                flush();
+            }
+            pending.addAll(batch.getSamples());
+        }
+        pendingRows += batch.getSamples().size();
+
+        if (endOfBatch || pendingRows >= maxCoalesce) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        Runnable task = pendingJson.isEmpty() ? sendTask(pending) : sendJsonTask(pendingJson, pendingRows);
+        if (!pending.isEmpty()) {
+            pending = new ArrayList<>();
+        }
+        if (!pendingJson.isEmpty()) {
+            pendingJson = new ArrayList<>();
+        }
+        pendingRows = 0;
+        send(task);
+    }
+
+    private Runnable sendTask(List<HttpPageSample> samples) {
+        return () -> moaApiClient.sendBatch(samples);
+    }
+
+    private Runnable sendJsonTask(List<PooledBuffer> arrays, int rows) {
+        return () -> {
+            try {
+                moaApiClient.sendBatchJson(arrays, rows);
+            } finally {
+                arrays.forEach(PooledBuffer::release);
+            }
+        };
+    }
+
+    private void send(Runnable task) {
+        inFlight.acquireUninterruptibly();
+        try {
+            backendSenders.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 소비자 스레드에서 직접 전송
+            inFlight.release();
+            task.run();
+        }
+    }
+}
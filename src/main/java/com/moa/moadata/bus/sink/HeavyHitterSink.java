@@ -0,0 +1,27 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import com.moa.moadata.stats.service.HeavyHitterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상위 K / 고유 값 스케치 집계 소비자
+ */
+@Component
+@RequiredArgsConstructor
+public class HeavyHitterSink implements ReplayEventHandler {
+
+    private final HeavyHitterService heavyHitterService;
+
+    @Override
+    public String getName() {
+        return "heavy-hitters";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        heavyHitterService.record(batch.getSamples());
+    }
+}
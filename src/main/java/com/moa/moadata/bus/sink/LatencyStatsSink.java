@@ -0,0 +1,27 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import com.moa.moadata.stats.service.LatencyStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지연 분위수 집계 소비자
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyStatsSink implements ReplayEventHandler {
+
+    private final LatencyStatsService latencyStatsService;
+
+    @Override
+    public String getName() {
+        return "latency-stats";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        latencyStatsService.record(batch.getSamples());
+    }
+}
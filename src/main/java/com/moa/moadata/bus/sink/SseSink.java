@@ -0,0 +1,32 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import com.moa.moadata.sse.service.SseEmitterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * SSE 브로드캐스트 소비자
+ */
+@Component
+@RequiredArgsConstructor
+public class SseSink implements ReplayEventHandler {
+
+    private final SseEmitterService sseEmitterService;
+
+    @Override
+    public String getName() {
+        return "sse";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        if (batch.getJson() != null) {
+            // 재연결 버퍼에 남아야 하므로 풀 버퍼가 아닌 복사본
+            sseEmitterService.sendBatchJson(batch.getJson().toByteArray(), batch.getSamples().size());
+        } else {
+            sseEmitterService.sendBatchData(batch.getSamples());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.moa.moadata.bus.sink;
+
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventHandler;
+import com.moa.moadata.websocket.service.BinaryStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * WebSocket 바이너리 브로드캐스트 소비자
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketSink implements ReplayEventHandler {
+
+    private final BinaryStreamService binaryStreamService;
+
+    @Override
+    public String getName() {
+        return "websocket";
+    }
+
+    @Override
+    public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+        binaryStreamService.sendBatch(batch.getSamples());
+    }
+}
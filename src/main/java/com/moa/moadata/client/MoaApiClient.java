@@ -1,15 +1,27 @@
 package com.moa.moadata.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.metrics.jfr.BackendSendEvent;
+import com.moa.moadata.metrics.jfr.BatchSerializeEvent;
 import com.moa.moadata.model.HttpPageSample;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Slf4j
@@ -17,13 +29,31 @@ import java.util.List;
 public class MoaApiClient {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReplayMetrics replayMetrics;
     private final String moaBackendUrl;
+    private final String batchUrl;
+
+    // 응답 본문은 읽지 않고 상태 코드만
+    private static final ResponseExtractor<HttpStatusCode> STATUS_ONLY = response -> response.getStatusCode();
 
     public MoaApiClient(
             RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            ReplayMetrics replayMetrics,
             @Value("${moa.backend.url}") String moaBackendUrl) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.replayMetrics = replayMetrics;
         this.moaBackendUrl = moaBackendUrl;
+        this.batchUrl = batchUrlOf(moaBackendUrl);
+    }
+
+    /**
+     * 백엔드 기본 URL → 배치 전송 URL
+     */
+    public static String batchUrlOf(String backendUrl) {
+        return backendUrl + "/page-samples/batch";
     }
 
     /**
@@ -42,24 +72,111 @@ public class MoaApiClient {
             log.info("domestic_sub1_name_req: {}", samples.get(0).getDomesticSub1NameReq());
 
 
+        long startNanos = System.nanoTime();
+        BatchSerializeEvent serializeEvent = new BatchSerializeEvent();
+        serializeEvent.begin();
+        byte[] body;
         try {
-            String url = moaBackendUrl + "/page-samples/batch";
+            // 직접 직렬화해서 전송 바이트 / 직렬화 시간 측정
+            body = objectMapper.writeValueAsBytes(samples);
+        } catch (Exception e) {
+            serializeEvent.record(BatchSerializeEvent.TARGET_BACKEND, samples.size(), 0, false);
+            replayMetrics.recordBackendSend(0, System.nanoTime() - startNanos, 0);
+            log.error("❌ 배치 직렬화 중 오류 발생", e);
+            return;
+        }
+        serializeEvent.record(BatchSerializeEvent.TARGET_BACKEND, samples.size(), body.length, true);
+        replayMetrics.recordBackendSerialize(System.nanoTime() - startNanos);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        post(batchUrl, out -> out.write(body), body.length, samples.size());
+    }
 
-            HttpEntity<List<HttpPageSample>> request = new HttpEntity<>(samples, headers);
+    /**
+     * 미리 직렬화된 JSON 배열들을 하나로 이어서 전송 (행 템플릿 모드)
+     *
+     * [a,b] + [c] → [a,b,c] 를 합친 배열을 만들지 않고 풀 버퍼에서 요청 본문으로 바로 쓴다.
+     * 버퍼 release 는 호출자 책임.
+     */
+    public void sendBatchJson(List<PooledBuffer> arrays, int rows) {
+        sendBatchJson(batchUrl, arrays, rows);
+    }
 
-            ResponseEntity<Void> response = restTemplate.postForEntity(url, request, Void.class);
+    /**
+     * 지정한 배치 URL로 전송 (리플레이 세션별 백엔드)
+     *
+     * @return HTTP 상태 코드 (연결 실패 등은 0)
+     */
+    public int sendBatchJson(String url, List<PooledBuffer> arrays, int rows) {
+        if (arrays.isEmpty()) {
+            return 0;
+        }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("✅ 배치 전송 성공: {}개", samples.size());
+        long length = 2;
+        int nonEmpty = 0;
+        for (PooledBuffer array : arrays) {
+            int inner = array.length() - 2;  // 괄호 2개 제외
+            if (inner > 0) {
+                length += inner + (nonEmpty++ > 0 ? 1 : 0);
+            }
+        }
+
+        return post(url, out -> {
+            out.write('[');
+            boolean first = true;
+            for (PooledBuffer array : arrays) {
+                int inner = array.length() - 2;
+                if (inner <= 0) continue;
+                if (!first) out.write(',');
+                out.write(array.array(), 1, inner);
+                first = false;
+            }
+            out.write(']');
+        }, length, rows);
+    }
+
+    /**
+     * 요청 본문 쓰기
+     */
+    @FunctionalInterface
+    private interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private int post(String url, BodyWriter body, long contentLength, int rows) {
+        long startNanos = System.nanoTime();
+        BackendSendEvent sendEvent = new BackendSendEvent();
+        sendEvent.begin();
+        try {
+            // HttpEntity / 메시지 컨버터 없이 길이를 지정하고 본문을 바로 스트리밍
+            RequestCallback callback = request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getHeaders().setContentLength(contentLength);
+                body.writeTo(request.getBody());
+            };
+
+            HttpStatusCode status = restTemplate.execute(url, HttpMethod.POST, callback, STATUS_ONLY);
+            int statusValue = status == null ? 0 : status.value();
+            sendEvent.record(rows, contentLength, statusValue);
+            replayMetrics.recordBackendSend(statusValue, System.nanoTime() - startNanos, contentLength);
+
+            if (status != null && status.is2xxSuccessful()) {
+                log.info("✅ 배치 전송 성공: {}개", rows);
             } else {
-                log.error("❌ 배치 전송 실패: status={}", response.getStatusCode());
+                log.error("❌ 배치 전송 실패: status={}", status);
             }
+            return statusValue;
+
+        } catch (RestClientResponseException e) {
+            sendEvent.record(rows, contentLength, e.getStatusCode().value());
+            replayMetrics.recordBackendSend(e.getStatusCode().value(), System.nanoTime() - startNanos, contentLength);
+            log.error("❌ 배치 전송 실패: status={}", e.getStatusCode());
+            return e.getStatusCode().value();
 
         } catch (Exception e) {
+            sendEvent.record(rows, contentLength, 0);
+            replayMetrics.recordBackendSend(0, System.nanoTime() - startNanos, 0);
             log.error("❌ 배치 전송 중 오류 발생", e);
+            return 0;
         }
     }
 
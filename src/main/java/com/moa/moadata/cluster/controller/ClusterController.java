@@ -0,0 +1,53 @@
+package com.moa.moadata.cluster.controller;
+
+import com.moa.moadata.cluster.model.NodeStatus;
+import com.moa.moadata.cluster.service.ClusterCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 분산 재생 노드 상태 / 노드 간 하트비트
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/cluster")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ClusterController {
+
+    private final ClusterCoordinator clusterCoordinator;
+
+    /**
+     * 노드별 샤드 / 진행 상황 / 처리량
+     * GET /api/cluster
+     */
+    @GetMapping
+    public Map<String, Object> status() {
+        return clusterCoordinator.status();
+    }
+
+    /**
+     * 다른 노드가 보내는 하트비트 (응답은 이 노드 상태)
+     * POST /api/cluster/heartbeat
+     */
+    @PostMapping("/heartbeat")
+    public ResponseEntity<?> heartbeat(@RequestBody NodeStatus status) {
+        try {
+            return ResponseEntity.ok(clusterCoordinator.receive(status));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalid(RuntimeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "invalid");
+        response.put("message", "❌ " + e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
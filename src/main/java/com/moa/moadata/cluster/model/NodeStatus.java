@@ -0,0 +1,19 @@
+package com.moa.moadata.cluster.model;
+
+/**
+ * 하트비트로 주고받는 노드 상태
+ *
+ * @param nodeId        노드 ID (샤드 순서 기준)
+ * @param url           다른 노드가 하트비트를 보낼 주소
+ * @param datasetKey    재생 중인 S3 키
+ * @param datasetEtag   재생 중인 객체 ETag (다르면 샤드에서 제외)
+ * @param shard         현재 맡은 샤드 (예: 2/3 (range))
+ * @param replaying     전송 중인지
+ * @param rowsSent      이 노드가 버스에 발행한 누적 행 수
+ * @param rowsPerSecond 직전 하트비트 구간 처리량
+ * @param currentIndex  샤드 안 현재 위치
+ * @param totalRows     샤드 행 수
+ */
+public record NodeStatus(String nodeId, String url, String datasetKey, String datasetEtag, String shard,
+                         boolean replaying, long rowsSent, double rowsPerSecond, int currentIndex, int totalRows) {
+}
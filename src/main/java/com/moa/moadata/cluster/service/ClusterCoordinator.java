@@ -0,0 +1,293 @@
+package com.moa.moadata.cluster.service;
+
+import com.moa.moadata.cluster.model.NodeStatus;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.reader.index.ReplayShard;
+import com.moa.moadata.scheduler.DataSenderScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 여러 moa-data 인스턴스가 데이터셋을 나눠서 재생 (moa.cluster.enabled)
+ *
+ * - 노드끼리 HTTP 하트비트 (POST /api/cluster/heartbeat) 로 상태를 주고받음, 응답에도 자기 상태를 실어 보냄
+ * - peer-timeout 안에 소식이 있고 같은 객체 / ETag 를 재생 중인 노드를 노드 ID 순으로 정렬해 샤드 번호를 정함
+ *   (모든 노드가 같은 규칙이라 멤버가 같아지면 샤드도 같아짐, 멤버가 바뀌는 동안 한두 하트비트는 겹치거나 빌 수 있음)
+ * - 전체 목표 속도 (target-rows-per-second) 를 살아 있는 노드 수로 나눠 각자 전송
+ * - 하트비트는 전용 스레드에서 peer 마다 동시에 보냄 (느리거나 죽은 노드가 Spring 스케줄러 / 재생 tick 을 막지 않음)
+ */
+@Slf4j
+@Service
+public class ClusterCoordinator {
+
+    private final S3DataReader s3DataReader;
+    private final DataSenderScheduler dataSenderScheduler;
+
+    @Value("${moa.cluster.enabled:false}")
+    private boolean enabled;
+
+    // 비어 있으면 기동 시 무작위
+    @Value("${moa.cluster.node-id:}")
+    private String nodeId;
+
+    // 다른 노드가 이 노드에 하트비트를 보낼 주소
+    @Value("${moa.cluster.self-url:http://localhost:${server.port:9090}}")
+    private String selfUrl;
+
+    // 하트비트를 보낼 노드 주소 (쉼표 구분, 자기 자신이 섞여 있어도 됨)
+    @Value("${moa.cluster.peers:}")
+    private String peers;
+
+    @Value("${moa.cluster.shard-by:range}")
+    private String shardBy;
+
+    @Value("${moa.cluster.heartbeat-ms:1000}")
+    private long heartbeatMs;
+
+    @Value("${moa.cluster.peer-timeout-ms:5000}")
+    private long peerTimeoutMs;
+
+    // 모든 노드 합계 목표 속도 (0이면 노드마다 moa.data.batch-size 그대로)
+    @Value("${moa.cluster.target-rows-per-second:0}")
+    private double targetRowsPerSecond;
+
+    /**
+     * 다른 노드의 마지막 상태 + 받은 시각 (이 노드 시계 기준)
+     */
+    private record Member(NodeStatus status, long seenAtNanos) {
+    }
+
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+
+    private RestTemplate heartbeatClient;
+    private ScheduledExecutorService heartbeatTimer;
+    private ExecutorService heartbeatSenders;
+    private ReplayShard.Mode shardMode;
+    private List<String> peerUrls = List.of();
+
+    // 처리량 계산 (하트비트 타이머 스레드 전용)
+    private long lastRowsSent;
+    private long lastRateNanos = System.nanoTime();
+    private volatile double rowsPerSecond;
+
+    public ClusterCoordinator(S3DataReader s3DataReader, DataSenderScheduler dataSenderScheduler) {
+        this.s3DataReader = s3DataReader;
+        this.dataSenderScheduler = dataSenderScheduler;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString().substring(0, 8);
+        }
+        shardMode = ReplayShard.Mode.from(shardBy);
+        peerUrls = Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty() && !url.equals(selfUrl))
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .toList();
+
+        // 죽은 노드 때문에 하트비트가 밀리지 않도록 짧은 타임아웃
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout((int) heartbeatMs);
+        factory.setReadTimeout((int) heartbeatMs);
+        heartbeatClient = new RestTemplate(factory);
+        heartbeatSenders = Executors.newFixedThreadPool(Math.max(1, peerUrls.size()),
+                Thread.ofPlatform().name("cluster-heartbeat-", 0).daemon(true).factory());
+        heartbeatTimer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cluster-heartbeat").daemon(true).factory());
+        heartbeatTimer.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, Math.max(1, heartbeatMs),
+                TimeUnit.MILLISECONDS);
+
+        log.info("🕸️ 분산 재생 모드: node={}, self={}, peers={}, shard-by={}, 전체 목표 {}행/초",
+                nodeId, selfUrl, peerUrls, shardMode.value(), targetRowsPerSecond);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeatTimer != null) {
+            heartbeatTimer.shutdownNow();
+            heartbeatSenders.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ============== 하트비트 ==============
+
+    /**
+     * 모든 peer 에 내 상태를 동시에 보내고, 응답으로 받은 상태까지 반영한 뒤 샤드 재계산 (하트비트 스레드)
+     *
+     * 응답은 연결 + 읽기 타임아웃 (각 heartbeat-ms) 까지만 기다리고, 늦게 온 응답은 다음 재계산에 반영된다.
+     */
+    void heartbeat() {
+        try {
+            updateRate();
+            NodeStatus self = selfStatus();
+            CompletableFuture<?>[] sends = peerUrls.stream()
+                    .map(peer -> CompletableFuture.runAsync(() -> send(peer, self), heartbeatSenders))
+                    .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(sends).get(2 * heartbeatMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                log.debug("하트비트 응답 대기 종료: {}", e.toString());
+            }
+            reassign();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 예외가 나가면 scheduleWithFixedDelay 가 멈추므로 여기서 끝냄
+            log.warn("⚠️ 하트비트 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void send(String peer, NodeStatus self) {
+        try {
+            NodeStatus reply = heartbeatClient.postForObject(peer + "/api/cluster/heartbeat", self, NodeStatus.class);
+            if (reply != null) {
+                remember(reply);
+            }
+        } catch (Exception e) {
+            log.debug("하트비트 실패: {} ({})", peer, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드에서 온 하트비트 (응답은 내 상태)
+     */
+    public NodeStatus receive(NodeStatus status) {
+        if (!enabled) {
+            throw new IllegalStateException("분산 재생 모드가 꺼져 있습니다 (moa.cluster.enabled)");
+        }
+        if (status == null || status.nodeId() == null || status.nodeId().isBlank()) {
+            throw new IllegalArgumentException("nodeId 가 필요합니다");
+        }
+        remember(status);
+        return selfStatus();
+    }
+
+    private void remember(NodeStatus status) {
+        if (status.nodeId().equals(nodeId)) {
+            return;
+        }
+        Member previous = members.put(status.nodeId(), new Member(status, System.nanoTime()));
+        if (previous == null) {
+            log.info("🤝 노드 합류: {} ({})", status.nodeId(), status.url());
+        }
+    }
+
+    // ============== 샤드 / 속도 ==============
+
+    /**
+     * 살아 있는 노드 (나 포함, 노드 ID 순)
+     */
+    private List<String> liveNodes() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(peerTimeoutMs);
+        ReplayDataset dataset = s3DataReader.getDataset();
+
+        List<String> live = new ArrayList<>();
+        live.add(nodeId);
+        for (Map.Entry<String, Member> entry : members.entrySet()) {
+            Member member = entry.getValue();
+            if (now - member.seenAtNanos() > timeoutNanos) {
+                members.remove(entry.getKey(), member);
+                log.warn("👋 노드 이탈: {} ({}ms 동안 하트비트 없음)", entry.getKey(), peerTimeoutMs);
+                continue;
+            }
+            // 다른 객체를 재생 중인 노드와는 행 번호가 달라서 나눌 수 없음
+            if (Objects.equals(member.status().datasetKey(), dataset.key())
+                    && Objects.equals(member.status().datasetEtag(), dataset.etag())) {
+                live.add(entry.getKey());
+            }
+        }
+        live.sort(Comparator.naturalOrder());
+        return live;
+    }
+
+    private void reassign() {
+        List<String> live = liveNodes();
+        s3DataReader.applyShard(live.size() == 1
+                ? ReplayShard.ALL
+                : new ReplayShard(shardMode, live.indexOf(nodeId), live.size()));
+        dataSenderScheduler.setTargetRowsPerSecond(targetRowsPerSecond > 0 ? targetRowsPerSecond / live.size() : 0);
+    }
+
+    private void updateRate() {
+        long now = System.nanoTime();
+        long sent = dataSenderScheduler.getRowsSent();
+        double seconds = (now - lastRateNanos) / 1e9;
+        if (seconds > 0) {
+            rowsPerSecond = (sent - lastRowsSent) / seconds;
+        }
+        lastRowsSent = sent;
+        lastRateNanos = now;
+    }
+
+    private NodeStatus selfStatus() {
+        ReplayDataset dataset = s3DataReader.getDataset();
+        return new NodeStatus(nodeId, selfUrl, dataset.key(), dataset.etag(), s3DataReader.getShard().toString(),
+                dataSenderScheduler.isEnabled(), dataSenderScheduler.getRowsSent(), rowsPerSecond,
+                s3DataReader.getCurrentIndex(), s3DataReader.getTotalSize());
+    }
+
+    // ============== 조회 ==============
+
+    /**
+     * 노드별 진행 상황 / 처리량 + 합계
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        if (!enabled) {
+            return result;
+        }
+
+        List<String> live = liveNodes();
+        NodeStatus self = selfStatus();
+        List<NodeStatus> nodes = new ArrayList<>();
+        nodes.add(self);
+        members.values().stream()
+                .map(Member::status)
+                .sorted(Comparator.comparing(NodeStatus::nodeId))
+                .forEach(nodes::add);
+
+        result.put("nodeId", nodeId);
+        result.put("shardBy", shardMode.value());
+        result.put("liveNodes", live);
+        result.put("targetRowsPerSecond", targetRowsPerSecond);
+        result.put("nodeTargetRowsPerSecond", dataSenderScheduler.getTargetRowsPerSecond());
+        result.put("totalRowsPerSecond", nodes.stream().mapToDouble(NodeStatus::rowsPerSecond).sum());
+        result.put("totalRowsSent", nodes.stream().mapToLong(NodeStatus::rowsSent).sum());
+        result.put("nodes", nodes);
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.moa.moadata.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 블로킹 I/O 실행기 (SSE 구독자 writer / 백엔드 전송)
+ *
+ * spring.threads.virtual.enabled=true 이면 작업마다 가상 스레드,
+ * 아니면 고정 크기 플랫폼 스레드 풀.
+ * (Tomcat / @Scheduled 실행기는 같은 프로퍼티로 Spring Boot가 전환)
+ *
+ * Executor 빈으로 등록하면 Boot 기본 applicationTaskExecutor가 빠지므로 홀더로 노출한다.
+ */
+@Slf4j
+@Component
+public class ReplayExecutors {
+
+    private final boolean virtualThreads;
+    private final ExecutorService sseWriters;
+    private final ExecutorService backendSenders;
+
+    public ReplayExecutors(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${moa.execution.sse-writer-threads:8}") int sseWriterThreads,
+            @Value("${moa.execution.backend-sender-threads:4}") int backendSenderThreads) {
+        this.virtualThreads = virtualThreads;
+        this.sseWriters = create("sse-writer-", sseWriterThreads);
+        this.backendSenders = create("backend-send-", backendSenderThreads);
+
+        if (virtualThreads) {
+            log.info("🧵 실행 모델: 가상 스레드 (SSE writer / 백엔드 전송 작업마다 1개)");
+        } else {
+            log.info("🧵 실행 모델: 플랫폼 스레드 (SSE writer {}개, 백엔드 전송 {}개)",
+                    sseWriterThreads, backendSenderThreads);
+        }
+    }
+
+    private ExecutorService create(String prefix, int platformThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory());
+        }
+        return Executors.newFixedThreadPool(platformThreads, Thread.ofPlatform().name(prefix, 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sseWriters.shutdownNow();
+        backendSenders.shutdownNow();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ExecutorService getSseWriters() {
+        return sseWriters;
+    }
+
+    public ExecutorService getBackendSenders() {
+        return backendSenders;
+    }
+}
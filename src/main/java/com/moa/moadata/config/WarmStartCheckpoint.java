@@ -0,0 +1,79 @@
+package com.moa.moadata.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.DatasetLoadState;
+import com.moa.moadata.reader.S3DataReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Core;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * CRaC 체크포인트 (moa.warm-start.checkpoint=true 일 때만)
+ *
+ * 데이터셋 캐시를 다 읽고 직렬화 경로를 한 번 데운 뒤 체크포인트를 찍는다.
+ * 복원하면 파싱이 끝난 데이터셋과 JIT 상태 그대로 바로 재생 가능.
+ * (CRaC 지원 JDK + -XX:CRaCCheckpointTo=... 로 실행해야 함, Lifecycle 빈 정지/재시작은 Spring이 처리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "moa.warm-start.checkpoint", havingValue = "true")
+public class WarmStartCheckpoint {
+
+    private final S3DataReader s3DataReader;
+    private final ObjectMapper objectMapper;
+
+    // 체크포인트 전 JSON 직렬화 반복 횟수 (0이면 생략)
+    @Value("${moa.warm-start.warmup-iterations:200}")
+    private int warmupIterations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        // 이벤트 스레드(main)를 막지 않도록 별도 스레드에서 로딩 완료를 기다림
+        Thread.ofPlatform().name("warm-start-checkpoint").daemon(true).start(this::checkpointWhenLoaded);
+    }
+
+    private void checkpointWhenLoaded() {
+        try {
+            while (s3DataReader.getLoadProgress().getState() == DatasetLoadState.LOADING) {
+                Thread.sleep(100);
+            }
+            if (s3DataReader.getLoadProgress().getState() == DatasetLoadState.FAILED) {
+                log.warn("⚠️ 데이터셋 로딩 실패로 체크포인트 생략: {}", s3DataReader.getLoadProgress().snapshot());
+                return;
+            }
+
+            warmUp(s3DataReader.getDataset().samples());
+            // 열린 S3 연결은 복원 후 쓸 수 없으므로 닫아두고 다음 사용 때 다시 생성
+            s3DataReader.closeClient();
+
+            log.info("📸 CRaC 체크포인트 생성 ({}행 로딩 완료)", s3DataReader.getDataset().size());
+            Core.checkpointRestore();
+            log.info("♻️ CRaC 체크포인트에서 복원 완료");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("⚠️ CRaC 체크포인트 실패 (CRaC 지원 JDK가 아니면 무시): {}", e.toString());
+        }
+    }
+
+    private void warmUp(List<HttpPageSample> samples) throws Exception {
+        if (warmupIterations <= 0 || samples.isEmpty()) {
+            return;
+        }
+        List<HttpPageSample> batch = samples.subList(0, Math.min(samples.size(), 100));
+        long bytes = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            bytes += objectMapper.writeValueAsBytes(batch).length;
+        }
+        log.info("🔥 체크포인트 전 직렬화 워밍업 {}회 ({}KB)", warmupIterations, bytes >> 10);
+    }
+}
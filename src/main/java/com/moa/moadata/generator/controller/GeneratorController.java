@@ -0,0 +1,92 @@
+package com.moa.moadata.generator.controller;
+
+import com.moa.moadata.generator.service.SampleProfile;
+import com.moa.moadata.generator.service.SyntheticDataGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 합성 데이터 생성 제어 (부하 테스트용, 재생과 별개로 이벤트 버스에 발행)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/generator")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class GeneratorController {
+
+    private final SyntheticDataGenerator syntheticDataGenerator;
+
+    /**
+     * 현재 데이터셋에서 프로파일 다시 학습
+     * POST /api/generator/learn
+     */
+    @PostMapping("/learn")
+    public ResponseEntity<Map<String, Object>> learn() {
+        try {
+            SampleProfile profile = syntheticDataGenerator.learn();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "learned");
+            response.put("profiledRows", profile.getProfiledRows());
+            response.put("columns", profile.getColumnCount());
+            response.put("message", "🧬 프로파일 학습 완료");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    /**
+     * 생성 시작 (프로파일이 없거나 데이터셋이 바뀌었으면 먼저 학습)
+     * POST /api/generator/start?rate=50000   (rate=0 이면 버스가 받는 만큼)
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "10000") long rate) {
+        try {
+            syntheticDataGenerator.start(rate);
+
+            Map<String, Object> response = new HashMap<>(syntheticDataGenerator.status());
+            response.put("status", "started");
+            response.put("message", "🏭 합성 데이터 생성 시작");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    /**
+     * 생성 정지
+     * POST /api/generator/stop
+     */
+    @PostMapping("/stop")
+    public Map<String, Object> stop() {
+        syntheticDataGenerator.stop();
+
+        Map<String, Object> response = new HashMap<>(syntheticDataGenerator.status());
+        response.put("status", "stopped");
+        response.put("message", "🛑 합성 데이터 생성 정지");
+        return response;
+    }
+
+    /**
+     * 생성 상태 / 속도
+     * GET /api/generator/status
+     */
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return syntheticDataGenerator.status();
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalid(RuntimeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "invalid");
+        response.put("message", "❌ " + e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
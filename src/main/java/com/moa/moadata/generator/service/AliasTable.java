@@ -0,0 +1,58 @@
+package com.moa.moadata.generator.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * 이산 분포 O(1) 추출 (Vose alias method)
+ *
+ * 칸마다 자기 확률과 대체 칸 하나를 들고, 난수 두 개로 칸 → 자기/대체를 고른다.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights 0 이상 가중치 (합이 0보다 커야 함)
+     */
+    AliasTable(long[] weights) {
+        int n = weights.length;
+        probability = new double[n];
+        alias = new int[n];
+
+        double total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i; else large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small[smallCount++] = more; else large[largeCount++] = more;
+        }
+        // 부동소수 오차로 남은 칸은 확률 1
+        while (largeCount > 0) probability[large[--largeCount]] = 1.0;
+        while (smallCount > 0) probability[small[--smallCount]] = 1.0;
+    }
+
+    int size() {
+        return probability.length;
+    }
+
+    int next(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
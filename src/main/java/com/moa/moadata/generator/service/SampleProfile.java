@@ -0,0 +1,401 @@
+package com.moa.moadata.generator.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.HttpPageSampleBinder;
+import com.moa.moadata.websocket.codec.ColumnType;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 데이터셋에서 배운 컬럼별 분포 + 컬럼 간 의존 관계 (합성 데이터 생성용, 불변)
+ *
+ * - 문자열 컬럼: 빈도 상위 값의 이산 분포 (null 포함)
+ * - 숫자 컬럼: 값 종류가 적으면 이산 분포, 많으면 분위수 사이 선형 보간 (역 CDF)
+ * - 의존 관계 (부모 > 자식): 부모 값 (숫자면 분위수 구간) 별로 자식 분포를 따로 배움
+ *
+ * 크기는 컬럼 수 × 상위 값 수 정도로 데이터셋 행 수와 무관하다.
+ * 난수는 호출자가 넘기므로 스레드마다 SplittableRandom 을 나눠 쓰면 공유 상태가 없다.
+ */
+public final class SampleProfile {
+
+    // 숫자 분포 분위수 구간 수
+    private static final int QUANTILES = 64;
+    // 값 종류가 이 이하인 숫자 컬럼은 이산 분포
+    private static final int DISCRETE_LIMIT = 64;
+    // 숫자 부모 컬럼을 나누는 구간 수
+    private static final int PARENT_BUCKETS = 8;
+    // 부모 값별 분포를 따로 배울 최소 행 수 (적으면 전체 분포 사용)
+    private static final int MIN_CONDITIONAL_ROWS = 20;
+
+    // 생성기가 직접 채우는 컬럼 (행마다 고유)
+    private static final Set<String> GENERATED = Set.of("rowKey", "pageIdx");
+
+    private final List<ColumnModel> models;
+    private final List<Dependency> dependencies;
+    private final int profiledRows;
+
+    private SampleProfile(List<ColumnModel> models, List<Dependency> dependencies, int profiledRows) {
+        this.models = models;
+        this.dependencies = dependencies;
+        this.profiledRows = profiledRows;
+    }
+
+    /**
+     * @param parent 먼저 뽑는 컬럼
+     * @param child  부모 값에 따라 분포가 달라지는 컬럼
+     */
+    public record Dependency(SampleColumn parent, SampleColumn child) {
+
+        /**
+         * "countryNameReq>continentNameReq,http_host>http_uri" → 목록
+         */
+        public static List<Dependency> parseAll(String spec) {
+            List<Dependency> dependencies = new ArrayList<>();
+            if (spec == null || spec.isBlank()) {
+                return dependencies;
+            }
+            for (String pair : spec.split(",")) {
+                if (pair.isBlank()) continue;
+                String[] names = pair.split(">");
+                if (names.length != 2) {
+                    throw new IllegalArgumentException("의존 관계는 부모>자식 형식이어야 합니다: " + pair);
+                }
+                dependencies.add(new Dependency(column(names[0]), column(names[1])));
+            }
+            return dependencies;
+        }
+
+        private static SampleColumn column(String name) {
+            SampleColumn column = SampleColumns.resolve(name.trim());
+            if (column == null || HttpPageSampleBinder.fieldIndexOfName(column.name()) < 0
+                    || GENERATED.contains(column.name())) {
+                throw new IllegalArgumentException("생성할 수 없는 컬럼: " + name.trim());
+            }
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            return parent.name() + ">" + child.name();
+        }
+    }
+
+    /**
+     * 생성 중 뽑은 값 (부모 값 조회용, 스레드마다 하나)
+     */
+    public static final class Draw {
+        final String[] strings = new String[HttpPageSampleBinder.FIELD_COUNT];
+        final double[] numbers = new double[HttpPageSampleBinder.FIELD_COUNT];
+    }
+
+    public Draw newDraw() {
+        return new Draw();
+    }
+
+    public int getProfiledRows() {
+        return profiledRows;
+    }
+
+    public int getColumnCount() {
+        return models.size();
+    }
+
+    public List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    // ============== 생성 ==============
+
+    /**
+     * 행 하나 생성 (rowKey / pageIdx / 시각은 호출자가 채움)
+     */
+    public HttpPageSample sample(SplittableRandom random, Draw draw) {
+        HttpPageSample sample = new HttpPageSample();
+        for (ColumnModel model : models) {
+            model.draw(random, draw);
+            int field = model.field;
+            if (model.string) {
+                String value = draw.strings[field];
+                if (value != null) HttpPageSampleBinder.setString(sample, field, value);
+            } else {
+                double value = draw.numbers[field];
+                if (value == value) HttpPageSampleBinder.setDouble(sample, field, value);
+            }
+        }
+        return sample;
+    }
+
+    // ============== 학습 ==============
+
+    /**
+     * @param profileRows   학습에 쓸 최대 행 수 (넘으면 무작위 추출)
+     * @param maxCategories 문자열 컬럼 / 부모 값마다 남길 상위 값 수
+     */
+    public static SampleProfile learn(List<HttpPageSample> samples, int profileRows, int maxCategories,
+                                      List<Dependency> dependencies, SplittableRandom random) {
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("학습할 데이터가 없습니다");
+        }
+        List<HttpPageSample> rows = pick(samples, profileRows, random);
+
+        Map<String, Dependency> parentOf = new LinkedHashMap<>();
+        Set<String> related = new HashSet<>();
+        for (Dependency dependency : dependencies) {
+            parentOf.put(dependency.child().name(), dependency);
+            related.add(dependency.parent().name());
+            related.add(dependency.child().name());
+        }
+
+        // 의존 관계에 쓰이는 컬럼 값만 끝까지 잡고 있음 (나머지는 분포를 만든 뒤 버림)
+        Map<String, Object> values = new HashMap<>();
+        List<ColumnModel> independent = new ArrayList<>();
+        for (SampleColumn column : SampleColumns.all()) {
+            int field = HttpPageSampleBinder.fieldIndexOfName(column.name());
+            if (field < 0 || GENERATED.contains(column.name())) {
+                continue;
+            }
+            Object columnValues = column.type() == ColumnType.STRING ? strings(rows, column) : numbers(rows, column);
+            if (related.contains(column.name())) {
+                values.put(column.name(), columnValues);
+            }
+            if (!parentOf.containsKey(column.name())) {
+                independent.add(new ColumnModel(column, field, marginal(column, columnValues, maxCategories)));
+            }
+        }
+
+        // 부모를 먼저 뽑도록 자식은 의존 관계 순서대로 뒤에
+        List<ColumnModel> models = new ArrayList<>(independent);
+        for (Dependency dependency : parentOf.values()) {
+            SampleColumn child = dependency.child();
+            Object childValues = values.get(child.name());
+            ColumnModel model = new ColumnModel(child, HttpPageSampleBinder.fieldIndexOfName(child.name()),
+                    marginal(child, childValues, maxCategories));
+            model.condition(dependency.parent(), values.get(dependency.parent().name()), childValues, maxCategories);
+            models.add(model);
+        }
+        return new SampleProfile(List.copyOf(models), List.copyOf(dependencies), rows.size());
+    }
+
+    private static List<HttpPageSample> pick(List<HttpPageSample> samples, int profileRows, SplittableRandom random) {
+        if (samples.size() <= profileRows) {
+            return samples;
+        }
+        List<HttpPageSample> picked = new ArrayList<>(profileRows);
+        for (int i = 0; i < profileRows; i++) {
+            picked.add(samples.get(random.nextInt(samples.size())));
+        }
+        return picked;
+    }
+
+    private static String[] strings(List<HttpPageSample> rows, SampleColumn column) {
+        String[] values = new String[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (String) column.get(rows.get(i));
+        }
+        return values;
+    }
+
+    private static double[] numbers(List<HttpPageSample> rows, SampleColumn column) {
+        double[] values = new double[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = column.get(rows.get(i));
+            values[i] = value == null ? Double.NaN : ((Number) value).doubleValue();
+        }
+        return values;
+    }
+
+    private static Distribution marginal(SampleColumn column, Object values, int maxCategories) {
+        return values instanceof String[] strings
+                ? StringDistribution.of(strings, maxCategories)
+                : NumberDistribution.of((double[]) values, column.type() != ColumnType.DOUBLE);
+    }
+
+    // ============== 분포 ==============
+
+    private interface Distribution {
+        void draw(SplittableRandom random, Draw draw, int field);
+    }
+
+    /**
+     * 상위 값 이산 분포 (null도 값 하나로 취급)
+     */
+    private record StringDistribution(String[] values, AliasTable table) implements Distribution {
+
+        static StringDistribution of(String[] samples, int maxCategories) {
+            Map<String, long[]> counts = new HashMap<>();
+            for (String sample : samples) {
+                counts.computeIfAbsent(sample, v -> new long[1])[0]++;
+            }
+            List<Map.Entry<String, long[]>> entries = new ArrayList<>(counts.entrySet());
+            entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+            int kept = Math.min(Math.max(1, maxCategories), entries.size());
+
+            String[] values = new String[kept];
+            long[] weights = new long[kept];
+            for (int i = 0; i < kept; i++) {
+                values[i] = entries.get(i).getKey();
+                weights[i] = entries.get(i).getValue()[0];
+            }
+            return new StringDistribution(values, new AliasTable(weights));
+        }
+
+        @Override
+        public void draw(SplittableRandom random, Draw draw, int field) {
+            draw.strings[field] = values[table.next(random)];
+        }
+    }
+
+    /**
+     * null 비율 + (이산 값 분포 | 분위수 보간)
+     */
+    private record NumberDistribution(double nullRate, double[] discrete, AliasTable table, double[] quantiles,
+                                      boolean integral) implements Distribution {
+
+        static NumberDistribution of(double[] samples, boolean integral) {
+            double[] present = Arrays.stream(samples).filter(v -> v == v).sorted().toArray();
+            double nullRate = 1.0 - (double) present.length / Math.max(1, samples.length);
+            if (present.length == 0) {
+                return new NumberDistribution(1.0, null, null, null, integral);
+            }
+
+            double[] distinct = Arrays.stream(present).distinct().toArray();
+            if (distinct.length <= DISCRETE_LIMIT) {
+                long[] weights = new long[distinct.length];
+                for (double value : present) {
+                    weights[Arrays.binarySearch(distinct, value)]++;
+                }
+                return new NumberDistribution(nullRate, distinct, new AliasTable(weights), null, integral);
+            }
+
+            double[] quantiles = new double[QUANTILES + 1];
+            for (int i = 0; i <= QUANTILES; i++) {
+                quantiles[i] = present[(int) Math.round((double) i * (present.length - 1) / QUANTILES)];
+            }
+            return new NumberDistribution(nullRate, null, null, quantiles, integral);
+        }
+
+        @Override
+        public void draw(SplittableRandom random, Draw draw, int field) {
+            draw.numbers[field] = next(random);
+        }
+
+        double next(SplittableRandom random) {
+            if (nullRate > 0 && random.nextDouble() < nullRate) {
+                return Double.NaN;
+            }
+            if (discrete != null) {
+                return discrete[table.next(random)];
+            }
+            double u = random.nextDouble() * QUANTILES;
+            int i = (int) u;
+            double value = quantiles[i] + (quantiles[i + 1] - quantiles[i]) * (u - i);
+            return integral ? Math.rint(value) : value;
+        }
+    }
+
+    /**
+     * 컬럼 하나의 생성 규칙 (부모가 있으면 부모 값별 분포, 못 찾으면 전체 분포)
+     */
+    private static final class ColumnModel {
+        final int field;
+        final boolean string;
+        final Distribution marginal;
+
+        int parentField = -1;
+        boolean parentString;
+        double[] parentBounds;
+        Map<Object, Distribution> byParent;
+
+        ColumnModel(SampleColumn column, int field, Distribution marginal) {
+            this.field = field;
+            this.string = column.type() == ColumnType.STRING;
+            this.marginal = marginal;
+        }
+
+        void condition(SampleColumn parent, Object parentValues, Object childValues, int maxCategories) {
+            parentField = HttpPageSampleBinder.fieldIndexOfName(parent.name());
+            parentString = parentValues instanceof String[];
+            if (!parentString) {
+                parentBounds = bounds((double[]) parentValues);
+            }
+
+            // 부모 값별 행 번호
+            int rows = parentString ? ((String[]) parentValues).length : ((double[]) parentValues).length;
+            Map<Object, List<Integer>> groups = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                Object key = parentString ? keyOf(((String[]) parentValues)[row]) : bucketOf(((double[]) parentValues)[row]);
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+            List<Map.Entry<Object, List<Integer>>> entries = new ArrayList<>(groups.entrySet());
+            entries.sort((a, b) -> Integer.compare(b.getValue().size(), a.getValue().size()));
+
+            byParent = new HashMap<>();
+            for (Map.Entry<Object, List<Integer>> entry : entries) {
+                if (byParent.size() >= maxCategories || entry.getValue().size() < MIN_CONDITIONAL_ROWS) {
+                    break;
+                }
+                List<Integer> group = entry.getValue();
+                Distribution distribution;
+                if (string) {
+                    String[] subset = new String[group.size()];
+                    for (int i = 0; i < subset.length; i++) subset[i] = ((String[]) childValues)[group.get(i)];
+                    distribution = StringDistribution.of(subset, maxCategories);
+                } else {
+                    double[] subset = new double[group.size()];
+                    for (int i = 0; i < subset.length; i++) subset[i] = ((double[]) childValues)[group.get(i)];
+                    distribution = NumberDistribution.of(subset, ((NumberDistribution) marginal).integral());
+                }
+                byParent.put(entry.getKey(), distribution);
+            }
+        }
+
+        void draw(SplittableRandom random, Draw draw) {
+            Distribution distribution = marginal;
+            if (byParent != null) {
+                Object key = parentString ? keyOf(draw.strings[parentField]) : bucketOf(draw.numbers[parentField]);
+                distribution = byParent.getOrDefault(key, marginal);
+            }
+            distribution.draw(random, draw, field);
+        }
+
+        private static Object keyOf(String value) {
+            return value == null ? "" : value;
+        }
+
+        /**
+         * 숫자 부모 값 → 분위수 구간 번호 (null은 -1)
+         */
+        private Integer bucketOf(double value) {
+            if (value != value) {
+                return -1;
+            }
+            int bucket = 0;
+            while (bucket < parentBounds.length && value > parentBounds[bucket]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        private static double[] bounds(double[] values) {
+            double[] present = Arrays.stream(values).filter(v -> v == v).sorted().toArray();
+            if (present.length == 0) {
+                return new double[0];
+            }
+            double[] bounds = new double[PARENT_BUCKETS - 1];
+            for (int i = 1; i < PARENT_BUCKETS; i++) {
+                bounds[i - 1] = present[(present.length - 1) * i / PARENT_BUCKETS];
+            }
+            return bounds;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.moa.moadata.generator.service;
+
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventBus;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 프로파일 기반 합성 데이터 생성기 (재생 데이터셋을 반복하지 않고 끝없이 새 행 생성)
+ *
+ * - 현재 데이터셋에서 SampleProfile 을 배운 뒤, 코어 수만큼 생성 스레드를 띄움
+ * - 스레드마다 루트 SplittableRandom 에서 split 한 난수를 따로 가지므로 공유 난수 상태가 없음
+ * - rowKey 는 UUID, pageIdx 는 스레드별 등차수열이라 모든 행이 고유
+ * - 이벤트 버스로 발행 (백엔드 / SSE / 통계 소비자가 재생 데이터와 같은 경로로 처리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private final S3DataReader s3DataReader;
+    private final ReplayEventBus replayEventBus;
+
+    // 학습에 쓸 최대 행 수 (넘으면 무작위 추출)
+    @Value("${moa.generator.profile-rows:100000}")
+    private int profileRows;
+
+    // 문자열 컬럼 / 부모 값마다 남길 상위 값 수
+    @Value("${moa.generator.max-categories:256}")
+    private int maxCategories;
+
+    // 부모>자식 의존 관계 (부모 값별로 자식 분포를 따로 배움)
+    @Value("${moa.generator.dependencies:countryNameReq>continentNameReq,countryNameRes>continentNameRes,httpHost>httpUri,tsPage>tcpErrorCnt}")
+    private String dependencies;
+
+    @Value("${moa.generator.batch-size:100}")
+    private int batchSize;
+
+    // 생성 스레드 수 (0이면 코어 수)
+    @Value("${moa.generator.threads:0}")
+    private int threads;
+
+    // 재현용 시드 (0이면 매번 다름)
+    @Value("${moa.generator.seed:0}")
+    private long seed;
+
+    // 버스가 가득 찼을 때 다시 시도하기 전 대기
+    private static final long FULL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile SampleProfile profile;
+    private volatile ReplayDataset profiledDataset;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private volatile long rowsPerSecond;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private long startedAtNanos;
+
+    /**
+     * 현재 데이터셋에서 프로파일 다시 학습
+     */
+    public synchronized SampleProfile learn() {
+        ReplayDataset dataset = s3DataReader.getDataset();
+        long startNanos = System.nanoTime();
+        SampleProfile learned = SampleProfile.learn(dataset.samples(), Math.max(1, profileRows), maxCategories,
+                SampleProfile.Dependency.parseAll(dependencies), random());
+        profile = learned;
+        profiledDataset = dataset;
+        log.info("🧬 합성 데이터 프로파일 학습 완료: {}행 / 컬럼 {}개 / 의존 관계 {} ({}ms)",
+                learned.getProfiledRows(), learned.getColumnCount(), learned.getDependencies(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return learned;
+    }
+
+    /**
+     * 생성 시작 (이미 실행 중이면 멈추고 다시 시작)
+     *
+     * @param rowsPerSecond 전체 목표 속도 (0이면 버스가 받는 만큼)
+     */
+    public synchronized void start(long rowsPerSecond) {
+        stop();
+        if (profile == null || profiledDataset != s3DataReader.getDataset()) {
+            learn();
+        }
+
+        int count = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.rowsPerSecond = Math.max(0, rowsPerSecond);
+        running = true;
+        generated.reset();
+        rejected.reset();
+        startedAtNanos = System.nanoTime();
+
+        SplittableRandom root = random();
+        SampleProfile current = profile;
+        for (int i = 0; i < count; i++) {
+            int worker = i;
+            SplittableRandom random = root.split();
+            double perWorker = this.rowsPerSecond / (double) count;
+            workers.add(Thread.ofPlatform().name("synthetic-gen-" + i).daemon(true)
+                    .start(() -> run(worker, count, random, current, perWorker)));
+        }
+        log.info("🏭 합성 데이터 생성 시작: 스레드 {}개, 목표 {}행/초", count,
+                this.rowsPerSecond == 0 ? "최대" : this.rowsPerSecond);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        log.info("🛑 합성 데이터 생성 정지: 총 {}행", generated.sum());
+    }
+
+    private SplittableRandom random() {
+        return seed != 0 ? new SplittableRandom(seed) : new SplittableRandom();
+    }
+
+    /**
+     * 생성 스레드 (배치 단위로 목표 속도에 맞춰 park)
+     */
+    private void run(int worker, int workerCount, SplittableRandom random, SampleProfile profile,
+                     double rowsPerSecond) {
+        SampleProfile.Draw draw = profile.newDraw();
+        long pageIdx = worker;
+        long batchNanos = rowsPerSecond > 0 ? (long) (batchSize * 1e9 / rowsPerSecond) : 0;
+        long nextBatchAt = System.nanoTime();
+        // 버스 슬롯이 행 참조를 복사해 가므로 목록은 재사용
+        List<HttpPageSample> batch = new ArrayList<>(batchSize);
+
+        while (running && !Thread.currentThread().isInterrupted()) {
+            batch.clear();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < batchSize; i++) {
+                HttpPageSample sample = profile.sample(random, draw);
+                sample.setRowKey(uuid(random));
+                sample.setPageIdx(pageIdx);
+                sample.setTsServer(now);
+                sample.setCreatedAt(now);
+                pageIdx += workerCount;
+                batch.add(sample);
+            }
+
+            while (!replayEventBus.publish(batch, ReplayBatch.SOURCE_SYNTHETIC)) {
+                rejected.increment();
+                if (!running) return;
+                LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+            }
+            generated.add(batch.size());
+
+            if (batchNanos > 0) {
+                nextBatchAt += batchNanos;
+                long wait = nextBatchAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (wait < -TimeUnit.SECONDS.toNanos(1)) {
+                    // 1초 이상 밀렸으면 따라잡지 않고 지금부터 다시
+                    nextBatchAt = System.nanoTime();
+                }
+            }
+        }
+    }
+
+    /**
+     * 스레드 자기 난수로 만든 버전 4 UUID
+     */
+    private static String uuid(SplittableRandom random) {
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running);
+        status.put("threads", workers.size());
+        status.put("targetRowsPerSecond", rowsPerSecond);
+        status.put("generated", generated.sum());
+        status.put("busRejected", rejected.sum());
+        if (running) {
+            double seconds = (System.nanoTime() - startedAtNanos) / 1e9;
+            status.put("rowsPerSecond", seconds > 0 ? generated.sum() / seconds : 0);
+        }
+        SampleProfile current = profile;
+        if (current != null) {
+            status.put("profiledRows", current.getProfiledRows());
+            status.put("profiledDataset", profiledDataset.key());
+            status.put("columns", current.getColumnCount());
+            status.put("dependencies", current.getDependencies().stream().map(Object::toString).toList());
+        }
+        return status;
+    }
+}
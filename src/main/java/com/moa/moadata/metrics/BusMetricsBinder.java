@@ -0,0 +1,36 @@
+package com.moa.moadata.metrics;
+
+import com.moa.moadata.bus.ReplayEventBus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트 버스 소비자별 lag / 처리량 게이지
+ */
+@Component
+@RequiredArgsConstructor
+public class BusMetricsBinder implements MeterBinder {
+
+    private final ReplayEventBus replayEventBus;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("moa.bus.cursor", replayEventBus, ReplayEventBus::getCursorValue)
+                .description("이벤트 버스 생산자 커서")
+                .register(registry);
+
+        for (String consumer : replayEventBus.getConsumerNames()) {
+            Gauge.builder("moa.bus.consumer.lag", replayEventBus, bus -> bus.getConsumerLag(consumer))
+                    .description("소비자 lag (배치 수)")
+                    .tag("consumer", consumer)
+                    .register(registry);
+            Gauge.builder("moa.bus.consumer.processed", replayEventBus, bus -> bus.getConsumerProcessed(consumer))
+                    .description("소비자가 처리한 배치 수")
+                    .tag("consumer", consumer)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.moa.moadata.metrics;
+
+import com.moa.moadata.metrics.jfr.BackendSendEvent;
+import com.moa.moadata.metrics.jfr.BatchReadEvent;
+import com.moa.moadata.metrics.jfr.BatchSerializeEvent;
+import com.moa.moadata.metrics.jfr.ScenarioEvent;
+import com.moa.moadata.metrics.jfr.SseWriteEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * JDK Flight Recorder 녹화 제어 (운영 컨테이너에서 재시작 없이 프로파일링)
+ *
+ * - settings: moa (파이프라인 이벤트만, 오버헤드 최소) / default (JDK 기본 ~1%) / profile (샘플링 더 촘촘)
+ * - 디스크 링 버퍼 (max-age / max-size) 로 녹화하다가 dump 시점까지를 파일로 저장
+ * - dump 파일은 dump-dir 에 max-dumps 개까지만 남김
+ * - 환경 변수 / 시스템 속성 / JVM 인자 이벤트는 어느 settings 든 끔 (AWS 키 등이 덤프 파일에 남지 않도록)
+ */
+@Slf4j
+@Component
+public class FlightRecordingService {
+
+    public static final String SETTINGS_MOA = "moa";
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            BatchReadEvent.class,
+            BatchSerializeEvent.class,
+            BackendSendEvent.class,
+            SseWriteEvent.class,
+            ScenarioEvent.class);
+
+    // JDK default / profile 설정이 켜는 이벤트 중 비밀 값이 담길 수 있는 것
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    @Value("${moa.jfr.dump-dir:${java.io.tmpdir}}")
+    private String dumpDir;
+
+    @Value("${moa.jfr.max-age-minutes:10}")
+    private long maxAgeMinutes;
+
+    @Value("${moa.jfr.max-size-mb:256}")
+    private long maxSizeMb;
+
+    @Value("${moa.jfr.max-dumps:3}")
+    private int maxDumps;
+
+    private Recording recording;
+    // 마지막 dump 파일 시각 (같은 밀리초에 다시 dump 해도 이전 파일을 덮어쓰지 않도록 1ms 씩 뒤로)
+    private long lastDumpMillis;
+    private String settings;
+
+    /**
+     * 녹화 전에도 JMC / jcmd 이벤트 목록에 보이도록 미리 등록
+     */
+    @PostConstruct
+    public void registerEvents() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("⚠️ 이 JVM에서는 JFR을 쓸 수 없어 파이프라인 이벤트를 등록하지 않습니다");
+            return;
+        }
+        EVENTS.forEach(FlightRecorder::register);
+    }
+
+    /**
+     * 녹화 시작
+     *
+     * @param settings moa / default / profile
+     */
+    public synchronized Map<String, Object> start(String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("이 JVM에서는 JFR을 쓸 수 없습니다");
+        }
+        if (isRunning()) {
+            throw new IllegalStateException("이미 녹화 중입니다 (" + this.settings + ")");
+        }
+        closeRecording();
+
+        Recording started = newRecording(settings);
+        // 설정 파일과 상관없이 파이프라인 이벤트는 항상 (임계값 없이)
+        for (Class<? extends Event> event : EVENTS) {
+            started.enable(event).withoutThreshold();
+        }
+        SENSITIVE_EVENTS.forEach(started::disable);
+        started.setName("moa-replay");
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.start();
+
+        recording = started;
+        this.settings = settings;
+        log.info("🎥 JFR 녹화 시작: settings={}, 최근 {}분 / {}MB 유지", settings, maxAgeMinutes, maxSizeMb);
+        return status();
+    }
+
+    private static Recording newRecording(String settings) {
+        if (SETTINGS_MOA.equalsIgnoreCase(settings)) {
+            return new Recording();
+        }
+        try {
+            return new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("지원하지 않는 JFR settings: " + settings);
+        }
+    }
+
+    /**
+     * 지금까지 녹화된 내용을 파일로 저장 (녹화는 계속)
+     */
+    public synchronized Path dump() throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("녹화 중이 아닙니다");
+        }
+
+        Path dir = Paths.get(dumpDir);
+        Files.createDirectories(dir);
+        lastDumpMillis = Math.max(System.currentTimeMillis(), lastDumpMillis + 1);
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastDumpMillis), ZoneId.systemDefault());
+        Path file = dir.resolve("moa-" + time.format(FILE_TIME) + ".jfr");
+        recording.dump(file);
+        log.info("💾 JFR 덤프 저장: {} ({} bytes)", file, Files.size(file));
+
+        pruneDumps(dir);
+        return file;
+    }
+
+    private void pruneDumps(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> dumps = files
+                    .filter(path -> path.getFileName().toString().matches("moa-\\d{8}-\\d{6}(-\\d{3})?\\.jfr"))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < dumps.size() - Math.max(1, maxDumps); i++) {
+                Files.deleteIfExists(dumps.get(i));
+            }
+        }
+    }
+
+    /**
+     * 녹화 정지 (디스크 링 버퍼도 정리)
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        closeRecording();
+        log.info("🛑 JFR 녹화 정지");
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", FlightRecorder.isAvailable());
+        status.put("running", isRunning());
+        if (recording != null) {
+            status.put("settings", settings);
+            status.put("startTime", String.valueOf(recording.getStartTime()));
+            status.put("maxAgeMinutes", maxAgeMinutes);
+            status.put("maxSizeMb", maxSizeMb);
+            status.put("sizeBytes", recording.getSize());
+        }
+        status.put("events", EVENTS.stream().map(event -> event.getAnnotation(Name.class).value()).toList());
+        status.put("dumpDir", dumpDir);
+        return status;
+    }
+}
@@ -0,0 +1,167 @@
+package com.moa.moadata.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리플레이 파이프라인 지표
+ *
+ * 모든 미터는 생성자에서 미리 등록하고 필드로 들고 있는다.
+ * 핫 패스에서는 태그 조회나 Timer.Sample 없이 nanoTime 차이만 기록 (할당 없음).
+ */
+@Component
+public class ReplayMetrics {
+
+    private static final String[] STATUS_CLASSES = {"error", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    // S3DataReader
+    private final Counter rowsParsed;
+    private final Counter rowsFailed;
+    private final AtomicLong parseRowsPerSecond = new AtomicLong();
+    private final Timer batchBuild;
+
+    // MoaApiClient
+    private final Timer backendSerialize;
+    private final Timer[] backendSendByStatus = new Timer[STATUS_CLASSES.length];
+    private final Counter backendBytes;
+
+    // SseEmitterService
+    private final Timer sseBroadcast;
+    private final Counter sseBytes;
+    private final Timer sseClientLag;
+
+    // DataSenderScheduler
+    private final Timer schedulerTick;
+    private final Counter tickOverrunDuration;
+    private final Counter tickOverrunLate;
+    private final Counter busRejected;
+
+    public ReplayMetrics(MeterRegistry registry) {
+        this.rowsParsed = Counter.builder("moa.reader.rows.parsed")
+                .description("CSV에서 파싱한 행 수")
+                .register(registry);
+        this.rowsFailed = Counter.builder("moa.reader.rows.failed")
+                .description("파싱에 실패한 행 수")
+                .register(registry);
+        Gauge.builder("moa.reader.parse.rate", parseRowsPerSecond, AtomicLong::get)
+                .description("마지막 로딩의 초당 파싱 행 수")
+                .baseUnit("rows/s")
+                .register(registry);
+        this.batchBuild = Timer.builder("moa.batch.build")
+                .description("readNextBatch 배치 구성 시간")
+                .register(registry);
+
+        this.backendSerialize = Timer.builder("moa.backend.serialize")
+                .description("백엔드 전송용 JSON 직렬화 시간")
+                .register(registry);
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            backendSendByStatus[i] = Timer.builder("moa.backend.send")
+                    .description("백엔드 배치 전송 지연")
+                    .tag("status", STATUS_CLASSES[i])
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        this.backendBytes = Counter.builder("moa.backend.bytes.sent")
+                .description("백엔드로 보낸 요청 본문 바이트")
+                .baseUnit("bytes")
+                .register(registry);
+
+        this.sseBroadcast = Timer.builder("moa.sse.broadcast")
+                .description("SSE 브로드캐스트 한 번에 걸린 시간 (인코딩 + 전체 클라이언트 쓰기)")
+                .register(registry);
+        this.sseBytes = Counter.builder("moa.sse.bytes.sent")
+                .description("SSE로 보낸 이벤트 데이터 바이트 (클라이언트 합계)")
+                .baseUnit("bytes")
+                .register(registry);
+        this.sseClientLag = Timer.builder("moa.sse.client.lag")
+                .description("브로드캐스트 시작부터 각 클라이언트 쓰기 완료까지의 지연")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.schedulerTick = Timer.builder("moa.scheduler.tick")
+                .description("스케줄러 tick 처리 시간")
+                .register(registry);
+        this.tickOverrunDuration = Counter.builder("moa.scheduler.tick.overrun")
+                .description("전송 주기를 넘긴 tick 수")
+                .tag("reason", "duration")
+                .register(registry);
+        this.tickOverrunLate = Counter.builder("moa.scheduler.tick.overrun")
+                .description("전송 주기를 넘긴 tick 수")
+                .tag("reason", "late")
+                .register(registry);
+        this.busRejected = Counter.builder("moa.bus.rejected")
+                .description("이벤트 버스가 가득 차서 건너뛴 배치 수")
+                .register(registry);
+    }
+
+    // ============== S3DataReader ==============
+
+    public void rowsParsed(long count) {
+        rowsParsed.increment(count);
+    }
+
+    public void rowsFailed(long count) {
+        rowsFailed.increment(count);
+    }
+
+    public void recordParseRate(long rows, long elapsedNanos) {
+        if (elapsedNanos > 0) {
+            parseRowsPerSecond.set(rows * 1_000_000_000L / elapsedNanos);
+        }
+    }
+
+    public void recordBatchBuild(long elapsedNanos) {
+        batchBuild.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ============== MoaApiClient ==============
+
+    public void recordBackendSerialize(long elapsedNanos) {
+        backendSerialize.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param status HTTP 상태 코드, 응답을 못 받았으면 0
+     */
+    public void recordBackendSend(int status, long elapsedNanos, long bytes) {
+        int statusClass = status / 100;
+        Timer timer = statusClass >= 1 && statusClass <= 5 ? backendSendByStatus[statusClass] : backendSendByStatus[0];
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        backendBytes.increment(bytes);
+    }
+
+    // ============== SseEmitterService ==============
+
+    public void recordSseBroadcast(long elapsedNanos, long bytes) {
+        sseBroadcast.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sseBytes.increment(bytes);
+    }
+
+    public void recordSseClientLag(long elapsedNanos) {
+        sseClientLag.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ============== DataSenderScheduler ==============
+
+    public void recordTick(long elapsedNanos, long intervalNanos, long sinceLastTickNanos) {
+        schedulerTick.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > intervalNanos) {
+            tickOverrunDuration.increment();
+        }
+        // fixedRate인데 주기의 1.5배 이상 늦게 시작 (이전 tick 또는 다른 스케줄 작업에 밀림)
+        if (sinceLastTickNanos > intervalNanos + intervalNanos / 2) {
+            tickOverrunLate.increment();
+        }
+    }
+
+    public void busRejected() {
+        busRejected.increment();
+    }
+}
@@ -0,0 +1,91 @@
+package com.moa.moadata.metrics.controller;
+
+import com.moa.moadata.metrics.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JFR 녹화 시작 / 덤프 다운로드 / 정지
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jfr")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * 녹화 시작
+     * POST /api/jfr/start?settings=moa   (moa / default / profile)
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = FlightRecordingService.SETTINGS_MOA) String settings) {
+        try {
+            Map<String, Object> response = new HashMap<>(flightRecordingService.start(settings));
+            response.put("status", "started");
+            response.put("message", "🎥 JFR 녹화 시작");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    /**
+     * 지금까지 녹화분을 .jfr 파일로 다운로드 (녹화는 계속, JMC / jfr print 로 열기)
+     * POST /api/jfr/dump   (dump-dir 에 파일을 쓰고 오래된 덤프를 지우므로 POST)
+     */
+    @PostMapping("/dump")
+    public ResponseEntity<?> dump() throws IOException {
+        try {
+            Path file = flightRecordingService.dump();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(new FileSystemResource(file));
+        } catch (IllegalStateException e) {
+            return invalid(e);
+        }
+    }
+
+    /**
+     * 녹화 정지
+     * POST /api/jfr/stop
+     */
+    @PostMapping("/stop")
+    public Map<String, Object> stop() {
+        flightRecordingService.stop();
+
+        Map<String, Object> response = new HashMap<>(flightRecordingService.status());
+        response.put("status", "stopped");
+        response.put("message", "🛑 JFR 녹화 정지");
+        return response;
+    }
+
+    /**
+     * 녹화 상태
+     * GET /api/jfr/status
+     */
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return flightRecordingService.status();
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalid(RuntimeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "invalid");
+        response.put("message", "❌ " + e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
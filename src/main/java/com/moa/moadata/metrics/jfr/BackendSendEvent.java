@@ -0,0 +1,45 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 백엔드 HTTP 배치 전송 (MoaApiClient.sendBatch / sendBatchJson)
+ */
+@Name("moa.BackendSend")
+@Label("Backend Send")
+@Category({"MOA", "Replay"})
+@Description("백엔드로 배치 POST (본문 쓰기 + 응답 상태 수신)")
+@StackTrace(false)
+public class BackendSendEvent extends Event {
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Status")
+    @Description("HTTP 상태 코드 (응답을 못 받았으면 0)")
+    public int status;
+
+    @Label("Outcome")
+    @Description("ok / http-error / error")
+    public String outcome;
+
+    public void record(int rows, long bytes, int status) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.status = status;
+            this.outcome = status == 0 ? "error" : status / 100 == 2 ? "ok" : "http-error";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 재생 배치 구성 (S3DataReader.readNextBatch / readNextChunk)
+ */
+@Name("moa.BatchRead")
+@Label("Replay Batch Read")
+@Category({"MOA", "Replay"})
+@Description("데이터셋에서 다음 배치 구성 (템플릿 모드면 JSON 이어 붙이기 포함)")
+@StackTrace(false)
+public class BatchReadEvent extends Event {
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Bytes")
+    @Description("템플릿 모드에서 미리 직렬화된 JSON 크기 (아니면 0)")
+    @DataAmount
+    public long bytes;
+
+    @Label("Outcome")
+    @Description("ok / partial (데이터 끝) / empty")
+    public String outcome;
+
+    /**
+     * 필드 채우고 기록 (녹화 중이 아니면 아무것도 안 함)
+     */
+    public void record(int requested, int rows, long bytes) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.outcome = rows == 0 ? "empty" : rows < requested ? "partial" : "ok";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Jackson 배치 직렬화 (백엔드 전송 / SSE 브로드캐스트)
+ */
+@Name("moa.BatchSerialize")
+@Label("Batch Serialize")
+@Category({"MOA", "Replay"})
+@Description("배치를 JSON 바이트로 직렬화")
+@StackTrace(false)
+public class BatchSerializeEvent extends Event {
+
+    public static final String TARGET_BACKEND = "backend";
+    public static final String TARGET_SSE = "sse";
+
+    @Label("Target")
+    @Description("backend / sse")
+    public String target;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Outcome")
+    @Description("ok / error")
+    public String outcome;
+
+    public void record(String target, int rows, long bytes, boolean ok) {
+        if (shouldCommit()) {
+            this.target = target;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.outcome = ok ? "ok" : "error";
+            commit();
+        }
+    }
+}
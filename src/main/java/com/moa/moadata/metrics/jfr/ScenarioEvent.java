@@ -0,0 +1,38 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 장애 시나리오 데이터 생성 + 이벤트 버스 발행 (ScenarioService)
+ */
+@Name("moa.Scenario")
+@Label("Scenario")
+@Category({"MOA", "Replay"})
+@Description("장애 시나리오 행 생성 후 이벤트 버스로 발행")
+@StackTrace(false)
+public class ScenarioEvent extends Event {
+
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Outcome")
+    @Description("published / rejected (버스가 가득 참)")
+    public String outcome;
+
+    public void record(String scenario, int rows, boolean published) {
+        if (shouldCommit()) {
+            this.scenario = scenario;
+            this.rows = rows;
+            this.outcome = published ? "published" : "rejected";
+            commit();
+        }
+    }
+}
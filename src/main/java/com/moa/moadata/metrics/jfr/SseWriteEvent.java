@@ -0,0 +1,51 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * SSE 구독자 하나에 이벤트 쓰기 (구독자별 writer)
+ */
+@Name("moa.SseWrite")
+@Label("SSE Write")
+@Category({"MOA", "Replay"})
+@Description("SSE 구독자 하나의 연결에 이벤트 쓰기")
+@StackTrace(false)
+public class SseWriteEvent extends Event {
+
+    @Label("Subscriber Slot")
+    public int slot;
+
+    @Label("Event Name")
+    public String eventName;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Queue Lag")
+    @Description("브로드캐스트 큐에 들어간 뒤 쓰기 시작까지")
+    @Timespan
+    public long queueLag;
+
+    @Label("Outcome")
+    @Description("ok / failed")
+    public String outcome;
+
+    public void record(int slot, String eventName, long bytes, long queueLagNanos, boolean ok) {
+        if (shouldCommit()) {
+            this.slot = slot;
+            this.eventName = eventName;
+            this.bytes = bytes;
+            this.queueLag = queueLagNanos;
+            this.outcome = ok ? "ok" : "failed";
+            commit();
+        }
+    }
+}
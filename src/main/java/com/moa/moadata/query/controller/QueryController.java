@@ -0,0 +1,43 @@
+package com.moa.moadata.query.controller;
+
+import com.moa.moadata.query.service.DatasetQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 리플레이 데이터셋 집계 질의 (재생하지 않고 시나리오 기준값 확인)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/query")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class QueryController {
+
+    private final DatasetQueryService datasetQueryService;
+
+    /**
+     * 그룹별 집계
+     * GET /api/query?groupBy=country_name_req&metrics=count,avg(tsPage),p95(tsPage),sum(tcpErrorCnt)&filter=http_res_code >= 500
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> query(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = "count") String metrics,
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(datasetQueryService.query(groupBy, metrics, filter, Math.max(1, limit)));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "invalid");
+            response.put("message", "❌ " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
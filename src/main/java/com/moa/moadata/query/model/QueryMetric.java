@@ -0,0 +1,86 @@
+package com.moa.moadata.query.model;
+
+import com.moa.moadata.websocket.codec.ColumnType;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 집계 항목 (count / sum(col) / avg(col) / min(col) / max(col) / p50(col) ...)
+ *
+ * @param function 집계 함수
+ * @param column   대상 숫자 컬럼 (count면 null)
+ * @param label    응답 키 (예: "p95(tsPage)")
+ */
+public record QueryMetric(Function function, SampleColumn column, String label) {
+
+    private static final Pattern METRIC = Pattern.compile("^\\s*([A-Za-z0-9]+)\\s*(?:\\(\\s*([A-Za-z0-9_]+)\\s*\\))?\\s*$");
+
+    public enum Function {
+        COUNT, SUM, AVG, MIN, MAX, P50, P90, P95, P99;
+
+        public boolean isPercentile() {
+            return this == P50 || this == P90 || this == P95 || this == P99;
+        }
+
+        /**
+         * 분위수 (p95 → 0.95)
+         */
+        public double quantile() {
+            return Integer.parseInt(name().substring(1)) / 100.0;
+        }
+    }
+
+    /**
+     * "count,avg(tsPage),p95(ts_page)" → 항목 목록 (비어 있으면 count 하나)
+     */
+    public static List<QueryMetric> parseAll(String metrics) {
+        List<QueryMetric> parsed = new ArrayList<>();
+        if (metrics != null) {
+            for (String metric : metrics.split(",")) {
+                if (!metric.isBlank()) {
+                    parsed.add(parse(metric));
+                }
+            }
+        }
+        if (parsed.isEmpty()) {
+            parsed.add(new QueryMetric(Function.COUNT, null, "count"));
+        }
+        return parsed;
+    }
+
+    public static QueryMetric parse(String metric) {
+        Matcher matcher = METRIC.matcher(metric);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("집계 항목을 해석할 수 없습니다: " + metric);
+        }
+
+        Function function;
+        try {
+            function = Function.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 집계 함수: " + matcher.group(1));
+        }
+        if (function == Function.COUNT) {
+            return new QueryMetric(function, null, "count");
+        }
+        if (matcher.group(2) == null) {
+            throw new IllegalArgumentException(matcher.group(1) + " 에는 컬럼이 필요합니다: " + metric);
+        }
+
+        SampleColumn column = SampleColumns.resolve(matcher.group(2));
+        if (column == null) {
+            throw new IllegalArgumentException("알 수 없는 컬럼: " + matcher.group(2));
+        }
+        if (column.type() == ColumnType.STRING || column.type() == ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("숫자 컬럼만 집계할 수 있습니다: " + column.name());
+        }
+        return new QueryMetric(function, column,
+                function.name().toLowerCase(Locale.ROOT) + "(" + column.name() + ")");
+    }
+}
@@ -0,0 +1,85 @@
+package com.moa.moadata.query.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.websocket.codec.SampleColumn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터셋 한 개의 컬럼 사본 (숫자 컬럼 → double[], 그룹 컬럼 → 사전 코드 int[])
+ *
+ * 질의에 처음 쓰일 때 만들고 데이터셋이 바뀔 때까지 재사용한다.
+ * 행 객체를 따라가지 않고 배열만 순서대로 훑으므로 집계 루프가 캐시 / 자동 벡터화에 유리하다.
+ */
+final class ColumnarSnapshot {
+
+    // 컬럼 사본을 만들 때 작업 하나가 맡는 행 수
+    private static final int FILL_CHUNK_ROWS = 65_536;
+
+    private final ReplayDataset dataset;
+    private final Map<String, double[]> numbers = new ConcurrentHashMap<>();
+    private final Map<String, GroupKeys> keys = new ConcurrentHashMap<>();
+
+    /**
+     * @param codes      행 → 사전 번호
+     * @param dictionary 사전 번호 → 값 (null 포함)
+     */
+    record GroupKeys(int[] codes, List<Object> dictionary) {
+    }
+
+    ColumnarSnapshot(ReplayDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    ReplayDataset dataset() {
+        return dataset;
+    }
+
+    /**
+     * 숫자 컬럼 (null은 NaN)
+     */
+    double[] numbers(SampleColumn column) {
+        return numbers.computeIfAbsent(column.name(), name -> fill(column));
+    }
+
+    GroupKeys keys(SampleColumn column) {
+        return keys.computeIfAbsent(column.name(), name -> encode(column));
+    }
+
+    private double[] fill(SampleColumn column) {
+        List<HttpPageSample> samples = dataset.samples();
+        int rows = samples.size();
+        double[] values = new double[rows];
+        ParallelLoop.forEach((rows + FILL_CHUNK_ROWS - 1) / FILL_CHUNK_ROWS, chunk -> {
+            int to = Math.min(rows, (chunk + 1) * FILL_CHUNK_ROWS);
+            for (int row = chunk * FILL_CHUNK_ROWS; row < to; row++) {
+                Object value = column.get(samples.get(row));
+                values[row] = value == null ? Double.NaN : ((Number) value).doubleValue();
+            }
+        });
+        return values;
+    }
+
+    private GroupKeys encode(SampleColumn column) {
+        List<HttpPageSample> samples = dataset.samples();
+        int[] codes = new int[samples.size()];
+        Map<Object, Integer> codeByValue = new HashMap<>();
+        List<Object> dictionary = new ArrayList<>();
+        for (int row = 0; row < codes.length; row++) {
+            Object value = column.get(samples.get(row));
+            Integer code = codeByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codeByValue.put(value, code);
+                dictionary.add(value);
+            }
+            codes[row] = code;
+        }
+        return new GroupKeys(codes, dictionary);
+    }
+}
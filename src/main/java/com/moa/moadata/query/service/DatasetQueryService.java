@@ -0,0 +1,330 @@
+package com.moa.moadata.query.service;
+
+import com.moa.moadata.query.model.QueryMetric;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.reader.index.ReplayFilter;
+import com.moa.moadata.websocket.codec.ColumnType;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 메모리에 올라온 리플레이 데이터셋 집계 질의 (group by + count / sum / avg / min / max / 분위수)
+ *
+ * 1. 필터는 데이터셋 인덱스로 일치하는 행 번호만 구함 (ReplayFilter)
+ * 2. 행 범위를 청크로 나눠 fork/join 으로 청크마다 그룹별 부분 집계 (컬럼 배열을 컬럼 단위로 훑음)
+ * 3. 분위수는 청크별 그룹 건수로 자리를 미리 계산해 값을 한 배열에 모은 뒤 그룹 구간마다 정렬 (정확한 값)
+ *
+ * 부분 집계는 청크마다 [컬럼][그룹] 배열이라 그룹이 많을수록 청크 수를 줄여 전체 크기를 MAX_PARTIAL_CELLS 안으로 맞춘다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatasetQueryService {
+
+    // 청크 하나의 최소 행 수 (이보다 작게 쪼개면 부분 집계 병합 비용이 더 큼)
+    private static final int MIN_CHUNK_ROWS = 16_384;
+    // 코어당 청크 수 (청크 간 처리량 차이 흡수)
+    private static final int CHUNKS_PER_CORE = 4;
+    // 청크 부분 집계 전체 크기 한도 (칸 수, 칸 하나 8바이트 → 32MB)
+    // 그룹이 많으면 청크 수를 줄이고, 청크 하나로도 넘으면 질의를 거절
+    private static final long MAX_PARTIAL_CELLS = 1 << 22;
+
+    private final S3DataReader s3DataReader;
+
+    private final AtomicReference<ColumnarSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 현재 재생 데이터셋 질의
+     *
+     * @param groupBy 그룹 컬럼 (비어 있으면 전체 한 그룹)
+     * @param metrics 집계 항목 (예: "count,avg(tsPage),p95(tsPage),sum(tcpErrorCnt)")
+     * @param filter  ReplayFilter 식 (비어 있으면 전체 행)
+     * @param limit   반환할 최대 그룹 수 (건수 많은 순)
+     * @throws IllegalArgumentException 컬럼 / 항목 / 필터를 해석할 수 없을 때
+     */
+    public Map<String, Object> query(String groupBy, String metrics, String filter, int limit) {
+        return query(s3DataReader.getDataset(), groupBy, metrics, filter, limit);
+    }
+
+    public Map<String, Object> query(ReplayDataset dataset, String groupBy, String metrics, String filter, int limit) {
+        long startNanos = System.nanoTime();
+
+        SampleColumn groupColumn = groupColumn(groupBy);
+        List<QueryMetric> queryMetrics = QueryMetric.parseAll(metrics);
+        ReplayFilter replayFilter = ReplayFilter.parse(filter);
+
+        ColumnarSnapshot columns = snapshot(dataset);
+        int[] rows = replayFilter.isEmpty() ? null : dataset.index().select(replayFilter).toArray();
+        int matched = rows == null ? dataset.size() : rows.length;
+
+        // 그룹 키 / 집계 대상 컬럼 (같은 컬럼은 한 번만)
+        ColumnarSnapshot.GroupKeys keys = groupColumn == null ? null : columns.keys(groupColumn);
+        int groups = keys == null ? 1 : keys.dictionary().size();
+        List<SampleColumn> valueColumns = new ArrayList<>();
+        for (QueryMetric metric : queryMetrics) {
+            if (metric.column() != null && !valueColumns.contains(metric.column())) {
+                valueColumns.add(metric.column());
+            }
+        }
+        double[][] values = new double[valueColumns.size()][];
+        for (int s = 0; s < values.length; s++) {
+            values[s] = columns.numbers(valueColumns.get(s));
+        }
+
+        // 부분 집계 하나 = 그룹마다 count + 컬럼마다 sum / n / min / max
+        long partialCells = (long) groups * (1 + 4L * values.length);
+        if (partialCells > MAX_PARTIAL_CELLS) {
+            throw new IllegalArgumentException("그룹이 너무 많습니다: " + groupColumn.name() + " " + groups + "개 (집계 컬럼 "
+                    + values.length + "개 기준 최대 " + MAX_PARTIAL_CELLS / (1 + 4L * values.length)
+                    + "개, 값 종류가 적은 컬럼으로 묶거나 집계 항목을 줄이세요)");
+        }
+        int maxChunks = (int) Math.max(1, MAX_PARTIAL_CELLS / partialCells);
+        int chunkRows = Math.max(Math.max(MIN_CHUNK_ROWS,
+                (matched + ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_CORE - 1)
+                        / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_CORE)),
+                (matched + maxChunks - 1) / maxChunks);
+        int chunks = (matched + chunkRows - 1) / chunkRows;
+        int[] codes = keys == null ? null : keys.codes();
+
+        Partial[] partials = new Partial[chunks];
+        ParallelLoop.forEach(chunks, c -> partials[c] = scan(
+                c * chunkRows, Math.min(matched, (c + 1) * chunkRows), rows, codes, groups, values));
+        Partial total = Partial.merge(partials, groups, values.length);
+
+        // 분위수가 필요한 컬럼만 그룹별로 값을 모아 정렬
+        double[][] sorted = new double[values.length][];
+        long[][] groupStarts = new long[values.length][];
+        for (int s = 0; s < values.length; s++) {
+            if (needsPercentile(queryMetrics, valueColumns.get(s))) {
+                groupStarts[s] = new long[groups + 1];
+                sorted[s] = gather(s, partials, rows, codes, values[s], chunkRows, matched, groups, groupStarts[s]);
+            }
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        Integer[] order = new Integer[groups];
+        for (int g = 0; g < groups; g++) order[g] = g;
+        Arrays.sort(order, Comparator.comparingLong((Integer g) -> total.count[g]).reversed());
+        int groupCount = 0;
+        for (int g : order) {
+            if (total.count[g] == 0) {
+                break;
+            }
+            groupCount++;
+            if (results.size() >= limit) {
+                continue;
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            if (groupColumn != null) {
+                result.put(groupColumn.name(), keys.dictionary().get(g));
+            }
+            for (QueryMetric metric : queryMetrics) {
+                int s = valueColumns.indexOf(metric.column());
+                result.put(metric.label(), value(metric, total, s, g, sorted, groupStarts));
+            }
+            results.add(result);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        log.debug("🧮 질의 완료: {}행 / {}그룹 / {}청크 ({}us)", matched, groupCount, chunks, elapsedNanos / 1_000);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("dataset", dataset.key());
+        response.put("rows", dataset.size());
+        response.put("matched", matched);
+        response.put("groups", groupCount);
+        response.put("chunks", chunks);
+        response.put("parallelism", ForkJoinPool.getCommonPoolParallelism());
+        response.put("elapsedMs", elapsedNanos / 1_000_000.0);
+        response.put("results", results);
+        return response;
+    }
+
+    private static SampleColumn groupColumn(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return null;
+        }
+        SampleColumn column = SampleColumns.resolve(groupBy.trim());
+        if (column == null) {
+            throw new IllegalArgumentException("알 수 없는 컬럼: " + groupBy);
+        }
+        if (column.type() == ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("시각 컬럼으로는 묶을 수 없습니다: " + groupBy);
+        }
+        return column;
+    }
+
+    private ColumnarSnapshot snapshot(ReplayDataset dataset) {
+        ColumnarSnapshot current = snapshot.get();
+        if (current != null && current.dataset() == dataset) {
+            return current;
+        }
+        ColumnarSnapshot created = new ColumnarSnapshot(dataset);
+        snapshot.set(created);
+        return created;
+    }
+
+    private static boolean needsPercentile(List<QueryMetric> metrics, SampleColumn column) {
+        for (QueryMetric metric : metrics) {
+            if (metric.function().isPercentile() && column.equals(metric.column())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 청크 하나 부분 집계 (컬럼 하나씩 행 범위를 훑음)
+     */
+    private static Partial scan(int from, int to, int[] rows, int[] codes, int groups, double[][] values) {
+        Partial partial = new Partial(groups, values.length);
+        long[] count = partial.count;
+        for (int i = from; i < to; i++) {
+            int row = rows == null ? i : rows[i];
+            count[codes == null ? 0 : codes[row]]++;
+        }
+
+        for (int s = 0; s < values.length; s++) {
+            double[] column = values[s];
+            double[] sum = partial.sum[s];
+            long[] n = partial.n[s];
+            double[] min = partial.min[s];
+            double[] max = partial.max[s];
+            for (int i = from; i < to; i++) {
+                int row = rows == null ? i : rows[i];
+                double v = column[row];
+                if (v != v) {
+                    continue;
+                }
+                int g = codes == null ? 0 : codes[row];
+                sum[g] += v;
+                n[g]++;
+                if (v < min[g]) min[g] = v;
+                if (v > max[g]) max[g] = v;
+            }
+        }
+        return partial;
+    }
+
+    /**
+     * 컬럼 값을 그룹 순서로 한 배열에 모은 뒤 그룹 구간마다 정렬
+     *
+     * 청크 c 의 그룹 g 값이 들어갈 자리 = 그룹 g 시작 + 앞선 청크들의 그룹 g 건수 → 청크끼리 겹치지 않게 병렬로 씀
+     *
+     * @param groupStarts 그룹 g 구간 [groupStarts[g], groupStarts[g + 1]) 을 채움
+     */
+    private static double[] gather(int s, Partial[] partials, int[] rows, int[] codes, double[] column,
+                                   int chunkRows, int matched, int groups, long[] groupStarts) {
+        for (int g = 0; g < groups; g++) {
+            long n = 0;
+            for (Partial partial : partials) {
+                n += partial.n[s][g];
+            }
+            groupStarts[g + 1] = groupStarts[g] + n;
+        }
+
+        int[][] offsets = new int[partials.length][groups];
+        for (int g = 0; g < groups; g++) {
+            long at = groupStarts[g];
+            for (int c = 0; c < partials.length; c++) {
+                offsets[c][g] = (int) at;
+                at += partials[c].n[s][g];
+            }
+        }
+
+        double[] gathered = new double[Math.toIntExact(groupStarts[groups])];
+        ParallelLoop.forEach(partials.length, c -> {
+            int[] next = offsets[c];
+            int to = Math.min(matched, (c + 1) * chunkRows);
+            for (int i = c * chunkRows; i < to; i++) {
+                int row = rows == null ? i : rows[i];
+                double v = column[row];
+                if (v == v) {
+                    gathered[next[codes == null ? 0 : codes[row]]++] = v;
+                }
+            }
+        });
+        ParallelLoop.forEach(groups, g -> Arrays.sort(gathered, (int) groupStarts[g], (int) groupStarts[g + 1]));
+        return gathered;
+    }
+
+    private static Object value(QueryMetric metric, Partial total, int s, int g,
+                                double[][] sorted, long[][] groupStarts) {
+        if (metric.function() == QueryMetric.Function.COUNT) {
+            return total.count[g];
+        }
+        long n = total.n[s][g];
+        if (n == 0) {
+            return null;
+        }
+        return switch (metric.function()) {
+            case SUM -> total.sum[s][g];
+            case AVG -> total.sum[s][g] / n;
+            case MIN -> total.min[s][g];
+            case MAX -> total.max[s][g];
+            default -> {
+                // nearest-rank 분위수
+                long rank = Math.max(1, (long) Math.ceil(metric.function().quantile() * n));
+                yield sorted[s][(int) (groupStarts[s][g] + rank - 1)];
+            }
+        };
+    }
+
+    /**
+     * 청크 / 전체 그룹별 집계 ([컬럼][그룹])
+     */
+    private static class Partial {
+        final long[] count;
+        final double[][] sum;
+        final long[][] n;
+        final double[][] min;
+        final double[][] max;
+
+        Partial(int groups, int columns) {
+            count = new long[groups];
+            sum = new double[columns][groups];
+            n = new long[columns][groups];
+            min = new double[columns][groups];
+            max = new double[columns][groups];
+            for (int s = 0; s < columns; s++) {
+                Arrays.fill(min[s], Double.POSITIVE_INFINITY);
+                Arrays.fill(max[s], Double.NEGATIVE_INFINITY);
+            }
+        }
+
+        static Partial merge(Partial[] partials, int groups, int columns) {
+            if (partials.length == 1) {
+                return partials[0];
+            }
+            Partial total = new Partial(groups, columns);
+            for (Partial partial : partials) {
+                for (int g = 0; g < groups; g++) {
+                    total.count[g] += partial.count[g];
+                }
+                for (int s = 0; s < columns; s++) {
+                    for (int g = 0; g < groups; g++) {
+                        total.sum[s][g] += partial.sum[s][g];
+                        total.n[s][g] += partial.n[s][g];
+                        total.min[s][g] = Math.min(total.min[s][g], partial.min[s][g]);
+                        total.max[s][g] = Math.max(total.max[s][g], partial.max[s][g]);
+                    }
+                }
+            }
+            return total;
+        }
+    }
+}
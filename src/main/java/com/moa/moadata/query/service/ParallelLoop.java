@@ -0,0 +1,48 @@
+package com.moa.moadata.query.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 0 ~ count-1 작업을 fork/join 으로 나눠 실행 (공용 풀, 범위를 반씩 쪼개서 작업 하나씩)
+ */
+final class ParallelLoop {
+
+    private ParallelLoop() {
+    }
+
+    static void forEach(int count, IntConsumer body) {
+        if (count <= 0) {
+            return;
+        }
+        if (count == 1) {
+            body.accept(0);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new Range(0, count, body));
+    }
+
+    private static class Range extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        Range(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Range(from, mid, body), new Range(mid, to, body));
+        }
+    }
+}
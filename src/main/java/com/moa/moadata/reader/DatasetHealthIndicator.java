@@ -0,0 +1,41 @@
+package com.moa.moadata.reader;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 데이터셋 readiness (/actuator/health/readiness 의 dataset)
+ *
+ * - 재생할 행이 있으면 UP (첫 청크만 읽은 상태나, 리로드 실패 후 기존 데이터로 재생 중인 경우 포함)
+ * - 아직 한 행도 없으면 로딩 중 OUT_OF_SERVICE, 실패 DOWN
+ * - 첫 로딩이 중간에 실패해서 앞부분만 남았으면 DOWN (잘린 데이터를 계속 순환 재생하는 상태)
+ */
+@Component
+@RequiredArgsConstructor
+public class DatasetHealthIndicator implements HealthIndicator {
+
+    private final S3DataReader s3DataReader;
+
+    @Override
+    public Health health() {
+        DatasetLoadProgress progress = s3DataReader.getLoadProgress();
+        ReplayDataset dataset = s3DataReader.getDataset();
+
+        Health.Builder builder;
+        boolean failed = progress.getState() == DatasetLoadState.FAILED;
+        if (failed && (dataset.size() == 0 || !dataset.complete())) {
+            builder = Health.down();
+        } else if (dataset.size() > 0) {
+            builder = Health.up();
+        } else {
+            builder = Health.outOfService();
+        }
+        return builder
+                .withDetails(progress.snapshot())
+                .withDetail("rows", dataset.size())
+                .withDetail("complete", dataset.complete())
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.moa.moadata.reader;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로더 스레드가 갱신하고 헬스 체크 / 상태 API가 읽는 로딩 진행 상황
+ */
+public class DatasetLoadProgress {
+
+    private volatile DatasetLoadState state = DatasetLoadState.LOADING;
+    private volatile String key;
+    private volatile long rows;
+    private volatile long bytesRead;
+    private volatile long totalBytes = -1;
+    private volatile String error;
+    private volatile Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+
+    // 마지막 실패 (다음 로딩을 시작해도 남김, 세 값을 한 번에 바꾸도록 레코드로)
+    private record Failure(String key, String error, Instant at) {
+    }
+
+    private volatile Failure lastFailure;
+
+    void begin(String key) {
+        this.key = key;
+        this.rows = 0;
+        this.bytesRead = 0;
+        this.totalBytes = -1;
+        this.error = null;
+        this.finishedAt = null;
+        this.startedAt = Instant.now();
+        this.state = DatasetLoadState.LOADING;
+    }
+
+    void total(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void update(long rows, long bytesRead) {
+        this.rows = rows;
+        this.bytesRead = bytesRead;
+    }
+
+    void ready(long rows) {
+        this.rows = rows;
+        if (totalBytes > 0) {
+            this.bytesRead = totalBytes;
+        }
+        this.finishedAt = Instant.now();
+        this.state = DatasetLoadState.READY;
+    }
+
+    void failed(Throwable cause) {
+        Instant now = Instant.now();
+        this.error = cause.getMessage();
+        this.finishedAt = now;
+        this.lastFailure = new Failure(key, cause.getMessage(), now);
+        this.state = DatasetLoadState.FAILED;
+    }
+
+    public DatasetLoadState getState() {
+        return state;
+    }
+
+    /**
+     * 마지막으로 실패한 로딩 (없으면 null, 이후 로딩이 성공해도 남음)
+     */
+    public Map<String, Object> lastFailure() {
+        Failure failure = lastFailure;
+        if (failure == null) {
+            return null;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("key", failure.key());
+        result.put("error", failure.error());
+        result.put("at", failure.at().toString());
+        return result;
+    }
+
+    /**
+     * 읽은 바이트 기준 진행률 (크기를 모르면 -1)
+     */
+    public double getPercent() {
+        if (state == DatasetLoadState.READY) {
+            return 100.0;
+        }
+        long total = totalBytes;
+        return total <= 0 ? -1 : Math.min(100.0, bytesRead * 100.0 / total);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", state);
+        result.put("key", key);
+        result.put("rowsParsed", rows);
+        result.put("percent", Math.round(getPercent() * 10) / 10.0);
+        result.put("startedAt", startedAt.toString());
+        if (finishedAt != null) {
+            result.put("finishedAt", finishedAt.toString());
+        }
+        if (error != null) {
+            result.put("error", error);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.moa.moadata.reader;
+
+/**
+ * 데이터셋 로딩 상태
+ */
+public enum DatasetLoadState {
+    LOADING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,181 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.template.RandomUuid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 XLSX 파일 재생 (CSV와 같은 HttpPageSampleBinder로 바인딩)
+ *
+ * S3 의 .xlsx 객체는 S3DataReader 가 CSV / Parquet 과 같은 데이터셋 / 교체 경로로 읽고,
+ * 이 클래스는 S3 없이 로컬 파일을 바로 흘려보낼 때 쓴다.
+ *
+ * 파서 스레드가 시트를 SAX로 읽으면서 고정 크기 큐에 행을 넣고, readNextBatch가 꺼내 간다.
+ * 큐가 차면 파서가 기다리므로 시트 전체를 메모리에 올리지 않는다. (loop-mode면 끝에서 처음부터 다시)
+ */
+@Slf4j
+@Component
+public class ExcelDataReader {
+
+    // 큐에서 끝을 알리는 표시
+    private static final HttpPageSample END = new HttpPageSample();
+
+    @Value("${moa.data.excel-path:}")
+    private String excelPath;
+
+    @Value("${moa.data.loop-mode:true}")
+    private boolean loopMode;
+
+    // 파서가 미리 읽어두는 최대 행 수
+    @Value("${moa.data.excel-queue-rows:10000}")
+    private int queueRows;
+
+    // 행 하나를 기다리는 최대 시간 (첫 행은 파일 열기 + 공유 문자열 읽기 포함)
+    @Value("${moa.data.excel-first-row-timeout-ms:30000}")
+    private long firstRowTimeoutMs;
+
+    private BlockingQueue<HttpPageSample> queue;
+    private Thread parser;
+    private volatile boolean exhausted;
+
+    private final byte[] rowKeyScratch = new byte[RandomUuid.QUOTED_LENGTH];
+
+    /**
+     * 다음 배치 (파일이 없거나 다 읽었으면 빈 목록)
+     */
+    public synchronized List<HttpPageSample> readNextBatch(int size) {
+        List<HttpPageSample> batch = new ArrayList<>(size);
+        if (excelPath == null || excelPath.isBlank()) {
+            log.warn("엑셀 파일 경로가 없습니다 (moa.data.excel-path)");
+            return batch;
+        }
+        if (exhausted) {
+            return batch;
+        }
+        startParser();
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            while (batch.size() < size) {
+                // 파서가 아직 못 읽은 행도 기다려서 배치를 채움 (시트 끝이면 END 가 들어옴)
+                HttpPageSample sample = queue.poll(firstRowTimeoutMs, TimeUnit.MILLISECONDS);
+                if (sample == null) {
+                    break;
+                }
+                if (sample == END) {
+                    exhausted = true;
+                    log.info("모든 엑셀 데이터 전송 완료");
+                    break;
+                }
+
+                RandomUuid.writeQuoted(rowKeyScratch, 0);
+                sample.setRowKey(new String(rowKeyScratch, 1, RandomUuid.QUOTED_LENGTH - 2, StandardCharsets.ISO_8859_1));
+                sample.setTsServer(now);
+                sample.setCreatedAt(now);
+                batch.add(sample);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return batch;
+    }
+
+    private void startParser() {
+        if (parser != null) {
+            return;
+        }
+        Path file = Path.of(excelPath);
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueRows));
+        parser = Thread.ofPlatform().name("excel-reader").daemon(true).start(() -> parseLoop(file));
+    }
+
+    private void parseLoop(Path file) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                log.error("❌ 엑셀 파일이 없습니다: {}", file);
+                return;
+            }
+            do {
+                long startNanos = System.nanoTime();
+                long rows = parseOnce(file);
+                log.info("✅ 엑셀 시트 읽기 완료: {}행 ({}ms)", rows, (System.nanoTime() - startNanos) / 1_000_000);
+                if (rows == 0) {
+                    break;
+                }
+                if (loopMode) {
+                    log.info("데이터 순환 - 처음부터 다시 시작");
+                }
+            } while (loopMode && !Thread.currentThread().isInterrupted());
+        } catch (StopParsing e) {
+            // 종료 중
+        } catch (Exception e) {
+            log.error("❌ 엑셀 파일 읽기 실패: {}", file, e);
+        } finally {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 시트 한 바퀴 (첫 행은 헤더)
+     *
+     * @return 바인딩한 행 수
+     */
+    private long parseOnce(Path file) throws Exception {
+        HttpPageSampleBinder[] binder = {null};
+        long[] rows = {0};
+        XlsxSheetParser.parse(file, cells -> {
+            if (binder[0] == null) {
+                binder[0] = HttpPageSampleBinder.forHeader(cells);
+                List<String> missing = binder[0].missingColumns();
+                if (!missing.isEmpty()) {
+                    log.warn("⚠️ 엑셀에 없는 컬럼 {}개 (빈 값으로 읽음): {}", missing.size(), missing);
+                }
+                return;
+            }
+            if (XlsxSheetParser.isBlank(cells)) {
+                return;
+            }
+            try {
+                queue.put(binder[0].bind(cells));
+                rows[0]++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StopParsing();
+            }
+        });
+        return rows[0];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (parser != null) {
+            parser.interrupt();
+        }
+    }
+
+    /**
+     * 파서 콜백에서 SAX 파싱을 멈추기 위한 예외
+     */
+    private static class StopParsing extends RuntimeException {
+        StopParsing() {
+            super(null, null, false, false);
+        }
+    }
+}
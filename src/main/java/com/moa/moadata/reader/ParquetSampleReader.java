@@ -0,0 +1,206 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.model.HttpPageSample;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Parquet 파일 → HttpPageSample (컬럼 단위 읽기)
+ *
+ * 요청한 필드의 컬럼만 requested schema로 넘겨서 나머지 컬럼 청크는 읽지도 풀지도 않는다.
+ * 행 그룹마다 컬럼 하나를 long[] / double[] / String[] 에 한 번에 읽은 뒤 필드에 채운다.
+ * 컬럼명은 CSV 헤더(src_ip) 또는 모델 필드명(srcIp), 읽지 않은 필드와 null 값은 null 그대로.
+ */
+@Slf4j
+class ParquetSampleReader {
+
+    private ParquetSampleReader() {
+    }
+
+    /**
+     * @param fields     읽을 모델 필드명 (비어 있으면 스키마에 있는 전체)
+     * @param onRowGroup 행 그룹을 읽을 때마다 지금까지 읽은 행으로 호출
+     */
+    static List<HttpPageSample> read(Path file, Set<String> fields, Consumer<List<HttpPageSample>> onRowGroup)
+            throws IOException {
+        List<HttpPageSample> samples = new ArrayList<>();
+
+        try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(file),
+                ParquetReadOptions.builder().build())) {
+            MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+            String createdBy = reader.getFooter().getFileMetaData().getCreatedBy();
+
+            List<Type> projected = new ArrayList<>();
+            List<Integer> targets = new ArrayList<>();
+            for (Type column : fileSchema.getFields()) {
+                int field = fieldOf(column.getName());
+                if (field < 0 || !column.isPrimitive() || column.isRepetition(Type.Repetition.REPEATED)) {
+                    continue;
+                }
+                if (fields.isEmpty() || fields.contains(HttpPageSampleBinder.name(field))) {
+                    projected.add(column);
+                    targets.add(field);
+                }
+            }
+            if (projected.isEmpty()) {
+                log.warn("⚠️ Parquet에 읽을 컬럼이 없습니다: {}", file);
+                return samples;
+            }
+
+            MessageType projection = new MessageType(fileSchema.getName(), projected);
+            reader.setRequestedSchema(projection);
+            log.info("📋 Parquet 컬럼 {}개 / {}개 읽음", projected.size(), fileSchema.getFieldCount());
+
+            List<ColumnDescriptor> columns = projection.getColumns();
+            ColumnBuffers buffers = new ColumnBuffers();
+            PageReadStore rowGroup;
+            while ((rowGroup = reader.readNextRowGroup()) != null) {
+                int rows = Math.toIntExact(rowGroup.getRowCount());
+                int base = samples.size();
+                LocalDateTime now = LocalDateTime.now();
+                for (int r = 0; r < rows; r++) {
+                    HttpPageSample sample = new HttpPageSample();
+                    sample.setCreatedAt(now);
+                    samples.add(sample);
+                }
+
+                ColumnReadStoreImpl store = new ColumnReadStoreImpl(rowGroup,
+                        new GroupRecordConverter(projection).getRootConverter(), projection, createdBy);
+                for (int c = 0; c < columns.size(); c++) {
+                    readColumn(store.getColumnReader(columns.get(c)), columns.get(c), rows, buffers);
+                    bindColumn(samples, base, rows, targets.get(c), columns.get(c), buffers);
+                }
+                onRowGroup.accept(samples);
+            }
+        }
+        return samples;
+    }
+
+    private static int fieldOf(String column) {
+        int field = HttpPageSampleBinder.fieldIndex(column);
+        return field >= 0 ? field : HttpPageSampleBinder.fieldIndexOfName(column);
+    }
+
+    /**
+     * 컬럼 하나를 행 수만큼 버퍼로 (null은 present=false)
+     */
+    private static void readColumn(ColumnReader reader, ColumnDescriptor column, int rows, ColumnBuffers buffers) {
+        buffers.ensure(rows);
+        int maxDefinition = column.getMaxDefinitionLevel();
+        boolean[] present = buffers.present;
+        switch (column.getPrimitiveType().getPrimitiveTypeName()) {
+            case INT32 -> {
+                long[] values = buffers.longs;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    if (present[r]) values[r] = reader.getInteger();
+                    reader.consume();
+                }
+            }
+            case INT64 -> {
+                long[] values = buffers.longs;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    if (present[r]) values[r] = reader.getLong();
+                    reader.consume();
+                }
+            }
+            case BOOLEAN -> {
+                long[] values = buffers.longs;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    if (present[r]) values[r] = reader.getBoolean() ? 1 : 0;
+                    reader.consume();
+                }
+            }
+            case FLOAT -> {
+                double[] values = buffers.doubles;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    if (present[r]) values[r] = reader.getFloat();
+                    reader.consume();
+                }
+            }
+            case DOUBLE -> {
+                double[] values = buffers.doubles;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    if (present[r]) values[r] = reader.getDouble();
+                    reader.consume();
+                }
+            }
+            default -> {
+                String[] values = buffers.strings;
+                for (int r = 0; r < rows; r++) {
+                    present[r] = reader.getCurrentDefinitionLevel() == maxDefinition;
+                    values[r] = present[r] ? reader.getBinary().toStringUsingUTF8() : null;
+                    reader.consume();
+                }
+            }
+        }
+    }
+
+    /**
+     * 버퍼 → 필드 (컬럼 타입이 달라도 바인더가 필드 타입으로 변환)
+     */
+    private static void bindColumn(List<HttpPageSample> samples, int base, int rows, int field,
+                                   ColumnDescriptor column, ColumnBuffers buffers) {
+        boolean[] present = buffers.present;
+        switch (column.getPrimitiveType().getPrimitiveTypeName()) {
+            case INT32, INT64, BOOLEAN -> {
+                long[] values = buffers.longs;
+                for (int r = 0; r < rows; r++) {
+                    if (present[r]) HttpPageSampleBinder.setLong(samples.get(base + r), field, values[r]);
+                }
+            }
+            case FLOAT, DOUBLE -> {
+                double[] values = buffers.doubles;
+                for (int r = 0; r < rows; r++) {
+                    if (present[r]) HttpPageSampleBinder.setDouble(samples.get(base + r), field, values[r]);
+                }
+            }
+            default -> {
+                String[] values = buffers.strings;
+                for (int r = 0; r < rows; r++) {
+                    if (present[r]) HttpPageSampleBinder.setString(samples.get(base + r), field, values[r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 컬럼 버퍼 (행 그룹 사이에 재사용, 가장 큰 행 그룹 크기만큼)
+     */
+    private static class ColumnBuffers {
+        boolean[] present = new boolean[0];
+        long[] longs = new long[0];
+        double[] doubles = new double[0];
+        String[] strings = new String[0];
+
+        void ensure(int rows) {
+            if (present.length < rows) {
+                present = new boolean[rows];
+                longs = new long[rows];
+                doubles = new double[rows];
+                strings = new String[rows];
+            }
+        }
+    }
+}
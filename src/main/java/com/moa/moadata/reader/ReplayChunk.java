@@ -0,0 +1,16 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.List;
+
+/**
+ * 한 tick 분량의 리플레이 행
+ *
+ * @param samples 행 객체 (통계 / WebSocket 소비자용, 다음 readNextChunk 때 재사용되는 리스트,
+ *                stampedRows = false 로 읽었으면 데이터셋의 공유 행이라 읽기 전용이고 rowKey / 시각은 원본 값)
+ * @param json    행 템플릿으로 만든 JSON 배열 (템플릿 모드가 아니면 null, 다 쓰면 release)
+ */
+public record ReplayChunk(List<HttpPageSample> samples, PooledBuffer json) {
+}
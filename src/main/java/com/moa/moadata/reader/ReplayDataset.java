@@ -0,0 +1,33 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.index.DatasetIndex;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 한 번 로딩한 리플레이 데이터셋 (교체는 통째로, 내용은 바꾸지 않음)
+ *
+ * @param key      S3 객체 키
+ * @param etag     로딩 시점 ETag (변경 감지용, 모르면 null)
+ * @param samples  파싱된 행
+ * @param loadedAt 로딩 (첫 청크면 공개) 시각
+ * @param complete 파일 끝까지 읽었는지 (첫 로딩 중에는 앞부분만 먼저 공개)
+ * @param index    재생 필터용 보조 인덱스 (컬럼별로 필요할 때 만들어짐)
+ */
+public record ReplayDataset(String key, String etag, List<HttpPageSample> samples, Instant loadedAt,
+                            boolean complete, DatasetIndex index) {
+
+    public ReplayDataset(String key, String etag, List<HttpPageSample> samples, Instant loadedAt, boolean complete) {
+        this(key, etag, samples, loadedAt, complete, new DatasetIndex(samples));
+    }
+
+    public static ReplayDataset empty(String key) {
+        return new ReplayDataset(key, null, List.of(), Instant.now(), false);
+    }
+
+    public int size() {
+        return samples.size();
+    }
+}
@@ -1,28 +1,63 @@
 package com.moa.moadata.reader;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.BufferPool;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.metrics.jfr.BatchReadEvent;
 import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.index.ReplayFilter;
+import com.moa.moadata.reader.index.ReplayShard;
+import com.moa.moadata.reader.template.RandomUuid;
+import com.moa.moadata.reader.template.RowTemplate;
+import com.moa.moadata.reader.template.RowTemplateCompiler;
+import com.moa.moadata.reader.template.TemplateBatchWriter;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class S3DataReader {
 
+    private final ReplayMetrics replayMetrics;
+    private final ObjectMapper objectMapper;
+
     @Value("${moa.data.s3-bucket}")
     private String bucketName;
 
@@ -41,317 +76,543 @@ public class S3DataReader {
     @Value("${aws.secret-key}")
     private String secretKey;
 
-    private S3Client s3Client;
-    private List<HttpPageSample> allData;
+    // 행을 한 번만 직렬화해두고 rowKey / tsServer / createdAt 만 바꿔 끼우는 모드
+    @Value("${moa.data.serialized-templates:false}")
+    private boolean serializedTemplates;
+
+    // 템플릿 배치 버퍼 풀 크기 (링 / 백엔드 전송 대기 중인 배치 수 정도)
+    @Value("${moa.data.buffer-pool-size:64}")
+    private int bufferPoolSize;
+
+    // S3 호환 서버 주소 (로컬 하네스 / MinIO 등, 비어 있으면 AWS)
+    @Value("${aws.s3-endpoint:}")
+    private String s3Endpoint;
+
+    // S3 객체 ETag 폴링으로 새 파일 자동 로딩
+    @Value("${moa.data.watch-enabled:false}")
+    private boolean watchEnabled;
+
+    // 첫 로딩 때 이만큼 읽으면 앞부분부터 재생 시작 (이후 두 배씩 늘려가며 공개)
+    @Value("${moa.data.first-chunk-rows:1000}")
+    private int firstChunkRows;
+
+    // Parquet에서 읽을 필드 (모델 필드명 쉼표 구분, 비어 있으면 전체)
+    @Value("${moa.data.columns:}")
+    private String columns;
+
+    // 로딩 때 미리 인덱스를 만들 컬럼 (나머지는 필터에 처음 쓰일 때)
+    @Value("${moa.data.index-columns:countryNameReq,httpHost,httpResCode,tsPage}")
+    private String indexColumns;
+
+    // 기동 시 재생 필터 (비어 있으면 전체 재생)
+    @Value("${moa.data.filter:}")
+    private String initialFilter;
+
+    // 진행 상황 갱신 / 첫 청크 확인 간격 (행)
+    private static final int PROGRESS_EVERY = 1000;
+
+    private volatile S3Client s3Client;
+    private final DatasetLoadProgress loadProgress = new DatasetLoadProgress();
+
+    // 더블 버퍼: 새 데이터셋은 백그라운드에서 다 읽은 뒤 한 번에 교체 (그동안은 기존 데이터셋으로 재생)
+    private final AtomicReference<ReplayDataset> dataset = new AtomicReference<>(ReplayDataset.empty(null));
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dataset-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile CompletableFuture<ReplayDataset> reloading;
+
+    // 스케줄러 스레드 전용: 지금 재생 중인 데이터셋과 위치 (교체 감지 시 처음부터)
+    private ReplayDataset serving = dataset.get();
+    private List<HttpPageSample> allData = serving.samples();
     private int currentIndex = 0;
-    private Map<String, Integer> headerIndexMap;
+
+    // 행 템플릿 캐시 (첫 바퀴에 행마다 만들어두고 이후 재사용)
+    private RowTemplateCompiler templateCompiler;
+    private RowTemplate[] templates;
+    private TemplateBatchWriter batchWriter;
+    private BufferPool bufferPool;
+
+    // readNextChunk 결과 행 목록 (다음 호출 때 재사용, 버스 슬롯이 복사해감)
+    private final List<HttpPageSample> chunkSamples = new ArrayList<>();
+    private final byte[] rowKeyScratch = new byte[RandomUuid.QUOTED_LENGTH];
+
+    // 재생 필터: API 스레드가 바꾸고, 스케줄러 스레드가 tick 시작 시 적용 (selectedRows == null 이면 전체)
+    private final AtomicReference<ReplayFilter> requestedFilter = new AtomicReference<>(ReplayFilter.NONE);
+    private ReplayFilter activeFilter = ReplayFilter.NONE;
+    // 분산 재생 샤드 (필터와 같은 방식으로 tick 시작 시 적용)
+    private final AtomicReference<ReplayShard> requestedShard = new AtomicReference<>(ReplayShard.ALL);
+    private ReplayShard activeShard = ReplayShard.ALL;
+    private int[] selectedRows;
 
     @PostConstruct
     public void init() {
-        // ✅ 환경변수에서 읽은 키로 인증
-        this.s3Client = S3Client.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .build();
+        requestedFilter.set(ReplayFilter.parse(initialFilter));
+        // 컨텍스트 기동을 막지 않도록 S3 클라이언트 생성 / 다운로드 / 파싱은 모두 로더 스레드에서
+        reload(s3Key);
+    }
 
-        try {
-            this.allData = readFromS3();
-            log.info("✅ S3 파일 로딩 완료: 총 {}개 데이터 (s3://{}/{})",
-                    allData.size(), bucketName, s3Key);
-        } catch (Exception e) {
-            log.error("❌ S3 파일 로딩 실패", e);
-            this.allData = new ArrayList<>();
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * S3 클라이언트 정리 (CRaC 체크포인트 전 열린 연결 정리, 다음 사용 때 다시 생성)
+     */
+    public synchronized void closeClient() {
+        if (s3Client != null) {
+            s3Client.close();
+            s3Client = null;
         }
     }
 
-    private List<HttpPageSample> readFromS3() throws IOException {
-        List<HttpPageSample> samples = new ArrayList<>();
+    /**
+     * 처음 쓸 때 S3 클라이언트 생성 (SDK 초기화 비용을 기동 경로에서 제외)
+     */
+    private S3Client s3Client() {
+        S3Client client = s3Client;
+        if (client == null) {
+            synchronized (this) {
+                client = s3Client;
+                if (client == null) {
+                    // ✅ 환경변수에서 읽은 키로 인증
+                    S3ClientBuilder builder = S3Client.builder()
+                            .region(Region.of(awsRegion))
+                            .credentialsProvider(StaticCredentialsProvider.create(
+                                    AwsBasicCredentials.create(accessKey, secretKey)));
+                    if (s3Endpoint != null && !s3Endpoint.isBlank()) {
+                        builder.endpointOverride(URI.create(s3Endpoint)).forcePathStyle(true);
+                        log.info("🪣 S3 엔드포인트 지정: {}", s3Endpoint);
+                    }
+                    client = builder.build();
+                    s3Client = client;
+                }
+            }
+        }
+        return client;
+    }
 
+    /**
+     * @param progressive 재생 중인 데이터가 없을 때 (첫 로딩) - 다 읽기 전에 앞부분부터 공개
+     * @param progress    진행 상황을 갱신할 대상
+     */
+    ReplayDataset readFromS3(String key, boolean progressive, DatasetLoadProgress progress) throws IOException {
         GetObjectRequest request = GetObjectRequest.builder()
                 .bucket(bucketName)
-                .key(s3Key)
+                .key(key)
                 .build();
 
-        try (InputStream inputStream = s3Client.getObject(request);
-             BufferedReader reader = new BufferedReader(
-                     new InputStreamReader(inputStream, "EUC-KR"))) {
+        try (ResponseInputStream<GetObjectResponse> inputStream = s3Client().getObject(request)) {
+            Long contentLength = inputStream.response().contentLength();
+            return readStream(key, inputStream.response().eTag(), inputStream,
+                    contentLength == null ? -1 : contentLength, progressive, progress);
+        }
+    }
 
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                log.warn("CSV 파일이 비어있습니다");
-                return samples;
+    /**
+     * 객체 본문 파싱 (첫 로딩이면 firstChunkRows 행부터 두 배씩 늘려 가며 앞부분을 공개)
+     */
+    ReplayDataset readStream(String key, String etag, InputStream inputStream, long contentLength,
+                             boolean progressive, DatasetLoadProgress progress) throws IOException {
+        progress.total(contentLength);
+
+        CountingInputStream counting = new CountingInputStream(inputStream);
+        long firstChunk = Math.max(1, firstChunkRows);
+        long[] nextPublish = {firstChunk};
+        Consumer<List<HttpPageSample>> onProgress = parsed -> {
+            progress.update(parsed.size(), counting.getCount());
+            // 공개할 때마다 복사하지만 두 배씩 늘리므로 전체 복사량은 행 수의 두 배 이내
+            if (progressive && parsed.size() >= nextPublish[0]) {
+                dataset.set(new ReplayDataset(key, etag, List.copyOf(parsed), Instant.now(), false));
+                if (nextPublish[0] == firstChunk) {
+                    log.info("🚀 첫 청크 공개: {}행부터 재생 가능", parsed.size());
+                }
+                nextPublish[0] = parsed.size() * 2L;
             }
+        };
+        List<HttpPageSample> samples = isParquet(key)
+                ? readParquet(counting, onProgress)
+                : isXlsx(key)
+                ? readXlsx(counting, onProgress)
+                : readCsv(counting, onProgress);
+        return new ReplayDataset(key, etag, samples, Instant.now(), true);
+    }
 
-            String[] headers = headerLine.split(",", -1);
-            this.headerIndexMap = buildHeaderIndexMap(headers);
-            log.info("📋 헤더 매핑 완료: {}", headerIndexMap.keySet());
+    private static boolean isParquet(String key) {
+        return key != null && key.toLowerCase(Locale.ROOT).endsWith(".parquet");
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) continue;
+    private static boolean isXlsx(String key) {
+        return key != null && key.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
 
-                String[] cols = line.split(",", -1);
-                CsvRowAccessor accessor = new CsvRowAccessor(cols, headerIndexMap);
-                HttpPageSample sample = parseRow(accessor);
-                if (sample != null) {
-                    samples.add(sample);
+    /**
+     * Parquet 객체 읽기 (푸터 / 컬럼 청크 위치로 건너뛰며 읽어야 해서 임시 파일로 받은 뒤 읽음)
+     */
+    private List<HttpPageSample> readParquet(InputStream inputStream, Consumer<List<HttpPageSample>> onProgress)
+            throws IOException {
+        Path file = Files.createTempFile("moa-dataset-", ".parquet");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+
+            long startNanos = System.nanoTime();
+            List<HttpPageSample> samples = ParquetSampleReader.read(file, projectedFields(), onProgress);
+            replayMetrics.rowsParsed(samples.size());
+            replayMetrics.recordParseRate(samples.size(), System.nanoTime() - startNanos);
+            return samples;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * XLSX 객체 읽기 (zip 이라 앞에서부터 풀 수 없어 임시 파일로 받은 뒤 첫 시트를 SAX 로 읽음)
+     */
+    private List<HttpPageSample> readXlsx(InputStream inputStream, Consumer<List<HttpPageSample>> onProgress)
+            throws IOException {
+        Path file = Files.createTempFile("moa-dataset-", ".xlsx");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+
+            long startNanos = System.nanoTime();
+            List<HttpPageSample> samples = new ArrayList<>();
+            HttpPageSampleBinder[] binder = {null};
+            long[] failed = {0};
+            XlsxSheetParser.parse(file, cells -> {
+                if (binder[0] == null) {
+                    binder[0] = HttpPageSampleBinder.forHeader(cells);
+                    List<String> missing = binder[0].missingColumns();
+                    if (!missing.isEmpty()) {
+                        log.warn("⚠️ XLSX에 없는 컬럼 {}개 (빈 값으로 읽음): {}", missing.size(), missing);
+                    }
+                    return;
+                }
+                if (XlsxSheetParser.isBlank(cells)) {
+                    return;
                 }
+                try {
+                    samples.add(binder[0].bind(cells));
+                } catch (Exception e) {
+                    failed[0]++;
+                    return;
+                }
+                if (samples.size() % PROGRESS_EVERY == 0) {
+                    onProgress.accept(samples);
+                }
+            });
+
+            replayMetrics.rowsParsed(samples.size());
+            replayMetrics.rowsFailed(failed[0]);
+            replayMetrics.recordParseRate(samples.size(), System.nanoTime() - startNanos);
+            return samples;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * moa.data.columns → 필드명 집합 (모르는 이름은 경고 후 무시)
+     */
+    private Set<String> projectedFields() {
+        Set<String> fields = new LinkedHashSet<>();
+        if (columns == null || columns.isBlank()) {
+            return fields;
+        }
+        for (String name : columns.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) continue;
+            if (HttpPageSampleBinder.fieldIndexOfName(field) < 0) {
+                log.warn("⚠️ 알 수 없는 컬럼 (moa.data.columns): {}", field);
+                continue;
             }
+            fields.add(field);
         }
+        return fields;
+    }
 
-        return samples;
+    // ============== 핫 리로드 ==============
+
+    /**
+     * 백그라운드에서 새 객체를 읽고 다 읽으면 교체 (스케줄러는 멈추지 않음)
+     *
+     * 이미 리로드 중이면 진행 중인 작업을 그대로 반환한다.
+     *
+     * @param key 읽을 S3 키 (null이면 현재 키)
+     */
+    public synchronized CompletableFuture<ReplayDataset> reload(String key) {
+        CompletableFuture<ReplayDataset> current = reloading;
+        if (current != null && !current.isDone()) {
+            return current;
+        }
+
+        String target = key == null || key.isBlank() ? currentKey() : key;
+        boolean progressive = dataset.get().size() == 0;
+        loadProgress.begin(target);
+        log.info("🔄 데이터셋 로딩 시작: s3://{}/{}", bucketName, target);
+
+        CompletableFuture<ReplayDataset> future = CompletableFuture.supplyAsync(() -> {
+            long startNanos = System.nanoTime();
+            try {
+                ReplayDataset loaded = readFromS3(target, progressive, loadProgress);
+                buildIndexes(loaded);
+                dataset.set(loaded);
+                loadProgress.ready(loaded.size());
+                log.info("✅ S3 파일 로딩 완료: 총 {}개 데이터 (s3://{}/{}, {}ms)", loaded.size(), bucketName, target,
+                        (System.nanoTime() - startNanos) / 1_000_000);
+                return loaded;
+            } catch (Exception e) {
+                loadProgress.failed(e);
+                log.error("❌ S3 파일 로딩 실패 - 기존 데이터셋 유지: s3://{}/{}", bucketName, target, e);
+                throw new IllegalStateException("데이터셋 로딩 실패: " + target, e);
+            }
+        }, loader);
+        reloading = future;
+        return future;
+    }
+
+    /**
+     * 재생 중인 데이터셋과 상관없이 객체 하나를 읽어서 반환 (리플레이 세션용)
+     *
+     * 호출 스레드에서 읽고, 현재 데이터셋 / 로딩 진행 상황은 건드리지 않는다.
+     */
+    public ReplayDataset readObject(String key) throws IOException {
+        long startNanos = System.nanoTime();
+        DatasetLoadProgress progress = new DatasetLoadProgress();
+        ReplayDataset loaded = readFromS3(key, false, progress);
+        buildIndexes(loaded);
+        log.info("✅ S3 객체 로딩 완료: {}개 데이터 (s3://{}/{}, {}ms)", loaded.size(), bucketName, key,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * 객체의 현재 ETag (본문은 받지 않음)
+     */
+    public String headEtag(String key) {
+        return s3Client().headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build()).eTag();
+    }
+
+    /**
+     * moa.data.index-columns 인덱스 생성 (로더 스레드, 교체 전에)
+     */
+    private void buildIndexes(ReplayDataset loaded) {
+        List<SampleColumn> columns = new ArrayList<>();
+        for (String name : indexColumns.split(",")) {
+            SampleColumn column = SampleColumns.byName(name.trim());
+            if (column != null) {
+                columns.add(column);
+            } else if (!name.isBlank()) {
+                log.warn("⚠️ 알 수 없는 인덱스 컬럼 (moa.data.index-columns): {}", name.trim());
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        int built = loaded.index().build(columns);
+        log.info("🗂️ 인덱스 생성 완료: {}개 컬럼 ({}ms) {}", built, (System.nanoTime() - startNanos) / 1_000_000,
+                loaded.index().summary());
+    }
+
+    // ============== 재생 필터 ==============
+
+    /**
+     * 재생 필터 변경 (다음 tick부터 일치하는 행만 처음부터 재생, 빈 식이면 해제)
+     *
+     * @return 현재 데이터셋에서 일치하는 행 수
+     * @throws IllegalArgumentException 식을 해석할 수 없을 때
+     */
+    public int applyFilter(String expression) {
+        ReplayFilter filter = ReplayFilter.parse(expression);
+        requestedFilter.set(filter);
+        int matches = dataset.get().index().select(filter).getCardinality();
+        log.info("🔎 재생 필터 변경: [{}] → {}행", filter, matches);
+        return matches;
+    }
+
+    public ReplayFilter getFilter() {
+        return requestedFilter.get();
+    }
+
+    /**
+     * 분산 재생 샤드 변경 (다음 tick부터 이 노드 몫의 행만 처음부터 재생)
+     */
+    public void applyShard(ReplayShard shard) {
+        ReplayShard previous = requestedShard.get();
+        if (shard.equals(previous)) {
+            return;
+        }
+        requestedShard.set(shard);
+        log.info("🧩 재생 샤드 변경: {} → {}", previous, shard);
+    }
+
+    public ReplayShard getShard() {
+        return requestedShard.get();
+    }
+
+    /**
+     * 현재 객체의 ETag가 바뀌었으면 리로드 (moa.data.watch-enabled)
+     */
+    @Scheduled(fixedDelayString = "${moa.data.watch-interval-ms:60000}",
+            initialDelayString = "${moa.data.watch-interval-ms:60000}")
+    public void watchEtag() {
+        if (!watchEnabled || isReloading()) {
+            return;
+        }
+
+        ReplayDataset current = dataset.get();
+        String key = currentKey();
+        try {
+            String etag = headEtag(key);
+            // 첫 로딩이 처음부터 실패했으면 current.etag() 가 null 이라 다시 읽음
+            if (etag != null && !etag.equals(current.etag())) {
+                log.info("👀 S3 객체 변경 감지: {} → {}", current.etag(), etag);
+                reload(key);
+            } else if (!current.complete() && loadProgress.getState() == DatasetLoadState.FAILED) {
+                // 첫 청크 공개 후 실패하면 ETag 는 같은 채 앞부분만 남으므로 ETag 와 상관없이 다시 읽음
+                log.info("👀 중간에 실패한 로딩 재시도: {} ({}행까지 읽음)", key, current.size());
+                reload(key);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ S3 ETag 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 지금 재생 중인 객체 키 (첫 로딩이 실패해서 데이터셋이 없으면 moa.data.s3-key)
+     */
+    private String currentKey() {
+        String key = dataset.get().key();
+        return key != null ? key : s3Key;
+    }
+
+    public boolean isReloading() {
+        CompletableFuture<ReplayDataset> current = reloading;
+        return current != null && !current.isDone();
+    }
+
+    public ReplayDataset getDataset() {
+        return dataset.get();
+    }
+
+    public DatasetLoadProgress getLoadProgress() {
+        return loadProgress;
+    }
+
+    /**
+     * 새 데이터셋으로 교체됐으면 처음부터 재생 (스케줄러 스레드에서 tick 시작 시)
+     * 첫 로딩 중에 같은 파일의 더 긴 앞부분이 공개된 경우는 위치 / 템플릿을 이어서 사용
+     * 재생 필터가 바뀌었거나 데이터셋이 바뀌면 인덱스로 일치하는 행 번호를 다시 구함
+     */
+    private void switchIfReloaded() {
+        ReplayDataset latest = dataset.get();
+        ReplayFilter filter = requestedFilter.get();
+        ReplayShard shard = requestedShard.get();
+        if (latest == serving && filter == activeFilter && shard == activeShard) {
+            return;
+        }
+
+        if (latest != serving) {
+            switchDataset(latest);
+        }
+        boolean filterChanged = filter != activeFilter || shard != activeShard;
+        if (filterChanged) {
+            activeFilter = filter;
+            activeShard = shard;
+            currentIndex = 0;
+        }
+        // 행 번호는 오름차순이라 첫 로딩 중 앞부분이 늘어나도 기존 위치가 그대로 유효 (range 샤드는 구간이 다시 나뉨)
+        int[] rows = filter.isEmpty() ? null : latest.index().select(filter).toArray();
+        selectedRows = shard.isAll() ? rows : shard.select(latest.samples(), rows);
+        if (filterChanged) {
+            log.info("🔎 재생 필터 적용: {}/{}행 [{}] 샤드 {}", getTotalSize(), latest.size(), filter, shard);
+        }
+    }
+
+    private void switchDataset(ReplayDataset latest) {
+        boolean continued = !serving.complete() && serving.size() > 0
+                && Objects.equals(serving.key(), latest.key()) && Objects.equals(serving.etag(), latest.etag());
+        serving = latest;
+        allData = latest.samples();
+        if (continued) {
+            if (templates != null) {
+                templates = Arrays.copyOf(templates, latest.size());
+            }
+            log.debug("데이터셋 확장: {}행", latest.size());
+        } else {
+            currentIndex = 0;
+            templates = null;
+            log.info("🔀 새 데이터셋으로 재생 전환: {}행 (etag={})", latest.size(), latest.etag());
+        }
     }
 
-    private Map<String, Integer> buildHeaderIndexMap(String[] headers) {
-        Map<String, Integer> map = new HashMap<>();
-        for (int i = 0; i < headers.length; i++) {
-            if (headers[i] != null) {
-                map.put(headers[i].trim(), i);
+    /**
+     * CSV 스트림 파싱 (EUC-KR, 첫 줄은 헤더)
+     */
+    List<HttpPageSample> readCsv(InputStream inputStream) throws IOException {
+        return readCsv(inputStream, parsed -> { });
+    }
+
+    /**
+     * @param onProgress PROGRESS_EVERY 행마다 지금까지 파싱한 행으로 호출 (로더 스레드)
+     */
+    private List<HttpPageSample> readCsv(InputStream inputStream, Consumer<List<HttpPageSample>> onProgress)
+            throws IOException {
+        List<HttpPageSample> samples = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "EUC-KR"));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            log.warn("CSV 파일이 비어있습니다");
+            return samples;
+        }
+
+        String[] headers = headerLine.split(",", -1);
+        // 로더 스레드 (재생 / 세션) 가 동시에 서로 다른 헤더의 CSV를 읽을 수 있으므로 바인더는 호출마다
+        HttpPageSampleBinder binder = HttpPageSampleBinder.forHeader(headers);
+        List<String> missing = binder.missingColumns();
+        log.info("📋 헤더 매핑 완료: {}개 컬럼", HttpPageSampleBinder.FIELD_COUNT - missing.size());
+        if (!missing.isEmpty()) {
+            log.warn("⚠️ CSV에 없는 컬럼 {}개 (빈 값으로 읽음): {}", missing.size(), missing);
+        }
+
+        long startNanos = System.nanoTime();
+        long failed = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+
+            HttpPageSample sample = parseLine(line, binder);
+            if (sample != null) {
+                samples.add(sample);
+                if (samples.size() % PROGRESS_EVERY == 0) {
+                    onProgress.accept(samples);
+                }
+            } else {
+                failed++;
             }
         }
-        return map;
+
+        replayMetrics.rowsParsed(samples.size());
+        replayMetrics.rowsFailed(failed);
+        replayMetrics.recordParseRate(samples.size(), System.nanoTime() - startNanos);
+
+        return samples;
     }
 
-    private HttpPageSample parseRow(RowAccessor row) {
+    /**
+     * 데이터 한 줄 파싱
+     *
+     * @param binder 이 CSV 헤더로 만든 바인더
+     */
+    HttpPageSample parseLine(String line, HttpPageSampleBinder binder) {
         try {
-            return HttpPageSample.builder()
-                    .rowKey(row.getString("row_key"))
-                    .srcIp(row.getString("src_ip"))
-                    .dstIp(row.getString("dst_ip"))
-                    .srcPort(row.getInteger("src_port"))
-                    .dstPort(row.getInteger("dst_port"))
-                    .tsFrameArrival(row.getDouble("ts_frame_arrival"))
-                    .tsFrameLandoff(row.getDouble("ts_frame_landoff"))
-                    .pageIdx(row.getLong("page_idx"))
-                    .tsServerNsec(row.getDouble("ts_server_nsec"))
-                    .srcMac(row.getString("src_mac"))
-                    .dstMac(row.getString("dst_mac"))
-                    .pageHttpLen(row.getLong("page_http_len"))
-                    .pageHttpLenReq(row.getLong("page_http_len_req"))
-                    .pageHttpLenRes(row.getLong("page_http_len_res"))
-                    .pageHttpHeaderLenReq(row.getLong("page_http_header_len_req"))
-                    .pageHttpHeaderLenRes(row.getLong("page_http_header_len_res"))
-                    .pageHttpContentLenReq(row.getLong("page_http_content_len_req"))
-                    .pageHttpContentLenRes(row.getLong("page_http_content_len_res"))
-                    .pagePktLen(row.getLong("page_pkt_len"))
-                    .pagePktLenReq(row.getLong("page_pkt_len_req"))
-                    .pagePktLenRes(row.getLong("page_pkt_len_res"))
-                    .pageTcpLen(row.getLong("page_tcp_len"))
-                    .pageTcpLenReq(row.getLong("page_tcp_len_req"))
-                    .pageTcpLenRes(row.getLong("page_tcp_len_res"))
-                    .httpContentLength(row.getLong("http_content_length"))
-                    .httpContentLengthReq(row.getLong("http_content_length_req"))
-                    .connErrSessionLen(row.getLong("conn_err_session_len"))
-                    .reqConnErrSessionLen(row.getLong("req_conn_err_session_len"))
-                    .resConnErrSessionLen(row.getLong("res_conn_err_session_len"))
-                    .retransmissionLen(row.getLong("retransmission_len"))
-                    .retransmissionLenReq(row.getLong("retransmission_len_req"))
-                    .retransmissionLenRes(row.getLong("retransmission_len_res"))
-                    .outOfOrderLen(row.getLong("out_of_order_len"))
-                    .outOfOrderLenReq(row.getLong("out_of_order_len_req"))
-                    .outOfOrderLenRes(row.getLong("out_of_order_len_res"))
-                    .lostSegLen(row.getLong("lost_seg_len"))
-                    .lostSegLenReq(row.getLong("lost_seg_len_req"))
-                    .lostSegLenRes(row.getLong("lost_seg_len_res"))
-                    .ackLostLen(row.getLong("ack_lost_len"))
-                    .ackLostLenReq(row.getLong("ack_lost_len_req"))
-                    .ackLostLenRes(row.getLong("ack_lost_len_res"))
-                    .winUpdateLen(row.getLong("win_update_len"))
-                    .winUpdateLenReq(row.getLong("win_update_len_req"))
-                    .winUpdateLenRes(row.getLong("win_update_len_res"))
-                    .dupAckLen(row.getLong("dup_ack_len"))
-                    .dupAckLenReq(row.getLong("dup_ack_len_req"))
-                    .dupAckLenRes(row.getLong("dup_ack_len_res"))
-                    .zeroWinLen(row.getLong("zero_win_len"))
-                    .zeroWinLenReq(row.getLong("zero_win_len_req"))
-                    .zeroWinLenRes(row.getLong("zero_win_len_res"))
-                    .checksumErrorLen(row.getLong("checksum_error_len"))
-                    .checksumErrorLenReq(row.getLong("checksum_error_len_req"))
-                    .checksumErrorLenRes(row.getLong("checksum_error_len_res"))
-                    .pageRttConnCntReq(row.getInteger("page_rtt_conn_cnt_req"))
-                    .pageRttConnCntRes(row.getInteger("page_rtt_conn_cnt_res"))
-                    .pageRttAckCntReq(row.getInteger("page_rtt_ack_cnt_req"))
-                    .pageRttAckCntRes(row.getInteger("page_rtt_ack_cnt_res"))
-                    .pageReqMakingCnt(row.getInteger("page_req_making_cnt"))
-                    .pageHttpCnt(row.getInteger("page_http_cnt"))
-                    .pageHttpCntReq(row.getInteger("page_http_cnt_req"))
-                    .pageHttpCntRes(row.getInteger("page_http_cnt_res"))
-                    .pagePktCnt(row.getInteger("page_pkt_cnt"))
-                    .pagePktCntReq(row.getInteger("page_pkt_cnt_req"))
-                    .pagePktCntRes(row.getInteger("page_pkt_cnt_res"))
-                    .pageSessionCnt(row.getLong("page_session_cnt"))
-                    .pageTcpConnectCnt(row.getInteger("page_tcp_connect_cnt"))
-                    .connErrPktCnt(row.getInteger("conn_err_pkt_cnt"))
-                    .connErrSessionCnt(row.getInteger("conn_err_session_cnt"))
-                    .retransmissionCnt(row.getInteger("retransmission_cnt"))
-                    .retransmissionCntReq(row.getInteger("retransmission_cnt_req"))
-                    .retransmissionCntRes(row.getInteger("retransmission_cnt_res"))
-                    .outOfOrderCnt(row.getInteger("out_of_order_cnt"))
-                    .outOfOrderCntReq(row.getInteger("out_of_order_cnt_req"))
-                    .outOfOrderCntRes(row.getInteger("out_of_order_cnt_res"))
-                    .lostSegCnt(row.getInteger("lost_seg_cnt"))
-                    .lostSegCntReq(row.getInteger("lost_seg_cnt_req"))
-                    .lostSegCntRes(row.getInteger("lost_seg_cnt_res"))
-                    .ackLostCnt(row.getInteger("ack_lost_cnt"))
-                    .ackLostCntReq(row.getInteger("ack_lost_cnt_req"))
-                    .ackLostCntRes(row.getInteger("ack_lost_cnt_res"))
-                    .winUpdateCnt(row.getInteger("win_update_cnt"))
-                    .winUpdateCntReq(row.getInteger("win_update_cnt_req"))
-                    .winUpdateCntRes(row.getInteger("win_update_cnt_res"))
-                    .dupAckCnt(row.getInteger("dup_ack_cnt"))
-                    .dupAckCntReq(row.getInteger("dup_ack_cnt_req"))
-                    .dupAckCntRes(row.getInteger("dup_ack_cnt_res"))
-                    .zeroWinCnt(row.getInteger("zero_win_cnt"))
-                    .zeroWinCntReq(row.getInteger("zero_win_cnt_req"))
-                    .zeroWinCntRes(row.getInteger("zero_win_cnt_res"))
-                    .windowFullCnt(row.getInteger("window_full_cnt"))
-                    .windowFullCntReq(row.getInteger("window_full_cnt_req"))
-                    .windowFullCntRes(row.getInteger("window_full_cnt_res"))
-                    .pageTcpCnt(row.getInteger("page_tcp_cnt"))
-                    .pageTcpCntReq(row.getInteger("page_tcp_cnt_req"))
-                    .pageTcpCntRes(row.getInteger("page_tcp_cnt_res"))
-                    .reqMethodGetCnt(row.getInteger("req_method_get_cnt"))
-                    .reqMethodPutCnt(row.getInteger("req_method_put_cnt"))
-                    .reqMethodHeadCnt(row.getInteger("req_method_head_cnt"))
-                    .reqMethodPostCnt(row.getInteger("req_method_post_cnt"))
-                    .reqMethodTraceCnt(row.getInteger("req_method_trace_cnt"))
-                    .reqMethodDeleteCnt(row.getInteger("req_method_delete_cnt"))
-                    .reqMethodOptionsCnt(row.getInteger("req_method_options_cnt"))
-                    .reqMethodPatchCnt(row.getInteger("req_method_patch_cnt"))
-                    .reqMethodConnectCnt(row.getInteger("req_method_connect_cnt"))
-                    .reqMethodOthCnt(row.getInteger("req_method_oth_cnt"))
-                    .reqMethodGetCntError(row.getInteger("req_method_get_cnt_error"))
-                    .reqMethodPutCntError(row.getInteger("req_method_put_cnt_error"))
-                    .reqMethodHeadCntError(row.getInteger("req_method_head_cnt_error"))
-                    .reqMethodPostCntError(row.getInteger("req_method_post_cnt_error"))
-                    .reqMethodTraceCntError(row.getInteger("req_method_trace_cnt_error"))
-                    .reqMethodDeleteCntError(row.getInteger("req_method_delete_cnt_error"))
-                    .reqMethodOptionsCntError(row.getInteger("req_method_options_cnt_error"))
-                    .reqMethodPatchCntError(row.getInteger("req_method_patch_cnt_error"))
-                    .reqMethodConnectCntError(row.getInteger("req_method_connect_cnt_error"))
-                    .reqMethodOthCntError(row.getInteger("req_method_oth_cnt_error"))
-                    .resCode1xxCnt(row.getInteger("res_code_1xx_cnt"))
-                    .resCode2xxCnt(row.getInteger("res_code_2xx_cnt"))
-                    .resCode304Cnt(row.getInteger("res_code_304_cnt"))
-                    .resCode3xxCnt(row.getInteger("res_code_3xx_cnt"))
-                    .resCode401Cnt(row.getInteger("res_code_401_cnt"))
-                    .resCode403Cnt(row.getInteger("res_code_403_cnt"))
-                    .resCode404Cnt(row.getInteger("res_code_404_cnt"))
-                    .resCode4xxCnt(row.getInteger("res_code_4xx_cnt"))
-                    .resCode5xxCnt(row.getInteger("res_code_5xx_cnt"))
-                    .resCodeOthCnt(row.getInteger("res_code_oth_cnt"))
-                    .stoppedTransactionCnt(row.getInteger("stopped_transaction_cnt"))
-                    .stoppedTransactionCntReq(row.getInteger("stopped_transaction_cnt_req"))
-                    .stoppedTransactionCntRes(row.getInteger("stopped_transaction_cnt_res"))
-                    .incompleteCnt(row.getInteger("incomplete_cnt"))
-                    .incompleteCntReq(row.getInteger("incomplete_cnt_req"))
-                    .incompleteCntRes(row.getInteger("incomplete_cnt_res"))
-                    .timeoutCnt(row.getInteger("timeout_cnt"))
-                    .timeoutCntReq(row.getInteger("timeout_cnt_req"))
-                    .timeoutCntRes(row.getInteger("timeout_cnt_res"))
-                    .tsPageRtoCntReq(row.getInteger("ts_page_rto_cnt_req"))
-                    .tsPageRtoCntRes(row.getInteger("ts_page_rto_cnt_res"))
-                    .tcpErrorCnt(row.getInteger("tcp_error_cnt"))
-                    .tcpErrorCntReq(row.getInteger("tcp_error_cnt_req"))
-                    .tcpErrorCntRes(row.getInteger("tcp_error_cnt_res"))
-                    .tcpErrorLen(row.getLong("tcp_error_len"))
-                    .tcpErrorLenReq(row.getLong("tcp_error_len_req"))
-                    .tcpErrorLenRes(row.getLong("tcp_error_len_res"))
-                    .pageErrorCnt(row.getInteger("page_error_cnt"))
-                    .uriCnt(row.getInteger("uri_cnt"))
-                    .httpUriCnt(row.getInteger("http_uri_cnt"))
-                    .httpsUriCnt(row.getInteger("https_uri_cnt"))
-                    .contentTypeHtmlCntReq(row.getInteger("content_type_html_cnt_req"))
-                    .contentTypeHtmlCntRes(row.getInteger("content_type_html_cnt_res"))
-                    .contentTypeCssCntReq(row.getInteger("content_type_css_cnt_req"))
-                    .contentTypeCssCntRes(row.getInteger("content_type_css_cnt_res"))
-                    .contentTypeJsCntReq(row.getInteger("content_type_js_cnt_req"))
-                    .contentTypeJsCntRes(row.getInteger("content_type_js_cnt_res"))
-                    .contentTypeImgCntReq(row.getInteger("content_type_img_cnt_req"))
-                    .contentTypeImgCntRes(row.getInteger("content_type_img_cnt_res"))
-                    .contentTypeOthCntReq(row.getInteger("content_type_oth_cnt_req"))
-                    .contentTypeOthCntRes(row.getInteger("content_type_oth_cnt_res"))
-                    .httpResCode(row.getString("http_res_code"))
-                    .isHttps(row.getInteger("is_https"))
-                    .tsFirst(row.getDouble("ts_first"))
-                    .tsPageBegin(row.getDouble("ts_page_begin"))
-                    .tsPageEnd(row.getDouble("ts_page_end"))
-                    .tsPageReqSyn(row.getDouble("ts_page_req_syn"))
-                    .tsPage(row.getDouble("ts_page"))
-                    .tsPageGap(row.getDouble("ts_page_gap"))
-                    .tsPageResInit(row.getDouble("ts_page_res_init"))
-                    .tsPageResInitGap(row.getDouble("ts_page_res_init_gap"))
-                    .tsPageResApp(row.getDouble("ts_page_res_app"))
-                    .tsPageResAppGap(row.getDouble("ts_page_res_app_gap"))
-                    .tsPageRes(row.getDouble("ts_page_res"))
-                    .tsPageResGap(row.getDouble("ts_page_res_gap"))
-                    .tsPageTransferReq(row.getDouble("ts_page_transfer_req"))
-                    .tsPageTransferReqGap(row.getDouble("ts_page_transfer_req_gap"))
-                    .tsPageTransferRes(row.getDouble("ts_page_transfer_res"))
-                    .tsPageTransferResGap(row.getDouble("ts_page_transfer_res_gap"))
-                    .tsPageReqMakingSum(row.getDouble("ts_page_req_making_sum"))
-                    .tsPageReqMakingAvg(row.getDouble("ts_page_req_making_avg"))
-                    .tsPageTcpConnectSum(row.getDouble("ts_page_tcp_connect_sum"))
-                    .tsPageTcpConnectMin(row.getDouble("ts_page_tcp_connect_min"))
-                    .tsPageTcpConnectMax(row.getDouble("ts_page_tcp_connect_max"))
-                    .tsPageTcpConnectAvg(row.getDouble("ts_page_tcp_connect_avg"))
-                    .mbps(row.getDouble("mbps"))
-                    .mbpsReq(row.getDouble("mbps_req"))
-                    .mbpsRes(row.getDouble("mbps_res"))
-                    .pps(row.getDouble("pps"))
-                    .ppsReq(row.getDouble("pps_req"))
-                    .ppsRes(row.getDouble("pps_res"))
-                    .mbpsMin(row.getDouble("mbps_min"))
-                    .mbpsMinReq(row.getDouble("mbps_min_req"))
-                    .mbpsMinRes(row.getDouble("mbps_min_res"))
-                    .ppsMin(row.getDouble("pps_min"))
-                    .ppsMinReq(row.getDouble("pps_min_req"))
-                    .ppsMinRes(row.getDouble("pps_min_res"))
-                    .mbpsMax(row.getDouble("mbps_max"))
-                    .mbpsMaxReq(row.getDouble("mbps_max_req"))
-                    .mbpsMaxRes(row.getDouble("mbps_max_res"))
-                    .ppsMax(row.getDouble("pps_max"))
-                    .ppsMaxReq(row.getDouble("pps_max_req"))
-                    .ppsMaxRes(row.getDouble("pps_max_res"))
-                    .tcpErrorPercentage(row.getDouble("tcp_error_percentage"))
-                    .tcpErrorPercentageReq(row.getDouble("tcp_error_percentage_req"))
-                    .tcpErrorPercentageRes(row.getDouble("tcp_error_percentage_res"))
-                    .pageErrorPercentage(row.getDouble("page_error_percentage"))
-                    .countryNameReq(row.getString("country_name_req"))
-                    .countryNameRes(row.getString("country_name_res"))
-                    .continentNameReq(row.getString("continent_name_req"))
-                    .continentNameRes(row.getString("continent_name_res"))
-                    .domesticPrimaryNameReq(row.getString("domestic_primary_name_req"))
-                    .domesticPrimaryNameRes(row.getString("domestic_primary_name_res"))
-                    .domesticSub1NameReq(row.getString("domestic_sub1_name_req"))
-                    .domesticSub1NameRes(row.getString("domestic_sub1_name_res"))
-                    .domesticSub2NameReq(row.getString("domestic_sub2_name_req"))
-                    .domesticSub2NameRes(row.getString("domestic_sub2_name_res"))
-                    .ndpiProtocolApp(row.getString("ndpi_protocol_app"))
-                    .ndpiProtocolMaster(row.getString("ndpi_protocol_master"))
-                    .sensorDeviceName(row.getString("sensor_device_name"))
-                    .httpMethod(row.getString("http_method"))
-                    .httpVersion(row.getString("http_version"))
-                    .httpVersionReq(row.getString("http_version_req"))
-                    .httpVersionRes(row.getString("http_version_res"))
-                    .httpResPhrase(row.getString("http_res_phrase"))
-                    .httpContentType(row.getString("http_content_type"))
-                    .httpUserAgent(row.getString("http_user_agent"))
-                    .httpCookie(row.getString("http_cookie"))
-                    .httpLocation(row.getString("http_location"))
-                    .httpHost(row.getString("http_host"))
-                    .httpUri(row.getString("http_uri"))
-                    .httpUriSplit(row.getString("http_uri_split"))
-                    .httpReferer(row.getString("http_referer"))
-                    .userAgentSoftwareName(row.getString("user_agent_software_name"))
-                    .userAgentOperatingSystemName(row.getString("user_agent_operating_system_name"))
-                    .userAgentOperatingPlatform(row.getString("user_agent_operating_platform"))
-                    .userAgentSoftwareType(row.getString("user_agent_software_type"))
-                    .userAgentHardwareType(row.getString("user_agent_hardware_type"))
-                    .userAgentLayoutEngineName(row.getString("user_agent_layout_engine_name"))
-                    .createdAt(LocalDateTime.now())
-                    .build();
+            HttpPageSample sample = binder.bind(line.split(",", -1));
+            sample.setCreatedAt(LocalDateTime.now());
+            return sample;
         } catch (Exception e) {
             log.warn("행 파싱 실패: {}", e.getMessage());
             return null;
@@ -359,15 +620,73 @@ public class S3DataReader {
     }
 
     public List<HttpPageSample> readNextBatch(int size) {
-        if (allData.isEmpty()) {
-            log.warn("데이터가 없습니다");
-            return new ArrayList<>();
+        BatchReadEvent event = new BatchReadEvent();
+        event.begin();
+        switchIfReloaded();
+        List<HttpPageSample> batch = readNext(size, null, new ArrayList<>(), true);
+        event.record(size, batch.size(), 0);
+        return batch;
+    }
+
+    /**
+     * 다음 배치 + (템플릿 모드면) 미리 직렬화한 JSON 배열
+     *
+     * 행 목록은 다음 호출 때 재사용되고, JSON 버퍼는 호출자가 release 해야 한다.
+     */
+    public ReplayChunk readNextChunk(int size) {
+        return readNextChunk(size, true);
+    }
+
+    /**
+     * @param stampedRows 템플릿 모드에서도 행 객체에 이번 전송의 rowKey / 시각을 넣은 복사본이 필요한지
+     *                    (false 면 행 목록은 데이터셋의 공유 행 그대로 - 읽기 전용, 전송 필드는 JSON 에만 있음)
+     */
+    public ReplayChunk readNextChunk(int size, boolean stampedRows) {
+        BatchReadEvent event = new BatchReadEvent();
+        event.begin();
+        switchIfReloaded();
+        chunkSamples.clear();
+        if (!serializedTemplates || allData.isEmpty()) {
+            List<HttpPageSample> batch = readNext(size, null, chunkSamples, true);
+            event.record(size, batch.size(), 0);
+            return new ReplayChunk(batch, null);
+        }
+
+        if (templates == null || templates.length != allData.size()) {
+            templateCompiler = new RowTemplateCompiler(objectMapper);
+            templates = new RowTemplate[allData.size()];
+            batchWriter = new TemplateBatchWriter();
+            bufferPool = new BufferPool(Math.max(1, bufferPoolSize), size * 4096, size * 16384);
+        }
+
+        List<HttpPageSample> batch = readNext(size, bufferPool.acquire(), chunkSamples, stampedRows);
+        PooledBuffer json = batchWriter.finish();
+        event.record(size, batch.size(), json.length());
+        return new ReplayChunk(batch, json);
+    }
+
+    /**
+     * @param stamped 행마다 복사본을 만들어 전송 필드를 넣을지 (false 면 공유 행을 그대로 담고 전송 필드는 템플릿 JSON 에만)
+     */
+    private List<HttpPageSample> readNext(int size, PooledBuffer target, List<HttpPageSample> batch,
+                                          boolean stamped) {
+        int total = selectedRows == null ? allData.size() : selectedRows.length;
+        if (total == 0) {
+            log.warn(selectedRows == null ? "데이터가 없습니다" : "필터에 맞는 데이터가 없습니다");
+            return batch;
         }
 
-        List<HttpPageSample> batch = new ArrayList<>();
+        long startNanos = System.nanoTime();
+
+        // 배치 안의 행은 같은 전송 시각 (인코딩도 tick당 한 번)
+        LocalDateTime now = LocalDateTime.now();
+        if (target != null) {
+            byte[] nowJson = templateCompiler.encode(now);
+            batchWriter.begin(target, nowJson, nowJson);
+        }
 
         for (int i = 0; i < size; i++) {
-            if (currentIndex >= allData.size()) {
+            if (currentIndex >= total) {
                 if (loopMode) {
                     currentIndex = 0;
                     log.info("데이터 순환 - 처음부터 다시 시작");
@@ -377,92 +696,113 @@ public class S3DataReader {
                 }
             }
 
-            HttpPageSample sample = allData.get(currentIndex);
-            sample.setTsServer(LocalDateTime.now());
-            sample.setCreatedAt(LocalDateTime.now());
-            sample.setRowKey(UUID.randomUUID().toString());
+            // UUID.randomUUID() (SecureRandom + UUID 객체) 대신 바이트로 바로 생성
+            RandomUuid.writeQuoted(rowKeyScratch, 0);
+            int row = selectedRows == null ? currentIndex : selectedRows[currentIndex];
+            HttpPageSample sample = allData.get(row);
+            if (stamped) {
+                // 캐시된 행은 이전 배치 소비자가 아직 직렬화 중일 수 있으므로 배치마다 복사본에 전송 필드를 씀
+                sample = sample.copy();
+                sample.setTsServer(now);
+                sample.setCreatedAt(now);
+                sample.setRowKey(new String(rowKeyScratch, 1, RandomUuid.QUOTED_LENGTH - 2,
+                        StandardCharsets.ISO_8859_1));
+            }
+
+            if (target != null) {
+                batchWriter.append(templateAt(row), rowKeyScratch);
+            }
 
             batch.add(sample);
             currentIndex++;
         }
 
+        replayMetrics.recordBatchBuild(System.nanoTime() - startNanos);
         return batch;
     }
 
-    public boolean hasNext() {
-        return loopMode || currentIndex < allData.size();
+    /**
+     * 방금 읽은 rows 행만큼 위치를 되돌림 (버스에 올리지 못한 배치를 다음 tick에 다시 읽도록, 스케줄러 스레드)
+     */
+    public void rewind(int rows) {
+        int total = getTotalSize();
+        if (rows <= 0 || total == 0) {
+            return;
+        }
+        // 순환 모드에서는 배치 중간에 처음으로 돌아갔을 수 있음
+        currentIndex = loopMode ? Math.floorMod(currentIndex - rows, total) : Math.max(0, currentIndex - rows);
     }
 
-    public int getCurrentIndex() {
-        return currentIndex;
+    private RowTemplate templateAt(int index) {
+        RowTemplate template = templates[index];
+        if (template == null) {
+            template = templateCompiler.compile(allData.get(index).copy());
+            templates[index] = template;
+        }
+        return template;
     }
 
-    public int getTotalSize() {
-        return allData.size();
+    /**
+     * S3 없이 데이터 주입 (벤치마크 / 테스트용)
+     */
+    void loadSamples(List<HttpPageSample> samples, boolean loopMode) {
+        loadSamples(samples, loopMode, serializedTemplates);
     }
 
-    // ============== CSV Row 접근 ==============
-    private interface RowAccessor {
-        String getString(String headerName);
-        Integer getInteger(String headerName);
-        Long getLong(String headerName);
-        Double getDouble(String headerName);
+    void loadSamples(List<HttpPageSample> samples, boolean loopMode, boolean serializedTemplates) {
+        this.serializedTemplates = serializedTemplates;
+        this.loopMode = loopMode;
+        this.dataset.set(new ReplayDataset("local", null, samples, Instant.now(), true));
+        switchIfReloaded();
     }
 
-    private class CsvRowAccessor implements RowAccessor {
-        private final String[] cols;
-        private final Map<String, Integer> headerMap;
+    /**
+     * 보낼 행이 있는지 (스케줄러 스레드, tick 시작 시 교체 / 필터 / 샤드 변경을 먼저 적용)
+     * 첫 청크가 공개되기 전이나 필터 / 샤드에 맞는 행이 없으면 false
+     */
+    public boolean hasNext() {
+        switchIfReloaded();
+        int total = getTotalSize();
+        return total > 0 && (loopMode || currentIndex < total);
+    }
 
-        CsvRowAccessor(String[] cols, Map<String, Integer> headerMap) {
-            this.cols = cols;
-            this.headerMap = headerMap;
-        }
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
 
-        private String getRaw(String headerName) {
-            Integer idx = headerMap.get(headerName);
-            if (idx == null || idx < 0 || idx >= cols.length) {
-                return "";
-            }
-            String value = cols[idx];
-            return value == null ? "" : value.trim();
-        }
+    /**
+     * 재생 대상 행 수 (필터가 있으면 일치하는 행 수)
+     */
+    public int getTotalSize() {
+        return selectedRows == null ? allData.size() : selectedRows.length;
+    }
 
-        @Override
-        public String getString(String headerName) {
-            return getRaw(headerName);
+    /**
+     * 읽은 바이트 수 집계 (로딩 진행률)
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
         }
 
         @Override
-        public Integer getInteger(String headerName) {
-            String v = getRaw(headerName);
-            if (v.isEmpty()) return 0;
-            try {
-                return (int) Double.parseDouble(v);
-            } catch (NumberFormatException e) {
-                return 0;
-            }
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
         }
 
         @Override
-        public Long getLong(String headerName) {
-            String v = getRaw(headerName);
-            if (v.isEmpty()) return 0L;
-            try {
-                return (long) Double.parseDouble(v);
-            } catch (NumberFormatException e) {
-                return 0L;
-            }
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
         }
 
-        @Override
-        public Double getDouble(String headerName) {
-            String v = getRaw(headerName);
-            if (v.isEmpty()) return 0.0;
-            try {
-                return Double.parseDouble(v);
-            } catch (NumberFormatException e) {
-                return 0.0;
-            }
+        long getCount() {
+            return count;
         }
     }
-}
\ No newline at end of file
+}
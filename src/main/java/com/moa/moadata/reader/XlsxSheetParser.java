@@ -0,0 +1,140 @@
+package com.moa.moadata.reader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * XLSX 첫 시트 스트리밍 파서 (XSSFReader + SAX, XSSFWorkbook처럼 시트 DOM을 만들지 않음)
+ *
+ * 행마다 셀 문자열 배열을 콜백으로 넘기므로 메모리는 시트 크기와 상관없이 한 행 + 공유 문자열 표 정도.
+ * 숫자 셀은 표시 형식을 무시하고 원래 값으로 넘긴다 ("1,024" 가 아니라 "1024").
+ */
+class XlsxSheetParser {
+
+    private XlsxSheetParser() {
+    }
+
+    /**
+     * @param onRow 빈 셀은 "" 로 채운 행 (첫 행은 헤더)
+     */
+    static void parse(Path file, Consumer<String[]> onRow) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader xml = XMLHelper.newXMLReader();
+                xml.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new RowCollector(onRow), new RawNumberFormatter(), false));
+                xml.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("XLSX 파싱 실패: " + file, e);
+        }
+    }
+
+    /**
+     * 모든 셀이 비어 있는 행인지 (시트 끝의 서식만 남은 행 등)
+     */
+    static boolean isBlank(String[] cells) {
+        for (String cell : cells) {
+            if (!cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 셀 이벤트 → 행 배열 (중간에 빠진 셀은 "" 로 채움)
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<String[]> onRow;
+        private final List<String> cells = new ArrayList<>();
+
+        RowCollector(Consumer<String[]> onRow) {
+            this.onRow = onRow;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            onRow.accept(cells.toArray(new String[0]));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference == null ? cells.size() : columnOf(cellReference);
+            while (cells.size() < col) {
+                cells.add("");
+            }
+            String value = formattedValue == null ? "" : formattedValue;
+            if (col < cells.size()) {
+                cells.set(col, value);
+            } else {
+                cells.add(value);
+            }
+        }
+
+        /**
+         * "AB12" → 27
+         */
+        private static int columnOf(String reference) {
+            int col = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                col = col * 26 + (c - 'A' + 1);
+            }
+            return col - 1;
+        }
+    }
+
+    /**
+     * 날짜 형식만 형식대로, 나머지 숫자는 원래 값 그대로
+     */
+    private static class RawNumberFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return super.formatRawCellContents(value, formatIndex, formatString);
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.moa.moadata.reader.controller;
+
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 리플레이 데이터셋 조회 / 핫 리로드
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dataset")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DatasetController {
+
+    private final S3DataReader s3DataReader;
+
+    /**
+     * 현재 데이터셋
+     * GET /api/dataset
+     */
+    @GetMapping
+    public Map<String, Object> status() {
+        ReplayDataset dataset = s3DataReader.getDataset();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("key", dataset.key());
+        response.put("etag", dataset.etag());
+        response.put("rows", dataset.size());
+        response.put("loadedAt", dataset.loadedAt().toString());
+        response.put("currentIndex", s3DataReader.getCurrentIndex());
+        response.put("reloading", s3DataReader.isReloading());
+        response.put("complete", dataset.complete());
+        response.put("load", s3DataReader.getLoadProgress().snapshot());
+        response.put("lastReloadError", s3DataReader.getLoadProgress().lastFailure());
+        response.put("filter", s3DataReader.getFilter().expression());
+        response.put("replayRows", s3DataReader.getTotalSize());
+        response.put("indexes", dataset.index().summary());
+        return response;
+    }
+
+    /**
+     * 새 S3 객체를 백그라운드로 읽어서 교체 (재생은 계속, 준비되면 다음 tick부터 새 데이터)
+     * POST /api/dataset/reload?key=captures/2024-06-01.csv
+     */
+    @PostMapping("/reload")
+    public Map<String, Object> reload(@RequestParam(required = false) String key) {
+        s3DataReader.reload(key);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "reloading");
+        response.put("key", key == null || key.isBlank() ? s3DataReader.getDataset().key() : key);
+        response.put("message", "🔄 백그라운드에서 데이터셋을 읽는 중입니다 (완료 전까지 기존 데이터로 재생)");
+        return response;
+    }
+
+    /**
+     * 재생 필터 지정 (다음 tick부터 일치하는 행만 처음부터 재생)
+     * PUT /api/dataset/filter?expr=country_name_req = KR and http_res_code >= 500
+     */
+    @PutMapping("/filter")
+    public ResponseEntity<Map<String, Object>> filter(@RequestParam String expr) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int matches = s3DataReader.applyFilter(expr);
+            response.put("status", "filtered");
+            response.put("filter", s3DataReader.getFilter().expression());
+            response.put("matches", matches);
+            response.put("message", "🔎 다음 전송부터 필터에 맞는 행만 재생합니다");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "invalid");
+            response.put("message", "❌ " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 재생 필터 해제
+     * DELETE /api/dataset/filter
+     */
+    @DeleteMapping("/filter")
+    public Map<String, Object> clearFilter() {
+        int rows = s3DataReader.applyFilter(null);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "cleared");
+        response.put("matches", rows);
+        response.put("message", "전체 데이터 재생");
+        return response;
+    }
+}
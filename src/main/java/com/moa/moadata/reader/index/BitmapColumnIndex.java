@@ -0,0 +1,88 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문자열 컬럼 값 → 행 번호 비트맵 (Roaring)
+ *
+ * 국가 / 호스트 / 응답 코드처럼 값 종류가 적은 컬럼용. 행 번호가 오름차순이라 비트맵이 잘 압축된다.
+ * 만든 뒤에는 바꾸지 않으므로 여러 스레드에서 읽어도 된다 (반환하는 비트맵은 항상 새 객체).
+ */
+final class BitmapColumnIndex {
+
+    private final Map<String, RoaringBitmap> rowsByValue;
+
+    private BitmapColumnIndex(Map<String, RoaringBitmap> rowsByValue) {
+        this.rowsByValue = rowsByValue;
+    }
+
+    static BitmapColumnIndex build(List<HttpPageSample> samples, SampleColumn column) {
+        Map<String, RoaringBitmap> rowsByValue = new HashMap<>();
+        for (int row = 0; row < samples.size(); row++) {
+            Object value = column.get(samples.get(row));
+            if (value != null) {
+                rowsByValue.computeIfAbsent((String) value, v -> new RoaringBitmap()).add(row);
+            }
+        }
+        for (RoaringBitmap rows : rowsByValue.values()) {
+            rows.runOptimize();
+        }
+        return new BitmapColumnIndex(rowsByValue);
+    }
+
+    int distinctValues() {
+        return rowsByValue.size();
+    }
+
+    RoaringBitmap equalTo(String value) {
+        RoaringBitmap rows = rowsByValue.get(value);
+        return rows == null ? new RoaringBitmap() : rows.clone();
+    }
+
+    RoaringBitmap in(List<String> values) {
+        List<RoaringBitmap> matched = new ArrayList<>();
+        for (String value : values) {
+            RoaringBitmap rows = rowsByValue.get(value);
+            if (rows != null) {
+                matched.add(rows);
+            }
+        }
+        return or(matched);
+    }
+
+    /**
+     * 숫자로 읽히는 값 중 low ~ high 범위인 값의 행 (값 종류 수만큼만 비교)
+     */
+    RoaringBitmap numeric(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        List<RoaringBitmap> matched = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> entry : rowsByValue.entrySet()) {
+            double value;
+            try {
+                value = Double.parseDouble(entry.getKey());
+            } catch (NumberFormatException e) {
+                // 숫자가 아닌 값은 크기 비교 대상이 아님
+                continue;
+            }
+            if ((lowInclusive ? value >= low : value > low) && (highInclusive ? value <= high : value < high)) {
+                matched.add(entry.getValue());
+            }
+        }
+        return or(matched);
+    }
+
+    private static RoaringBitmap or(List<RoaringBitmap> bitmaps) {
+        return switch (bitmaps.size()) {
+            case 0 -> new RoaringBitmap();
+            case 1 -> bitmaps.get(0).clone();
+            default -> FastAggregation.or(bitmaps.iterator());
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.index.ReplayFilter.Condition;
+import com.moa.moadata.websocket.codec.ColumnType;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터셋 보조 인덱스 (문자열 컬럼 → Roaring 비트맵, 숫자 컬럼 → 정렬 인덱스)
+ *
+ * 로딩 때 moa.data.index-columns 컬럼을 미리 만들고, 나머지 컬럼은 필터에 처음 쓰일 때 만든다.
+ * select 는 조건별 비트맵을 and 해서 일치하는 행 번호만 오름차순으로 돌려준다 (전체 행을 훑지 않음).
+ */
+public final class DatasetIndex {
+
+    private final List<HttpPageSample> samples;
+    private final Map<String, BitmapColumnIndex> bitmaps = new ConcurrentHashMap<>();
+    private final Map<String, SortedColumnIndex> sorted = new ConcurrentHashMap<>();
+
+    public DatasetIndex(List<HttpPageSample> samples) {
+        this.samples = samples;
+    }
+
+    /**
+     * 컬럼 인덱스 미리 만들기
+     *
+     * @return 인덱스를 만든 컬럼 수
+     */
+    public int build(Collection<SampleColumn> columns) {
+        int built = 0;
+        for (SampleColumn column : columns) {
+            if (column.type() == ColumnType.TIMESTAMP) {
+                continue;
+            }
+            if (column.type() == ColumnType.STRING) {
+                bitmap(column);
+            } else {
+                sorted(column);
+            }
+            built++;
+        }
+        return built;
+    }
+
+    /**
+     * 인덱스가 만들어진 컬럼 → 값 종류 수 (문자열) / 값이 있는 행 수 (숫자)
+     */
+    public Map<String, Integer> summary() {
+        Map<String, Integer> summary = new TreeMap<>();
+        bitmaps.forEach((name, index) -> summary.put(name, index.distinctValues()));
+        sorted.forEach((name, index) -> summary.put(name, index.size()));
+        return summary;
+    }
+
+    /**
+     * 필터에 맞는 행 번호 (필터가 비어 있으면 전체)
+     */
+    public RoaringBitmap select(ReplayFilter filter) {
+        if (filter.isEmpty()) {
+            return all();
+        }
+
+        List<RoaringBitmap> matched = new ArrayList<>(filter.conditions().size());
+        for (Condition condition : filter.conditions()) {
+            RoaringBitmap rows = evaluate(condition);
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            matched.add(rows);
+        }
+        return matched.size() == 1 ? matched.get(0) : FastAggregation.and(matched.iterator());
+    }
+
+    private RoaringBitmap evaluate(Condition condition) {
+        SampleColumn column = condition.column();
+        if (column.type() == ColumnType.STRING) {
+            BitmapColumnIndex index = bitmap(column);
+            return switch (condition.operator()) {
+                case EQ -> index.equalTo(condition.value());
+                case NE -> RoaringBitmap.andNot(all(), index.equalTo(condition.value()));
+                case IN -> index.in(condition.values());
+                case GT -> index.numeric(condition.number(0), false, Double.POSITIVE_INFINITY, true);
+                case GE -> index.numeric(condition.number(0), true, Double.POSITIVE_INFINITY, true);
+                case LT -> index.numeric(Double.NEGATIVE_INFINITY, true, condition.number(0), false);
+                case LE -> index.numeric(Double.NEGATIVE_INFINITY, true, condition.number(0), true);
+            };
+        }
+
+        SortedColumnIndex index = sorted(column);
+        double value = condition.number(0);
+        return switch (condition.operator()) {
+            case EQ -> index.equalTo(value);
+            case NE -> RoaringBitmap.andNot(all(), index.equalTo(value));
+            case IN -> {
+                RoaringBitmap rows = new RoaringBitmap();
+                for (int i = 0; i < condition.values().size(); i++) {
+                    rows.or(index.equalTo(condition.number(i)));
+                }
+                yield rows;
+            }
+            case GT -> index.range(value, false, Double.POSITIVE_INFINITY, true);
+            case GE -> index.range(value, true, Double.POSITIVE_INFINITY, true);
+            case LT -> index.range(Double.NEGATIVE_INFINITY, true, value, false);
+            case LE -> index.range(Double.NEGATIVE_INFINITY, true, value, true);
+        };
+    }
+
+    private RoaringBitmap all() {
+        return RoaringBitmap.bitmapOfRange(0, samples.size());
+    }
+
+    private BitmapColumnIndex bitmap(SampleColumn column) {
+        return bitmaps.computeIfAbsent(column.name(), name -> BitmapColumnIndex.build(samples, column));
+    }
+
+    private SortedColumnIndex sorted(SampleColumn column) {
+        return sorted.computeIfAbsent(column.name(), name -> SortedColumnIndex.build(samples, column));
+    }
+}
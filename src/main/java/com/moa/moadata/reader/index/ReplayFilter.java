@@ -0,0 +1,156 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.websocket.codec.ColumnType;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 재생 필터 식 (조건을 and 로 연결)
+ *
+ * 예) country_name_req = KR and http_res_code >= 500 and http_res_code < 600
+ *     httpHost in (www.moa.co.kr, api.moa.co.kr) and tsPage > 10000
+ *
+ * 컬럼은 모델 필드명(camelCase) 또는 CSV 헤더, 문자열 값은 따옴표를 써도 된다.
+ * 문자열 컬럼의 크기 비교는 숫자로 읽히는 값끼리 비교한다 (http_res_code >= 500).
+ *
+ * @param expression 원래 식 (조건이 없으면 빈 문자열)
+ */
+public record ReplayFilter(String expression, List<Condition> conditions) {
+
+    /** 필터 없음 (전체 재생) */
+    public static final ReplayFilter NONE = new ReplayFilter("", List.of());
+
+    private static final Pattern AND = Pattern.compile("\\s+(?i:and)\\s+");
+    private static final Pattern CONDITION = Pattern.compile(
+            "^\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*(>=|<=|!=|=|>|<|(?i:in)\\b)\\s*(.+?)\\s*$");
+
+    public enum Operator {
+        EQ("="), NE("!="), GT(">"), GE(">="), LT("<"), LE("<="), IN("in");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        boolean isRange() {
+            return this == GT || this == GE || this == LT || this == LE;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equalsIgnoreCase(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 연산자: " + symbol);
+        }
+    }
+
+    /**
+     * @param column 대상 컬럼
+     * @param values 비교 값 (IN이 아니면 하나)
+     */
+    public record Condition(SampleColumn column, Operator operator, List<String> values) {
+
+        public String value() {
+            return values.get(0);
+        }
+
+        /**
+         * 숫자 값 (숫자 컬럼 / 크기 비교용)
+         */
+        public double number(int i) {
+            try {
+                return Double.parseDouble(values.get(i));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column.name() + " 값이 숫자가 아닙니다: " + values.get(i));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * 식 파싱 (비어 있으면 NONE, 잘못된 식이면 IllegalArgumentException)
+     */
+    public static ReplayFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return NONE;
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        for (String term : AND.split(expression.trim())) {
+            Matcher matcher = CONDITION.matcher(term);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("필터 조건을 해석할 수 없습니다: " + term);
+            }
+            SampleColumn column = column(matcher.group(1));
+            Operator operator = Operator.of(matcher.group(2));
+            List<String> values = operator == Operator.IN
+                    ? list(matcher.group(3))
+                    : List.of(unquote(matcher.group(3)));
+
+            Condition condition = new Condition(column, operator, values);
+            if (column.type() != ColumnType.STRING || operator.isRange()) {
+                for (int i = 0; i < values.size(); i++) {
+                    condition.number(i);
+                }
+            }
+            conditions.add(condition);
+        }
+        return new ReplayFilter(expression.trim(), List.copyOf(conditions));
+    }
+
+    private static SampleColumn column(String name) {
+        SampleColumn column = SampleColumns.resolve(name);
+        if (column == null) {
+            throw new IllegalArgumentException("알 수 없는 컬럼: " + name);
+        }
+        if (column.type() == ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("시각 컬럼은 필터로 쓸 수 없습니다: " + name);
+        }
+        return column;
+    }
+
+    /**
+     * "(a, 'b', c)" → [a, b, c]
+     */
+    private static List<String> list(String raw) {
+        String body = raw.trim();
+        if (!body.startsWith("(") || !body.endsWith(")")) {
+            throw new IllegalArgumentException("in 값은 괄호로 감싸야 합니다: " + raw);
+        }
+        List<String> values = new ArrayList<>();
+        for (String value : body.substring(1, body.length() - 1).split(",")) {
+            if (!value.isBlank()) {
+                values.add(unquote(value));
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("in 값이 비어 있습니다: " + raw);
+        }
+        return List.copyOf(values);
+    }
+
+    private static String unquote(String raw) {
+        String value = raw.trim();
+        if (value.length() >= 2
+                && (value.startsWith("'") && value.endsWith("'") || value.startsWith("\"") && value.endsWith("\""))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,111 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 분산 재생 샤드 (노드 count 개 중 index 번째 노드가 보낼 행)
+ *
+ * - RANGE: 재생 대상 행을 count 등분한 연속 구간
+ * - ROW: 행 번호 해시 (rowKey 는 전송할 때마다 새로 만들어지므로 모든 노드에서 같은 원본 행 번호로 대신)
+ * - SRC_IP: srcIp 해시 (같은 클라이언트 IP 의 행은 한 노드가 전송)
+ *
+ * 모든 노드가 같은 객체 / ETag 를 읽었다는 전제 (행 번호가 같아야 겹치거나 빠지는 행이 없음).
+ */
+public record ReplayShard(Mode mode, int index, int count) {
+
+    /** 샤드 없음 (전체 재생) */
+    public static final ReplayShard ALL = new ReplayShard(Mode.RANGE, 0, 1);
+
+    public enum Mode {
+        RANGE("range"), ROW("row"), SRC_IP("src-ip");
+
+        private final String value;
+
+        Mode(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static Mode from(String value) {
+            String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+            for (Mode mode : values()) {
+                if (mode.value.equals(normalized)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 샤드 방식: " + value + " (range / row / src-ip)");
+        }
+    }
+
+    public ReplayShard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("잘못된 샤드: " + index + "/" + count);
+        }
+    }
+
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    /**
+     * 이 샤드가 맡을 행 번호 (오름차순)
+     *
+     * @param rows 필터에 맞는 행 번호 (null 이면 전체)
+     */
+    public int[] select(List<HttpPageSample> samples, int[] rows) {
+        int total = rows == null ? samples.size() : rows.length;
+        if (mode == Mode.RANGE) {
+            int from = (int) ((long) total * index / count);
+            int to = (int) ((long) total * (index + 1) / count);
+            int[] selected = new int[to - from];
+            for (int i = from; i < to; i++) {
+                selected[i - from] = rows == null ? i : rows[i];
+            }
+            return selected;
+        }
+
+        int[] selected = new int[total / count + 16];
+        int size = 0;
+        for (int i = 0; i < total; i++) {
+            int row = rows == null ? i : rows[i];
+            long hash = mode == Mode.ROW ? row : hash(samples.get(row).getSrcIp());
+            if (owner(hash, count) == index) {
+                if (size == selected.length) {
+                    selected = Arrays.copyOf(selected, size * 2);
+                }
+                selected[size++] = row;
+            }
+        }
+        return Arrays.copyOf(selected, size);
+    }
+
+    static int owner(long hash, int count) {
+        // fmix64 (연속된 행 번호도 고르게 흩어지도록)
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) count);
+    }
+
+    private static long hash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // String.hashCode 는 JVM 간 같음 (노드마다 같은 결과)
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "all" : (index + 1) + "/" + count + " (" + mode.value + ")";
+    }
+}
@@ -0,0 +1,111 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 숫자 컬럼 정렬 인덱스 (값 오름차순 values[] + 같은 순서의 행 번호 rows[])
+ *
+ * 범위 조건은 이진 탐색으로 양 끝만 찾고 그 사이 행 번호를 그대로 비트맵에 넣는다 (일치 행 수에 비례).
+ * null 값인 행은 인덱스에 없으므로 어떤 범위에도 걸리지 않는다.
+ */
+final class SortedColumnIndex {
+
+    private final double[] values;
+    private final int[] rows;
+
+    private SortedColumnIndex(double[] values, int[] rows) {
+        this.values = values;
+        this.rows = rows;
+    }
+
+    /**
+     * 서로 다른 값을 정렬한 뒤 값 순위로 계수 정렬 (박싱 / 비교자 없이 O(n log 값 종류 수))
+     */
+    static SortedColumnIndex build(List<HttpPageSample> samples, SampleColumn column) {
+        double[] raw = new double[samples.size()];
+        int[] rawRows = new int[samples.size()];
+        int count = 0;
+        for (int row = 0; row < samples.size(); row++) {
+            Object value = column.get(samples.get(row));
+            if (value != null) {
+                raw[count] = ((Number) value).doubleValue();
+                rawRows[count] = row;
+                count++;
+            }
+        }
+
+        double[] distinct = Arrays.copyOf(raw, count);
+        Arrays.sort(distinct);
+        int distinctCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinctCount == 0 || Double.compare(distinct[distinctCount - 1], distinct[i]) != 0) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+
+        int[] rank = new int[count];
+        int[] offsets = new int[distinctCount + 1];
+        for (int i = 0; i < count; i++) {
+            rank[i] = Arrays.binarySearch(distinct, 0, distinctCount, raw[i]);
+            offsets[rank[i] + 1]++;
+        }
+        for (int r = 0; r < distinctCount; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+
+        double[] values = new double[count];
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            int at = offsets[rank[i]]++;
+            values[at] = distinct[rank[i]];
+            rows[at] = rawRows[i];
+        }
+        return new SortedColumnIndex(values, rows);
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * low ~ high 범위의 행 (경계 포함 여부 지정, 무한대로 한쪽을 열 수 있음)
+     */
+    RoaringBitmap range(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        int from = lowInclusive ? firstAtLeast(low) : firstGreaterThan(low);
+        int to = highInclusive ? firstGreaterThan(high) : firstAtLeast(high);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (from < to) {
+            bitmap.addN(rows, from, to - from);
+        }
+        return bitmap;
+    }
+
+    RoaringBitmap equalTo(double value) {
+        return range(value, true, value, true);
+    }
+
+    private int firstAtLeast(double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    private int firstGreaterThan(double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+}
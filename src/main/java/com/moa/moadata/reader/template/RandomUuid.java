@@ -0,0 +1,48 @@
+package com.moa.moadata.reader.template;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 버전 4 UUID를 문자열 없이 바로 JSON 바이트로 ("xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx")
+ *
+ * UUID.randomUUID()는 SecureRandom + 문자열 생성 비용이 커서, 식별용 rowKey에는 ThreadLocalRandom을 쓴다.
+ */
+public final class RandomUuid {
+
+    public static final int QUOTED_LENGTH = 38;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private RandomUuid() {
+    }
+
+    /**
+     * out[offset]부터 따옴표 포함 38바이트
+     */
+    public static void writeQuoted(byte[] out, int offset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+
+        out[offset] = '"';
+        int p = offset + 1;
+        p = hex(out, p, msb >>> 32, 8);
+        out[p++] = '-';
+        p = hex(out, p, msb >>> 16, 4);
+        out[p++] = '-';
+        p = hex(out, p, msb, 4);
+        out[p++] = '-';
+        p = hex(out, p, lsb >>> 48, 4);
+        out[p++] = '-';
+        p = hex(out, p, lsb, 12);
+        out[p] = '"';
+    }
+
+    private static int hex(byte[] out, int position, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            out[position + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return position + digits;
+    }
+}
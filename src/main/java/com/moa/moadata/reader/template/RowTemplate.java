@@ -0,0 +1,69 @@
+package com.moa.moadata.reader.template;
+
+/**
+ * 미리 직렬화한 한 행의 JSON 바이트 + 값이 바뀌는 필드 위치 (rowKey / tsServer / createdAt)
+ *
+ * 슬롯은 바이트 순서대로 정렬되어 있고, 슬롯 자리의 원래 값은 쓰기 시 새 값으로 대체된다.
+ */
+public final class RowTemplate {
+
+    public static final int ROW_KEY = 0;
+    public static final int TS_SERVER = 1;
+    public static final int CREATED_AT = 2;
+    public static final int SLOT_COUNT = 3;
+
+    private final byte[] bytes;
+    private final int[] slotStart;
+    private final int[] slotEnd;
+    private final int[] slotField;
+    private final int fixedLength;
+
+    RowTemplate(byte[] bytes, int[] slotStart, int[] slotEnd, int[] slotField) {
+        this.bytes = bytes;
+        this.slotStart = slotStart;
+        this.slotEnd = slotEnd;
+        this.slotField = slotField;
+
+        int fixed = bytes.length;
+        for (int i = 0; i < slotStart.length; i++) {
+            fixed -= slotEnd[i] - slotStart[i];
+        }
+        this.fixedLength = fixed;
+    }
+
+    /**
+     * 고정 부분 + 슬롯 값 길이
+     */
+    public int length(byte[][] values) {
+        int length = fixedLength;
+        for (int field : slotField) {
+            length += values[field].length;
+        }
+        return length;
+    }
+
+    /**
+     * out[pos]부터 슬롯을 values[field]로 바꿔 쓰고 다음 위치 반환 (out 크기는 호출자가 보장)
+     */
+    public int writeTo(byte[] out, int pos, byte[][] values) {
+        int from = 0;
+        for (int i = 0; i < slotStart.length; i++) {
+            int fixed = slotStart[i] - from;
+            System.arraycopy(bytes, from, out, pos, fixed);
+            pos += fixed;
+
+            byte[] value = values[slotField[i]];
+            System.arraycopy(value, 0, out, pos, value.length);
+            pos += value.length;
+
+            from = slotEnd[i];
+        }
+        int rest = bytes.length - from;
+        System.arraycopy(bytes, from, out, pos, rest);
+        return pos + rest;
+    }
+
+    public int getFootprintBytes() {
+        return bytes.length + slotStart.length * 12 + 32;
+    }
+}
@@ -0,0 +1,113 @@
+package com.moa.moadata.reader.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.model.HttpPageSample;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * HttpPageSample → RowTemplate
+ *
+ * 바뀌는 필드에 다른 곳에 나올 수 없는 센티넬 값을 넣고 애플리케이션 ObjectMapper로 한 번 직렬화한 뒤,
+ * 센티넬의 직렬화 바이트 위치를 슬롯으로 기록한다. (날짜 포맷 / 필드 이름 설정을 그대로 따름)
+ */
+public class RowTemplateCompiler {
+
+    private static final String ROW_KEY_SENTINEL = "__moa_row_key_slot__";
+    private static final LocalDateTime TS_SERVER_SENTINEL = LocalDateTime.of(1111, 11, 11, 11, 11, 11, 111_111_111);
+    private static final LocalDateTime CREATED_AT_SENTINEL = LocalDateTime.of(1222, 12, 12, 12, 12, 12, 122_222_222);
+
+    private final ObjectMapper objectMapper;
+    private final byte[][] sentinels = new byte[RowTemplate.SLOT_COUNT][];
+
+    public RowTemplateCompiler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        sentinels[RowTemplate.ROW_KEY] = encode(ROW_KEY_SENTINEL);
+        sentinels[RowTemplate.TS_SERVER] = encode(TS_SERVER_SENTINEL);
+        sentinels[RowTemplate.CREATED_AT] = encode(CREATED_AT_SENTINEL);
+    }
+
+    /**
+     * 템플릿 생성 (샘플의 rowKey / tsServer / createdAt 값은 원래대로 되돌림)
+     */
+    public RowTemplate compile(HttpPageSample sample) {
+        String rowKey = sample.getRowKey();
+        LocalDateTime tsServer = sample.getTsServer();
+        LocalDateTime createdAt = sample.getCreatedAt();
+
+        byte[] json;
+        try {
+            sample.setRowKey(ROW_KEY_SENTINEL);
+            sample.setTsServer(TS_SERVER_SENTINEL);
+            sample.setCreatedAt(CREATED_AT_SENTINEL);
+            json = objectMapper.writeValueAsBytes(sample);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("행 템플릿 직렬화 실패", e);
+        } finally {
+            sample.setRowKey(rowKey);
+            sample.setTsServer(tsServer);
+            sample.setCreatedAt(createdAt);
+        }
+
+        int[] start = new int[RowTemplate.SLOT_COUNT];
+        int[] field = new int[RowTemplate.SLOT_COUNT];
+        for (int f = 0; f < RowTemplate.SLOT_COUNT; f++) {
+            int at = indexOf(json, sentinels[f]);
+            if (at < 0) {
+                throw new IllegalStateException("행 템플릿 슬롯을 찾지 못함: " + f);
+            }
+            start[f] = at;
+            field[f] = f;
+        }
+
+        // 바이트 순서대로 정렬 (필드 3개라 삽입 정렬)
+        for (int i = 1; i < RowTemplate.SLOT_COUNT; i++) {
+            for (int j = i; j > 0 && start[j - 1] > start[j]; j--) {
+                int s = start[j]; start[j] = start[j - 1]; start[j - 1] = s;
+                int f = field[j]; field[j] = field[j - 1]; field[j - 1] = f;
+            }
+        }
+
+        int[] end = new int[RowTemplate.SLOT_COUNT];
+        for (int i = 0; i < RowTemplate.SLOT_COUNT; i++) {
+            end[i] = start[i] + sentinels[field[i]].length;
+        }
+        return new RowTemplate(json, start, end, field);
+    }
+
+    /**
+     * 슬롯에 넣을 값 (애플리케이션 ObjectMapper와 같은 표현)
+     */
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("슬롯 값 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * rowKey 슬롯 값 (UUID 등 이스케이프가 필요 없는 ASCII 문자열 전용)
+     */
+    public static byte[] encodeAsciiString(String value) {
+        byte[] ascii = value.getBytes(StandardCharsets.US_ASCII);
+        byte[] out = new byte[ascii.length + 2];
+        out[0] = '"';
+        System.arraycopy(ascii, 0, out, 1, ascii.length);
+        out[out.length - 1] = '"';
+        return out;
+    }
+
+    static int indexOf(byte[] data, byte[] marker) {
+        outer:
+        for (int i = 0; i <= data.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (data[i + j] != marker[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.moa.moadata.reader.template;
+
+import com.moa.moadata.buffer.PooledBuffer;
+
+/**
+ * 행 템플릿을 이어 붙여 JSON 배열 배치 생성
+ *
+ * 결과는 풀 버퍼에 바로 쓴다 (배치 / 행당 새 배열 없음).
+ * 단일 스레드 (스케줄러) 전용.
+ */
+public class TemplateBatchWriter {
+
+    private final byte[][] values = new byte[RowTemplate.SLOT_COUNT][];
+    private PooledBuffer target;
+    private int position;
+    private int rows;
+
+    /**
+     * 새 배치 시작 (배치 안의 행은 같은 tsServer / createdAt)
+     */
+    public void begin(PooledBuffer target, byte[] tsServerJson, byte[] createdAtJson) {
+        this.target = target;
+        values[RowTemplate.TS_SERVER] = tsServerJson;
+        values[RowTemplate.CREATED_AT] = createdAtJson;
+        position = 0;
+        rows = 0;
+        target.ensureCapacity(1)[position++] = '[';
+    }
+
+    /**
+     * 한 행 추가 (rowKeyJson 은 따옴표 포함, 호출 후 재사용 가능)
+     */
+    public void append(RowTemplate template, byte[] rowKeyJson) {
+        values[RowTemplate.ROW_KEY] = rowKeyJson;
+        byte[] out = target.ensureCapacity(position + template.length(values) + 2);
+        if (rows > 0) {
+            out[position++] = ',';
+        }
+        position = template.writeTo(out, position, values);
+        rows++;
+    }
+
+    /**
+     * 배열을 닫고 버퍼 반환 (호출자가 release 책임)
+     */
+    public PooledBuffer finish() {
+        target.ensureCapacity(position + 1)[position++] = ']';
+        target.setLength(position);
+        PooledBuffer result = target;
+        target = null;
+        return result;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
@@ -1,6 +1,8 @@
 package com.moa.moadata.scenario.service;
 
-import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventBus;
+import com.moa.moadata.metrics.jfr.ScenarioEvent;
 import com.moa.moadata.model.HttpPageSample;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,12 +18,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ScenarioService {
 
-    private final MoaApiClient moaApiClient;
+    private final ReplayEventBus replayEventBus;
 
     /**
      * 시나리오 1: 특정 국가 느려짐
      */
     public void triggerSlowCountry(String country, int count) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
         log.warn("🚨 시나리오 시작: {} 국가 느려짐 ({}건)", country, count);
 
         List<HttpPageSample> badSamples = new ArrayList<>();
@@ -34,14 +38,16 @@ public class ScenarioService {
             badSamples.add(sample);
         }
 
-        moaApiClient.sendBatch(badSamples);
-        log.info("✅ {} 국가 느려짐 데이터 {}건 전송 완료", country, count);
+        publish(badSamples, "slow-country", event);
+        log.info("✅ {} 국가 느려짐 데이터 {}건 발행 완료", country, count);
     }
 
     /**
      * 시나리오 2: HTTP 5xx 에러 급증
      */
     public void triggerErrorSpike(int count) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
         log.warn("🚨 시나리오 시작: 5xx 에러 급증 ({}건)", count);
 
         List<HttpPageSample> errorSamples = new ArrayList<>();
@@ -54,14 +60,16 @@ public class ScenarioService {
             errorSamples.add(sample);
         }
 
-        moaApiClient.sendBatch(errorSamples);
-        log.info("✅ 5xx 에러 데이터 {}건 전송 완료", count);
+        publish(errorSamples, "error-spike", event);
+        log.info("✅ 5xx 에러 데이터 {}건 발행 완료", count);
     }
 
     /**
      * 시나리오 3: TCP 에러 발생
      */
     public void triggerTcpError(int count) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
         log.warn("🚨 시나리오 시작: TCP 에러 발생 ({}건)", count);
 
         List<HttpPageSample> tcpErrorSamples = new ArrayList<>();
@@ -74,14 +82,16 @@ public class ScenarioService {
             tcpErrorSamples.add(sample);
         }
 
-        moaApiClient.sendBatch(tcpErrorSamples);
-        log.info("✅ TCP 에러 데이터 {}건 전송 완료", count);
+        publish(tcpErrorSamples, "tcp-error", event);
+        log.info("✅ TCP 에러 데이터 {}건 발행 완료", count);
     }
 
     /**
      * 시나리오 4: 특정 브라우저 문제
      */
     public void triggerBrowserIssue(String browser, int count) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
         log.warn("🚨 시나리오 시작: {} 브라우저 문제 ({}건)", browser, count);
 
         List<HttpPageSample> browserSamples = new ArrayList<>();
@@ -94,14 +104,16 @@ public class ScenarioService {
             browserSamples.add(sample);
         }
 
-        moaApiClient.sendBatch(browserSamples);
-        log.info("✅ {} 브라우저 문제 데이터 {}건 전송 완료", browser, count);
+        publish(browserSamples, "browser-issue", event);
+        log.info("✅ {} 브라우저 문제 데이터 {}건 발행 완료", browser, count);
     }
 
     /**
      * 정상 복구
      */
     public void recover(int count) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
         log.info("✅ 시나리오 종료: 정상 복구 ({}건)", count);
 
         List<HttpPageSample> normalSamples = new ArrayList<>();
@@ -111,8 +123,17 @@ public class ScenarioService {
             normalSamples.add(sample);
         }
 
-        moaApiClient.sendBatch(normalSamples);
-        log.info("✅ 정상 데이터 {}건 전송 완료", count);
+        publish(normalSamples, "recover", event);
+        log.info("✅ 정상 데이터 {}건 발행 완료", count);
+    }
+
+    // Helper: 이벤트 버스로 발행 (백엔드 / SSE / 통계 소비자가 처리)
+    private void publish(List<HttpPageSample> samples, String scenario, ScenarioEvent event) {
+        boolean published = replayEventBus.publish(samples, ReplayBatch.SOURCE_SCENARIO);
+        event.record(scenario, samples.size(), published);
+        if (!published) {
+            log.warn("⚠️ 이벤트 버스가 가득 차서 시나리오 데이터 {}건을 발행하지 못했습니다", samples.size());
+        }
     }
 
     // Helper: 나쁜 샘플 생성
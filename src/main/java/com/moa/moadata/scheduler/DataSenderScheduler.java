@@ -1,33 +1,58 @@
 package com.moa.moadata.scheduler;
 
-import com.moa.moadata.client.MoaApiClient;
-import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.bus.ReplayBatch;
+import com.moa.moadata.bus.ReplayEventBus;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.reader.DatasetLoadState;
+import com.moa.moadata.reader.ReplayChunk;
 import com.moa.moadata.reader.S3DataReader;
 import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.websocket.service.BinaryStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataSenderScheduler {
 
+    // 분산 재생에서 한 tick 이 따라잡는 최대 간격 수 (tick 이 한참 밀려도 한꺼번에 몰아 보내지 않음)
+    private static final int MAX_CATCH_UP_TICKS = 4;
+
     private final S3DataReader s3DataReader;
-    private final MoaApiClient moaApiClient;
+    private final ReplayEventBus replayEventBus;
     private final SseEmitterService sseEmitterService;
+    private final BinaryStreamService binaryStreamService;
+    private final ReplayMetrics replayMetrics;
 
     @Value("${moa.data.batch-size}")
     private int batchSize;
 
+    @Value("${moa.data.send-interval}")
+    private long sendIntervalMs;
+
+    // 직전 tick 시작 시각 (늦게 시작한 tick 감지용, 스케줄러 스레드 전용)
+    private long lastTickNanos = System.nanoTime();
+    // 시작 / 재시작 후 첫 tick (정지 동안은 lastTickNanos 가 그대로라 그 간격은 늦은 tick 이 아님)
+    private final AtomicBoolean resumed = new AtomicBoolean(true);
+
     // 스케줄러 활성화 플래그
     private final AtomicBoolean enabled = new AtomicBoolean(false);
 
+    // 분산 재생에서 이 노드가 맡은 속도 (0이면 batch-size 그대로), 소수 행은 다음 tick으로 이월
+    private volatile double targetRowsPerSecond;
+    private double carriedRows;
+
+    // 버스에 발행한 누적 행 수 (노드별 처리량 보고용)
+    private final LongAdder rowsSent = new LongAdder();
+
     @Scheduled(fixedRateString = "${moa.data.send-interval}")
     public void sendDataPeriodically() {
         // 활성화되지 않았으면 실행 안함
@@ -35,36 +60,120 @@ public class DataSenderScheduler {
             return;
         }
 
+        long startNanos = System.nanoTime();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(sendIntervalMs);
+        // 멈춰 있던 시간은 지연 / 따라잡기로 치지 않고 한 간격으로 봄
+        long sinceLastTick = resumed.getAndSet(false) ? intervalNanos : startNanos - lastTickNanos;
+        lastTickNanos = startNanos;
+        try {
+            sendBatch(sinceLastTick);
+        } finally {
+            replayMetrics.recordTick(System.nanoTime() - startNanos, intervalNanos, sinceLastTick);
+        }
+    }
+
+    private void sendBatch(long sinceLastTick) {
         if (!s3DataReader.hasNext()) {
-            log.info("⏸️  전송할 데이터가 없습니다");
+            if (s3DataReader.getLoadProgress().getState() == DatasetLoadState.LOADING) {
+                // 첫 청크가 공개되면 바로 전송 시작
+                log.debug("⏳ 데이터셋 로딩 중 ({}%)", String.format("%.1f", s3DataReader.getLoadProgress().getPercent()));
+            } else {
+                log.info("⏸️  전송할 데이터가 없습니다");
+            }
             return;
         }
 
-        List<HttpPageSample> batch = s3DataReader.readNextBatch(batchSize);
-
-        if (batch.isEmpty()) {
-            log.warn("배치가 비어있습니다");
+        int size = nextBatchSize(sinceLastTick);
+        if (size <= 0) {
             return;
         }
 
-        // 1️⃣ 백엔드 API로 배치 전송 (DB 저장용)
-        moaApiClient.sendBatch(batch);
+        // 읽기 전에 자리 확인 (가득 찬 상태에서 읽으면 위치만 앞으로 가고 행이 빠짐)
+        if (!replayEventBus.hasCapacity()) {
+            replayMetrics.busRejected();
+            log.warn("⚠️ 이벤트 버스가 가득 찼습니다 - 이번 tick 건너뜀 (최대 lag: {})", replayEventBus.getMaxLag());
+            return;
+        }
 
-        // 2️⃣ SSE로 프론트엔드에 실시간 전송 ⭐ 추가!
-        sseEmitterService.sendBatchData(batch);
+        // 템플릿 모드에서 전송 필드가 들어간 행 객체가 필요한 소비자는 WebSocket 뿐 (통계 소비자는 원본 값만 읽음)
+        // 없으면 행 복사 / rowKey 문자열을 만들지 않음 (막 구독한 클라이언트는 한 tick 정도 원본 rowKey / 시각을 받을 수 있음)
+        ReplayChunk chunk = s3DataReader.readNextChunk(size, binaryStreamService.getSessionCount() > 0);
+        try {
+            if (chunk.samples().isEmpty()) {
+                log.warn("배치가 비어있습니다");
+                return;
+            }
+
+            // 이벤트 버스에 발행 → 백엔드 / SSE / WebSocket / 통계 소비자가 각자 스레드에서 처리
+            if (!replayEventBus.publish(chunk.samples(), chunk.json(), ReplayBatch.SOURCE_REPLAY)) {
+                // 확인한 뒤 시나리오 등 다른 생산자가 자리를 가져감 → 다음 tick에 같은 행부터
+                s3DataReader.rewind(chunk.samples().size());
+                replayMetrics.busRejected();
+                log.warn("⚠️ 이벤트 버스가 가득 찼습니다 - 다음 tick에 다시 전송 (최대 lag: {})", replayEventBus.getMaxLag());
+                return;
+            }
+            rowsSent.add(chunk.samples().size());
+        } finally {
+            // 버스가 소비자 몫을 retain 했으므로 생산자 참조는 여기서 반환
+            if (chunk.json() != null) {
+                chunk.json().release();
+            }
+        }
 
         int current = s3DataReader.getCurrentIndex();
         int total = s3DataReader.getTotalSize();
         double progress = (double) current / total * 100;
 
-        log.info("📊 진행 상황: {}/{} ({:.1f}%) | SSE 클라이언트: {}개",
-                current, total, progress, sseEmitterService.getEmitterCount());
+        log.info("📊 진행 상황: {}/{} ({}%) | SSE 클라이언트: {}개 | WebSocket 클라이언트: {}개",
+                current, total, String.format("%.1f", progress), sseEmitterService.getEmitterCount(),
+                binaryStreamService.getSessionCount());
+    }
+
+    /**
+     * 이번 tick 에 보낼 행 수 (목표 속도 × 직전 tick 부터 실제로 지난 시간)
+     *
+     * fixedRate tick 이 늦게 시작하거나 건너뛰어도 속도가 유지되도록 설정 간격 대신 잰 간격을 쓰고,
+     * 오래 멈췄다 돌아온 경우를 위해 MAX_CATCH_UP_TICKS 간격까지만 반영한다.
+     */
+    private int nextBatchSize(long sinceLastTickNanos) {
+        double rate = targetRowsPerSecond;
+        if (rate <= 0) {
+            return batchSize;
+        }
+        double rows = rowsForTick(rate, sinceLastTickNanos, TimeUnit.MILLISECONDS.toNanos(sendIntervalMs))
+                + carriedRows;
+        int size = (int) rows;
+        carriedRows = rows - size;
+        return size;
+    }
+
+    static double rowsForTick(double rowsPerSecond, long sinceLastTickNanos, long intervalNanos) {
+        long elapsed = Math.min(Math.max(0, sinceLastTickNanos), intervalNanos * MAX_CATCH_UP_TICKS);
+        return rowsPerSecond * elapsed / 1e9;
+    }
+
+    /**
+     * 이 노드의 전송 속도 지정 (분산 재생에서 전체 목표 속도 / 노드 수, 0이면 batch-size 기준으로 복귀)
+     */
+    public void setTargetRowsPerSecond(double rowsPerSecond) {
+        this.targetRowsPerSecond = Math.max(0, rowsPerSecond);
+    }
+
+    public double getTargetRowsPerSecond() {
+        return targetRowsPerSecond;
+    }
+
+    public long getRowsSent() {
+        return rowsSent.sum();
     }
 
     /**
      * 데이터 전송 시작
      */
     public void start() {
+        if (!enabled.get()) {
+            resumed.set(true);
+        }
         enabled.set(true);
         log.info("🟢 데이터 전송 시작! (백엔드 API + SSE)");
     }
@@ -82,6 +191,7 @@ public class DataSenderScheduler {
      */
     public void restart() {
         enabled.set(false);
+        resumed.set(true);
         enabled.set(true);
         log.info("🔄 데이터 전송 재시작!");
     }
@@ -0,0 +1,115 @@
+package com.moa.moadata.session.controller;
+
+import com.moa.moadata.session.model.ReplaySessionConfig;
+import com.moa.moadata.session.service.ReplaySessionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 리플레이 세션 생성 / 시작 / 일시 정지 / 정지 / 삭제
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/sessions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReplaySessionController {
+
+    private final ReplaySessionManager replaySessionManager;
+
+    /**
+     * 세션 생성 (빠진 값은 기본값)
+     * POST /api/sessions
+     * {"sourceKey":"captures/2024-06-01.csv","filter":"countryNameReq=KR","rowsPerSecond":500,"batchSize":50,
+     *  "backendUrl":"http://staging:8080/internal"}
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(@RequestBody(required = false) ReplaySessionConfig config) {
+        try {
+            Map<String, Object> response = new HashMap<>(replaySessionManager.create(config));
+            response.put("status", "created");
+            response.put("message", "🆕 리플레이 세션 생성");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    /**
+     * 세션 목록 + 워커 / 공유 데이터셋 현황
+     * GET /api/sessions
+     */
+    @GetMapping
+    public Map<String, Object> list() {
+        return replaySessionManager.list();
+    }
+
+    /**
+     * 세션 상태
+     * GET /api/sessions/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String id) {
+        return apply(id, replaySessionManager::status, null, null);
+    }
+
+    /**
+     * POST /api/sessions/{id}/start
+     */
+    @PostMapping("/{id}/start")
+    public ResponseEntity<Map<String, Object>> start(@PathVariable String id) {
+        return apply(id, replaySessionManager::start, "started", "▶️ 리플레이 세션 시작");
+    }
+
+    /**
+     * POST /api/sessions/{id}/pause
+     */
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<Map<String, Object>> pause(@PathVariable String id) {
+        return apply(id, replaySessionManager::pause, "paused", "⏸️ 리플레이 세션 일시 정지");
+    }
+
+    /**
+     * 정지 (다시 시작하면 처음부터)
+     * POST /api/sessions/{id}/stop
+     */
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<Map<String, Object>> stop(@PathVariable String id) {
+        return apply(id, replaySessionManager::stop, "stopped", "⏹️ 리플레이 세션 정지");
+    }
+
+    /**
+     * DELETE /api/sessions/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> delete(@PathVariable String id) {
+        return apply(id, replaySessionManager::delete, "deleted", "🗑️ 리플레이 세션 삭제");
+    }
+
+    private static ResponseEntity<Map<String, Object>> apply(String id, Function<String, Map<String, Object>> action,
+                                                             String status, String message) {
+        try {
+            Map<String, Object> response = new HashMap<>(action.apply(id));
+            if (status != null) {
+                response.put("status", status);
+                response.put("message", message);
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalid(RuntimeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "invalid");
+        response.put("message", "❌ " + e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.moa.moadata.session.model;
+
+/**
+ * 리플레이 세션 설정 (POST /api/sessions 본문)
+ *
+ * @param sourceKey     재생할 S3 객체 키 (없으면 현재 데이터셋 키)
+ * @param filter        재생 필터 식 (ReplayFilter 문법, 없으면 전체)
+ * @param rowsPerSecond 초당 전송 행 수
+ * @param batchSize     한 번에 보낼 행 수
+ * @param backendUrl    전송할 백엔드 기본 URL (없으면 moa.backend.url)
+ */
+public record ReplaySessionConfig(String sourceKey, String filter, Integer rowsPerSecond, Integer batchSize,
+                                  String backendUrl) {
+
+    /**
+     * 빠진 값을 기본값으로 채움
+     */
+    public ReplaySessionConfig withDefaults(String defaultKey, int defaultRowsPerSecond, int defaultBatchSize,
+                                            String defaultBackendUrl) {
+        return new ReplaySessionConfig(
+                isBlank(sourceKey) ? defaultKey : sourceKey.trim(),
+                filter == null ? "" : filter.trim(),
+                rowsPerSecond == null ? defaultRowsPerSecond : rowsPerSecond,
+                batchSize == null ? defaultBatchSize : batchSize,
+                isBlank(backendUrl) ? defaultBackendUrl : backendUrl.trim());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,14 @@
+package com.moa.moadata.session.model;
+
+/**
+ * 리플레이 세션 상태
+ *
+ * CREATED → RUNNING ⇄ PAUSED, 어디서든 STOPPED (위치는 처음으로), 데이터셋 로딩 실패 시 FAILED
+ */
+public enum ReplaySessionState {
+    CREATED,
+    RUNNING,
+    PAUSED,
+    STOPPED,
+    FAILED
+}
@@ -0,0 +1,255 @@
+package com.moa.moadata.session.service;
+
+import com.moa.moadata.buffer.BufferPool;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.reader.index.ReplayFilter;
+import com.moa.moadata.reader.template.RandomUuid;
+import com.moa.moadata.reader.template.RowTemplateCompiler;
+import com.moa.moadata.reader.template.TemplateBatchWriter;
+import com.moa.moadata.session.model.ReplaySessionConfig;
+import com.moa.moadata.session.model.ReplaySessionState;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리플레이 세션 하나 (자기 데이터셋 / 필터 / 속도 / 배치 크기 / 백엔드)
+ *
+ * 상태는 API 스레드가 바꾸고, 전송 위치 / writer 는 워커가 한 번에 하나씩만 (queued) 쓴다.
+ * 공유 샘플은 바꾸지 않고 행 템플릿에 rowKey / 시각만 넣어서 보낸다.
+ */
+final class ReplaySession {
+
+    private final String id;
+    private final long sequence;
+    private final ReplaySessionConfig config;
+    private final ReplayFilter filter;
+    private final String batchUrl;
+    private final long intervalNanos;
+    private final SessionDatasetCache.Lease lease;
+    private final Instant createdAt = Instant.now();
+
+    private volatile ReplaySessionState state = ReplaySessionState.CREATED;
+    private volatile String error;
+    private volatile long nextDueNanos;
+    private volatile boolean rewind;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    // 워커 전용
+    private final TemplateBatchWriter batchWriter = new TemplateBatchWriter();
+    private final byte[] rowKeyScratch = new byte[RandomUuid.QUOTED_LENGTH];
+    private int[] selectedRows;
+    private boolean prepared;
+    private volatile int position;
+    private volatile int totalRows = -1;
+
+    private final LongAdder sentRows = new LongAdder();
+    private final LongAdder sentBatches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile int lastStatus;
+
+    ReplaySession(String id, long sequence, ReplaySessionConfig config, ReplayFilter filter,
+                  SessionDatasetCache.Lease lease) {
+        this.id = id;
+        this.sequence = sequence;
+        this.config = config;
+        this.filter = filter;
+        this.lease = lease;
+        this.batchUrl = MoaApiClient.batchUrlOf(config.backendUrl());
+        this.intervalNanos = intervalNanos(config.batchSize(), config.rowsPerSecond());
+    }
+
+    /**
+     * 배치 하나를 보내는 간격 (batchSize 행을 rowsPerSecond 속도로)
+     */
+    static long intervalNanos(int batchSize, int rowsPerSecond) {
+        return Math.max(1, batchSize * 1_000_000_000L / rowsPerSecond);
+    }
+
+    /**
+     * 이번 차례에 보낼 배치 수 (tick 사이에 쌓인 만큼, 최대 maxBatches)
+     */
+    static int batchesDue(long due, long interval, long now, int maxBatches) {
+        long elapsed = Math.max(0, now - due);
+        return (int) Math.min(Math.max(1, maxBatches), 1 + elapsed / interval);
+    }
+
+    /**
+     * 다음 전송 시각 (보낸 배치 수만큼 진행, 그래도 밀렸으면 몰아서 보내지 않도록 최대 한 간격까지만 따라잡음)
+     */
+    static long nextDue(long previousDue, long interval, int batches, long now) {
+        long next = previousDue + interval * batches;
+        return next - (now - interval) < 0 ? now - interval : next;
+    }
+
+    // ============== 상태 (API 스레드) ==============
+
+    synchronized void start() {
+        if (state == ReplaySessionState.FAILED) {
+            throw new IllegalStateException("실패한 세션은 시작할 수 없습니다: " + error);
+        }
+        if (state != ReplaySessionState.RUNNING) {
+            nextDueNanos = System.nanoTime();
+            state = ReplaySessionState.RUNNING;
+        }
+    }
+
+    synchronized void pause() {
+        if (state != ReplaySessionState.RUNNING) {
+            throw new IllegalStateException("실행 중인 세션만 일시 정지할 수 있습니다 (현재 " + state + ")");
+        }
+        state = ReplaySessionState.PAUSED;
+    }
+
+    /**
+     * 정지 (다음 시작은 처음부터)
+     */
+    synchronized void stop() {
+        if (state != ReplaySessionState.FAILED) {
+            state = ReplaySessionState.STOPPED;
+        }
+        rewind = true;
+    }
+
+    synchronized void fail(String message) {
+        error = message;
+        state = ReplaySessionState.FAILED;
+    }
+
+    // ============== 스케줄링 (티커 / 워커) ==============
+
+    /**
+     * 보낼 차례인지 (실행 중 + 데이터셋 준비됨 + 전송 시각 지남)
+     */
+    boolean isDue(long now) {
+        return state == ReplaySessionState.RUNNING
+                && lease.dataset().isDone() && !lease.dataset().isCompletedExceptionally()
+                && now - nextDueNanos >= 0;
+    }
+
+    /**
+     * 워커 큐에 한 번만 올리도록 표시 (이미 올라가 있으면 false)
+     */
+    boolean markQueued() {
+        return queued.compareAndSet(false, true);
+    }
+
+    int batchesDue(long now, int maxBatches) {
+        return batchesDue(nextDueNanos, intervalNanos, now, maxBatches);
+    }
+
+    void finishTurn(long now, int batches) {
+        nextDueNanos = nextDue(nextDueNanos, intervalNanos, batches, now);
+        queued.set(false);
+    }
+
+    /**
+     * 배치 하나 전송 (워커 스레드)
+     *
+     * @return 보냈으면 true (실행 중이 아니거나 보낼 행이 없으면 false)
+     */
+    boolean sendNext(RowTemplateCompiler templateCompiler, BufferPool bufferPool, MoaApiClient moaApiClient) {
+        if (state != ReplaySessionState.RUNNING) {
+            return false;
+        }
+
+        SharedDataset shared = lease.dataset().join();
+        if (!prepared) {
+            selectedRows = filter.isEmpty() ? null : shared.dataset().index().select(filter).toArray();
+            totalRows = selectedRows == null ? shared.dataset().size() : selectedRows.length;
+            prepared = true;
+        }
+        if (totalRows == 0) {
+            fail(filter.isEmpty() ? "데이터가 없습니다" : "필터에 맞는 데이터가 없습니다");
+            return false;
+        }
+        if (rewind) {
+            rewind = false;
+            position = 0;
+        }
+
+        PooledBuffer json = bufferPool.acquire();
+        byte[] nowJson = templateCompiler.encode(LocalDateTime.now());
+        batchWriter.begin(json, nowJson, nowJson);
+
+        int cursor = position;
+        for (int i = 0; i < config.batchSize(); i++) {
+            if (cursor >= totalRows) {
+                cursor = 0;
+            }
+            int row = selectedRows == null ? cursor : selectedRows[cursor];
+            RandomUuid.writeQuoted(rowKeyScratch, 0);
+            batchWriter.append(shared.template(row), rowKeyScratch);
+            cursor++;
+        }
+        position = cursor;
+
+        int rows = batchWriter.getRows();
+        batchWriter.finish();
+        try {
+            int status = moaApiClient.sendBatchJson(batchUrl, List.of(json), rows);
+            lastStatus = status;
+            if (status >= 200 && status < 300) {
+                sentRows.add(rows);
+                sentBatches.increment();
+            } else {
+                failedBatches.increment();
+            }
+        } finally {
+            json.release();
+        }
+        return true;
+    }
+
+    void failedTurn() {
+        failedBatches.increment();
+    }
+
+    // ============== 조회 ==============
+
+    String getId() {
+        return id;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    ReplaySessionState getState() {
+        return state;
+    }
+
+    SessionDatasetCache.Lease getLease() {
+        return lease;
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("state", state);
+        result.put("sourceKey", config.sourceKey());
+        result.put("etag", lease.etag());
+        result.put("filter", filter.expression());
+        result.put("rowsPerSecond", config.rowsPerSecond());
+        result.put("batchSize", config.batchSize());
+        result.put("backendUrl", config.backendUrl());
+        result.put("datasetReady", lease.dataset().isDone() && !lease.dataset().isCompletedExceptionally());
+        result.put("position", position);
+        result.put("rows", totalRows);
+        result.put("sentRows", sentRows.sum());
+        result.put("sentBatches", sentBatches.sum());
+        result.put("failedBatches", failedBatches.sum());
+        result.put("lastStatus", lastStatus);
+        result.put("createdAt", createdAt.toString());
+        if (error != null) {
+            result.put("error", error);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,262 @@
+package com.moa.moadata.session.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.BufferPool;
+import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.reader.index.ReplayFilter;
+import com.moa.moadata.reader.template.RowTemplateCompiler;
+import com.moa.moadata.session.model.ReplaySessionConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 리플레이 세션을 동시에 실행 (세션마다 다른 객체 / 필터 / 속도 / 백엔드)
+ *
+ * - 티커 스레드 하나가 tick-ms 마다 전송 시각이 된 세션을 워커 큐에 올림
+ * - 워커는 고정 개수 (moa.session.workers), 큐는 FIFO
+ * - 세션은 큐에 한 번만 올라가고 한 차례에 그동안 쌓인 배치만 (최대 max-batches-per-turn) 보내므로,
+ *   느린 백엔드 / 빠른 세션이 다른 세션을 굶기지 않음
+ * - 세션 최대 속도는 batchSize × max-batches-per-turn × 1000 / tick-ms 행/초 (넘는 속도는 생성 시 거절)
+ * - 세션 데이터는 메인 재생 / 이벤트 버스와 섞지 않고 세션 백엔드로 바로 전송
+ */
+@Slf4j
+@Service
+public class ReplaySessionManager {
+
+    private final SessionDatasetCache datasetCache;
+    private final MoaApiClient moaApiClient;
+    private final S3DataReader s3DataReader;
+    private final RowTemplateCompiler templateCompiler;
+
+    @Value("${moa.backend.url}")
+    private String defaultBackendUrl;
+
+    // 동시에 배치를 보내는 워커 수
+    @Value("${moa.session.workers:4}")
+    private int workerCount;
+
+    @Value("${moa.session.max-sessions:16}")
+    private int maxSessions;
+
+    // 전송 시각 확인 주기
+    @Value("${moa.session.tick-ms:5}")
+    private long tickMs;
+
+    @Value("${moa.session.default-rows-per-second:1000}")
+    private int defaultRowsPerSecond;
+
+    @Value("${moa.session.default-batch-size:100}")
+    private int defaultBatchSize;
+
+    @Value("${moa.session.max-batch-size:10000}")
+    private int maxBatchSize;
+
+    // 한 차례에 보낼 수 있는 최대 배치 수 (tick 사이에 쌓인 배치를 따라잡는 한도)
+    @Value("${moa.session.max-batches-per-turn:16}")
+    private int maxBatchesPerTurn;
+
+    private final Map<String, ReplaySession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor workers;
+    private BufferPool bufferPool;
+
+    public ReplaySessionManager(SessionDatasetCache datasetCache, MoaApiClient moaApiClient,
+                                S3DataReader s3DataReader, ObjectMapper objectMapper) {
+        this.datasetCache = datasetCache;
+        this.moaApiClient = moaApiClient;
+        this.s3DataReader = s3DataReader;
+        this.templateCompiler = new RowTemplateCompiler(objectMapper);
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, workerCount);
+        workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("session-worker-", 0).daemon(true).factory());
+        bufferPool = new BufferPool(threads * 2, 64 * 1024, 4 * 1024 * 1024);
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("session-ticker").daemon(true).factory());
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, Math.max(1, tickMs), TimeUnit.MILLISECONDS);
+        log.info("🎛️ 리플레이 세션 매니저 시작: 워커 {}개, 최대 세션 {}개", threads, maxSessions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // ============== 세션 API ==============
+
+    /**
+     * 세션 생성 (데이터셋은 백그라운드로 준비, 준비 전에 start 해도 됨)
+     *
+     * @throws IllegalArgumentException 설정 값이 잘못됐을 때
+     * @throws IllegalStateException    세션이 가득 찼거나 S3 객체를 확인할 수 없을 때
+     */
+    public Map<String, Object> create(ReplaySessionConfig request) {
+        ReplaySessionConfig config = (request == null ? new ReplaySessionConfig(null, null, null, null, null) : request)
+                .withDefaults(s3DataReader.getDataset().key(), defaultRowsPerSecond, defaultBatchSize,
+                        defaultBackendUrl);
+        if (config.sourceKey() == null) {
+            throw new IllegalArgumentException("sourceKey 가 필요합니다");
+        }
+        if (config.rowsPerSecond() <= 0) {
+            throw new IllegalArgumentException("rowsPerSecond 는 1 이상이어야 합니다");
+        }
+        if (config.batchSize() <= 0 || config.batchSize() > maxBatchSize) {
+            throw new IllegalArgumentException("batchSize 는 1~" + maxBatchSize + " 사이여야 합니다");
+        }
+        if (!config.backendUrl().startsWith("http://") && !config.backendUrl().startsWith("https://")) {
+            throw new IllegalArgumentException("backendUrl 은 http(s) URL 이어야 합니다: " + config.backendUrl());
+        }
+        long maxRate = maxRowsPerSecond(config.batchSize());
+        if (config.rowsPerSecond() > maxRate) {
+            throw new IllegalArgumentException("batchSize " + config.batchSize() + " 로는 세션당 최대 " + maxRate
+                    + "행/초 입니다 (batchSize 또는 moa.session.max-batches-per-turn 을 늘리세요)");
+        }
+        ReplayFilter filter = ReplayFilter.parse(config.filter());
+
+        if (sessions.size() >= maxSessions) {
+            throw new IllegalStateException("세션은 최대 " + maxSessions + "개까지 만들 수 있습니다");
+        }
+
+        SessionDatasetCache.Lease lease = datasetCache.acquire(config.sourceKey());
+        long seq = sequence.incrementAndGet();
+        ReplaySession session = new ReplaySession("s-" + seq, seq, config, filter, lease);
+        sessions.put(session.getId(), session);
+        lease.dataset().whenComplete((loaded, error) -> {
+            if (error != null) {
+                session.fail("데이터셋 로딩 실패: " + config.sourceKey());
+            }
+        });
+
+        log.info("🆕 리플레이 세션 생성: {} ({}, filter='{}', {}행/초, 배치 {}, → {})", session.getId(),
+                config.sourceKey(), filter.expression(), config.rowsPerSecond(), config.batchSize(),
+                config.backendUrl());
+        return session.snapshot();
+    }
+
+    public Map<String, Object> start(String id) {
+        ReplaySession session = find(id);
+        session.start();
+        log.info("▶️ 리플레이 세션 시작: {}", id);
+        return session.snapshot();
+    }
+
+    public Map<String, Object> pause(String id) {
+        ReplaySession session = find(id);
+        session.pause();
+        log.info("⏸️ 리플레이 세션 일시 정지: {}", id);
+        return session.snapshot();
+    }
+
+    public Map<String, Object> stop(String id) {
+        ReplaySession session = find(id);
+        session.stop();
+        log.info("⏹️ 리플레이 세션 정지: {}", id);
+        return session.snapshot();
+    }
+
+    /**
+     * 세션 삭제 (진행 중인 배치는 끝까지 보내고, 데이터셋 참조 해제)
+     */
+    public Map<String, Object> delete(String id) {
+        ReplaySession session = sessions.remove(id);
+        if (session == null) {
+            throw new IllegalArgumentException("세션을 찾을 수 없습니다: " + id);
+        }
+        session.stop();
+        datasetCache.release(session.getLease());
+        log.info("🗑️ 리플레이 세션 삭제: {}", id);
+        return session.snapshot();
+    }
+
+    public Map<String, Object> status(String id) {
+        return find(id).snapshot();
+    }
+
+    public Map<String, Object> list() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessions", sessions.values().stream()
+                .sorted(Comparator.comparingLong(ReplaySession::getSequence))
+                .map(ReplaySession::snapshot)
+                .toList());
+        result.put("maxSessions", maxSessions);
+        result.put("maxBatchesPerTurn", maxBatchesPerTurn);
+        result.put("workers", workers.getMaximumPoolSize());
+        result.put("activeWorkers", workers.getActiveCount());
+        result.put("queued", workers.getQueue().size());
+        result.put("datasets", datasetCache.snapshot());
+        return result;
+    }
+
+    /**
+     * 배치 크기별 세션 최대 속도 (tick 마다 한 차례, 차례마다 최대 max-batches-per-turn 배치)
+     */
+    long maxRowsPerSecond(int batchSize) {
+        return (long) batchSize * Math.max(1, maxBatchesPerTurn) * 1000 / Math.max(1, tickMs);
+    }
+
+    private ReplaySession find(String id) {
+        ReplaySession session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("세션을 찾을 수 없습니다: " + id);
+        }
+        return session;
+    }
+
+    // ============== 스케줄링 ==============
+
+    /**
+     * 전송 시각이 된 세션을 워커 큐에 올림 (티커 스레드)
+     */
+    void tick() {
+        long now = System.nanoTime();
+        for (ReplaySession session : sessions.values()) {
+            if (!session.isDue(now) || !session.markQueued()) {
+                continue;
+            }
+            try {
+                workers.execute(() -> runTurn(session));
+            } catch (RejectedExecutionException e) {
+                session.finishTurn(now, 1);
+            }
+        }
+    }
+
+    private void runTurn(ReplaySession session) {
+        int batches = session.batchesDue(System.nanoTime(), maxBatchesPerTurn);
+        try {
+            for (int i = 0; i < batches; i++) {
+                if (!session.sendNext(templateCompiler, bufferPool, moaApiClient)) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            session.failedTurn();
+            log.error("❌ 리플레이 세션 전송 중 오류: {}", session.getId(), e);
+        } finally {
+            session.finishTurn(System.nanoTime(), batches);
+        }
+    }
+}
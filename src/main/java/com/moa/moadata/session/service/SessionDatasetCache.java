@@ -0,0 +1,144 @@
+package com.moa.moadata.session.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.reader.template.RowTemplateCompiler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 리플레이 세션 데이터셋 캐시 (S3 키 + ETag 가 같으면 메모리에 하나만)
+ *
+ * - 현재 재생 중인 데이터셋과 같은 객체 / ETag 면 다시 읽지 않고 그대로 공유
+ * - 아니면 세션 로더 스레드에서 한 번만 읽고, 동시에 요청한 세션들은 같은 로딩을 기다림
+ * - 세션 참조 수가 0이 되면 캐시에서 뺌 (진행 중인 전송이 끝나면 GC)
+ */
+@Slf4j
+@Component
+public class SessionDatasetCache {
+
+    /**
+     * 세션이 잡고 있는 캐시 항목 (세션 삭제 시 release)
+     */
+    record Lease(String key, String etag, CompletableFuture<SharedDataset> dataset) {
+
+        String cacheKey() {
+            return SessionDatasetCache.cacheKey(key, etag);
+        }
+    }
+
+    private final S3DataReader s3DataReader;
+    private final RowTemplateCompiler templateCompiler;
+
+    private final Map<String, CompletableFuture<SharedDataset>> entries = new HashMap<>();
+    private final Map<String, Integer> references = new HashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("session-loader").daemon(true).factory());
+
+    public SessionDatasetCache(S3DataReader s3DataReader, ObjectMapper objectMapper) {
+        this.s3DataReader = s3DataReader;
+        this.templateCompiler = new RowTemplateCompiler(objectMapper);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * 키의 현재 ETag 로 캐시 항목을 잡음 (없으면 로딩 시작)
+     *
+     * @throws IllegalStateException ETag 를 확인할 수 없을 때
+     */
+    Lease acquire(String key) {
+        String etag;
+        try {
+            // S3 호출은 락 밖에서
+            etag = s3DataReader.headEtag(key);
+        } catch (Exception e) {
+            throw new IllegalStateException("S3 객체를 확인할 수 없습니다: " + key + " (" + e.getMessage() + ")", e);
+        }
+
+        String cacheKey = cacheKey(key, etag);
+        synchronized (this) {
+            CompletableFuture<SharedDataset> entry = entries.get(cacheKey);
+            if (entry == null) {
+                entry = load(key, etag, cacheKey);
+                entries.put(cacheKey, entry);
+            }
+            references.merge(cacheKey, 1, Integer::sum);
+            return new Lease(key, etag, entry);
+        }
+    }
+
+    private CompletableFuture<SharedDataset> load(String key, String etag, String cacheKey) {
+        ReplayDataset serving = s3DataReader.getDataset();
+        if (serving.complete() && key.equals(serving.key()) && etag != null && etag.equals(serving.etag())) {
+            log.info("♻️ 세션 데이터셋: 재생 중인 데이터셋 공유 ({}, {}행)", key, serving.size());
+            return CompletableFuture.completedFuture(
+                    new SharedDataset(cacheKey, serving, templateCompiler));
+        }
+
+        log.info("🔄 세션 데이터셋 로딩 시작: {} (etag={})", key, etag);
+        CompletableFuture<SharedDataset> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new SharedDataset(cacheKey, s3DataReader.readObject(key), templateCompiler);
+            } catch (Exception e) {
+                log.error("❌ 세션 데이터셋 로딩 실패: {}", key, e);
+                throw new IllegalStateException("데이터셋 로딩 실패: " + key, e);
+            }
+        }, loader);
+        // 실패한 항목은 남겨 두지 않음 (다음 세션이 다시 시도)
+        future.whenComplete((loaded, error) -> {
+            if (error != null) {
+                synchronized (this) {
+                    entries.remove(cacheKey, future);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 세션 참조 해제 (0이 되면 캐시에서 뺌)
+     */
+    synchronized void release(Lease lease) {
+        String cacheKey = lease.cacheKey();
+        Integer remaining = references.computeIfPresent(cacheKey, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null && entries.remove(cacheKey) != null) {
+            log.info("🗑️ 세션 데이터셋 해제: {}", cacheKey);
+        }
+    }
+
+    public synchronized List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        entries.forEach((cacheKey, entry) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("dataset", cacheKey);
+            item.put("sessions", references.getOrDefault(cacheKey, 0));
+            SharedDataset loaded = entry.isDone() && !entry.isCompletedExceptionally() ? entry.join() : null;
+            item.put("ready", loaded != null);
+            if (loaded != null) {
+                item.put("rows", loaded.dataset().size());
+                item.put("sharedWithReplay", loaded.dataset() == s3DataReader.getDataset());
+            }
+            result.add(item);
+        });
+        return result;
+    }
+
+    private static String cacheKey(String key, String etag) {
+        return key + "@" + etag;
+    }
+}
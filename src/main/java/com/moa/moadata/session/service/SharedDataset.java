@@ -0,0 +1,46 @@
+package com.moa.moadata.session.service;
+
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.template.RowTemplate;
+import com.moa.moadata.reader.template.RowTemplateCompiler;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 세션들이 함께 쓰는 데이터셋 + 행 템플릿 (같은 S3 객체 / ETag 당 하나)
+ *
+ * 행 템플릿은 처음 보낼 때 만들어서 모든 세션이 재사용한다.
+ * 컴파일은 센티넬을 잠시 써 넣으므로 공유 샘플 대신 복사본으로 한다.
+ */
+final class SharedDataset {
+
+    private final String cacheKey;
+    private final ReplayDataset dataset;
+    private final RowTemplateCompiler templateCompiler;
+    private final AtomicReferenceArray<RowTemplate> templates;
+
+    SharedDataset(String cacheKey, ReplayDataset dataset, RowTemplateCompiler templateCompiler) {
+        this.cacheKey = cacheKey;
+        this.dataset = dataset;
+        this.templateCompiler = templateCompiler;
+        this.templates = new AtomicReferenceArray<>(dataset.size());
+    }
+
+    RowTemplate template(int row) {
+        RowTemplate template = templates.get(row);
+        if (template == null) {
+            // 두 세션이 동시에 만들어도 결과가 같으므로 먼저 넣은 쪽을 씀
+            templates.compareAndSet(row, null, templateCompiler.compile(dataset.samples().get(row).copy()));
+            template = templates.get(row);
+        }
+        return template;
+    }
+
+    String cacheKey() {
+        return cacheKey;
+    }
+
+    ReplayDataset dataset() {
+        return dataset;
+    }
+}
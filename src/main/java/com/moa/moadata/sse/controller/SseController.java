@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -23,12 +24,13 @@ public class SseController {
     private final SseEmitterService sseEmitterService;
 
     /**
-     * SSE 연결
+     * SSE 연결 (재연결 시 Last-Event-ID 이후 이벤트부터 이어서 수신)
      * GET /api/sse/connect
      */
     @GetMapping(value = "/connect", produces = "text/event-stream;charset=UTF-8")
-    public SseEmitter connect() {
-        log.info("🔗 SSE 연결 요청");
-        return sseEmitterService.createEmitter();
+    public SseEmitter connect(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("🔗 SSE 연결 요청 (Last-Event-ID: {})", lastEventId);
+        return sseEmitterService.createEmitter(lastEventId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.moa.moadata.sse.model;
+
+/**
+ * 한 번 인코딩된 SSE 이벤트 (모든 클라이언트가 같은 바이트를 재사용)
+ */
+public record SseFrame(long id, String eventName, byte[] data) {
+}
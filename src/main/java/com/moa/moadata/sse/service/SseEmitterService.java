@@ -1,125 +1,216 @@
 package com.moa.moadata.sse.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.config.ReplayExecutors;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.metrics.jfr.BatchSerializeEvent;
 import com.moa.moadata.model.HttpPageSample;
-import lombok.RequiredArgsConstructor;
+import com.moa.moadata.sse.model.SseFrame;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SseEmitterService {
 
     private final ObjectMapper objectMapper;
+    private final ReplayMetrics replayMetrics;
 
-    // 연결된 클라이언트들을 저장
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    // 구독자별 writer 작업 실행기 (가상 스레드 모드면 작업마다 가상 스레드)
+    private final Executor sseWriters;
+    private final int writerQueueLimit;
+
+    // 최근 프레임 버퍼 (Last-Event-ID 재연결 시 이어서 전송)
+    private final SseReplayBuffer replayBuffer;
+
+    // 브로드캐스트와 재연결 재전송이 섞이지 않도록 보호
+    // (재전송은 소켓 쓰기를 포함하므로 가상 스레드가 고정되지 않게 synchronized 대신 ReentrantLock)
+    private final ReentrantLock broadcastLock = new ReentrantLock();
+
+    // 연결된 클라이언트들을 저장 (제거는 하트비트 휠이 묶어서 처리)
+    private final List<SseSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // 끊어진 연결 감지용 하트비트 휠 (브로드캐스트 경로 밖에서 감지)
+    private final SseHeartbeatWheel heartbeatWheel;
 
     // 타임아웃: 30분
     private static final Long TIMEOUT = 30 * 60 * 1000L;
 
+    public SseEmitterService(
+            ObjectMapper objectMapper,
+            ReplayMetrics replayMetrics,
+            ReplayExecutors replayExecutors,
+            @Value("${moa.sse.writer-queue-limit:256}") int writerQueueLimit,
+            @Value("${moa.sse.replay-buffer-size:1024}") int replayBufferSize,
+            @Value("${moa.sse.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${moa.sse.heartbeat-tick-ms:1000}") long heartbeatTickMs) {
+        this.objectMapper = objectMapper;
+        this.replayMetrics = replayMetrics;
+        this.sseWriters = replayExecutors.getSseWriters();
+        this.writerQueueLimit = writerQueueLimit;
+        // 재시작 후에도 ID가 이전 프로세스보다 커지도록 부팅 시각 기준으로 시작
+        this.replayBuffer = new SseReplayBuffer(replayBufferSize, System.currentTimeMillis() << 10);
+        this.heartbeatWheel = new SseHeartbeatWheel(heartbeatIntervalMs, heartbeatTickMs, this::reap);
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeatWheel.start();
+        log.info("💓 SSE 하트비트 시작 (슬롯 {}개)", heartbeatWheel.getSlotCount());
+    }
+
+    @PreDestroy
+    public void stopHeartbeat() {
+        heartbeatWheel.stop();
+    }
+
     /**
      * SSE 연결 생성
      */
     public SseEmitter createEmitter() {
-        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        return createEmitter(null);
+    }
 
-        emitters.add(emitter);
-        log.info("✅ SSE 클라이언트 연결 (총 {}개)", emitters.size());
+    /**
+     * SSE 연결 생성 (Last-Event-ID가 있으면 버퍼에서 이어서 전송)
+     */
+    public SseEmitter createEmitter(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        SseSubscriber subscriber = newSubscriber(emitter);
 
-        // 연결 완료 시
-        emitter.onCompletion(() -> {
-            emitters.remove(emitter);
-            log.info("🔌 SSE 클라이언트 연결 종료 (총 {}개)", emitters.size());
+        // 완료 / 타임아웃 / 에러 시 표시만 하고 제거는 하트비트 휠에서 일괄 처리
+        emitter.onCompletion(subscriber::markDead);
+        emitter.onTimeout(subscriber::markDead);
+        emitter.onError((e) -> {
+            subscriber.markDead();
+            log.debug("SSE 클라이언트 에러: {}", e.getMessage());
         });
 
-        // 타임아웃 시
-        emitter.onTimeout(() -> {
-            emitters.remove(emitter);
-            log.warn("⏰ SSE 클라이언트 타임아웃 (총 {}개)", emitters.size());
-        });
+        broadcastLock.lock();
+        try {
+            try {
+                // 초기 연결 메시지
+                emitter.send(SseEmitter.event()
+                        .name("connected")
+                        .data(Map.of(
+                                "message", "SSE 연결 성공",
+                                "lastEventId", replayBuffer.getLastId(),
+                                "timestamp", System.currentTimeMillis()
+                        )));
 
-        // 에러 시
-        emitter.onError((e) -> {
-            emitters.remove(emitter);
-            log.error("❌ SSE 클라이언트 에러 (총 {}개)", emitters.size(), e);
-        });
+                if (lastEventId != null && !lastEventId.isBlank()) {
+                    resume(emitter, lastEventId);
+                }
+            } catch (IOException e) {
+                log.error("초기 메시지 전송 실패", e);
+                return emitter;  // ⭐ 실패하면 등록하지 않음
+            }
 
-        // 초기 연결 메시지
+            subscribers.add(subscriber);
+            heartbeatWheel.add(subscriber);
+        } finally {
+            broadcastLock.unlock();
+        }
+
+        log.info("✅ SSE 클라이언트 연결 (총 {}개)", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * 초기 메시지 없이 emitter 등록 (벤치마크용 목 emitter)
+     */
+    void register(SseEmitter emitter) {
+        SseSubscriber subscriber = newSubscriber(emitter);
+        broadcastLock.lock();
         try {
+            subscribers.add(subscriber);
+            heartbeatWheel.add(subscriber);
+        } finally {
+            broadcastLock.unlock();
+        }
+    }
+
+    private SseSubscriber newSubscriber(SseEmitter emitter) {
+        return new SseSubscriber(emitter, heartbeatWheel.assignSlot(), sseWriters, writerQueueLimit,
+                replayMetrics::recordSseClientLag);
+    }
+
+    /**
+     * Last-Event-ID 이후 프레임 재전송, 버퍼에서 밀려났으면 reset 이벤트
+     */
+    private void resume(SseEmitter emitter, String lastEventId) throws IOException {
+        List<SseFrame> missed = null;
+        try {
+            missed = replayBuffer.framesAfter(Long.parseLong(lastEventId.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ 잘못된 Last-Event-ID: {}", lastEventId);
+        }
+
+        if (missed == null) {
+            log.info("♻️ SSE 재연결: Last-Event-ID={} 버퍼 범위 밖 → 전체 재로딩 요청", lastEventId);
             emitter.send(SseEmitter.event()
-                    .name("connected")
+                    .name("reset")
                     .data(Map.of(
-                            "message", "SSE 연결 성공",
+                            "message", "재전송 범위를 벗어났습니다. 전체 상태를 다시 불러오세요",
                             "timestamp", System.currentTimeMillis()
                     )));
-        } catch (IOException e) {
-            log.error("초기 메시지 전송 실패", e);
-            emitters.remove(emitter);  // ⭐ 실패하면 바로 제거
+            return;
         }
 
-        return emitter;
+        for (SseFrame frame : missed) {
+            emitter.send(toEvent(frame));
+        }
+        log.info("♻️ SSE 재연결: Last-Event-ID={} 이후 {}개 이벤트 재전송", lastEventId, missed.size());
+    }
+
+    /**
+     * 하트비트 휠에서 모은 끊어진 연결 일괄 제거
+     */
+    private void reap(List<SseSubscriber> dead) {
+        subscribers.removeAll(dead);
+        dead.forEach(SseSubscriber::close);
+        log.info("🗑️ 끊어진 SSE 연결 {}개 정리 (남은 연결: {}개)", dead.size(), subscribers.size());
     }
 
     /**
      * 배치 데이터 전송
      */
     public void sendBatchData(List<HttpPageSample> samples) {
-        if (emitters.isEmpty()) {
+        if (subscribers.isEmpty()) {
             log.debug("⚠️ 연결된 SSE 클라이언트가 없습니다");
-            return;
         }
 
-        log.debug("📤 SSE 배치 데이터 전송 시도: {}건, 클라이언트: {}개", samples.size(), emitters.size());
+        log.debug("📤 SSE 배치 데이터 전송 시도: {}건, 클라이언트: {}개", samples.size(), subscribers.size());
 
-        List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
+        int successCount = broadcast("batch-data", samples);
 
-        for (SseEmitter emitter : emitters) {
-            try {
-                // ⭐ 각 emitter가 유효한지 먼저 체크
-                emitter.send(SseEmitter.event()
-                        .name("batch-data")
-                        .data(samples, MediaType.APPLICATION_JSON));
-
-                log.debug("✅ SSE 전송 성공");
-
-            } catch (IllegalStateException e) {
-                // ⭐ 연결이 끊어진 경우
-                log.warn("⚠️ SSE 전송 실패 (연결 끊김), 클라이언트 제거");
-                deadEmitters.add(emitter);
-
-            } catch (IOException e) {
-                // ⭐ IO 에러
-                log.warn("⚠️ SSE 전송 실패 (IO 에러), 클라이언트 제거: {}", e.getMessage());
-                deadEmitters.add(emitter);
-
-            } catch (Exception e) {
-                // ⭐ 기타 에러
-                log.error("❌ SSE 전송 중 예상치 못한 에러, 클라이언트 제거", e);
-                deadEmitters.add(emitter);
-            }
+        // ⭐ 성공적으로 전송된 클라이언트 수 로그
+        if (successCount > 0) {
+            log.info("✅ SSE 배치 데이터 전송 완료: {}건 → {}개 클라이언트", samples.size(), successCount);
         }
+    }
 
-        // 실패한 emitter 제거
-        emitters.removeAll(deadEmitters);
-
-        if (!deadEmitters.isEmpty()) {
-            log.info("🗑️ 죽은 연결 {}개 제거됨 (남은 연결: {}개)",
-                    deadEmitters.size(), emitters.size());
-        }
+    /**
+     * 미리 직렬화된 배치 전송 (행 템플릿 모드, 인코딩 생략)
+     */
+    public void sendBatchJson(byte[] json, int rows) {
+        int successCount = broadcastEncoded("batch-data", json, System.nanoTime());
 
-        // ⭐ 성공적으로 전송된 클라이언트 수 로그
-        int successCount = emitters.size() - deadEmitters.size();
         if (successCount > 0) {
-            log.info("✅ SSE 배치 데이터 전송 완료: {}건 → {}개 클라이언트", samples.size(), successCount);
+            log.info("✅ SSE 배치 데이터 전송 완료: {}건 → {}개 클라이언트", rows, successCount);
         }
     }
 
@@ -127,71 +218,94 @@ public class SseEmitterService {
      * 단건 데이터 전송
      */
     public void sendSingleData(HttpPageSample sample) {
-        if (emitters.isEmpty()) {
-            log.debug("⚠️ 연결된 SSE 클라이언트가 없습니다");
-            return;
-        }
+        log.debug("📤 SSE 단건 데이터 전송, 클라이언트: {}개", subscribers.size());
 
-        log.debug("📤 SSE 단건 데이터 전송, 클라이언트: {}개", emitters.size());
-
-        List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
-
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("single-data")
-                        .data(sample, MediaType.APPLICATION_JSON));
-
-            } catch (IllegalStateException e) {
-                log.warn("⚠️ SSE 전송 실패 (연결 끊김), 클라이언트 제거");
-                deadEmitters.add(emitter);
-
-            } catch (IOException e) {
-                log.warn("⚠️ SSE 전송 실패 (IO 에러), 클라이언트 제거");
-                deadEmitters.add(emitter);
-
-            } catch (Exception e) {
-                log.error("❌ SSE 전송 중 예상치 못한 에러, 클라이언트 제거", e);
-                deadEmitters.add(emitter);
-            }
-        }
-
-        emitters.removeAll(deadEmitters);
+        broadcast("single-data", sample);
     }
 
     /**
      * 상태 메시지 전송
      */
     public void sendStatus(String message) {
-        if (emitters.isEmpty()) {
-            return;
-        }
+        log.debug("📤 SSE 상태 전송: {}, 클라이언트: {}개", message, subscribers.size());
 
-        log.debug("📤 SSE 상태 전송: {}, 클라이언트: {}개", message, emitters.size());
+        broadcast("status", Map.of(
+                "message", message,
+                "timestamp", System.currentTimeMillis()
+        ));
+    }
 
-        List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
+    /**
+     * 이름 있는 이벤트 전송 (통계 등 주기 이벤트)
+     */
+    public void sendEvent(String eventName, Object data) {
+        log.debug("📤 SSE {} 이벤트 전송, 클라이언트: {}개", eventName, subscribers.size());
 
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("status")
-                        .data(Map.of(
-                                "message", message,
-                                "timestamp", System.currentTimeMillis()
-                        )));
+        broadcast(eventName, data);
+    }
 
-            } catch (Exception e) {
-                deadEmitters.add(emitter);
+    /**
+     * 한 번만 JSON 인코딩해서 버퍼에 쌓고 모든 클라이언트에 같은 바이트 전송
+     * (클라이언트가 없어도 버퍼에는 쌓아서 재연결 시 이어받을 수 있게 함)
+     *
+     * @return 전송 대기열에 들어간 클라이언트 수
+     */
+    private int broadcast(String eventName, Object data) {
+        long startNanos = System.nanoTime();
+        BatchSerializeEvent serializeEvent = new BatchSerializeEvent();
+        serializeEvent.begin();
+        int rows = data instanceof List<?> list ? list.size() : 1;
+        byte[] encoded;
+        try {
+            encoded = objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            serializeEvent.record(BatchSerializeEvent.TARGET_SSE, rows, 0, false);
+            log.error("❌ SSE {} 이벤트 직렬화 실패", eventName, e);
+            return 0;
+        }
+        serializeEvent.record(BatchSerializeEvent.TARGET_SSE, rows, encoded.length, true);
+        return broadcastEncoded(eventName, encoded, startNanos);
+    }
+
+    private int broadcastEncoded(String eventName, byte[] encoded, long startNanos) {
+        broadcastLock.lock();
+        try {
+            SseFrame frame = replayBuffer.append(eventName, encoded);
+
+            // ⭐ 구독자 큐에 넣기만 하고 실제 쓰기는 구독자별 writer에서
+            //    (큐 초과 / 실패한 구독자는 dead 표시만, 제거/로그는 하트비트 휠에서)
+            int successCount = 0;
+            for (SseSubscriber subscriber : subscribers) {
+                if (subscriber.offer(toEvent(frame), frame.eventName(), frame.data().length)) {
+                    successCount++;
+                }
             }
+
+            replayMetrics.recordSseBroadcast(System.nanoTime() - startNanos, (long) encoded.length * successCount);
+            return successCount;
+        } finally {
+            broadcastLock.unlock();
         }
+    }
 
-        emitters.removeAll(deadEmitters);
+    private SseEmitter.SseEventBuilder toEvent(SseFrame frame) {
+        return SseEmitter.event()
+                .id(String.valueOf(frame.id()))
+                .name(frame.eventName())
+                .data(frame.data(), MediaType.APPLICATION_JSON);
     }
 
     /**
      * 연결된 클라이언트 수
      */
     public int getEmitterCount() {
-        return emitters.size();
+        return subscribers.size();
+    }
+
+    /**
+     * 마지막으로 발급한 이벤트 ID
+     */
+    public long getLastEventId() {
+        return replayBuffer.getLastId();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.moa.moadata.sse.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 전체 SSE 구독자용 단일 타이머 휠
+ *
+ * - 구독자는 등록 순서대로 슬롯에 분산 → tick마다 한 슬롯만 검사 (한 바퀴 = 하트비트 주기)
+ * - 최근 반 주기 안에 데이터가 나간 구독자는 핑 생략
+ * - 죽은 구독자는 슬롯 단위로 모아서 한 번에 onDead 콜백
+ */
+@Slf4j
+class SseHeartbeatWheel {
+
+    private final List<Set<SseSubscriber>> slots;
+    private final long tickMs;
+    private final long idleThresholdNanos;
+    private final Consumer<List<SseSubscriber>> onDead;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    private ScheduledExecutorService executor;
+    private int cursor = 0;
+
+    SseHeartbeatWheel(long heartbeatIntervalMs, long tickMs, Consumer<List<SseSubscriber>> onDead) {
+        int slotCount = (int) Math.max(1, heartbeatIntervalMs / tickMs);
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+        this.tickMs = tickMs;
+        this.idleThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slotCount * tickMs) / 2;
+        this.onDead = onDead;
+    }
+
+    /**
+     * 다음 슬롯 번호 (신규 구독자 분산용)
+     */
+    int assignSlot() {
+        return Math.floorMod(nextSlot.getAndIncrement(), slots.size());
+    }
+
+    void add(SseSubscriber subscriber) {
+        slots.get(subscriber.getSlot()).add(subscriber);
+    }
+
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::safeTick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void safeTick() {
+        try {
+            tick(System.nanoTime());
+        } catch (RuntimeException e) {
+            log.error("❌ SSE 하트비트 처리 중 에러", e);
+        }
+    }
+
+    /**
+     * 현재 슬롯 검사 후 커서 이동
+     */
+    void tick(long nowNanos) {
+        Set<SseSubscriber> slot = slots.get(cursor);
+        cursor = (cursor + 1) % slots.size();
+
+        List<SseSubscriber> dead = null;
+        for (SseSubscriber subscriber : slot) {
+            if (!subscriber.isDead() && nowNanos - subscriber.getLastWriteNanos() >= idleThresholdNanos) {
+                subscriber.ping();
+            }
+            if (subscriber.isDead()) {
+                if (dead == null) {
+                    dead = new ArrayList<>();
+                }
+                dead.add(subscriber);
+            }
+        }
+
+        if (dead != null) {
+            slot.removeAll(dead);
+            onDead.accept(dead);
+        }
+    }
+
+    int getSlotCount() {
+        return slots.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.moa.moadata.sse.service;
+
+import com.moa.moadata.sse.model.SseFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 최근 SSE 프레임 링 버퍼 (Last-Event-ID 재연결용)
+ *
+ * - 이벤트 ID는 initialId + 1 부터 단조 증가
+ * - 용량을 넘으면 가장 오래된 프레임부터 덮어씀
+ */
+public class SseReplayBuffer {
+
+    private final SseFrame[] frames;
+    private final long initialId;
+    private long lastId;
+
+    public SseReplayBuffer(int capacity, long initialId) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.frames = new SseFrame[capacity];
+        this.initialId = initialId;
+        this.lastId = initialId;
+    }
+
+    /**
+     * 새 ID를 부여해서 프레임 저장
+     */
+    public synchronized SseFrame append(String eventName, byte[] data) {
+        SseFrame frame = new SseFrame(++lastId, eventName, data);
+        frames[slotOf(frame.id())] = frame;
+        return frame;
+    }
+
+    /**
+     * lastEventId 이후의 프레임 목록
+     *
+     * @return 버퍼에서 이미 밀려났거나 알 수 없는 ID면 null (클라이언트 전체 재로딩 필요)
+     */
+    public synchronized List<SseFrame> framesAfter(long lastEventId) {
+        if (lastEventId == lastId) {
+            return List.of();
+        }
+        if (lastEventId > lastId || lastEventId < oldestId() - 1) {
+            return null;
+        }
+
+        List<SseFrame> result = new ArrayList<>((int) (lastId - lastEventId));
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            result.add(frames[slotOf(id)]);
+        }
+        return result;
+    }
+
+    private long oldestId() {
+        return Math.max(initialId + 1, lastId - frames.length + 1);
+    }
+
+    private int slotOf(long id) {
+        return (int) ((id - initialId - 1) % frames.length);
+    }
+
+    public synchronized long getLastId() {
+        return lastId;
+    }
+
+    public int getCapacity() {
+        return frames.length;
+    }
+}
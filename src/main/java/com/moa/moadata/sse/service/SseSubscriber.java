@@ -0,0 +1,172 @@
+package com.moa.moadata.sse.service;
+
+import com.moa.moadata.metrics.jfr.SseWriteEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * SSE 구독자
+ *
+ * - 구독자마다 자기 큐와 writer 작업을 가짐 (느린 클라이언트가 브로드캐스트를 막지 않음)
+ * - writer 작업은 한 번에 하나만 실행돼서 이벤트 순서 유지
+ * - 큐가 상한을 넘으면 dead 처리 (재연결 시 Last-Event-ID로 이어받음)
+ * - 전송 실패도 dead 플래그만 세우고, 실제 제거는 하트비트 휠이 묶어서 처리한다.
+ */
+class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final int slot;
+    private final Executor writer;
+    private final int queueLimit;
+    private final LongConsumer lagRecorder;
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile boolean dead;
+    private volatile long lastWriteNanos = System.nanoTime();
+
+    /**
+     * 호출 스레드에서 바로 쓰는 구독자
+     */
+    SseSubscriber(SseEmitter emitter, int slot) {
+        this(emitter, slot, Runnable::run, Integer.MAX_VALUE, lagNanos -> { });
+    }
+
+    SseSubscriber(SseEmitter emitter, int slot, Executor writer, int queueLimit, LongConsumer lagRecorder) {
+        this.emitter = emitter;
+        this.slot = slot;
+        this.writer = writer;
+        this.queueLimit = queueLimit;
+        this.lagRecorder = lagRecorder;
+    }
+
+    /**
+     * 이벤트를 큐에 넣고 writer 작업 예약, 이미 dead거나 큐가 넘치면 false
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return offer(event, null, 0);
+    }
+
+    /**
+     * @param eventName / bytes JFR SseWriteEvent 에 싣는 값
+     */
+    boolean offer(SseEmitter.SseEventBuilder event, String eventName, int bytes) {
+        if (dead) {
+            return false;
+        }
+        if (queued.incrementAndGet() > queueLimit) {
+            queued.decrementAndGet();
+            dead = true;
+            return false;
+        }
+
+        queue.add(new Pending(event, eventName, bytes, System.nanoTime()));
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                draining.set(false);
+                dead = true;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                queued.decrementAndGet();
+                if (dead) {
+                    continue;
+                }
+                long queueLagNanos = System.nanoTime() - pending.enqueuedNanos();
+                SseWriteEvent writeEvent = new SseWriteEvent();
+                writeEvent.begin();
+                boolean sent = send(pending.event());
+                writeEvent.record(slot, pending.eventName(), pending.bytes(), queueLagNanos, sent);
+                if (sent) {
+                    lagRecorder.accept(System.nanoTime() - pending.enqueuedNanos());
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+
+        // 마지막 poll과 플래그 해제 사이에 들어온 이벤트
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * 이벤트 직접 전송 (writer 작업 / 연결 직후 재전송용), 실패하면 dead 표시 후 false
+     */
+    boolean send(SseEmitter.SseEventBuilder event) {
+        if (dead) {
+            return false;
+        }
+        try {
+            emitter.send(event);
+            lastWriteNanos = System.nanoTime();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            dead = true;
+            return false;
+        }
+    }
+
+    /**
+     * 코멘트 핑 (":ping") - 클라이언트 EventSource에는 이벤트로 전달되지 않음
+     */
+    boolean ping() {
+        return offer(SseEmitter.event().comment("ping"), "ping", 0);
+    }
+
+    void markDead() {
+        dead = true;
+    }
+
+    boolean isDead() {
+        return dead;
+    }
+
+    long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    int getQueued() {
+        return queued.get();
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    void close() {
+        queue.clear();
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // 이미 끝난 연결
+        }
+    }
+
+    private record Pending(SseEmitter.SseEventBuilder event, String eventName, int bytes, long enqueuedNanos) {
+    }
+}
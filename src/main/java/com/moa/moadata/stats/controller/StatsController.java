@@ -0,0 +1,88 @@
+package com.moa.moadata.stats.controller;
+
+import com.moa.moadata.stats.model.LatencyDimension;
+import com.moa.moadata.stats.model.TopKTracker;
+import com.moa.moadata.stats.service.HeavyHitterService;
+import com.moa.moadata.stats.service.LatencyStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실시간 통계 엔드포인트
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final LatencyStatsService latencyStatsService;
+    private final HeavyHitterService heavyHitterService;
+
+    /**
+     * 지연 분위수 조회
+     * GET /api/stats/latency?dimension=country&window=recent
+     */
+    @GetMapping("/latency")
+    public Map<String, Object> latency(
+            @RequestParam(defaultValue = "country") String dimension,
+            @RequestParam(defaultValue = "recent") String window) {
+
+        return latencyStatsService.snapshot(
+                LatencyDimension.from(dimension), !"total".equalsIgnoreCase(window));
+    }
+
+    /**
+     * 지연 분위수 초기화
+     * DELETE /api/stats/latency
+     */
+    @DeleteMapping("/latency")
+    public Map<String, Object> resetLatency() {
+        latencyStatsService.reset();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "reset");
+        response.put("message", "🧹 지연 분위수 통계 초기화 완료");
+        return response;
+    }
+
+    /**
+     * 상위 K 조회 (hosts, slow-hosts, uris, error-uris, client-ips, user-agents)
+     * GET /api/stats/top?tracker=slow-hosts&k=10
+     */
+    @GetMapping("/top")
+    public Map<String, Object> top(
+            @RequestParam(defaultValue = "hosts") String tracker,
+            @RequestParam(defaultValue = "10") int k) {
+
+        return heavyHitterService.top(TopKTracker.from(tracker), k);
+    }
+
+    /**
+     * 고유 값 개수 추정 (컬럼별 + 국가별 클라이언트 IP)
+     * GET /api/stats/distinct
+     */
+    @GetMapping("/distinct")
+    public Map<String, Object> distinct() {
+        return heavyHitterService.distinct();
+    }
+
+    /**
+     * 상위 K / 고유 값 스케치 초기화
+     * DELETE /api/stats/sketches
+     */
+    @DeleteMapping("/sketches")
+    public Map<String, Object> resetSketches() {
+        heavyHitterService.reset();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "reset");
+        response.put("message", "🧹 상위 K / 고유 값 스케치 초기화 완료");
+        return response;
+    }
+}
@@ -0,0 +1,32 @@
+package com.moa.moadata.stats.model;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * 고유 값 개수를 추정하는 컬럼
+ */
+public enum DistinctColumn {
+
+    HTTP_HOST("http_host", HttpPageSample::getHttpHost),
+    HTTP_URI("http_uri", HttpPageSample::getHttpUri),
+    SRC_IP("src_ip", HttpPageSample::getSrcIp),
+    USER_AGENT_SOFTWARE_NAME("user_agent_software_name", HttpPageSample::getUserAgentSoftwareName);
+
+    private final String column;
+    private final Function<HttpPageSample, String> extractor;
+
+    DistinctColumn(String column, Function<HttpPageSample, String> extractor) {
+        this.column = column;
+        this.extractor = extractor;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String extract(HttpPageSample sample) {
+        return extractor.apply(sample);
+    }
+}
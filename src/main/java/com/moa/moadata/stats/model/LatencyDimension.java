@@ -0,0 +1,39 @@
+package com.moa.moadata.stats.model;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * 분위수를 나눠서 보는 기준 (국가별 / 호스트별)
+ */
+public enum LatencyDimension {
+
+    COUNTRY("country", HttpPageSample::getCountryNameReq),
+    HOST("host", HttpPageSample::getHttpHost);
+
+    private final String key;
+    private final Function<HttpPageSample, String> extractor;
+
+    LatencyDimension(String key, Function<HttpPageSample, String> extractor) {
+        this.key = key;
+        this.extractor = extractor;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String extract(HttpPageSample sample) {
+        return extractor.apply(sample);
+    }
+
+    public static LatencyDimension from(String key) {
+        for (LatencyDimension dimension : values()) {
+            if (dimension.key.equalsIgnoreCase(key)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 dimension: " + key);
+    }
+}
@@ -0,0 +1,32 @@
+package com.moa.moadata.stats.model;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * 분위수를 추적하는 지표
+ */
+public enum LatencyMetric {
+
+    TS_PAGE("ts_page", HttpPageSample::getTsPage),
+    TS_PAGE_RES("ts_page_res", HttpPageSample::getTsPageRes),
+    TS_PAGE_TCP_CONNECT_AVG("ts_page_tcp_connect_avg", HttpPageSample::getTsPageTcpConnectAvg),
+    MBPS("mbps", HttpPageSample::getMbps);
+
+    private final String column;
+    private final Function<HttpPageSample, Double> extractor;
+
+    LatencyMetric(String column, Function<HttpPageSample, Double> extractor) {
+        this.column = column;
+        this.extractor = extractor;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Double extract(HttpPageSample sample) {
+        return extractor.apply(sample);
+    }
+}
@@ -0,0 +1,58 @@
+package com.moa.moadata.stats.model;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * 상위 K 빈도를 추적하는 대상 (컬럼 + 집계 조건)
+ */
+public enum TopKTracker {
+
+    HOSTS("hosts", HttpPageSample::getHttpHost, Condition.ALL),
+    SLOW_HOSTS("slow-hosts", HttpPageSample::getHttpHost, Condition.SLOW),
+    URIS("uris", HttpPageSample::getHttpUri, Condition.ALL),
+    ERROR_URIS("error-uris", HttpPageSample::getHttpUri, Condition.ERROR),
+    CLIENT_IPS("client-ips", HttpPageSample::getSrcIp, Condition.ALL),
+    USER_AGENTS("user-agents", HttpPageSample::getUserAgentSoftwareName, Condition.ALL);
+
+    /**
+     * 집계할 행 조건
+     */
+    public enum Condition {
+        ALL,
+        SLOW,   // ts_page >= slow-threshold-ms
+        ERROR   // http_res_code 4xx / 5xx
+    }
+
+    private final String key;
+    private final Function<HttpPageSample, String> extractor;
+    private final Condition condition;
+
+    TopKTracker(String key, Function<HttpPageSample, String> extractor, Condition condition) {
+        this.key = key;
+        this.extractor = extractor;
+        this.condition = condition;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    public String extract(HttpPageSample sample) {
+        return extractor.apply(sample);
+    }
+
+    public static TopKTracker from(String key) {
+        for (TopKTracker tracker : values()) {
+            if (tracker.key.equalsIgnoreCase(key)) {
+                return tracker;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 tracker: " + key);
+    }
+}
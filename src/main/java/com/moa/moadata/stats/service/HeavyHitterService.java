@@ -0,0 +1,225 @@
+package com.moa.moadata.stats.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.stats.model.DistinctColumn;
+import com.moa.moadata.stats.model.TopKTracker;
+import com.moa.moadata.stats.sketch.HyperLogLog;
+import com.moa.moadata.stats.sketch.SpaceSaving;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 실시간 상위 K (느린 호스트 / 에러 URI 등) + 고유 값 개수 (국가별 클라이언트 IP 등) 집계
+ *
+ * - 상위 K: tracker 마다 Space-Saving 카운터 capacity 개
+ * - 고유 값: 컬럼마다 HyperLogLog 1개 + 국가별 src_ip HyperLogLog (국가 수 상한 초과 시 __other__ 로 합산)
+ * - 행 수와 키 종류에 상관없이 메모리 고정, 행당 비용 일정
+ * - 시작 (또는 초기화) 이후 누적
+ */
+@Slf4j
+@Service
+public class HeavyHitterService {
+
+    private static final TopKTracker[] TRACKERS = TopKTracker.values();
+    private static final DistinctColumn[] COLUMNS = DistinctColumn.values();
+
+    private final SseEmitterService sseEmitterService;
+    private final int topK;
+    private final double slowThresholdMs;
+    private final int precision;
+    private final int maxCountries;
+
+    private final Map<TopKTracker, SpaceSaving> trackers = new EnumMap<>(TopKTracker.class);
+    private final Map<DistinctColumn, HyperLogLog> distinct = new EnumMap<>(DistinctColumn.class);
+    private final Map<String, HyperLogLog> clientIpsByCountry = new HashMap<>();
+    private long recorded;
+
+    public HeavyHitterService(
+            SseEmitterService sseEmitterService,
+            @Value("${moa.stats.heavy-hitters.capacity:256}") int capacity,
+            @Value("${moa.stats.heavy-hitters.top-k:10}") int topK,
+            @Value("${moa.stats.heavy-hitters.slow-threshold-ms:5000}") double slowThresholdMs,
+            @Value("${moa.stats.heavy-hitters.hll-precision:12}") int precision,
+            @Value("${moa.stats.heavy-hitters.max-countries:64}") int maxCountries) {
+        this.sseEmitterService = sseEmitterService;
+        this.topK = topK;
+        this.slowThresholdMs = slowThresholdMs;
+        this.precision = precision;
+        this.maxCountries = maxCountries;
+
+        for (TopKTracker tracker : TRACKERS) {
+            trackers.put(tracker, new SpaceSaving(Math.max(capacity, topK)));
+        }
+        for (DistinctColumn column : COLUMNS) {
+            distinct.put(column, new HyperLogLog(precision));
+        }
+    }
+
+    /**
+     * 배치 기록 (배치당 락 1회)
+     */
+    public synchronized void record(List<HttpPageSample> samples) {
+        for (HttpPageSample sample : samples) {
+            boolean slow = isSlow(sample);
+            boolean error = isError(sample);
+            for (TopKTracker tracker : TRACKERS) {
+                boolean matches = switch (tracker.getCondition()) {
+                    case ALL -> true;
+                    case SLOW -> slow;
+                    case ERROR -> error;
+                };
+                if (matches) {
+                    trackers.get(tracker).add(normalize(tracker.extract(sample)));
+                }
+            }
+            for (DistinctColumn column : COLUMNS) {
+                distinct.get(column).add(normalize(column.extract(sample)));
+            }
+            String srcIp = normalize(sample.getSrcIp());
+            if (srcIp != null) {
+                countrySketch(sample.getCountryNameReq()).add(srcIp);
+            }
+        }
+        recorded += samples.size();
+    }
+
+    private boolean isSlow(HttpPageSample sample) {
+        Double tsPage = sample.getTsPage();
+        return tsPage != null && tsPage >= slowThresholdMs;
+    }
+
+    private static boolean isError(HttpPageSample sample) {
+        String code = sample.getHttpResCode();
+        if (code == null || code.isBlank()) {
+            return false;
+        }
+        char first = code.trim().charAt(0);
+        return first == '4' || first == '5';
+    }
+
+    private static String normalize(String value) {
+        return (value == null || value.isBlank()) ? null : value;
+    }
+
+    private HyperLogLog countrySketch(String country) {
+        String key = normalize(country) == null ? LatencyStatsService.UNKNOWN_KEY : country;
+        HyperLogLog sketch = clientIpsByCountry.get(key);
+        if (sketch != null) {
+            return sketch;
+        }
+
+        // 국가 수 상한 초과 → __other__ 로 합산 (메모리 고정)
+        if (clientIpsByCountry.size() >= maxCountries) {
+            key = LatencyStatsService.OTHER_KEY;
+            sketch = clientIpsByCountry.get(key);
+            if (sketch != null) {
+                return sketch;
+            }
+        }
+
+        sketch = new HyperLogLog(precision);
+        clientIpsByCountry.put(key, sketch);
+        return sketch;
+    }
+
+    /**
+     * tracker 상위 k 개
+     */
+    public synchronized Map<String, Object> top(TopKTracker tracker, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k는 1 이상이어야 합니다: " + k);
+        }
+        SpaceSaving sketch = trackers.get(tracker);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (SpaceSaving.Entry entry : sketch.top(k)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("key", entry.key());
+            item.put("count", entry.count());
+            item.put("error", entry.error());
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("tracker", tracker.getKey());
+        response.put("total", sketch.getTotal());
+        response.put("capacity", sketch.getCapacity());
+        if (tracker.getCondition() == TopKTracker.Condition.SLOW) {
+            response.put("slowThresholdMs", slowThresholdMs);
+        }
+        response.put("items", items);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+
+    /**
+     * 컬럼별 / 국가별 고유 값 개수 추정
+     */
+    public synchronized Map<String, Object> distinct() {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (DistinctColumn column : COLUMNS) {
+            columns.put(column.getColumn(), distinct.get(column).estimate());
+        }
+
+        Map<String, Object> byCountry = new TreeMap<>();
+        for (Map.Entry<String, HyperLogLog> entry : clientIpsByCountry.entrySet()) {
+            byCountry.put(entry.getKey(), entry.getValue().estimate());
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("rows", recorded);
+        response.put("standardError", distinct.get(DistinctColumn.SRC_IP).getStandardError());
+        response.put("columns", columns);
+        response.put("clientIpsByCountry", byCountry);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+
+    /**
+     * 전체 스냅샷 (tracker 별 상위 top-k + 고유 값)
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> top = new LinkedHashMap<>();
+        for (TopKTracker tracker : TRACKERS) {
+            top.put(tracker.getKey(), top(tracker, topK));
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("top", top);
+        payload.put("distinct", distinct());
+        return payload;
+    }
+
+    /**
+     * 주기적으로 SSE 전송
+     */
+    @Scheduled(fixedRateString = "${moa.stats.heavy-hitters.publish-ms:10000}",
+            initialDelayString = "${moa.stats.heavy-hitters.publish-ms:10000}")
+    public void publish() {
+        if (sseEmitterService.getEmitterCount() > 0) {
+            sseEmitterService.sendEvent("heavy-hitters", snapshot());
+        }
+    }
+
+    /**
+     * 전체 초기화 (시나리오 전후 비교용)
+     */
+    public synchronized void reset() {
+        trackers.values().forEach(SpaceSaving::reset);
+        distinct.values().forEach(HyperLogLog::reset);
+        clientIpsByCountry.clear();
+        recorded = 0;
+        log.info("🧹 상위 K / 고유 값 스케치 초기화");
+    }
+}
@@ -0,0 +1,239 @@
+package com.moa.moadata.stats.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.stats.model.LatencyDimension;
+import com.moa.moadata.stats.model.LatencyMetric;
+import com.moa.moadata.stats.sketch.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 국가별 / 호스트별 지연 분위수 (p50/p95/p99) 집계
+ *
+ * - 키 × 지표마다 고정 크기 히스토그램을 유지 (키 개수 상한 초과 시 __other__ 로 합산)
+ * - 최근 구간: windows 개의 슬롯을 window-ms 마다 회전, 조회 시 슬롯을 병합
+ * - 누적 구간: 시작 이후 전체
+ *
+ * 메모리: 히스토그램 하나가 약 9.5KB (1216 버킷 × 8바이트), 값이 들어온 슬롯에만 만들고 회전 시 버린다.
+ * 모든 키 / 지표 / 슬롯이 찬 최악의 경우 dimension 2 × (max-keys + 1) × 지표 4 × (windows + 1) 개
+ * (기본값 약 35MB), 최근 구간에 값이 없는 키는 누적 히스토그램 (지표당 1개) 만 남는다.
+ */
+@Slf4j
+@Service
+public class LatencyStatsService {
+
+    public static final String OTHER_KEY = "__other__";
+    public static final String UNKNOWN_KEY = "__unknown__";
+
+    private static final LatencyDimension[] DIMENSIONS = LatencyDimension.values();
+    private static final LatencyMetric[] METRICS = LatencyMetric.values();
+
+    private final SseEmitterService sseEmitterService;
+    private final int maxKeys;
+    private final int windowCount;
+    private final long windowMs;
+
+    private final Map<LatencyDimension, Map<String, KeyStats>> stats = new EnumMap<>(LatencyDimension.class);
+    private int currentWindow = 0;
+
+    public LatencyStatsService(
+            SseEmitterService sseEmitterService,
+            @Value("${moa.stats.latency.max-keys:64}") int maxKeys,
+            @Value("${moa.stats.latency.windows:6}") int windowCount,
+            @Value("${moa.stats.latency.window-ms:10000}") long windowMs) {
+        this.sseEmitterService = sseEmitterService;
+        this.maxKeys = maxKeys;
+        this.windowCount = windowCount;
+        this.windowMs = windowMs;
+
+        for (LatencyDimension dimension : DIMENSIONS) {
+            stats.put(dimension, new HashMap<>());
+        }
+    }
+
+    /**
+     * 배치 기록 (배치당 락 1회)
+     */
+    public synchronized void record(List<HttpPageSample> samples) {
+        for (HttpPageSample sample : samples) {
+            for (LatencyDimension dimension : DIMENSIONS) {
+                KeyStats keyStats = keyStatsOf(dimension, dimension.extract(sample));
+                for (int m = 0; m < METRICS.length; m++) {
+                    Double value = METRICS[m].extract(sample);
+                    if (value != null) {
+                        keyStats.record(m, currentWindow, value);
+                    }
+                }
+            }
+        }
+    }
+
+    private KeyStats keyStatsOf(LatencyDimension dimension, String key) {
+        Map<String, KeyStats> byKey = stats.get(dimension);
+        String normalized = (key == null || key.isBlank()) ? UNKNOWN_KEY : key;
+
+        KeyStats keyStats = byKey.get(normalized);
+        if (keyStats != null) {
+            return keyStats;
+        }
+
+        // 키 개수 상한 초과 → __other__ 로 합산 (메모리 고정)
+        if (byKey.size() >= maxKeys) {
+            normalized = OTHER_KEY;
+            keyStats = byKey.get(OTHER_KEY);
+            if (keyStats != null) {
+                return keyStats;
+            }
+        }
+
+        keyStats = new KeyStats(METRICS.length, windowCount);
+        byKey.put(normalized, keyStats);
+        return keyStats;
+    }
+
+    /**
+     * 분위수 스냅샷
+     *
+     * @param recent true면 최근 윈도우 병합, false면 누적
+     */
+    public synchronized Map<String, Object> snapshot(LatencyDimension dimension, boolean recent) {
+        Map<String, Object> keys = new TreeMap<>();
+
+        for (Map.Entry<String, KeyStats> entry : stats.get(dimension).entrySet()) {
+            KeyStats keyStats = entry.getValue();
+            Map<String, Object> metrics = new LinkedHashMap<>();
+
+            for (int m = 0; m < METRICS.length; m++) {
+                LatencyHistogram merged = recent
+                        ? keyStats.mergeWindows(m)
+                        : keyStats.total[m];
+                if (merged != null && merged.getTotalCount() > 0) {
+                    metrics.put(METRICS[m].getColumn(), summarize(merged));
+                }
+            }
+
+            if (!metrics.isEmpty()) {
+                keys.put(entry.getKey(), metrics);
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("dimension", dimension.getKey());
+        response.put("window", recent ? "recent" : "total");
+        response.put("windowMs", recent ? windowMs * windowCount : null);
+        response.put("keys", keys);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+
+    private Map<String, Object> summarize(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", histogram.getMean());
+        summary.put("p50", histogram.quantile(0.50));
+        summary.put("p95", histogram.quantile(0.95));
+        summary.put("p99", histogram.quantile(0.99));
+        summary.put("max", histogram.getMax());
+        return summary;
+    }
+
+    /**
+     * 최근 윈도우를 SSE로 전송하고 다음 슬롯으로 회전
+     */
+    @Scheduled(fixedRateString = "${moa.stats.latency.window-ms:10000}",
+            initialDelayString = "${moa.stats.latency.window-ms:10000}")
+    public void rotateWindow() {
+        if (sseEmitterService.getEmitterCount() > 0) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            for (LatencyDimension dimension : DIMENSIONS) {
+                payload.put(dimension.getKey(), snapshot(dimension, true));
+            }
+            sseEmitterService.sendEvent("latency-stats", payload);
+        }
+        rotate();
+    }
+
+    synchronized void rotate() {
+        currentWindow = (currentWindow + 1) % windowCount;
+        for (Map<String, KeyStats> byKey : stats.values()) {
+            for (KeyStats keyStats : byKey.values()) {
+                keyStats.resetWindow(currentWindow);
+            }
+        }
+    }
+
+    /**
+     * 전체 초기화 (시나리오 전후 비교용)
+     */
+    public synchronized void reset() {
+        for (Map<String, KeyStats> byKey : stats.values()) {
+            byKey.clear();
+        }
+        currentWindow = 0;
+        log.info("🧹 지연 분위수 통계 초기화");
+    }
+
+    // ============== 키별 히스토그램 묶음 ==============
+    // 히스토그램은 첫 값이 들어올 때 만듦 (null 이면 아직 값 없음)
+    private static final class KeyStats {
+        private final LatencyHistogram[][] windows;   // [metric][window]
+        private final LatencyHistogram[] total;       // [metric]
+
+        KeyStats(int metricCount, int windowCount) {
+            this.windows = new LatencyHistogram[metricCount][windowCount];
+            this.total = new LatencyHistogram[metricCount];
+        }
+
+        void record(int metric, int window, double value) {
+            LatencyHistogram slot = windows[metric][window];
+            if (slot == null) {
+                slot = new LatencyHistogram();
+                windows[metric][window] = slot;
+            }
+            slot.record(value);
+
+            LatencyHistogram sum = total[metric];
+            if (sum == null) {
+                sum = new LatencyHistogram();
+                total[metric] = sum;
+            }
+            sum.record(value);
+        }
+
+        /**
+         * 최근 슬롯 병합 (값이 들어온 슬롯이 없으면 null)
+         */
+        LatencyHistogram mergeWindows(int metric) {
+            LatencyHistogram merged = null;
+            for (LatencyHistogram window : windows[metric]) {
+                if (window == null) {
+                    continue;
+                }
+                if (merged == null) {
+                    merged = window.emptyCopy();
+                }
+                merged.merge(window);
+            }
+            return merged;
+        }
+
+        /**
+         * 새 슬롯은 비워둠 (쉬는 키가 슬롯 메모리를 계속 잡지 않도록 버림)
+         */
+        void resetWindow(int window) {
+            for (LatencyHistogram[] byWindow : windows) {
+                byWindow[window] = null;
+            }
+        }
+    }
+}
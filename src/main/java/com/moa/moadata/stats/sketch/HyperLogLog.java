@@ -0,0 +1,128 @@
+package com.moa.moadata.stats.sketch;
+
+import java.util.Arrays;
+
+/**
+ * 고정 메모리 고유 값 개수 추정 (HyperLogLog, Flajolet et al.)
+ *
+ * - 64비트 해시 상위 precision 비트로 레지스터를 고르고, 나머지 비트의 선행 0 개수 + 1 의 최댓값을 저장
+ * - 레지스터 2^precision 바이트 (기본 12 → 4KB), 표준 오차 약 1.04 / sqrt(2^precision) (기본 약 1.6%)
+ * - 적은 개수 구간은 linear counting 으로 보정
+ * - 같은 precision 끼리는 레지스터별 최댓값으로 병합 가능
+ *
+ * 스레드 안전하지 않음 - 호출 측에서 동기화한다.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision은 4~18 사이여야 합니다: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * 값 기록 (null 은 무시)
+     */
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 남은 비트가 모두 0 이어도 rank 가 64 - precision + 1 을 넘지 않도록 끝에 1 을 붙임
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * 고유 값 개수 추정
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 다른 스케치를 이 스케치에 합침 (precision 이 같아야 함)
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("precision이 다른 HyperLogLog는 병합할 수 없습니다");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * 상대 표준 오차
+     */
+    public double getStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public void reset() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * 문자열 64비트 해시 (FNV-1a 후 murmur3 fmix64 로 비트 확산)
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
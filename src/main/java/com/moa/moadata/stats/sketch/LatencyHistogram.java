@@ -0,0 +1,198 @@
+package com.moa.moadata.stats.sketch;
+
+import java.util.Arrays;
+
+/**
+ * 고정 메모리 로그-선형 히스토그램 (HDR Histogram 방식)
+ *
+ * - 값의 지수(2^e)마다 2^subBucketBits 개의 선형 하위 버킷을 둔다
+ * - 상대 오차는 약 2^-subBucketBits (기본 5비트 → 약 3%)
+ * - 같은 레이아웃끼리는 카운트 배열을 더하는 것만으로 병합 가능 (레인/윈도우 병합)
+ *
+ * 스레드 안전하지 않음 - 호출 측에서 동기화한다.
+ */
+public class LatencyHistogram {
+
+    public static final int DEFAULT_SUB_BUCKET_BITS = 5;
+    public static final int DEFAULT_MIN_EXPONENT = -7;   // 약 0.0078
+    public static final int DEFAULT_MAX_EXPONENT = 30;   // 약 1.07e9
+
+    private static final long MANTISSA_MASK = (1L << 52) - 1;
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int minExponent;
+    private final int maxExponent;
+    private final long[] counts;
+
+    private long zeroCount;     // 2^minExponent 미만 값 (0 포함)
+    private long totalCount;
+    private double sum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public LatencyHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS, DEFAULT_MIN_EXPONENT, DEFAULT_MAX_EXPONENT);
+    }
+
+    public LatencyHistogram(int subBucketBits, int minExponent, int maxExponent) {
+        if (subBucketBits < 1 || subBucketBits > 10) {
+            throw new IllegalArgumentException("subBucketBits는 1~10 사이여야 합니다: " + subBucketBits);
+        }
+        if (minExponent >= maxExponent) {
+            throw new IllegalArgumentException("minExponent < maxExponent 이어야 합니다");
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBucketCount = 1 << subBucketBits;
+        this.minExponent = minExponent;
+        this.maxExponent = maxExponent;
+        this.counts = new long[(maxExponent - minExponent + 1) * subBucketCount];
+    }
+
+    /**
+     * 값 기록 (음수/NaN은 무시)
+     */
+    public void record(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            return;
+        }
+
+        int exponent = Math.getExponent(value);
+        if (exponent < minExponent) {
+            zeroCount++;
+        } else {
+            counts[indexOf(value, exponent)]++;
+        }
+
+        if (totalCount == 0) {
+            min = value;
+            max = value;
+        } else {
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        totalCount++;
+        sum += value;
+    }
+
+    private int indexOf(double value, int exponent) {
+        if (exponent > maxExponent) {
+            return counts.length - 1;
+        }
+        long mantissa = Double.doubleToRawLongBits(value) & MANTISSA_MASK;
+        int sub = (int) (mantissa >>> (52 - subBucketBits));
+        return (exponent - minExponent) * subBucketCount + sub;
+    }
+
+    /**
+     * 다른 히스토그램을 이 히스토그램에 병합
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.subBucketBits != subBucketBits
+                || other.minExponent != minExponent
+                || other.maxExponent != maxExponent) {
+            throw new IllegalArgumentException("레이아웃이 다른 히스토그램은 병합할 수 없습니다");
+        }
+        if (other.totalCount == 0) {
+            return;
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        sum += other.sum;
+
+        if (totalCount == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * 분위수 조회 (q: 0.0 ~ 1.0), 비어있으면 NaN
+     */
+    public double quantile(double q) {
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+
+        long rank = (long) Math.ceil(q * totalCount);
+        long cumulative = zeroCount;
+        if (cumulative >= rank) {
+            return min;
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return clamp(bucketMidpoint(i));
+            }
+        }
+        return max;
+    }
+
+    private double bucketMidpoint(int index) {
+        int exponent = index / subBucketCount + minExponent;
+        int sub = index % subBucketCount;
+        double base = Math.scalb(1.0, exponent);
+        double lower = base * (1.0 + (double) sub / subBucketCount);
+        double upper = base * (1.0 + (double) (sub + 1) / subBucketCount);
+        return (lower + upper) / 2;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        zeroCount = 0;
+        totalCount = 0;
+        sum = 0;
+        min = Double.NaN;
+        max = Double.NaN;
+    }
+
+    /**
+     * 같은 레이아웃의 빈 히스토그램 생성
+     */
+    public LatencyHistogram emptyCopy() {
+        return new LatencyHistogram(subBucketBits, minExponent, maxExponent);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = emptyCopy();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? Double.NaN : sum / totalCount;
+    }
+
+    /**
+     * 카운트 배열 메모리 (바이트)
+     */
+    public int getFootprintBytes() {
+        return counts.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,176 @@
+package com.moa.moadata.stats.sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고정 메모리 상위 K 빈도 추적 (Space-Saving, Metwally et al.)
+ *
+ * - 카운터를 capacity 개만 유지하고, 새 키가 오면 가장 작은 카운터를 넘겨받는다
+ * - 넘겨받을 때의 값이 error (과대 추정 상한) → 실제 빈도는 count - error ~ count 사이
+ * - 빈도가 total / capacity 를 넘는 키는 반드시 남아 있음
+ * - 카운터는 최소 힙으로 관리하므로 갱신 비용은 O(log capacity)
+ *
+ * 스레드 안전하지 않음 - 호출 측에서 동기화한다.
+ */
+public class SpaceSaving {
+
+    /**
+     * 상위 항목 (count 는 추정치, error 는 과대 추정 상한)
+     */
+    public record Entry(String key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    /**
+     * 키 1회 기록 (null 은 무시)
+     */
+    public void add(String key) {
+        add(key, 1);
+    }
+
+    public void add(String key, long weight) {
+        if (key == null || weight <= 0) {
+            return;
+        }
+        total += weight;
+
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.index);
+            return;
+        }
+
+        if (size < capacity) {
+            counter = new Counter(key, weight, 0);
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+
+        // 가장 작은 카운터를 새 키에 넘겨줌 (기존 값은 과대 추정분)
+        Counter min = heap[0];
+        counters.remove(min.key);
+        min.key = key;
+        min.error = min.count;
+        min.count += weight;
+        counters.put(key, min);
+        siftDown(0);
+    }
+
+    /**
+     * 추정 빈도 상위 k 개 (빈도 내림차순)
+     */
+    public List<Entry> top(int k) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter c) -> c.count).reversed());
+
+        int limit = Math.min(k, sorted.length);
+        List<Entry> entries = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            entries.add(new Entry(sorted[i].key, sorted[i].count, sorted[i].error));
+        }
+        return entries;
+    }
+
+    /**
+     * 추적 중인 키의 추정 빈도 (없으면 0)
+     */
+    public long estimate(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.count : 0;
+    }
+
+    /**
+     * 기록된 전체 가중치 합
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void reset() {
+        Arrays.fill(heap, 0, size, null);
+        counters.clear();
+        size = 0;
+        total = 0;
+    }
+
+    // ============== 최소 힙 ==============
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    private static final class Counter {
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.moa.moadata.websocket.codec;
+
+/**
+ * 바이너리 프레임의 컬럼 타입 코드
+ */
+public enum ColumnType {
+
+    STRING((byte) 1),
+    INT((byte) 2),
+    LONG((byte) 3),
+    DOUBLE((byte) 4),
+    TIMESTAMP((byte) 5);   // epoch millis (int64)
+
+    private final byte code;
+
+    ColumnType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static ColumnType of(Class<?> javaType) {
+        if (javaType == String.class) return STRING;
+        if (javaType == Integer.class || javaType == int.class) return INT;
+        if (javaType == Long.class || javaType == long.class) return LONG;
+        if (javaType == Double.class || javaType == double.class) return DOUBLE;
+        if (javaType == java.time.LocalDateTime.class) return TIMESTAMP;
+        throw new IllegalArgumentException("지원하지 않는 컬럼 타입: " + javaType);
+    }
+}
@@ -0,0 +1,173 @@
+package com.moa.moadata.websocket.codec;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컬럼 단위 바이너리 프레임 인코더 (빅엔디안)
+ *
+ * <pre>
+ * 공통 헤더 : 'M' 'B' | version(1) | frameType(1)
+ *
+ * SCHEMA(0) : columnCount(varint) | [columnId(varint) | type(1) | nameLen(varint) | name(utf8)]...
+ *
+ * BATCH(1)  : sequence(int64) | rowCount(varint) | columnCount(varint)
+ *             [columnId(varint) | type(1) | nullBitmap((rows+7)/8) | values]...
+ *             values - INT: int32, LONG/TIMESTAMP: int64, DOUBLE: float64 (null이 아닌 행만)
+ *                      STRING: dictSize(varint) | [len(varint) | utf8]... | code(varint)...
+ * </pre>
+ *
+ * 문자열은 프레임마다 컬럼별 사전으로 인코딩 (국가/호스트처럼 반복 값이 많은 컬럼에 유리)
+ */
+public class ColumnarBatchEncoder {
+
+    public static final byte VERSION = 1;
+    public static final byte FRAME_SCHEMA = 0;
+    public static final byte FRAME_BATCH = 1;
+
+    private final ZoneId zoneId;
+
+    public ColumnarBatchEncoder(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * 구독 컬럼 정의 프레임
+     */
+    public byte[] encodeSchema(List<SampleColumn> columns) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + columns.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out, FRAME_SCHEMA);
+            writeVarInt(out, columns.size());
+            for (SampleColumn column : columns) {
+                writeVarInt(out, column.id());
+                out.writeByte(column.type().getCode());
+                writeString(out, column.name());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 배치 프레임
+     */
+    public byte[] encodeBatch(long sequence, List<HttpPageSample> samples, List<SampleColumn> columns) {
+        int rows = samples.size();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + rows * columns.size() * 4);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out, FRAME_BATCH);
+            out.writeLong(sequence);
+            writeVarInt(out, rows);
+            writeVarInt(out, columns.size());
+
+            Object[] values = new Object[rows];
+            byte[] nullBitmap = new byte[(rows + 7) / 8];
+
+            for (SampleColumn column : columns) {
+                Arrays.fill(nullBitmap, (byte) 0);
+                for (int r = 0; r < rows; r++) {
+                    values[r] = column.get(samples.get(r));
+                    if (values[r] == null) {
+                        nullBitmap[r >>> 3] |= (byte) (1 << (r & 7));
+                    }
+                }
+
+                writeVarInt(out, column.id());
+                out.writeByte(column.type().getCode());
+                out.write(nullBitmap);
+                writeValues(out, column.type(), values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeValues(DataOutputStream out, ColumnType type, Object[] values) throws IOException {
+        switch (type) {
+            case INT -> {
+                for (Object v : values) {
+                    if (v != null) out.writeInt((Integer) v);
+                }
+            }
+            case LONG -> {
+                for (Object v : values) {
+                    if (v != null) out.writeLong((Long) v);
+                }
+            }
+            case DOUBLE -> {
+                for (Object v : values) {
+                    if (v != null) out.writeDouble((Double) v);
+                }
+            }
+            case TIMESTAMP -> {
+                for (Object v : values) {
+                    if (v != null) out.writeLong(((LocalDateTime) v).atZone(zoneId).toInstant().toEpochMilli());
+                }
+            }
+            case STRING -> writeDictionary(out, values);
+        }
+    }
+
+    private void writeDictionary(DataOutputStream out, Object[] values) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[values.length];
+
+        for (int r = 0; r < values.length; r++) {
+            if (values[r] == null) continue;
+            String value = (String) values[r];
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            rowCodes[r] = code;
+        }
+
+        writeVarInt(out, dictionary.size());
+        for (String entry : dictionary) {
+            writeString(out, entry);
+        }
+        for (int r = 0; r < values.length; r++) {
+            if (values[r] != null) writeVarInt(out, rowCodes[r]);
+        }
+    }
+
+    private void writeHeader(DataOutputStream out, byte frameType) throws IOException {
+        out.writeByte('M');
+        out.writeByte('B');
+        out.writeByte(VERSION);
+        out.writeByte(frameType);
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
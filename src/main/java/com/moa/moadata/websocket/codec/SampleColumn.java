@@ -0,0 +1,20 @@
+package com.moa.moadata.websocket.codec;
+
+import com.moa.moadata.model.HttpPageSample;
+
+import java.util.function.Function;
+
+/**
+ * HttpPageSample 한 필드에 대한 컬럼 정의
+ *
+ * @param id     프레임에 쓰이는 컬럼 번호
+ * @param name   JSON과 같은 camelCase 필드명
+ * @param type   값 타입
+ * @param getter 값 추출 함수
+ */
+public record SampleColumn(int id, String name, ColumnType type, Function<HttpPageSample, Object> getter) {
+
+    public Object get(HttpPageSample sample) {
+        return getter.apply(sample);
+    }
+}
@@ -0,0 +1,50 @@
+package com.moa.moadata.websocket.codec;
+
+import com.moa.moadata.reader.HttpPageSampleBinder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HttpPageSample 컬럼 목록 (스키마에서 생성한 HttpPageSampleColumns, getter 직접 참조)
+ */
+public final class SampleColumns {
+
+    private static final List<SampleColumn> COLUMNS = HttpPageSampleColumns.ALL;
+    private static final Map<String, SampleColumn> BY_NAME = index(COLUMNS);
+
+    private SampleColumns() {
+    }
+
+    public static List<SampleColumn> all() {
+        return COLUMNS;
+    }
+
+    /**
+     * 필드명으로 조회, 없으면 null
+     */
+    public static SampleColumn byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * 필드명(camelCase) 또는 CSV 헤더로 조회, 없으면 null
+     */
+    public static SampleColumn resolve(String name) {
+        SampleColumn column = BY_NAME.get(name);
+        if (column == null) {
+            int field = HttpPageSampleBinder.fieldIndex(name);
+            column = field < 0 ? null : BY_NAME.get(HttpPageSampleBinder.name(field));
+        }
+        return column;
+    }
+
+    private static Map<String, SampleColumn> index(List<SampleColumn> columns) {
+        Map<String, SampleColumn> map = new HashMap<>();
+        for (SampleColumn column : columns) {
+            map.put(column.name(), column);
+        }
+        return map;
+    }
+}
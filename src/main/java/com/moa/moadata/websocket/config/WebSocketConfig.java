@@ -0,0 +1,26 @@
+package com.moa.moadata.websocket.config;
+
+import com.moa.moadata.websocket.handler.BinaryStreamHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final BinaryStreamHandler binaryStreamHandler;
+
+    /**
+     * 바이너리 스트림 엔드포인트
+     * WS /api/ws/stream
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(binaryStreamHandler, "/api/ws/stream")
+                .setAllowedOrigins("*");
+    }
+}
@@ -0,0 +1,54 @@
+package com.moa.moadata.websocket.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.moa.moadata.websocket.service.BinaryStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+/**
+ * WebSocket 바이너리 스트림 핸들러
+ * - 서버 → 클라이언트: 바이너리 프레임 (schema / batch)
+ * - 클라이언트 → 서버: 텍스트 JSON 제어 메시지 (subscribe / ack)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BinaryStreamHandler extends AbstractWebSocketHandler {
+
+    private final BinaryStreamService binaryStreamService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        binaryStreamService.register(session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        try {
+            binaryStreamService.handleControl(session.getId(), message.getPayload());
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ 잘못된 WebSocket 제어 메시지: {}", e.getMessage());
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        } catch (JsonProcessingException e) {
+            // JSON 이 아니거나 형식이 다른 메시지 (Jackson 메시지는 위치 정보까지 붙어 길어서 닫기 사유는 짧게)
+            log.warn("⚠️ 잘못된 WebSocket 제어 메시지: {}", e.getOriginalMessage());
+            session.close(CloseStatus.BAD_DATA.withReason("JSON 제어 메시지를 해석할 수 없습니다"));
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("⚠️ WebSocket 전송 에러: {}", exception.getMessage());
+        binaryStreamService.unregister(session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        binaryStreamService.unregister(session.getId());
+    }
+}
@@ -0,0 +1,18 @@
+package com.moa.moadata.websocket.model;
+
+import java.util.List;
+
+/**
+ * 클라이언트 → 서버 제어 메시지 (텍스트 JSON)
+ *
+ * <pre>
+ * {"type":"subscribe","fields":["tsPage","countryNameReq"],"credits":8}
+ * {"type":"ack","credits":4}
+ * </pre>
+ *
+ * @param type    subscribe | ack
+ * @param fields  구독할 필드 (비어있으면 전체)
+ * @param credits 추가로 받을 수 있는 배치 프레임 수
+ */
+public record StreamControlMessage(String type, List<String> fields, Integer credits) {
+}
@@ -0,0 +1,204 @@
+package com.moa.moadata.websocket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.websocket.codec.ColumnarBatchEncoder;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+import com.moa.moadata.websocket.model.StreamControlMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 바이너리 스트리밍 (SSE와 같은 배치를 컬럼 단위 바이너리로 전송)
+ *
+ * - 같은 구독 컬럼 조합끼리는 배치당 한 번만 인코딩
+ * - 배치 프레임 1개당 크레딧 1개 소모, 크레딧이 없으면 해당 세션만 드랍
+ */
+@Slf4j
+@Service
+public class BinaryStreamService {
+
+    private final ObjectMapper objectMapper;
+    private final ColumnarBatchEncoder encoder = new ColumnarBatchEncoder(ZoneId.systemDefault());
+    private final Map<String, StreamSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int initialCredits;
+    private final int maxCredits;
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimit;
+
+    public BinaryStreamService(
+            ObjectMapper objectMapper,
+            @Value("${moa.websocket.initial-credits:4}") int initialCredits,
+            @Value("${moa.websocket.max-credits:64}") int maxCredits,
+            @Value("${moa.websocket.send-time-limit-ms:5000}") int sendTimeLimitMs,
+            @Value("${moa.websocket.buffer-size-limit:4194304}") int bufferSizeLimit) {
+        this.objectMapper = objectMapper;
+        this.initialCredits = initialCredits;
+        this.maxCredits = maxCredits;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    /**
+     * 세션 등록 (subscribe 메시지 전까지는 배치를 보내지 않음)
+     */
+    public void register(WebSocketSession session) {
+        WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimit,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        subscribers.put(session.getId(), new StreamSubscriber(concurrentSession));
+        log.info("✅ WebSocket 클라이언트 연결 (총 {}개)", subscribers.size());
+    }
+
+    public void unregister(String sessionId) {
+        if (subscribers.remove(sessionId) != null) {
+            log.info("🔌 WebSocket 클라이언트 연결 종료 (총 {}개)", subscribers.size());
+        }
+    }
+
+    /**
+     * 클라이언트 제어 메시지 처리 (subscribe / ack)
+     */
+    public void handleControl(String sessionId, String payload) throws IOException {
+        StreamSubscriber subscriber = subscribers.get(sessionId);
+        if (subscriber == null) {
+            return;
+        }
+
+        StreamControlMessage message = objectMapper.readValue(payload, StreamControlMessage.class);
+
+        if ("subscribe".equalsIgnoreCase(message.type())) {
+            subscribe(subscriber, message);
+        } else if ("ack".equalsIgnoreCase(message.type())) {
+            subscriber.grant(message.credits() == null ? 1 : message.credits(), maxCredits);
+            reportDropped(subscriber);
+        } else {
+            log.warn("⚠️ 알 수 없는 WebSocket 제어 메시지: {}", message.type());
+        }
+    }
+
+    private void subscribe(StreamSubscriber subscriber, StreamControlMessage message) throws IOException {
+        List<SampleColumn> columns = resolveColumns(message.fields());
+        StringBuilder key = new StringBuilder();
+        for (SampleColumn column : columns) {
+            key.append(column.id()).append(',');
+        }
+
+        subscriber.subscribe(columns, key.toString());
+        subscriber.grant(message.credits() == null ? initialCredits : message.credits(), maxCredits);
+
+        byte[] schema = encoder.encodeSchema(columns);
+        subscriber.getSession().sendMessage(new BinaryMessage(schema));
+        subscriber.addSentBytes(schema.length);
+
+        log.info("📋 WebSocket 구독: 컬럼 {}개, 크레딧 {}", columns.size(), subscriber.getCredits());
+    }
+
+    private List<SampleColumn> resolveColumns(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return SampleColumns.all();
+        }
+
+        List<SampleColumn> columns = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            SampleColumn column = SampleColumns.byName(field);
+            if (column == null) {
+                throw new IllegalArgumentException("알 수 없는 필드: " + field);
+            }
+            columns.add(column);
+        }
+        columns.sort((a, b) -> Integer.compare(a.id(), b.id()));
+        return columns;
+    }
+
+    private void reportDropped(StreamSubscriber subscriber) throws IOException {
+        long dropped = subscriber.drainDropped();
+        if (dropped > 0) {
+            subscriber.getSession().sendMessage(new TextMessage(objectMapper.writeValueAsString(
+                    Map.of("type", "dropped", "count", dropped))));
+        }
+    }
+
+    /**
+     * 배치 브로드캐스트
+     */
+    public void sendBatch(List<HttpPageSample> samples) {
+        if (subscribers.isEmpty() || samples.isEmpty()) {
+            return;
+        }
+
+        long seq = sequence.incrementAndGet();
+        Map<String, byte[]> encodedBySubscription = new HashMap<>();
+        List<String> deadSessions = new ArrayList<>();
+
+        for (Map.Entry<String, StreamSubscriber> entry : subscribers.entrySet()) {
+            StreamSubscriber subscriber = entry.getValue();
+            // 구독은 한 번만 읽음 (도중에 다시 subscribe 해도 키와 컬럼이 같은 구독에서 나옴)
+            StreamSubscriber.Subscription subscription = subscriber.getSubscription();
+            if (subscription == null || !subscriber.tryAcquire()) {
+                continue;
+            }
+
+            byte[] frame = encodedBySubscription.computeIfAbsent(subscription.key(),
+                    key -> encoder.encodeBatch(seq, samples, subscription.columns()));
+
+            try {
+                subscriber.getSession().sendMessage(new BinaryMessage(frame));
+                subscriber.addSentBytes(frame.length);
+            } catch (SessionLimitExceededException e) {
+                // 전송 시간 / 버퍼 한도를 넘긴 느린 클라이언트 (OverflowStrategy.DROP 이어도 시간 한도는 예외)
+                log.warn("⚠️ WebSocket 클라이언트가 너무 느려서 제거: {}", e.getMessage());
+                closeQuietly(subscriber.getSession(), e.getStatus());
+                deadSessions.add(entry.getKey());
+            } catch (IOException | IllegalStateException e) {
+                log.warn("⚠️ WebSocket 전송 실패, 클라이언트 제거: {}", e.getMessage());
+                deadSessions.add(entry.getKey());
+            }
+        }
+
+        deadSessions.forEach(subscribers::remove);
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("WebSocket 세션 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 연결된 클라이언트 수
+     */
+    public int getSessionCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 세션별 누적 전송 바이트
+     */
+    public Map<String, Long> getSentBytesBySession() {
+        Map<String, Long> result = new HashMap<>();
+        subscribers.forEach((id, subscriber) -> result.put(id, subscriber.getSentBytes()));
+        return result;
+    }
+}
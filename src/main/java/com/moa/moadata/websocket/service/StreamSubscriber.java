@@ -0,0 +1,87 @@
+package com.moa.moadata.websocket.service;
+
+import com.moa.moadata.websocket.codec.SampleColumn;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 구독자 (세션별 구독 컬럼 + 크레딧 기반 흐름 제어)
+ */
+class StreamSubscriber {
+
+    private final WebSocketSession session;
+    private final AtomicInteger credits = new AtomicInteger();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong sentBytes = new AtomicLong();
+
+    /**
+     * 구독 컬럼 + 같은 컬럼 구성끼리 인코딩 결과를 나눠 쓰는 키 (둘이 어긋나지 않도록 한 번에 교체)
+     */
+    record Subscription(List<SampleColumn> columns, String key) {
+    }
+
+    private volatile Subscription subscription;
+
+    StreamSubscriber(WebSocketSession session) {
+        this.session = session;
+    }
+
+    void subscribe(List<SampleColumn> columns, String subscriptionKey) {
+        this.subscription = new Subscription(List.copyOf(columns), subscriptionKey);
+    }
+
+    /**
+     * 현재 구독 (subscribe 전이면 null)
+     */
+    Subscription getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * 크레딧 추가 (상한 maxCredits)
+     */
+    void grant(int amount, int maxCredits) {
+        credits.updateAndGet(current -> (int) Math.min(maxCredits, (long) current + Math.max(0, amount)));
+    }
+
+    /**
+     * 프레임 1개를 보낼 크레딧 확보, 없으면 드랍 집계
+     */
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = credits.get();
+            if (current <= 0) {
+                droppedFrames.incrementAndGet();
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    /**
+     * 마지막 조회 이후 드랍된 프레임 수 (조회 시 0으로 초기화)
+     */
+    long drainDropped() {
+        return droppedFrames.getAndSet(0);
+    }
+
+    void addSentBytes(int bytes) {
+        sentBytes.addAndGet(bytes);
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    int getCredits() {
+        return credits.get();
+    }
+
+    long getSentBytes() {
+        return sentBytes.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.moa.moadata.anomaly.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EwmaDetectorTest {
+
+    private static final EwmaDetector.Settings SETTINGS = new EwmaDetector.Settings(0.1, 0.005, 5.0, 2.5, 3.0, 200);
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Test
+    void detectsSlowCountryWithinFewSamples() {
+        EwmaDetector detector = new EwmaDetector();
+
+        // 긴 꼬리 정상 트래픽 + 가끔 30초짜리 튀는 값 하나 → 경보 없음
+        for (int i = 0; i < 20_000; i++) {
+            double tsPage = i % 500 == 0 ? 30_000 : normalTsPage();
+            assertEquals(EwmaDetector.Transition.NONE, detector.update(tsPage, SETTINGS, 100), "i=" + i);
+        }
+
+        // ScenarioService.triggerSlowCountry (15~20초)
+        int detectedAfter = -1;
+        for (int i = 0; i < 20; i++) {
+            if (detector.update(15_000 + random.nextDouble() * 5_000, SETTINGS, 100) == EwmaDetector.Transition.FIRED) {
+                detectedAfter = i + 1;
+                break;
+            }
+        }
+        assertTrue(detectedAfter > 0 && detectedAfter <= 10, "detectedAfter=" + detectedAfter);
+        assertTrue(detector.isFiring());
+
+        // 경보 중에는 기준선이 장애를 학습하지 않음 → 정상 복구 후 해제
+        double baseline = detector.getMean();
+        int resolvedAfter = -1;
+        for (int i = 0; i < 200; i++) {
+            if (detector.update(normalTsPage(), SETTINGS, 100) == EwmaDetector.Transition.RESOLVED) {
+                resolvedAfter = i + 1;
+                break;
+            }
+        }
+        assertTrue(resolvedAfter > 0, "resolvedAfter=" + resolvedAfter);
+        assertEquals(baseline, detector.getMean(), 1e-9 + baseline * 0.05);
+    }
+
+    @Test
+    void detectsErrorRateSpike() {
+        EwmaDetector detector = new EwmaDetector();
+        for (int i = 0; i < 10_000; i++) {
+            double error = random.nextInt(100) == 0 ? 1 : 0;   // 평소 1%
+            assertEquals(EwmaDetector.Transition.NONE, detector.update(error, SETTINGS, 0.02), "i=" + i);
+        }
+
+        // ScenarioService.triggerErrorSpike (연속 5xx)
+        boolean fired = false;
+        for (int i = 0; i < 20 && !fired; i++) {
+            fired = detector.update(1, SETTINGS, 0.02) == EwmaDetector.Transition.FIRED;
+        }
+        assertTrue(fired);
+    }
+
+    @Test
+    void staysQuietDuringWarmup() {
+        EwmaDetector detector = new EwmaDetector();
+        detector.update(1_000, SETTINGS, 100);
+        for (int i = 0; i < 150; i++) {
+            assertEquals(EwmaDetector.Transition.NONE, detector.update(20_000, SETTINGS, 100));
+        }
+        assertFalse(detector.isFiring());
+    }
+
+    private double normalTsPage() {
+        // 1초 + 평균 1.5초 지수 분포
+        return 1_000 - 1_500 * Math.log(1 - random.nextDouble());
+    }
+}
@@ -0,0 +1,159 @@
+package com.moa.moadata.bus;
+
+import com.moa.moadata.buffer.BufferPool;
+import com.moa.moadata.buffer.PooledBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayEventBusTest {
+
+    @Test
+    void everyConsumerSeesEveryEventInOrder() throws Exception {
+        RecordingHandler first = new RecordingHandler("first", 100);
+        RecordingHandler second = new RecordingHandler("second", 100);
+        ReplayEventBus bus = new ReplayEventBus(List.of(first, second), 16, 100);
+        bus.start();
+
+        for (int i = 0; i < 100; i++) {
+            while (!bus.publish(List.of(), ReplayBatch.SOURCE_REPLAY)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        assertTrue(second.done.await(5, TimeUnit.SECONDS));
+        bus.stop();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, first.sequences.get(i).longValue());
+            assertEquals(i, second.sequences.get(i).longValue());
+        }
+        assertEquals(0, bus.getMaxLag());
+    }
+
+    @Test
+    void slowConsumerDoesNotBlockFastConsumerUntilRingIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler fast = new RecordingHandler("fast", 4);
+        ReplayEventHandler slow = new ReplayEventHandler() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) throws Exception {
+                release.await();
+            }
+        };
+
+        ReplayEventBus bus = new ReplayEventBus(List.of(fast, slow), 4, 100);
+        bus.start();
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(bus.publish(List.of(), ReplayBatch.SOURCE_REPLAY));
+        }
+        // 빠른 소비자는 느린 소비자와 상관없이 모두 처리
+        assertTrue(fast.done.await(5, TimeUnit.SECONDS));
+
+        // 느린 소비자가 한 바퀴 뒤처져 있으므로 가득 참 (생산자는 읽기 전에 확인 가능)
+        assertFalse(bus.hasCapacity());
+        assertFalse(bus.publish(List.of(), ReplayBatch.SOURCE_REPLAY));
+        assertEquals(1L, bus.snapshot().get("rejected"));
+
+        release.countDown();
+        bus.stop();
+    }
+
+    @Test
+    void handlerFailureIsCountedAndSkipped() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        ReplayEventHandler failing = new ReplayEventHandler() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+                done.countDown();
+                if (sequence == 1) {
+                    throw new IllegalStateException("boom");
+                }
+            }
+        };
+
+        ReplayEventBus bus = new ReplayEventBus(List.of(failing), 8, 100);
+        bus.start();
+        for (int i = 0; i < 3; i++) {
+            bus.publish(List.of(), ReplayBatch.SOURCE_SCENARIO);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        bus.stop();
+
+        assertEquals(0, bus.getMaxLag());
+    }
+
+    @Test
+    void pooledJsonReturnsToPoolAfterEveryConsumer() throws Exception {
+        RecordingHandler first = new RecordingHandler("first", 10);
+        RecordingHandler second = new RecordingHandler("second", 10);
+        ReplayEventBus bus = new ReplayEventBus(List.of(first, second), 16, 100);
+        BufferPool pool = new BufferPool(4, 64, 1024);
+        bus.start();
+
+        for (int i = 0; i < 10; i++) {
+            PooledBuffer json = pool.acquire();
+            try {
+                assertTrue(bus.publish(List.of(), json, ReplayBatch.SOURCE_REPLAY));
+            } finally {
+                json.release();
+            }
+            // 두 소비자가 모두 release 해야 풀로 돌아옴 (다음 acquire 가 새로 만들지 않고 재사용)
+            awaitFree(pool);
+        }
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        assertTrue(second.done.await(5, TimeUnit.SECONDS));
+        bus.stop();
+
+        // 모든 소비자가 release → 풀에 반환되어 재사용
+        assertTrue(pool.getFreeCount() >= 1);
+        assertTrue(pool.getAllocations() < 10);
+    }
+
+    private static void awaitFree(BufferPool pool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getFreeCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static class RecordingHandler implements ReplayEventHandler {
+        private final String name;
+        private final CountDownLatch done;
+        private final List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingHandler(String name, int expected) {
+            this.name = name;
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void onEvent(ReplayBatch batch, long sequence, boolean endOfBatch) {
+            sequences.add(sequence);
+            done.countDown();
+        }
+    }
+}
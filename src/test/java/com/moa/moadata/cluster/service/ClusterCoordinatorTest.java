@@ -0,0 +1,145 @@
+package com.moa.moadata.cluster.service;
+
+import com.moa.moadata.cluster.model.NodeStatus;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.reader.index.ReplayShard;
+import com.moa.moadata.scheduler.DataSenderScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * peer HTTP 없이 (하트비트는 receive 로 주입) 멤버십 / 타임아웃 / 샤드·속도 재분배 검증
+ */
+class ClusterCoordinatorTest {
+
+    private static final long PEER_TIMEOUT_MS = 200;
+
+    private final S3DataReader reader = mock(S3DataReader.class);
+    private final DataSenderScheduler scheduler = mock(DataSenderScheduler.class);
+    private ClusterCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        when(reader.getDataset()).thenReturn(new ReplayDataset("a.csv", "e1", List.of(), Instant.now(), true));
+        when(reader.getShard()).thenReturn(ReplayShard.ALL);
+        coordinator = coordinator(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+    }
+
+    @Test
+    void peersOnTheSameObjectSplitShardAndRate() {
+        NodeStatus reply = coordinator.receive(peer("a", "e1"));
+        assertEquals("b", reply.nodeId());
+        coordinator.receive(peer("c", "e1"));
+
+        coordinator.heartbeat();
+
+        // 노드 ID 순 a, b, c → b 는 두 번째
+        assertEquals(new ReplayShard(ReplayShard.Mode.RANGE, 1, 3), lastShard());
+        assertEquals(1_000.0, lastRate());
+        assertEquals(List.of("a", "b", "c"), coordinator.status().get("liveNodes"));
+    }
+
+    @Test
+    void peerOnAnotherObjectVersionIsNotShared() {
+        coordinator.receive(peer("a", "e2"));
+
+        coordinator.heartbeat();
+
+        assertEquals(ReplayShard.ALL, lastShard());
+        assertEquals(3_000.0, lastRate());
+        assertEquals(List.of("b"), coordinator.status().get("liveNodes"));
+    }
+
+    @Test
+    void silentPeerIsEvictedAndShareReturns() throws Exception {
+        coordinator.receive(peer("a", "e1"));
+        coordinator.heartbeat();
+        assertEquals(new ReplayShard(ReplayShard.Mode.RANGE, 1, 2), lastShard());
+        assertEquals(1_500.0, lastRate());
+
+        Thread.sleep(PEER_TIMEOUT_MS * 2);
+        coordinator.heartbeat();
+
+        assertEquals(ReplayShard.ALL, lastShard());
+        assertEquals(3_000.0, lastRate());
+        assertEquals(1, ((List<?>) coordinator.status().get("nodes")).size());
+    }
+
+    @Test
+    void rejoiningPeerGetsItsShardBack() throws Exception {
+        coordinator.receive(peer("a", "e1"));
+        Thread.sleep(PEER_TIMEOUT_MS * 2);
+        coordinator.heartbeat();
+        assertEquals(ReplayShard.ALL, lastShard());
+
+        coordinator.receive(peer("a", "e1"));
+        coordinator.heartbeat();
+        assertEquals(new ReplayShard(ReplayShard.Mode.RANGE, 1, 2), lastShard());
+    }
+
+    @Test
+    void ownHeartbeatIsNotAMember() {
+        coordinator.receive(peer("b", "e1"));
+
+        coordinator.heartbeat();
+
+        assertEquals(ReplayShard.ALL, lastShard());
+    }
+
+    @Test
+    void rejectsInvalidHeartbeats() {
+        assertThrows(IllegalArgumentException.class, () -> coordinator.receive(peer(" ", "e1")));
+        assertThrows(IllegalArgumentException.class, () -> coordinator.receive(null));
+
+        ClusterCoordinator disabled = coordinator(false);
+        assertThrows(IllegalStateException.class, () -> disabled.receive(peer("a", "e1")));
+        assertEquals(Map.of("enabled", false), disabled.status());
+    }
+
+    private ClusterCoordinator coordinator(boolean enabled) {
+        ClusterCoordinator created = new ClusterCoordinator(reader, scheduler);
+        ReflectionTestUtils.setField(created, "enabled", enabled);
+        ReflectionTestUtils.setField(created, "nodeId", "b");
+        ReflectionTestUtils.setField(created, "selfUrl", "http://node-b");
+        ReflectionTestUtils.setField(created, "peers", "");
+        ReflectionTestUtils.setField(created, "shardBy", "range");
+        // 타이머 하트비트가 테스트 중에 끼어들지 않도록 길게 (heartbeat 는 직접 호출)
+        ReflectionTestUtils.setField(created, "heartbeatMs", 60_000L);
+        ReflectionTestUtils.setField(created, "peerTimeoutMs", PEER_TIMEOUT_MS);
+        ReflectionTestUtils.setField(created, "targetRowsPerSecond", 3_000.0);
+        created.init();
+        return created;
+    }
+
+    private ReplayShard lastShard() {
+        ArgumentCaptor<ReplayShard> shard = ArgumentCaptor.forClass(ReplayShard.class);
+        verify(reader, atLeastOnce()).applyShard(shard.capture());
+        return shard.getValue();
+    }
+
+    private double lastRate() {
+        ArgumentCaptor<Double> rate = ArgumentCaptor.forClass(Double.class);
+        verify(scheduler, atLeastOnce()).setTargetRowsPerSecond(rate.capture());
+        return rate.getValue();
+    }
+
+    private static NodeStatus peer(String nodeId, String etag) {
+        return new NodeStatus(nodeId, "http://node-" + nodeId, "a.csv", etag, "all", true, 0, 0, 0, 0);
+    }
+}
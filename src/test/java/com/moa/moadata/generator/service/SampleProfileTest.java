@@ -0,0 +1,115 @@
+package com.moa.moadata.generator.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 프로파일 학습 / 생성 분포 검증
+ */
+class SampleProfileTest {
+
+    private static final Map<String, String> CONTINENT = Map.of(
+            "KR", "Asia", "JP", "Asia", "US", "North America", "DE", "Europe");
+    private static final Map<String, List<String>> URIS = Map.of(
+            "www.moa.co.kr", List.of("/", "/index.html", "/login"),
+            "api.moa.co.kr", List.of("/v1/items", "/v1/orders"));
+
+    private final List<HttpPageSample> samples = samples(20_000);
+    private final SampleProfile profile = SampleProfile.learn(samples, 10_000, 256,
+            SampleProfile.Dependency.parseAll("country_name_req>continent_name_req,httpHost>httpUri,tsPage>tcpErrorCnt"),
+            new SplittableRandom(1));
+
+    @Test
+    void keepsDependentColumnsConsistent() {
+        SplittableRandom random = new SplittableRandom(42);
+        SampleProfile.Draw draw = profile.newDraw();
+        for (int i = 0; i < 20_000; i++) {
+            HttpPageSample sample = profile.sample(random, draw);
+            assertEquals(CONTINENT.get(sample.getCountryNameReq()), sample.getContinentNameReq());
+            assertTrue(URIS.get(sample.getHttpHost()).contains(sample.getHttpUri()));
+        }
+    }
+
+    @Test
+    void followsNumericDistributions() {
+        SplittableRandom random = new SplittableRandom(7);
+        SampleProfile.Draw draw = profile.newDraw();
+        Set<Integer> ports = new HashSet<>();
+        long slowErrors = 0;
+        long slow = 0;
+        long fastErrors = 0;
+        long fast = 0;
+        long nullPages = 0;
+        int rows = 50_000;
+        for (int i = 0; i < rows; i++) {
+            HttpPageSample sample = profile.sample(random, draw);
+            ports.add(sample.getDstPort());
+            if (sample.getTsPage() == null) {
+                nullPages++;
+                continue;
+            }
+            assertTrue(sample.getTsPage() >= 100 && sample.getTsPage() <= 20_000, "범위: " + sample.getTsPage());
+            if (sample.getTsPage() > 10_000) {
+                slow++;
+                slowErrors += sample.getTcpErrorCnt();
+            } else {
+                fast++;
+                fastErrors += sample.getTcpErrorCnt();
+            }
+        }
+
+        // 이산 값 컬럼은 배운 값만
+        assertEquals(Set.of(80, 443), ports);
+        // null 비율 약 10%
+        assertEquals(0.1, (double) nullPages / rows, 0.02);
+        // 느린 요청일수록 TCP 에러가 많음
+        assertTrue((double) slowErrors / slow > 3 * ((double) fastErrors / fast));
+    }
+
+    @Test
+    void sameSeedProducesSameRows() {
+        HttpPageSample a = profile.sample(new SplittableRandom(99), profile.newDraw());
+        HttpPageSample b = profile.sample(new SplittableRandom(99), profile.newDraw());
+        assertEquals(a, b);
+        assertNull(a.getRowKey());
+    }
+
+    @Test
+    void rejectsUnknownDependency() {
+        assertThrows(IllegalArgumentException.class, () -> SampleProfile.Dependency.parseAll("nope>httpUri"));
+        assertThrows(IllegalArgumentException.class, () -> SampleProfile.Dependency.parseAll("httpHost"));
+    }
+
+    private static List<HttpPageSample> samples(int count) {
+        SplittableRandom random = new SplittableRandom(3);
+        String[] countries = CONTINENT.keySet().stream().sorted().toArray(String[]::new);
+        String[] hosts = URIS.keySet().stream().sorted().toArray(String[]::new);
+        List<HttpPageSample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String country = countries[random.nextInt(countries.length)];
+            String host = hosts[random.nextInt(hosts.length)];
+            List<String> uris = URIS.get(host);
+            Double tsPage = random.nextInt(10) == 0 ? null : 100 + random.nextDouble() * 19_900;
+            int tcpErrors = tsPage != null && tsPage > 10_000 ? random.nextInt(10) : random.nextInt(2);
+            samples.add(HttpPageSample.builder()
+                    .countryNameReq(country)
+                    .continentNameReq(CONTINENT.get(country))
+                    .httpHost(host)
+                    .httpUri(uris.get(random.nextInt(uris.size())))
+                    .dstPort(random.nextBoolean() ? 80 : 443)
+                    .tsPage(tsPage)
+                    .tcpErrorCnt(tcpErrors)
+                    .build());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,76 @@
+package com.moa.moadata.metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private static final Set<String> SENSITIVE = Set.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    @TempDir
+    Path dumpDir;
+
+    private final FlightRecordingService service = new FlightRecordingService();
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "dumpDir", dumpDir.toString());
+        ReflectionTestUtils.setField(service, "maxAgeMinutes", 1L);
+        ReflectionTestUtils.setField(service, "maxSizeMb", 16L);
+        ReflectionTestUtils.setField(service, "maxDumps", 3);
+    }
+
+    @Test
+    void jdkSettingsDoNotRecordEnvironmentOrProperties() throws Exception {
+        // default 설정은 원래 기동 시 환경 변수 / 시스템 속성을 전부 기록함
+        service.start("default");
+        Path file = service.dump();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertFalse(events.isEmpty());
+        for (RecordedEvent event : events) {
+            assertFalse(SENSITIVE.contains(event.getEventType().getName()), event.getEventType().getName());
+        }
+    }
+
+    @Test
+    void backToBackDumpsGetTheirOwnFilesAndOldestArePruned() throws Exception {
+        service.start("default");
+
+        // 같은 초 (밀리초) 안의 dump 도 덮어쓰지 않음
+        List<Path> dumps = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            dumps.add(service.dump());
+        }
+        assertEquals(4, Set.copyOf(dumps).size());
+
+        // max-dumps 3개만 남고 가장 오래된 것부터 삭제
+        assertFalse(Files.exists(dumps.get(0)));
+        for (Path dump : dumps.subList(1, 4)) {
+            assertTrue(Files.exists(dump), dump.toString());
+        }
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            assertEquals(3, files.count());
+        }
+    }
+}
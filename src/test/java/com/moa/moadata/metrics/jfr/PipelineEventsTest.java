@@ -0,0 +1,66 @@
+package com.moa.moadata.metrics.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineEventsTest {
+
+    @Test
+    void recordsStageEventsWithFields() throws Exception {
+        Path file = Files.createTempFile("moa-pipeline", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BatchReadEvent.class);
+            recording.enable(BackendSendEvent.class);
+            recording.start();
+
+            BatchReadEvent read = new BatchReadEvent();
+            read.begin();
+            read.record(10, 4, 2048);
+
+            BackendSendEvent send = new BackendSendEvent();
+            send.begin();
+            send.record(4, 2048, 503);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent read = only(events, "moa.BatchRead");
+        assertEquals(4, read.getInt("rows"));
+        assertEquals(2048, read.getLong("bytes"));
+        assertEquals("partial", read.getString("outcome"));
+
+        RecordedEvent send = only(events, "moa.BackendSend");
+        assertEquals(503, send.getInt("status"));
+        assertEquals("http-error", send.getString("outcome"));
+        assertFalse(send.getDuration().isNegative());
+
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void skipsWhenNotRecording() {
+        // 녹화 중이 아니면 필드도 채우지 않음
+        ScenarioEvent event = new ScenarioEvent();
+        event.begin();
+        event.record("slow-country", 20, true);
+        assertNull(event.scenario);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
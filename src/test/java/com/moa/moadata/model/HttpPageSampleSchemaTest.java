@@ -0,0 +1,103 @@
+package com.moa.moadata.model;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.moa.moadata.reader.HttpPageSampleBinder;
+import com.moa.moadata.websocket.codec.SampleColumn;
+import com.moa.moadata.websocket.codec.SampleColumns;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스키마에서 생성한 코드 (바인더 / 직렬화기 / 컬럼 목록) 검증
+ */
+class HttpPageSampleSchemaTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    // 생성 직렬화기를 끄고 리플렉션 빈 직렬화로 비교
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(HttpPageSample.class, BeanSerialization.class)
+            .build();
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialization {
+    }
+
+    @Test
+    void serializerMatchesBeanSerialization() throws Exception {
+        HttpPageSample full = HttpPageSample.builder()
+                .rowKey("key-1")
+                .srcPort(443)
+                .pageHttpLen(1024L)
+                .tsPage(123.456)
+                .httpUri("/index.html?q=\"quoted\"")
+                .countryNameReq("대한민국")
+                .tsServer(LocalDateTime.of(2026, 10, 19, 9, 30, 15, 123_000_000))
+                .createdAt(LocalDateTime.of(2026, 10, 19, 9, 30))
+                .build();
+        HttpPageSample empty = new HttpPageSample();
+
+        assertEquals(beanMapper.writeValueAsString(List.of(full, empty)),
+                objectMapper.writeValueAsString(List.of(full, empty)));
+    }
+
+    @Test
+    void copyIsIndependentOfOriginal() {
+        HttpPageSample original = HttpPageSample.builder()
+                .rowKey("key-1")
+                .srcPort(443)
+                .countryNameReq("대한민국")
+                .tsServer(LocalDateTime.of(2026, 10, 19, 9, 30))
+                .build();
+
+        HttpPageSample copy = original.copy();
+        assertEquals(original, copy);
+        assertNotSame(original, copy);
+
+        copy.setRowKey("key-2");
+        assertEquals("key-1", original.getRowKey());
+    }
+
+    @Test
+    void binderReadsByHeaderPosition() {
+        // 순서가 다르고 일부 컬럼이 빠진 헤더
+        HttpPageSampleBinder binder = HttpPageSampleBinder.forHeader(
+                new String[]{"http_host", " src_port ", "row_key", "page_http_len", "ts_page"});
+
+        HttpPageSample sample = binder.bind(new String[]{" www.moa.co.kr ", "443.0", "key-1", "", "abc"});
+
+        assertEquals("www.moa.co.kr", sample.getHttpHost());
+        assertEquals(443, sample.getSrcPort());
+        assertEquals("key-1", sample.getRowKey());
+        assertEquals(0L, sample.getPageHttpLen());
+        assertEquals(0.0, sample.getTsPage());
+        // 헤더에 없는 컬럼
+        assertEquals("", sample.getSrcIp());
+        assertEquals(0, sample.getDstPort());
+        // CSV에서 읽지 않는 필드
+        assertNull(sample.getTsServer());
+        assertNull(sample.getCreatedAt());
+
+        assertEquals(HttpPageSampleBinder.FIELD_COUNT - 5, binder.missingColumns().size());
+    }
+
+    @Test
+    void columnsFollowSchemaOrder() {
+        List<SampleColumn> columns = SampleColumns.all();
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals(i, columns.get(i).id());
+        }
+        assertEquals("rowKey", columns.get(0).name());
+        assertEquals(HttpPageSampleBinder.FIELD_COUNT + 2, columns.size());
+
+        HttpPageSample sample = HttpPageSample.builder().srcPort(443).build();
+        assertEquals(443, SampleColumns.byName("srcPort").get(sample));
+    }
+}
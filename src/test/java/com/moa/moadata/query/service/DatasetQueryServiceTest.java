@@ -0,0 +1,111 @@
+package com.moa.moadata.query.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.ReplayDataset;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 집계 질의 결과를 행 단위 직접 계산과 비교 (여러 청크로 나뉘는 크기)
+ */
+class DatasetQueryServiceTest {
+
+    private static final String[] COUNTRIES = {"KR", "US", "JP", "DE"};
+    private static final int ROWS = 70_000;
+
+    private final List<HttpPageSample> samples = samples();
+    private final ReplayDataset dataset = new ReplayDataset("test", null, samples, Instant.now(), true);
+    private final DatasetQueryService service = new DatasetQueryService(null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void groupByMatchesDirectComputation() {
+        Map<String, Object> response = service.query(dataset, "country_name_req",
+                "count,sum(tcpErrorCnt),avg(tsPage),min(mbps),max(mbps),p95(tsPage)", null, 10);
+
+        assertEquals(ROWS, response.get("matched"));
+        assertEquals(COUNTRIES.length, response.get("groups"));
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.get("results");
+        for (Map<String, Object> result : results) {
+            String country = (String) result.get("countryNameReq");
+            List<HttpPageSample> group = samples.stream().filter(s -> country.equals(s.getCountryNameReq())).toList();
+            double[] tsPage = group.stream().filter(s -> s.getTsPage() != null)
+                    .mapToDouble(HttpPageSample::getTsPage).sorted().toArray();
+
+            assertEquals((long) group.size(), result.get("count"));
+            assertEquals(group.stream().mapToDouble(HttpPageSample::getTcpErrorCnt).sum(), (double) result.get("sum(tcpErrorCnt)"));
+            assertEquals(Arrays.stream(tsPage).average().orElseThrow(), (double) result.get("avg(tsPage)"), 1e-9);
+            assertEquals(group.stream().mapToDouble(HttpPageSample::getMbps).min().orElseThrow(), result.get("min(mbps)"));
+            assertEquals(group.stream().mapToDouble(HttpPageSample::getMbps).max().orElseThrow(), result.get("max(mbps)"));
+            assertEquals(tsPage[(int) Math.ceil(0.95 * tsPage.length) - 1], result.get("p95(tsPage)"));
+        }
+
+        // 건수 많은 순
+        assertEquals("KR", results.get(0).get("countryNameReq"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterAndLimit() {
+        Map<String, Object> response = service.query(dataset, "srcPort", "count", "country_name_req = KR and tsPage >= 500", 1);
+
+        long expected = samples.stream()
+                .filter(s -> "KR".equals(s.getCountryNameReq()) && s.getTsPage() != null && s.getTsPage() >= 500)
+                .count();
+        assertEquals((int) expected, response.get("matched"));
+        assertEquals(1, ((List<?>) response.get("results")).size());
+
+        Map<String, Object> all = service.query(dataset, null, "count", "country_name_req = XX", 10);
+        assertEquals(0, all.get("matched"));
+        assertTrue(((List<Map<String, Object>>) all.get("results")).isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> service.query(dataset, "nope", "count", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.query(dataset, null, "avg(httpHost)", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.query(dataset, null, "median(tsPage)", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.query(dataset, null, "sum", null, 10));
+    }
+
+    @Test
+    void boundsPartialsForHighCardinalityGroups() {
+        int rows = 300_000;
+        List<HttpPageSample> distinct = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            distinct.add(HttpPageSample.builder().httpHost("host-" + i).tsPage((double) i).mbps(1.0).build());
+        }
+        ReplayDataset hosts = new ReplayDataset("hosts", null, distinct, Instant.now(), true);
+
+        // 그룹이 많으면 청크를 줄여 부분 집계 크기를 맞춤 (count 만: 그룹당 1칸 → 최대 13청크)
+        Map<String, Object> response = service.query(hosts, "httpHost", "count", null, 5);
+        assertEquals(rows, response.get("groups"));
+        assertTrue((int) response.get("chunks") <= (1 << 22) / rows);
+
+        // 청크 하나로도 한도를 넘으면 거절 (컬럼 4개: 그룹당 17칸)
+        assertThrows(IllegalArgumentException.class,
+                () -> service.query(hosts, "httpHost", "count,avg(tsPage),max(mbps),sum(tcpErrorCnt),min(srcPort)", null, 5));
+    }
+
+    private static List<HttpPageSample> samples() {
+        List<HttpPageSample> samples = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            samples.add(HttpPageSample.builder()
+                    // KR이 가장 많도록
+                    .countryNameReq(i % 5 == 4 ? "KR" : COUNTRIES[i % COUNTRIES.length])
+                    .srcPort(i % 3 == 0 ? 443 : 80)
+                    .tsPage(i % 11 == 0 ? null : (double) ((i * 7919L) % 1000))
+                    .mbps((i % 97) / 10.0)
+                    .tcpErrorCnt(i % 13 == 0 ? 2 : 0)
+                    .build());
+        }
+        return samples;
+    }
+}
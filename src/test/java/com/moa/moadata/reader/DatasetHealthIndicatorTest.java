@@ -0,0 +1,90 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatasetHealthIndicatorTest {
+
+    private final S3DataReader reader = mock(S3DataReader.class);
+    private final DatasetLoadProgress progress = new DatasetLoadProgress();
+    private final DatasetHealthIndicator indicator = new DatasetHealthIndicator(reader);
+
+    @Test
+    void outOfServiceUntilFirstRows() {
+        serve(ReplayDataset.empty(null));
+        progress.begin("replay.csv");
+
+        Health health = indicator.health();
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(DatasetLoadState.LOADING, health.getDetails().get("state"));
+        assertEquals(0, health.getDetails().get("rows"));
+    }
+
+    @Test
+    void upOnceFirstChunkIsPublished() {
+        serve(dataset(3, false));
+        progress.begin("replay.csv");
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(false, health.getDetails().get("complete"));
+    }
+
+    @Test
+    void downWhenFirstLoadFails() {
+        serve(ReplayDataset.empty(null));
+        progress.begin("replay.csv");
+        progress.failed(new IOException("access denied"));
+
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("access denied", health.getDetails().get("error"));
+    }
+
+    @Test
+    void staysUpWhenReloadFailsWithRowsToReplay() {
+        serve(dataset(3, true));
+        progress.begin("next.csv");
+        progress.failed(new IOException("access denied"));
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(DatasetLoadState.FAILED, health.getDetails().get("state"));
+        assertEquals(3, health.getDetails().get("rows"));
+    }
+
+    @Test
+    void downWhenFirstLoadFailsAfterFirstChunk() {
+        serve(dataset(3, false));
+        progress.begin("replay.csv");
+        progress.failed(new IOException("connection reset"));
+
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(false, health.getDetails().get("complete"));
+        assertEquals("connection reset", health.getDetails().get("error"));
+    }
+
+    private void serve(ReplayDataset dataset) {
+        when(reader.getDataset()).thenReturn(dataset);
+        when(reader.getLoadProgress()).thenReturn(progress);
+    }
+
+    private static ReplayDataset dataset(int rows, boolean complete) {
+        List<HttpPageSample> samples = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            samples.add(new HttpPageSample());
+        }
+        return new ReplayDataset("replay.csv", "e1", samples, Instant.now(), complete);
+    }
+}
@@ -0,0 +1,247 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * S3 없이 (본문은 메모리 CSV / 테스트 XLSX) 로딩 진행 상태 / 첫 청크 공개 / 실패 후 재시도 검증
+ */
+class DatasetLoadingTest {
+
+    private static final int ROWS = 20_000;
+
+    private final List<String> readKeys = new CopyOnWriteArrayList<>();
+    private final List<String> headKeys = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile IOException failure;
+    // 0 보다 크면 본문을 이만큼 읽은 뒤 연결이 끊긴 것처럼 실패
+    private volatile int failAfterBytes;
+
+    private final S3DataReader reader = new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()),
+            Jackson2ObjectMapperBuilder.json().build()) {
+        @Override
+        ReplayDataset readFromS3(String key, boolean progressive, DatasetLoadProgress progress) throws IOException {
+            readKeys.add(key);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            byte[] body = csv(ROWS);
+            InputStream in = failAfterBytes > 0 ? truncated(body, failAfterBytes) : new ByteArrayInputStream(body);
+            return readStream(key, "e1", in, body.length, progressive, progress);
+        }
+
+        @Override
+        public String headEtag(String key) {
+            headKeys.add(key);
+            return "e1";
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reader, "s3Key", "replay.csv");
+        ReflectionTestUtils.setField(reader, "indexColumns", "httpHost");
+        ReflectionTestUtils.setField(reader, "firstChunkRows", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    @Test
+    void progressGoesFromLoadingToReady() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<ReplayDataset> loading = reader.reload(null);
+
+        assertEquals(DatasetLoadState.LOADING, reader.getLoadProgress().getState());
+        assertEquals("replay.csv", reader.getLoadProgress().snapshot().get("key"));
+        assertTrue(reader.isReloading());
+
+        release.countDown();
+        ReplayDataset loaded = loading.get(5, TimeUnit.SECONDS);
+        assertEquals(DatasetLoadState.READY, reader.getLoadProgress().getState());
+        assertEquals(100.0, reader.getLoadProgress().getPercent());
+        assertEquals((long) ROWS, reader.getLoadProgress().snapshot().get("rowsParsed"));
+        assertSame(loaded, reader.getDataset());
+        assertTrue(loaded.complete());
+    }
+
+    @Test
+    void failedLoadIsReportedAndKeepsCurrentDataset() throws Exception {
+        reader.reload("replay.csv").get(5, TimeUnit.SECONDS);
+        ReplayDataset before = reader.getDataset();
+
+        failure = new IOException("access denied");
+        CompletableFuture<ReplayDataset> failed = reader.reload("other.csv");
+        assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+
+        assertEquals(DatasetLoadState.FAILED, reader.getLoadProgress().getState());
+        assertEquals("access denied", reader.getLoadProgress().snapshot().get("error"));
+        assertSame(before, reader.getDataset());
+    }
+
+    @Test
+    void reloadWithoutKeyRetriesConfiguredKeyAfterFailedFirstLoad() throws Exception {
+        failure = new IOException("not yet uploaded");
+        assertThrows(Exception.class, () -> reader.reload(null).get(5, TimeUnit.SECONDS));
+        assertNull(reader.getDataset().key());
+
+        failure = null;
+        ReplayDataset loaded = reader.reload(null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("replay.csv", "replay.csv"), readKeys);
+        assertEquals("replay.csv", loaded.key());
+    }
+
+    @Test
+    void watchRetriesConfiguredKeyAfterFailedFirstLoad() throws Exception {
+        failure = new IOException("not yet uploaded");
+        assertThrows(Exception.class, () -> reader.reload(null).get(5, TimeUnit.SECONDS));
+
+        failure = null;
+        ReflectionTestUtils.setField(reader, "watchEnabled", true);
+        reader.watchEtag();
+
+        assertEquals(List.of("replay.csv"), headKeys);
+        // 감시가 시작한 리로드 (진행 중이면 같은 작업을 받음)
+        assertEquals("replay.csv", reader.reload(null).get(5, TimeUnit.SECONDS).key());
+        assertEquals(List.of("replay.csv", "replay.csv"), readKeys.subList(0, 2));
+    }
+
+    @Test
+    void firstLoadPublishesDoublingPrefixes() throws Exception {
+        // 읽을 때마다 지금 공개된 행 수를 기록 (조금씩 읽어서 공개 시점을 놓치지 않게)
+        List<Integer> published = new ArrayList<>();
+        byte[] body = csv(ROWS);
+        InputStream observed = new FilterInputStream(new ByteArrayInputStream(body)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int size = reader.getDataset().size();
+                if (size > 0 && (published.isEmpty() || published.get(published.size() - 1) != size)) {
+                    published.add(size);
+                }
+                return super.read(buffer, offset, Math.min(length, 256));
+            }
+        };
+
+        ReplayDataset loaded = reader.readStream("replay.csv", "e1", observed, body.length, true,
+                reader.getLoadProgress());
+
+        assertEquals(List.of(1_000, 2_000, 4_000, 8_000, 16_000), published);
+        assertFalse(reader.getDataset().complete());
+        assertEquals(ROWS, loaded.size());
+        assertTrue(loaded.complete());
+        assertEquals("host-0", reader.getDataset().samples().get(0).getHttpHost());
+    }
+
+    @Test
+    void reloadOfServedDatasetDoesNotPublishPrefixes() throws Exception {
+        reader.reload(null).get(5, TimeUnit.SECONDS);
+        ReplayDataset served = reader.getDataset();
+
+        byte[] body = csv(ROWS);
+        reader.readStream("replay.csv", "e2", new ByteArrayInputStream(body), body.length, false,
+                new DatasetLoadProgress());
+
+        assertSame(served, reader.getDataset());
+    }
+
+    @Test
+    void xlsxObjectIsReadThroughTheSameSwapPath() throws Exception {
+        Path fixture = Path.of("src/test/resources/fixtures/http_page_sample.xlsx");
+        ReplayDataset loaded;
+        try (InputStream body = Files.newInputStream(fixture)) {
+            loaded = reader.readStream("replay.xlsx", "e1", body, Files.size(fixture), true,
+                    reader.getLoadProgress());
+        }
+
+        assertTrue(loaded.size() >= 5);
+        assertTrue(loaded.complete());
+        // 헤더 위치로 바인딩 (ExcelDataReader 와 같은 규칙), ts_server 는 캐시가 아니라 전송 시점에 채움
+        for (HttpPageSample sample : loaded.samples()) {
+            assertFalse(sample.getSrcIp().isEmpty());
+            assertNotNull(sample.getTsPage());
+            assertNull(sample.getTsServer());
+        }
+    }
+
+    @Test
+    void failureAfterFirstChunkIsRetriedByWatch() throws Exception {
+        failAfterBytes = csv(ROWS).length / 2;
+        assertThrows(Exception.class, () -> reader.reload(null).get(5, TimeUnit.SECONDS));
+
+        // 앞부분은 공개된 채 남고 ETag 도 객체 ETag 그대로
+        ReplayDataset partial = reader.getDataset();
+        assertTrue(partial.size() > 0);
+        assertFalse(partial.complete());
+        assertEquals("e1", partial.etag());
+        assertEquals(DatasetLoadState.FAILED, reader.getLoadProgress().getState());
+
+        failAfterBytes = 0;
+        ReflectionTestUtils.setField(reader, "watchEnabled", true);
+        reader.watchEtag();
+
+        ReplayDataset loaded = reader.reload(null).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("replay.csv", "replay.csv"), readKeys);
+        assertEquals(ROWS, loaded.size());
+        assertTrue(reader.getDataset().complete());
+    }
+
+    private static InputStream truncated(byte[] body, int failAfter) {
+        return new FilterInputStream(new ByteArrayInputStream(body)) {
+            private int read;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (read >= failAfter) {
+                    throw new IOException("connection reset");
+                }
+                int n = super.read(buffer, offset, Math.min(length, failAfter - read));
+                read += Math.max(0, n);
+                return n;
+            }
+        };
+    }
+
+    private static byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder("http_host,src_port\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("host-").append(i).append(',').append(i % 60_000).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
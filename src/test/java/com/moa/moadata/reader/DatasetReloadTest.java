@@ -0,0 +1,185 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 핫 리로드 검증: 교체 전까지 기존 데이터셋 재생 / 다음 tick에 전환 / 진행 중 리로드 공유 / ETag 감시 / 마지막 실패 기록
+ *
+ * 객체 본문은 키 이름을 http_host 앞에 붙인 메모리 CSV (어느 데이터셋의 행인지 구분)
+ */
+class DatasetReloadTest {
+
+    private static final int ROWS = 10;
+
+    private final List<String> readKeys = new CopyOnWriteArrayList<>();
+    private final List<String> headKeys = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile IOException failure;
+    private volatile String etag = "e1";
+
+    private final S3DataReader reader = new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()),
+            Jackson2ObjectMapperBuilder.json().build()) {
+        @Override
+        ReplayDataset readFromS3(String key, boolean progressive, DatasetLoadProgress progress) throws IOException {
+            readKeys.add(key);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            byte[] body = csv(key, ROWS);
+            return readStream(key, etag, new ByteArrayInputStream(body), body.length, progressive, progress);
+        }
+
+        @Override
+        public String headEtag(String key) {
+            headKeys.add(key);
+            return etag;
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(reader, "s3Key", "a.csv");
+        ReflectionTestUtils.setField(reader, "indexColumns", "httpHost");
+        ReflectionTestUtils.setField(reader, "firstChunkRows", 1000);
+        ReflectionTestUtils.setField(reader, "loopMode", true);
+        reader.reload(null).get(5, TimeUnit.SECONDS);
+        readKeys.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    @Test
+    void oldDatasetKeepsServingUntilSwapThenNextTickRestartsOnNewOne() throws Exception {
+        assertEquals(List.of("a.csv-0", "a.csv-1", "a.csv-2"), hosts(reader.readNextBatch(3)));
+
+        release = new CountDownLatch(1);
+        ReplayDataset before = reader.getDataset();
+        CompletableFuture<ReplayDataset> reloading = reader.reload("b.csv");
+
+        // 읽는 동안에는 기존 데이터셋을 이어서 재생
+        assertEquals(List.of("a.csv-3", "a.csv-4"), hosts(reader.readNextBatch(2)));
+        assertSame(before, reader.getDataset());
+        assertTrue(reader.isReloading());
+
+        release.countDown();
+        ReplayDataset loaded = reloading.get(5, TimeUnit.SECONDS);
+
+        // 교체는 참조 하나 (다 읽은 데이터셋이 그대로 보임), 스케줄러 쪽 위치는 다음 tick 전까지 그대로
+        assertSame(loaded, reader.getDataset());
+        assertTrue(loaded.complete());
+        assertEquals(ROWS, loaded.size());
+        assertEquals(5, reader.getCurrentIndex());
+
+        assertEquals(List.of("b.csv-0", "b.csv-1"), hosts(reader.readNextBatch(2)));
+        assertEquals(2, reader.getCurrentIndex());
+    }
+
+    @Test
+    void reloadWhileLoadingReturnsTheRunningReload() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<ReplayDataset> first = reader.reload("b.csv");
+        CompletableFuture<ReplayDataset> second = reader.reload("c.csv");
+        CompletableFuture<ReplayDataset> third = reader.reload(null);
+
+        assertSame(first, second);
+        assertSame(first, third);
+
+        release.countDown();
+        assertEquals("b.csv", first.get(5, TimeUnit.SECONDS).key());
+        assertEquals(List.of("b.csv"), readKeys);
+
+        // 끝난 뒤에는 새로 읽음
+        assertEquals("c.csv", reader.reload("c.csv").get(5, TimeUnit.SECONDS).key());
+        assertEquals(List.of("b.csv", "c.csv"), readKeys);
+    }
+
+    @Test
+    void watchReloadsOnlyWhenEtagChanges() throws Exception {
+        ReflectionTestUtils.setField(reader, "watchEnabled", true);
+
+        reader.watchEtag();
+        assertEquals(List.of("a.csv"), headKeys);
+        assertFalse(reader.isReloading());
+        assertTrue(readKeys.isEmpty());
+
+        etag = "e2";
+        release = new CountDownLatch(1);
+        reader.watchEtag();
+        assertTrue(reader.isReloading());
+
+        // 리로드 중에는 ETag 확인을 건너뜀
+        reader.watchEtag();
+        assertEquals(List.of("a.csv", "a.csv"), headKeys);
+
+        release.countDown();
+        ReplayDataset loaded = reader.reload(null).get(5, TimeUnit.SECONDS);
+        assertEquals("e2", loaded.etag());
+        assertEquals(List.of("a.csv"), readKeys);
+    }
+
+    @Test
+    void watchDisabledDoesNotTouchS3() {
+        etag = "e2";
+        reader.watchEtag();
+
+        assertTrue(headKeys.isEmpty());
+        assertFalse(reader.isReloading());
+    }
+
+    @Test
+    void lastReloadFailureOutlivesLaterLoads() throws Exception {
+        assertNull(reader.getLoadProgress().lastFailure());
+
+        failure = new IOException("no such key");
+        assertThrows(Exception.class, () -> reader.reload("missing.csv").get(5, TimeUnit.SECONDS));
+        assertEquals("a.csv", reader.getDataset().key());
+
+        failure = null;
+        reader.reload("b.csv").get(5, TimeUnit.SECONDS);
+
+        Map<String, Object> last = reader.getLoadProgress().lastFailure();
+        assertEquals(DatasetLoadState.READY, reader.getLoadProgress().getState());
+        assertEquals("missing.csv", last.get("key"));
+        assertEquals("no such key", last.get("error"));
+        assertNotNull(last.get("at"));
+    }
+
+    private static List<String> hosts(List<HttpPageSample> batch) {
+        return batch.stream().map(HttpPageSample::getHttpHost).toList();
+    }
+
+    private static byte[] csv(String key, int rows) {
+        StringBuilder csv = new StringBuilder("http_host,src_port\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(key).append('-').append(i).append(',').append(i).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
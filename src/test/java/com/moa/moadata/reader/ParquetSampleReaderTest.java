@@ -0,0 +1,92 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 Parquet 파일 읽기 (테스트에서 직접 써서 읽음)
+ */
+class ParquetSampleReaderTest {
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("""
+            message http_page_sample {
+              optional binary src_ip (UTF8);
+              optional int32 src_port;
+              optional int64 page_http_len;
+              optional double ts_page;
+              optional int64 dstPort;
+              optional binary extra_column (UTF8);
+            }
+            """);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsOnlyRequestedColumns() throws Exception {
+        Path file = write(dir.resolve("sample.parquet"), 3);
+
+        List<HttpPageSample> samples = ParquetSampleReader.read(file, Set.of("srcIp", "tsPage", "dstPort"), rows -> { });
+
+        assertEquals(3, samples.size());
+        assertEquals("10.0.0.0", samples.get(0).getSrcIp());
+        assertEquals(1.5, samples.get(2).getTsPage());
+        // 모델 필드명 컬럼 + 타입이 다른 컬럼 (int64 → Integer)
+        assertEquals(8081, samples.get(1).getDstPort());
+        // null 값
+        assertNull(samples.get(1).getSrcIp());
+        // 요청하지 않은 컬럼은 읽지 않음
+        assertNull(samples.get(0).getSrcPort());
+        assertNull(samples.get(0).getPageHttpLen());
+        assertNotNull(samples.get(0).getCreatedAt());
+    }
+
+    @Test
+    void readsAllKnownColumnsWhenNoneRequested() throws Exception {
+        Path file = write(dir.resolve("all.parquet"), 2);
+        List<Integer> progress = new ArrayList<>();
+
+        List<HttpPageSample> samples = ParquetSampleReader.read(file, Set.of(), rows -> progress.add(rows.size()));
+
+        assertEquals(2, samples.size());
+        assertEquals(443, samples.get(0).getSrcPort());
+        assertEquals(1024L, samples.get(1).getPageHttpLen());
+        assertEquals(List.of(2), progress);
+    }
+
+    private static Path write(Path file, int rows) throws Exception {
+        SimpleGroupFactory groups = new SimpleGroupFactory(SCHEMA);
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(file))
+                .withType(SCHEMA)
+                .build()) {
+            for (int i = 0; i < rows; i++) {
+                Group group = groups.newGroup()
+                        .append("src_port", 443)
+                        .append("page_http_len", 1024L)
+                        .append("ts_page", 0.5 * i + 0.5)
+                        .append("dstPort", 8080L + i)
+                        .append("extra_column", "ignored");
+                if (i != 1) {
+                    group.append("src_ip", "10.0.0." + i);
+                }
+                writer.write(group);
+            }
+        }
+        return file;
+    }
+}
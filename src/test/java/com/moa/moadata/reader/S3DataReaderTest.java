@@ -0,0 +1,162 @@
+package com.moa.moadata.reader;
+
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.index.ReplayShard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * S3 없이 주입한 데이터로 재생 위치 / 배치 구성 검증
+ */
+class S3DataReaderTest {
+
+    private final S3DataReader reader = new S3DataReader(new ReplayMetrics(new SimpleMeterRegistry()),
+            Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void rewindReplaysRejectedBatch() {
+        reader.loadSamples(samples(10), true, false);
+        reader.readNextBatch(4);
+
+        List<String> rejected = hosts(reader.readNextBatch(4));
+        reader.rewind(rejected.size());
+        assertEquals(rejected, hosts(reader.readNextBatch(4)));
+    }
+
+    @Test
+    void rewindAcrossLoopBoundary() {
+        reader.loadSamples(samples(10), true, false);
+        reader.readNextBatch(8);
+
+        // 8,9 → 0,1 로 순환한 배치
+        List<String> rejected = hosts(reader.readNextBatch(4));
+        assertEquals(List.of("host-8", "host-9", "host-0", "host-1"), rejected);
+        reader.rewind(rejected.size());
+        assertEquals(rejected, hosts(reader.readNextBatch(4)));
+    }
+
+    @Test
+    void hasNextFollowsSelectedRowsNotDatasetSize() {
+        reader.loadSamples(samples(10), true, false);
+        assertTrue(reader.hasNext());
+
+        // 필터에 맞는 행이 없으면 빈 배치를 만들지 않도록 false
+        reader.applyFilter("httpHost = nowhere");
+        assertFalse(reader.hasNext());
+
+        reader.applyFilter("httpHost = host-3");
+        assertTrue(reader.hasNext());
+        assertEquals(List.of("host-3"), hosts(reader.readNextBatch(1)));
+
+        // 이 노드 몫이 없는 샤드
+        reader.applyFilter("");
+        reader.loadSamples(samples(1), true, false);
+        reader.applyShard(new ReplayShard(ReplayShard.Mode.RANGE, 0, 2));
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void batchesDoNotTouchCachedRows() {
+        List<HttpPageSample> cached = samples(3);
+        reader.loadSamples(cached, true, false);
+
+        // 한 바퀴 돈 같은 행도 배치마다 다른 객체 (이전 배치를 직렬화 중인 소비자와 공유하지 않음)
+        List<HttpPageSample> first = reader.readNextBatch(3);
+        List<HttpPageSample> second = reader.readNextBatch(3);
+        for (int i = 0; i < 3; i++) {
+            assertNotSame(first.get(i), second.get(i));
+            assertNotSame(cached.get(i), first.get(i));
+            assertNotEquals(first.get(i).getRowKey(), second.get(i).getRowKey());
+            assertNull(cached.get(i).getRowKey());
+            assertEquals(cached.get(i).getHttpHost(), first.get(i).getHttpHost());
+        }
+    }
+
+    @Test
+    void templateChunkWithoutStampedRowsSharesCachedRows() {
+        List<HttpPageSample> cached = samples(3);
+        reader.loadSamples(cached, true, true);
+
+        ReplayChunk chunk = reader.readNextChunk(3, false);
+        try {
+            // 행 객체는 복사하지 않고 (읽기 전용 공유 행), 전송마다 바뀌는 rowKey 는 JSON 에만 들어감
+            for (int i = 0; i < 3; i++) {
+                assertSame(cached.get(i), chunk.samples().get(i));
+                assertNull(cached.get(i).getRowKey());
+            }
+            String json = new String(chunk.json().toByteArray(), StandardCharsets.UTF_8);
+            assertEquals(3, json.split("\"rowKey\":\"[0-9a-f-]{36}\"", -1).length - 1);
+        } finally {
+            chunk.json().release();
+        }
+
+        ReplayChunk stamped = reader.readNextChunk(3, true);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertNotSame(cached.get(i), stamped.samples().get(i));
+                assertNotNull(stamped.samples().get(i).getRowKey());
+            }
+        } finally {
+            stamped.json().release();
+        }
+    }
+
+    @Test
+    void concurrentCsvLoadsUseTheirOwnHeaders() throws Exception {
+        // 재생 로더와 세션 로더가 컬럼 순서가 다른 CSV를 동시에 읽는 경우
+        byte[] hostFirst = csv("http_host,src_port", "host-%d,%d");
+        byte[] portFirst = csv("src_port,http_host", "%2$d,host-%1$d");
+
+        ExecutorService loaders = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                Future<List<HttpPageSample>> first = loaders.submit(() -> reader.readCsv(new ByteArrayInputStream(hostFirst)));
+                Future<List<HttpPageSample>> second = loaders.submit(() -> reader.readCsv(new ByteArrayInputStream(portFirst)));
+                for (List<HttpPageSample> parsed : List.of(first.get(), second.get())) {
+                    assertEquals(20_000, parsed.size());
+                    for (int i = 0; i < parsed.size(); i++) {
+                        assertEquals("host-" + i, parsed.get(i).getHttpHost());
+                        assertEquals(i % 60_000, parsed.get(i).getSrcPort());
+                    }
+                }
+            }
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+    private static byte[] csv(String header, String rowFormat) {
+        StringBuilder csv = new StringBuilder(header).append('\n');
+        for (int i = 0; i < 20_000; i++) {
+            csv.append(String.format(rowFormat, i, i % 60_000)).append('\n');
+        }
+        return csv.toString().getBytes(Charset.forName("EUC-KR"));
+    }
+
+    private static List<String> hosts(List<HttpPageSample> batch) {
+        return batch.stream().map(HttpPageSample::getHttpHost).toList();
+    }
+
+    static List<HttpPageSample> samples(int count) {
+        List<HttpPageSample> samples = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpPageSample sample = new HttpPageSample();
+            sample.setHttpHost("host-" + i);
+            samples.add(sample);
+        }
+        return samples;
+    }
+}
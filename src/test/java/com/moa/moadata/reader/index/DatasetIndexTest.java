@@ -0,0 +1,98 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재생 필터 인덱스 (비트맵 / 정렬 인덱스) 검증
+ */
+class DatasetIndexTest {
+
+    private static final String[] COUNTRIES = {"KR", "US", "JP"};
+    private static final String[] RES_CODES = {"200", "304", "404", "500", "503", "-"};
+
+    private final List<HttpPageSample> samples = samples(600);
+    private final DatasetIndex index = new DatasetIndex(samples);
+
+    @Test
+    void equalityOnStringColumn() {
+        int[] rows = select("country_name_req = KR");
+
+        assertEquals(200, rows.length);
+        for (int row : rows) {
+            assertEquals("KR", samples.get(row).getCountryNameReq());
+        }
+        assertArrayEquals(scan(s -> !"KR".equals(s.getCountryNameReq())), select("countryNameReq != 'KR'"));
+    }
+
+    @Test
+    void numericRangeOnStringColumn() {
+        // 숫자가 아닌 값 ("-") 은 범위에 걸리지 않음
+        assertArrayEquals(scan(s -> s.getHttpResCode().startsWith("5")),
+                select("http_res_code >= 500 and http_res_code < 600"));
+    }
+
+    @Test
+    void rangeOnNumericColumn() {
+        assertArrayEquals(scan(s -> s.getTsPage() != null && s.getTsPage() > 10000),
+                select("tsPage > 10000"));
+        assertArrayEquals(scan(s -> s.getTsPage() != null && s.getTsPage() <= 250),
+                select("ts_page <= 250"));
+        assertArrayEquals(scan(s -> s.getSrcPort() == 443 || s.getSrcPort() == 8443),
+                select("src_port in (443, 8443)"));
+    }
+
+    @Test
+    void conditionsAreCombined() {
+        int[] rows = select("country_name_req in (KR, JP) and http_res_code = 404 and ts_page > 100");
+
+        assertArrayEquals(scan(s -> !"US".equals(s.getCountryNameReq()) && "404".equals(s.getHttpResCode())
+                && s.getTsPage() != null && s.getTsPage() > 100), rows);
+        assertTrue(rows.length > 0);
+        assertEquals(0, select("country_name_req = XX and ts_page > 0").length);
+        assertEquals(samples.size(), index.select(ReplayFilter.NONE).getCardinality());
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> ReplayFilter.parse("unknown_column = 1"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayFilter.parse("ts_page > abc"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayFilter.parse("createdAt > 1"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayFilter.parse("http_host ~ moa"));
+        assertTrue(ReplayFilter.parse("  ").isEmpty());
+    }
+
+    private int[] select(String expression) {
+        return index.select(ReplayFilter.parse(expression)).toArray();
+    }
+
+    private int[] scan(Predicate<HttpPageSample> predicate) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < samples.size(); row++) {
+            if (predicate.test(samples.get(row))) {
+                rows.add(row);
+            }
+        }
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<HttpPageSample> samples(int count) {
+        List<HttpPageSample> samples = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            samples.add(HttpPageSample.builder()
+                    .countryNameReq(COUNTRIES[i % COUNTRIES.length])
+                    .httpResCode(RES_CODES[i % RES_CODES.length])
+                    .srcPort(i % 4 == 0 ? 443 : i % 4 == 1 ? 8443 : 80)
+                    // 일부 행은 null, 같은 값이 여러 행에 반복됨
+                    .tsPage(i % 7 == 0 ? null : (double) ((i * 37) % 50) * 500)
+                    .build());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,80 @@
+package com.moa.moadata.reader.index;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 분산 재생 샤드가 겹치거나 빠지는 행 없이 나뉘는지 검증
+ */
+class ReplayShardTest {
+
+    private final List<HttpPageSample> samples = samples(1_000);
+
+    @Test
+    void shardsPartitionAllRows() {
+        for (ReplayShard.Mode mode : ReplayShard.Mode.values()) {
+            int[] all = IntStream.range(0, samples.size()).toArray();
+            assertArrayEquals(all, union(mode, 3, null), mode.value());
+        }
+    }
+
+    @Test
+    void shardsPartitionFilteredRows() {
+        int[] filtered = IntStream.range(0, samples.size()).filter(row -> row % 3 != 0).toArray();
+        for (ReplayShard.Mode mode : ReplayShard.Mode.values()) {
+            assertArrayEquals(filtered, union(mode, 4, filtered), mode.value());
+        }
+    }
+
+    @Test
+    void rangeShardsAreBalanced() {
+        for (int i = 0; i < 3; i++) {
+            int size = new ReplayShard(ReplayShard.Mode.RANGE, i, 3).select(samples, null).length;
+            assertTrue(size == 333 || size == 334, "size=" + size);
+        }
+    }
+
+    @Test
+    void sameSourceIpStaysOnOneNode() {
+        int[] shard = new ReplayShard(ReplayShard.Mode.SRC_IP, 1, 3).select(samples, null);
+        for (int row : shard) {
+            // 같은 IP (row % 50) 의 행은 모두 이 샤드
+            for (int other = row % 50; other < samples.size(); other += 50) {
+                int finalOther = other;
+                assertTrue(IntStream.of(shard).anyMatch(r -> r == finalOther));
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidShard() {
+        assertThrows(IllegalArgumentException.class, () -> new ReplayShard(ReplayShard.Mode.ROW, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> ReplayShard.Mode.from("country"));
+    }
+
+    private int[] union(ReplayShard.Mode mode, int count, int[] rows) {
+        List<Integer> union = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (int row : new ReplayShard(mode, i, count).select(samples, rows)) {
+                union.add(row);
+            }
+        }
+        return union.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static List<HttpPageSample> samples(int count) {
+        List<HttpPageSample> samples = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpPageSample sample = new HttpPageSample();
+            sample.setSrcIp("10.0.0." + (i % 50));
+            samples.add(sample);
+        }
+        return samples;
+    }
+}
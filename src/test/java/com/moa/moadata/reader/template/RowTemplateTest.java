@@ -0,0 +1,100 @@
+package com.moa.moadata.reader.template;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.buffer.BufferPool;
+import com.moa.moadata.buffer.PooledBuffer;
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowTemplateTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final BufferPool pool = new BufferPool(2, 16, 1 << 20);
+
+    @Test
+    void splicedBatchMatchesJackson() throws Exception {
+        RowTemplateCompiler compiler = new RowTemplateCompiler(objectMapper);
+        HttpPageSample first = sample("대한민국", "www.moa.co.kr");
+        HttpPageSample second = sample("미국", "api.moa.co.kr");
+        RowTemplate firstTemplate = compiler.compile(first);
+        RowTemplate secondTemplate = compiler.compile(second);
+
+        // 컴파일 후 원래 값 유지
+        assertEquals("original", first.getRowKey());
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 9, 30, 15, 123_000_000);
+        byte[] nowJson = compiler.encode(now);
+        TemplateBatchWriter writer = new TemplateBatchWriter();
+        writer.begin(pool.acquire(), nowJson, nowJson);
+        writer.append(firstTemplate, RowTemplateCompiler.encodeAsciiString("key-1"));
+        writer.append(secondTemplate, RowTemplateCompiler.encodeAsciiString("key-2"));
+        byte[] spliced = writer.finish().toByteArray();
+
+        for (HttpPageSample s : List.of(first, second)) {
+            s.setTsServer(now);
+            s.setCreatedAt(now);
+        }
+        first.setRowKey("key-1");
+        second.setRowKey("key-2");
+        String expected = objectMapper.writeValueAsString(List.of(first, second));
+
+        assertEquals(expected, new String(spliced, StandardCharsets.UTF_8));
+        assertEquals(2, writer.getRows());
+    }
+
+    @Test
+    void writerIsReusableAcrossBatches() {
+        RowTemplateCompiler compiler = new RowTemplateCompiler(objectMapper);
+        RowTemplate template = compiler.compile(sample("일본", "m.moa.co.kr"));
+        byte[] now = compiler.encode(LocalDateTime.now());
+        TemplateBatchWriter writer = new TemplateBatchWriter();
+
+        writer.begin(pool.acquire(), now, now);
+        for (int i = 0; i < 10; i++) {
+            writer.append(template, RowTemplateCompiler.encodeAsciiString("k" + i));
+        }
+        PooledBuffer big = writer.finish();
+        int bigLength = big.length();
+        big.release();
+
+        // 반환된 (커진) 버퍼를 다시 받아서 빈 배치
+        writer.begin(pool.acquire(), now, now);
+        PooledBuffer empty = writer.finish();
+
+        assertTrue(bigLength > 10 * 100);
+        assertEquals("[]", new String(empty.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(1, pool.getAllocations());
+    }
+
+    @Test
+    void randomUuidIsQuotedVersion4() {
+        byte[] out = new byte[RandomUuid.QUOTED_LENGTH];
+        RandomUuid.writeQuoted(out, 0);
+        String quoted = new String(out, StandardCharsets.US_ASCII);
+
+        assertTrue(quoted.matches("\"[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}\""), quoted);
+        assertEquals(4, UUID.fromString(quoted.substring(1, 37)).version());
+    }
+
+    private HttpPageSample sample(String country, String host) {
+        return HttpPageSample.builder()
+                .rowKey("original")
+                .countryNameReq(country)
+                .httpHost(host)
+                .httpUri("/index.html?q=\"quoted\"")
+                .srcPort(443)
+                .tsPage(123.456)
+                .pageHttpLen(1024L)
+                .tsServer(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+}
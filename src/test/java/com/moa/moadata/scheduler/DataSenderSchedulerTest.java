@@ -0,0 +1,67 @@
+package com.moa.moadata.scheduler;
+
+import com.moa.moadata.bus.ReplayEventBus;
+import com.moa.moadata.metrics.ReplayMetrics;
+import com.moa.moadata.reader.DatasetLoadProgress;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.websocket.service.BinaryStreamService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DataSenderSchedulerTest {
+
+    private static final long INTERVAL = 100_000_000L;  // 100ms
+
+    @Test
+    void rowsFollowMeasuredTickGap() {
+        // 초당 1000행: 제때 온 tick 은 100행, 50ms 늦게 온 tick 은 150행
+        assertEquals(100.0, DataSenderScheduler.rowsForTick(1_000, INTERVAL, INTERVAL), 1e-9);
+        assertEquals(150.0, DataSenderScheduler.rowsForTick(1_000, INTERVAL + 50_000_000L, INTERVAL), 1e-9);
+        // 밀린 tick 이 몰려서 바로 오면 그만큼 적게
+        assertEquals(1.0, DataSenderScheduler.rowsForTick(1_000, 1_000_000L, INTERVAL), 1e-9);
+    }
+
+    @Test
+    void longGapIsCapped() {
+        // 10초 멈췄다 돌아와도 최대 4 간격 (400행)
+        assertEquals(400.0, DataSenderScheduler.rowsForTick(1_000, 10_000_000_000L, INTERVAL), 1e-9);
+        assertEquals(0.0, DataSenderScheduler.rowsForTick(1_000, -5, INTERVAL), 1e-9);
+    }
+
+    @Test
+    void pauseIsNotCountedAsLateTick() throws Exception {
+        S3DataReader reader = mock(S3DataReader.class);
+        when(reader.hasNext()).thenReturn(false);
+        when(reader.getLoadProgress()).thenReturn(new DatasetLoadProgress());
+        ReplayMetrics metrics = mock(ReplayMetrics.class);
+        DataSenderScheduler scheduler = new DataSenderScheduler(reader, mock(ReplayEventBus.class),
+                mock(SseEmitterService.class), mock(BinaryStreamService.class), metrics);
+        ReflectionTestUtils.setField(scheduler, "sendIntervalMs", 100L);
+
+        scheduler.start();
+        scheduler.sendDataPeriodically();
+        scheduler.stop();
+        Thread.sleep(300);
+        scheduler.sendDataPeriodically();  // 정지 중 tick 은 기록 안 함
+        scheduler.start();
+        scheduler.sendDataPeriodically();
+        scheduler.sendDataPeriodically();
+
+        ArgumentCaptor<Long> sinceLastTick = ArgumentCaptor.forClass(Long.class);
+        verify(metrics, times(3)).recordTick(anyLong(), eq(INTERVAL), sinceLastTick.capture());
+        List<Long> gaps = sinceLastTick.getAllValues();
+        // 시작 / 재개 후 첫 tick 은 한 간격, 그다음은 실제로 잰 간격 (정지했던 300ms 가 섞이지 않음)
+        assertEquals(INTERVAL, gaps.get(0));
+        assertEquals(INTERVAL, gaps.get(1));
+        assertTrue(gaps.get(2) < 300_000_000L, "재개 후 두 번째 tick 간격: " + gaps.get(2));
+    }
+}
@@ -0,0 +1,168 @@
+package com.moa.moadata.session.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.moadata.client.MoaApiClient;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import com.moa.moadata.session.model.ReplaySessionConfig;
+import com.moa.moadata.session.model.ReplaySessionState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.moa.moadata.session.service.SessionDatasetCacheTest.await;
+import static com.moa.moadata.session.service.SessionDatasetCacheTest.dataset;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * S3 / 백엔드 없이 (S3DataReader, MoaApiClient 스텁) 세션 수명 주기와 워커 순서 검증
+ */
+class ReplaySessionManagerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final S3DataReader reader = mock(S3DataReader.class);
+    private final MoaApiClient client = mock(MoaApiClient.class);
+    private final List<String> sentUrls = Collections.synchronizedList(new ArrayList<>());
+
+    private SessionDatasetCache cache;
+    private ReplaySessionManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(reader.getDataset()).thenReturn(ReplayDataset.empty(null));
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+        when(reader.readObject("a.csv")).thenReturn(dataset("a.csv", "e1", 10, true));
+        when(client.sendBatchJson(anyString(), anyList(), anyInt())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.startsWith("http://slow")) {
+                Thread.sleep(20);
+            }
+            sentUrls.add(url);
+            return 200;
+        });
+        cache = new SessionDatasetCache(reader, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+        cache.shutdown();
+    }
+
+    @Test
+    void lifecycle() throws Exception {
+        manager = manager(2, 16);
+        // 배치 3행, 초당 3행 → 1초에 한 배치 (시작 / 재개 직후 한 배치만 나감)
+        String id = (String) manager.create(new ReplaySessionConfig("a.csv", null, 3, 3, "http://backend-a")).get("id");
+        assertEquals(ReplaySessionState.CREATED, manager.status(id).get("state"));
+        await(() -> Boolean.TRUE.equals(manager.status(id).get("datasetReady")));
+
+        manager.start(id);
+        await(() -> sentBatches(id) == 1);
+        assertEquals(3, manager.status(id).get("position"));
+
+        assertEquals(ReplaySessionState.PAUSED, manager.pause(id).get("state"));
+        assertThrows(IllegalStateException.class, () -> manager.pause(id));
+
+        // 재개는 이어서
+        manager.start(id);
+        await(() -> sentBatches(id) == 2);
+        assertEquals(6, manager.status(id).get("position"));
+
+        // 정지 후 시작은 처음부터
+        assertEquals(ReplaySessionState.STOPPED, manager.stop(id).get("state"));
+        manager.start(id);
+        await(() -> sentBatches(id) == 3);
+        assertEquals(3, manager.status(id).get("position"));
+        assertEquals(9L, manager.status(id).get("sentRows"));
+        assertTrue(sentUrls.stream().allMatch("http://backend-a/page-samples/batch"::equals));
+
+        assertEquals(ReplaySessionState.STOPPED, manager.delete(id).get("state"));
+        assertThrows(IllegalArgumentException.class, () -> manager.status(id));
+        assertThrows(IllegalArgumentException.class, () -> manager.delete(id));
+        assertTrue(cache.snapshot().isEmpty());
+    }
+
+    @Test
+    void sessionsOnTheSameObjectShareOneDataset() throws Exception {
+        manager = manager(2, 16);
+        String first = (String) manager.create(new ReplaySessionConfig("a.csv", null, 3, 3, "http://backend-a")).get("id");
+        String second = (String) manager.create(new ReplaySessionConfig("a.csv", "httpHost = host-1", 3, 3,
+                "http://backend-b")).get("id");
+
+        List<Map<String, Object>> datasets = cache.snapshot();
+        assertEquals(1, datasets.size());
+        assertEquals(2, datasets.get(0).get("sessions"));
+
+        manager.delete(first);
+        assertEquals(1, cache.snapshot().get(0).get("sessions"));
+        manager.delete(second);
+        assertTrue(cache.snapshot().isEmpty());
+    }
+
+    @Test
+    void rejectsRateAboveSessionLimit() {
+        manager = manager(2, 16);
+        // tick 5ms, 차례당 16배치 → 배치 10행이면 최대 32000행/초
+        assertEquals(32_000, manager.maxRowsPerSecond(10));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.create(new ReplaySessionConfig("a.csv", null, 32_001, 10, "http://backend-a")));
+        assertTrue(cache.snapshot().isEmpty());
+    }
+
+    @Test
+    void slowBackendDoesNotStarveOtherSessions() throws Exception {
+        // 워커 1개, 차례당 1배치: 느린 백엔드 (20ms) 세션과 빠른 세션이 번갈아 차례를 받아야 함
+        manager = manager(1, 1);
+        int rate = (int) manager.maxRowsPerSecond(3);
+        String slow = (String) manager.create(new ReplaySessionConfig("a.csv", null, rate, 3, "http://slow")).get("id");
+        String fast = (String) manager.create(new ReplaySessionConfig("a.csv", null, rate, 3, "http://fast")).get("id");
+        await(() -> Boolean.TRUE.equals(manager.status(slow).get("datasetReady")));
+
+        manager.start(slow);
+        manager.start(fast);
+        await(() -> count("http://slow") >= 10);
+        manager.stop(slow);
+        manager.stop(fast);
+
+        long slowTurns = count("http://slow");
+        long fastTurns = count("http://fast");
+        assertTrue(fastTurns >= slowTurns - 2, "fast=" + fastTurns + ", slow=" + slowTurns);
+    }
+
+    private ReplaySessionManager manager(int workers, int maxBatchesPerTurn) {
+        ReplaySessionManager created = new ReplaySessionManager(cache, client, reader, objectMapper);
+        ReflectionTestUtils.setField(created, "defaultBackendUrl", "http://backend-default");
+        ReflectionTestUtils.setField(created, "workerCount", workers);
+        ReflectionTestUtils.setField(created, "maxSessions", 4);
+        ReflectionTestUtils.setField(created, "tickMs", 5L);
+        ReflectionTestUtils.setField(created, "defaultRowsPerSecond", 1_000);
+        ReflectionTestUtils.setField(created, "defaultBatchSize", 100);
+        ReflectionTestUtils.setField(created, "maxBatchSize", 10_000);
+        ReflectionTestUtils.setField(created, "maxBatchesPerTurn", maxBatchesPerTurn);
+        created.init();
+        return created;
+    }
+
+    private long sentBatches(String id) {
+        return (Long) manager.status(id).get("sentBatches");
+    }
+
+    private long count(String backendUrl) {
+        String batchUrl = MoaApiClient.batchUrlOf(backendUrl);
+        synchronized (sentUrls) {
+            return sentUrls.stream().filter(batchUrl::equals).count();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.moa.moadata.session.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplaySessionTest {
+
+    @Test
+    void intervalFollowsRate() {
+        // 100행 배치를 초당 1000행 → 100ms 마다
+        assertEquals(100_000_000L, ReplaySession.intervalNanos(100, 1_000));
+        assertEquals(1, ReplaySession.intervalNanos(1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void keepsCadenceWhenOnTime() {
+        long interval = 100;
+        assertEquals(1, ReplaySession.batchesDue(1_000, interval, 1_030, 16));
+        assertEquals(1_100, ReplaySession.nextDue(1_000, interval, 1, 1_030));
+    }
+
+    @Test
+    void sendsEveryBatchDueSinceLastTick() {
+        // 간격(1ms)이 tick(5ms)보다 짧으면 한 차례에 쌓인 배치를 모두 보냄 → 속도가 tick 에 묶이지 않음
+        long interval = 1_000_000;
+        long due = 0;
+        long now = 5_000_000;
+        int batches = ReplaySession.batchesDue(due, interval, now, 16);
+        assertEquals(6, batches);
+        assertEquals(6_000_000, ReplaySession.nextDue(due, interval, batches, now));
+    }
+
+    @Test
+    void catchesUpAtMostOneIntervalBeyondTheTurnLimit() {
+        long interval = 100;
+        // 한도(4배치)를 넘게 밀리면 다음 차례는 한 간격만 앞당겨짐 (몰아 보내지 않음)
+        int batches = ReplaySession.batchesDue(1_000, interval, 2_000, 4);
+        assertEquals(4, batches);
+        long next = ReplaySession.nextDue(1_000, interval, batches, 2_000);
+        assertEquals(1_900, next);
+    }
+}
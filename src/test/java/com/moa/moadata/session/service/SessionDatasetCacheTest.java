@@ -0,0 +1,158 @@
+package com.moa.moadata.session.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.reader.ReplayDataset;
+import com.moa.moadata.reader.S3DataReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * S3 없이 (S3DataReader 스텁) 세션 데이터셋 공유 / 참조 해제 검증
+ */
+class SessionDatasetCacheTest {
+
+    private final S3DataReader reader = mock(S3DataReader.class);
+    private final SessionDatasetCache cache = new SessionDatasetCache(reader, Jackson2ObjectMapperBuilder.json().build());
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void sameKeyAndEtagShareOneLoad() throws Exception {
+        when(reader.getDataset()).thenReturn(ReplayDataset.empty(null));
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+        when(reader.readObject("a.csv")).thenReturn(dataset("a.csv", "e1", 3, true));
+
+        SessionDatasetCache.Lease first = cache.acquire("a.csv");
+        SessionDatasetCache.Lease second = cache.acquire("a.csv");
+
+        assertSame(first.dataset(), second.dataset());
+        assertEquals(3, first.dataset().join().dataset().size());
+        verify(reader, times(1)).readObject("a.csv");
+        assertEquals(2, entry("a.csv@e1").get("sessions"));
+    }
+
+    @Test
+    void changedEtagLoadsSeparately() throws Exception {
+        when(reader.getDataset()).thenReturn(ReplayDataset.empty(null));
+        when(reader.headEtag("a.csv")).thenReturn("e1", "e2");
+        when(reader.readObject("a.csv")).thenReturn(dataset("a.csv", "e1", 3, true), dataset("a.csv", "e2", 5, true));
+
+        SessionDatasetCache.Lease before = cache.acquire("a.csv");
+        SessionDatasetCache.Lease after = cache.acquire("a.csv");
+
+        assertNotSame(before.dataset(), after.dataset());
+        assertEquals("a.csv@e1", before.dataset().join().cacheKey());
+        assertEquals("a.csv@e2", after.dataset().join().cacheKey());
+        assertEquals(2, cache.snapshot().size());
+    }
+
+    @Test
+    void lastReleaseDropsEntry() throws Exception {
+        when(reader.getDataset()).thenReturn(ReplayDataset.empty(null));
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+        when(reader.readObject("a.csv")).thenReturn(dataset("a.csv", "e1", 3, true));
+
+        SessionDatasetCache.Lease first = cache.acquire("a.csv");
+        SessionDatasetCache.Lease second = cache.acquire("a.csv");
+        first.dataset().join();
+
+        cache.release(first);
+        assertEquals(1, entry("a.csv@e1").get("sessions"));
+        cache.release(second);
+        assertTrue(cache.snapshot().isEmpty());
+
+        // 다 놓은 뒤 다시 잡으면 새로 읽음
+        cache.acquire("a.csv").dataset().join();
+        verify(reader, times(2)).readObject("a.csv");
+    }
+
+    @Test
+    void reusesServingDataset() throws Exception {
+        ReplayDataset serving = dataset("a.csv", "e1", 4, true);
+        when(reader.getDataset()).thenReturn(serving);
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+
+        SessionDatasetCache.Lease lease = cache.acquire("a.csv");
+
+        assertTrue(lease.dataset().isDone());
+        assertSame(serving, lease.dataset().join().dataset());
+        assertEquals(true, entry("a.csv@e1").get("sharedWithReplay"));
+        verify(reader, never()).readObject(anyString());
+    }
+
+    @Test
+    void servingDatasetStillLoadingIsNotReused() throws Exception {
+        // 첫 청크만 공개된 데이터셋은 일부 행뿐이라 세션용으로 따로 읽음
+        when(reader.getDataset()).thenReturn(dataset("a.csv", "e1", 2, false));
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+        when(reader.readObject("a.csv")).thenReturn(dataset("a.csv", "e1", 6, true));
+
+        assertEquals(6, cache.acquire("a.csv").dataset().join().dataset().size());
+        verify(reader).readObject("a.csv");
+    }
+
+    @Test
+    void failedLoadIsRetriedByNextSession() throws Exception {
+        when(reader.getDataset()).thenReturn(ReplayDataset.empty(null));
+        when(reader.headEtag("a.csv")).thenReturn("e1");
+        when(reader.readObject("a.csv"))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(dataset("a.csv", "e1", 3, true));
+
+        SessionDatasetCache.Lease failed = cache.acquire("a.csv");
+        assertThrows(Exception.class, () -> failed.dataset().join());
+        await(() -> cache.snapshot().isEmpty());
+
+        SessionDatasetCache.Lease retried = cache.acquire("a.csv");
+        assertNotSame(failed.dataset(), retried.dataset());
+        assertEquals(3, retried.dataset().join().dataset().size());
+    }
+
+    @Test
+    void unknownObjectIsRejected() {
+        when(reader.headEtag("missing.csv")).thenThrow(new RuntimeException("404"));
+
+        assertThrows(IllegalStateException.class, () -> cache.acquire("missing.csv"));
+        assertTrue(cache.snapshot().isEmpty());
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "5초 안에 조건을 만족하지 못함");
+            Thread.sleep(2);
+        }
+    }
+
+    private Map<String, Object> entry(String cacheKey) {
+        return cache.snapshot().stream()
+                .filter(item -> cacheKey.equals(item.get("dataset")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static ReplayDataset dataset(String key, String etag, int rows, boolean complete) {
+        List<HttpPageSample> samples = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            HttpPageSample sample = new HttpPageSample();
+            sample.setHttpHost("host-" + i);
+            samples.add(sample);
+        }
+        return new ReplayDataset(key, etag, samples, Instant.now(), complete);
+    }
+}
@@ -0,0 +1,58 @@
+package com.moa.moadata.sse.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseHeartbeatWheelTest {
+
+    @Test
+    void reapsDeadSubscribersInOneBatchPerSlot() {
+        List<List<SseSubscriber>> reaped = new ArrayList<>();
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(3000, 1000, reaped::add);
+        assertEquals(3, wheel.getSlotCount());
+
+        List<SseSubscriber> all = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            SseSubscriber subscriber = new SseSubscriber(new SseEmitter(), wheel.assignSlot());
+            wheel.add(subscriber);
+            all.add(subscriber);
+        }
+
+        // 슬롯 0에 들어간 두 구독자 (0, 3)
+        all.get(0).markDead();
+        all.get(3).markDead();
+
+        long now = System.nanoTime();
+        for (int i = 0; i < wheel.getSlotCount(); i++) {
+            wheel.tick(now);
+        }
+
+        assertEquals(1, reaped.size());
+        assertEquals(2, reaped.get(0).size());
+        assertTrue(reaped.get(0).contains(all.get(0)));
+        assertTrue(reaped.get(0).contains(all.get(3)));
+    }
+
+    @Test
+    void pingsOnlyIdleSubscribers() {
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(1000, 1000, dead -> fail("죽은 연결이 없어야 합니다"));
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(), wheel.assignSlot());
+        wheel.add(subscriber);
+
+        long lastWrite = subscriber.getLastWriteNanos();
+
+        // 방금 쓴 구독자는 핑하지 않음
+        wheel.tick(lastWrite);
+        assertEquals(lastWrite, subscriber.getLastWriteNanos());
+
+        // 주기가 지나면 핑 (성공 시 마지막 전송 시각 갱신)
+        wheel.tick(lastWrite + 2_000_000_000L);
+        assertTrue(subscriber.getLastWriteNanos() > lastWrite);
+        assertFalse(subscriber.isDead());
+    }
+}
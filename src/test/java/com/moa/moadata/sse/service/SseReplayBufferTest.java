@@ -0,0 +1,60 @@
+package com.moa.moadata.sse.service;
+
+import com.moa.moadata.sse.model.SseFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseReplayBufferTest {
+
+    private static final byte[] DATA = "{}".getBytes();
+
+    @Test
+    void idsIncreaseMonotonically() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, 100);
+
+        assertEquals(101, buffer.append("batch-data", DATA).id());
+        assertEquals(102, buffer.append("status", DATA).id());
+        assertEquals(102, buffer.getLastId());
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, 0);
+        for (int i = 0; i < 3; i++) {
+            buffer.append("batch-data", DATA);
+        }
+
+        List<SseFrame> missed = buffer.framesAfter(1);
+
+        assertEquals(2, missed.size());
+        assertEquals(2, missed.get(0).id());
+        assertEquals(3, missed.get(1).id());
+        assertSame(DATA, missed.get(0).data());
+        assertTrue(buffer.framesAfter(3).isEmpty());
+    }
+
+    @Test
+    void returnsNullWhenRangeWasOverwritten() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, 0);
+        for (int i = 0; i < 10; i++) {
+            buffer.append("batch-data", DATA);
+        }
+
+        // 버퍼에는 7~10만 남아있음
+        assertNull(buffer.framesAfter(5));
+        assertEquals(4, buffer.framesAfter(6).size());
+        assertEquals(7, buffer.framesAfter(6).get(0).id());
+    }
+
+    @Test
+    void returnsNullForUnknownFutureId() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, 0);
+        buffer.append("batch-data", DATA);
+
+        // 다른 프로세스에서 받은 ID
+        assertNull(buffer.framesAfter(999));
+    }
+}
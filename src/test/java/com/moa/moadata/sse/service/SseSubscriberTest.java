@@ -0,0 +1,51 @@
+package com.moa.moadata.sse.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseSubscriberTest {
+
+    @Test
+    void marksDeadWhenWriterQueueOverflows() {
+        List<Runnable> scheduled = new ArrayList<>();
+        Executor manual = scheduled::add;
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(), 0, manual, 2, lag -> { });
+
+        assertTrue(subscriber.offer(SseEmitter.event().name("a")));
+        assertTrue(subscriber.offer(SseEmitter.event().name("b")));
+        // writer 작업은 한 번만 예약
+        assertEquals(1, scheduled.size());
+
+        // 상한 초과 → dead
+        assertFalse(subscriber.offer(SseEmitter.event().name("c")));
+        assertTrue(subscriber.isDead());
+    }
+
+    @Test
+    void drainsQueueAndRecordsLag() {
+        List<Runnable> scheduled = new ArrayList<>();
+        List<Long> lags = new ArrayList<>();
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(), 0, scheduled::add, 16, lags::add);
+
+        for (int i = 0; i < 3; i++) {
+            subscriber.offer(SseEmitter.event().name("e" + i));
+        }
+        assertEquals(3, subscriber.getQueued());
+
+        scheduled.get(0).run();
+
+        assertEquals(0, subscriber.getQueued());
+        assertEquals(3, lags.size());
+        assertFalse(subscriber.isDead());
+
+        // 비운 뒤 다시 들어오면 새로 예약
+        subscriber.offer(SseEmitter.event().name("e3"));
+        assertEquals(2, scheduled.size());
+    }
+}
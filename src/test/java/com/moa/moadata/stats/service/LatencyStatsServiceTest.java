@@ -0,0 +1,66 @@
+package com.moa.moadata.stats.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.stats.model.LatencyDimension;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LatencyStatsServiceTest {
+
+    // 키 상한 2개, 최근 구간 슬롯 2개
+    private final LatencyStatsService service = new LatencyStatsService(mock(SseEmitterService.class), 2, 2, 1000);
+
+    @Test
+    void keysBeyondLimitAreMergedIntoOther() {
+        service.record(List.of(sample("a", 10), sample("b", 20), sample("c", 30), sample("d", 40)));
+
+        Map<String, Object> keys = keys(service.snapshot(LatencyDimension.HOST, false));
+        assertEquals(Set.of("a", "b", LatencyStatsService.OTHER_KEY), keys.keySet());
+        assertEquals(2L, count(keys, LatencyStatsService.OTHER_KEY));
+
+        // 국가가 없는 행은 __unknown__
+        assertEquals(4L, count(keys(service.snapshot(LatencyDimension.COUNTRY, false)), LatencyStatsService.UNKNOWN_KEY));
+    }
+
+    @Test
+    void recentWindowForgetsRotatedOutSlotsButTotalKeepsThem() {
+        service.record(List.of(sample("a", 10)));
+        service.rotate();
+        service.record(List.of(sample("a", 20)));
+        assertEquals(2L, count(keys(service.snapshot(LatencyDimension.HOST, true)), "a"));
+
+        // 슬롯 2개를 한 바퀴 돌면 첫 슬롯 (10) 은 최근 구간에서 빠짐
+        service.rotate();
+        assertEquals(1L, count(keys(service.snapshot(LatencyDimension.HOST, true)), "a"));
+
+        service.rotate();
+        assertTrue(keys(service.snapshot(LatencyDimension.HOST, true)).isEmpty());
+        assertEquals(2L, count(keys(service.snapshot(LatencyDimension.HOST, false)), "a"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> keys(Map<String, Object> snapshot) {
+        return (Map<String, Object>) snapshot.get("keys");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long count(Map<String, Object> keys, String key) {
+        Map<String, Object> metrics = (Map<String, Object>) keys.get(key);
+        Map<String, Object> tsPage = (Map<String, Object>) metrics.get("ts_page");
+        return (long) tsPage.get("count");
+    }
+
+    private static HttpPageSample sample(String host, double tsPage) {
+        HttpPageSample sample = new HttpPageSample();
+        sample.setHttpHost(host);
+        sample.setTsPage(tsPage);
+        return sample;
+    }
+}
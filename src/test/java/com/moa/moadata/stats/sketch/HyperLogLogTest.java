@@ -0,0 +1,41 @@
+package com.moa.moadata.stats.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesWithinStandardError() {
+        for (int distinct : new int[]{100, 5_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < distinct; i++) {
+                String ip = "10." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff) + ":" + (i >>> 24);
+                sketch.add(ip);
+                sketch.add(ip);   // 중복은 개수에 영향 없음
+            }
+            // 3 시그마
+            assertEquals(distinct, sketch.estimate(), distinct * 3 * sketch.getStandardError(), "n=" + distinct);
+        }
+    }
+
+    @Test
+    void mergeEqualsSingleSketch() {
+        HyperLogLog kr = new HyperLogLog();
+        HyperLogLog us = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            String value = "client-" + i;
+            (i % 3 == 0 ? kr : us).add(value);
+            all.add(value);
+        }
+
+        kr.merge(us);
+        assertEquals(all.estimate(), kr.estimate());
+        assertThrows(IllegalArgumentException.class, () -> kr.merge(new HyperLogLog(10)));
+
+        kr.reset();
+        assertEquals(0, kr.estimate());
+    }
+}
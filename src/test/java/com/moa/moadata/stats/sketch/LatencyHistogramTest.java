@@ -0,0 +1,89 @@
+package com.moa.moadata.stats.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private static final double RELATIVE_ERROR = 1.0 / (1 << LatencyHistogram.DEFAULT_SUB_BUCKET_BITS);
+
+    @Test
+    void quantilesStayWithinRelativeError() {
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 + random.nextDouble() * 19_900;  // 0.1 ~ 20초
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.5, 0.95, 0.99}) {
+            double exact = values[(int) Math.ceil(q * values.length) - 1];
+            double estimate = histogram.quantile(q);
+            assertEquals(exact, estimate, exact * RELATIVE_ERROR, "q=" + q);
+        }
+        assertEquals(values.length, histogram.getTotalCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void mergeEqualsSingleHistogram() {
+        LatencyHistogram lane1 = new LatencyHistogram();
+        LatencyHistogram lane2 = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? lane1 : lane2).record(i);
+            all.record(i);
+        }
+
+        LatencyHistogram merged = lane1.emptyCopy();
+        merged.merge(lane1);
+        merged.merge(lane2);
+
+        assertEquals(all.getTotalCount(), merged.getTotalCount());
+        assertEquals(all.quantile(0.99), merged.quantile(0.99));
+        assertEquals(all.getMean(), merged.getMean(), 1e-9);
+    }
+
+    @Test
+    void slowCountryScenarioMovesP99() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 980; i++) {
+            histogram.record(1000 + i);             // 정상 1~2초
+        }
+        double before = histogram.quantile(0.99);
+
+        for (int i = 0; i < 20; i++) {
+            histogram.record(15000 + i * 250);      // 느려짐 15~20초
+        }
+
+        assertTrue(before < 2000);
+        assertTrue(histogram.quantile(0.99) >= 15000 * (1 - RELATIVE_ERROR));
+    }
+
+    @Test
+    void ignoresInvalidValuesAndResets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        histogram.record(Double.NaN);
+        histogram.record(Double.POSITIVE_INFINITY);
+        assertEquals(0, histogram.getTotalCount());
+        assertTrue(Double.isNaN(histogram.quantile(0.5)));
+
+        histogram.record(0);
+        histogram.record(5);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.quantile(0.5));
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+    }
+}
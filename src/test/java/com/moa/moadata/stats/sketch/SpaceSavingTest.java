@@ -0,0 +1,64 @@
+package com.moa.moadata.stats.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void findsHeavyHittersInLongTail() {
+        Random random = new Random(42);
+        SpaceSaving sketch = new SpaceSaving(64);
+        Map<String, Long> exact = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // 상위 5개 호스트가 절반, 나머지는 10만 종류 긴 꼬리
+            String key = random.nextBoolean()
+                    ? "hot-" + random.nextInt(5)
+                    : "tail-" + random.nextInt(100_000);
+            sketch.add(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        List<SpaceSaving.Entry> top = sketch.top(5);
+        assertEquals(5, top.size());
+        for (SpaceSaving.Entry entry : top) {
+            assertTrue(entry.key().startsWith("hot-"), entry.key());
+            long actual = exact.get(entry.key());
+            // count - error <= 실제 <= count
+            assertTrue(entry.count() >= actual);
+            assertTrue(entry.count() - entry.error() <= actual);
+        }
+        assertTrue(top.get(0).count() >= top.get(4).count());
+        assertEquals(200_000, sketch.getTotal());
+        assertEquals(64, sketch.size());
+    }
+
+    @Test
+    void exactWhileUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(8);
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j <= i; j++) {
+                sketch.add("k" + i);
+            }
+        }
+        sketch.add(null);
+
+        List<SpaceSaving.Entry> top = sketch.top(10);
+        assertEquals(List.of(
+                new SpaceSaving.Entry("k3", 4, 0),
+                new SpaceSaving.Entry("k2", 3, 0),
+                new SpaceSaving.Entry("k1", 2, 0),
+                new SpaceSaving.Entry("k0", 1, 0)), top);
+
+        sketch.reset();
+        assertTrue(sketch.top(10).isEmpty());
+        assertEquals(0, sketch.estimate("k3"));
+    }
+}
@@ -0,0 +1,277 @@
+package com.moa.moadata.websocket;
+
+import com.moa.moadata.model.HttpPageSample;
+import com.moa.moadata.sse.service.SseEmitterService;
+import com.moa.moadata.websocket.service.BinaryStreamService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.beans.PropertyDescriptor;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SSE(JSON) vs WebSocket(바이너리) 클라이언트당 전송 바이트 / 서버 CPU 비교
+ *
+ * 실행: ./gradlew loadTest
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "moa.data.s3-bucket=load-test",
+                "moa.data.s3-key=none.csv",
+                "aws.region=ap-northeast-2",
+                "aws.access-key=test",
+                "aws.secret-key=test",
+                "moa.websocket.initial-credits=64",
+                "moa.websocket.max-credits=64"
+        })
+class StreamingLoadComparisonTest {
+
+    private static final int CLIENTS = 20;
+    private static final int BATCHES = 200;
+    private static final int BATCH_SIZE = 100;
+    private static final int CREDITS = 64;
+    // 크레딧 절반씩 보내고 모든 클라이언트가 받을 때까지 대기 (ack 처리가 조금 늦어도 크레딧이 남아서 버려지는 프레임 없음)
+    private static final int WINDOW = CREDITS / 2;
+
+    // 대시보드가 실제로 쓰는 컬럼 정도의 부분 구독
+    private static final List<String> DASHBOARD_FIELDS = List.of(
+            "rowKey", "tsServer", "srcIp", "dstIp", "httpHost", "httpUri", "httpMethod", "httpResCode",
+            "countryNameReq", "continentNameReq", "userAgentSoftwareName", "userAgentHardwareType",
+            "tsPage", "tsPageRes", "tsPageTcpConnectAvg", "mbps", "pps", "tcpErrorCnt",
+            "resCode5xxCnt", "pageErrorCnt");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SseEmitterService sseEmitterService;
+
+    @Autowired
+    private BinaryStreamService binaryStreamService;
+
+    @Test
+    void compareSseAndBinaryWebSocket() throws Exception {
+        List<List<HttpPageSample>> batches = generateBatches();
+
+        Result sse = runSse(batches);
+        Result wsAll = runWebSocket(batches, List.of());
+        Result wsDashboard = runWebSocket(batches, DASHBOARD_FIELDS);
+
+        log.info("========== 스트리밍 부하 비교 ({} 클라이언트 × {} 배치 × {}건) ==========",
+                CLIENTS, BATCHES, BATCH_SIZE);
+        log.info("{}", sse);
+        log.info("{}", wsAll);
+        log.info("{}", wsDashboard);
+
+        assertTrue(wsAll.bytesPerClient < sse.bytesPerClient, "바이너리(전체 컬럼)가 SSE JSON보다 작아야 합니다");
+        assertTrue(wsDashboard.bytesPerClient < wsAll.bytesPerClient, "부분 구독이 전체 구독보다 작아야 합니다");
+        // 크레딧이 모자라 버려진 배치가 있으면 바이트 비교가 의미 없음
+        assertEquals(0, wsAll.droppedBatches, "크레딧 부족으로 버려진 배치 (전체 컬럼)");
+        assertEquals(0, wsDashboard.droppedBatches, "크레딧 부족으로 버려진 배치 (부분 구독)");
+    }
+
+    private Result runSse(List<List<HttpPageSample>> batches) throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        AtomicLong totalBytes = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(CLIENTS);
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        byte[] marker = "event:batch-data".getBytes();
+        List<InputStream> streams = new ArrayList<>();
+
+        for (int c = 0; c < CLIENTS; c++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/sse/connect")).build();
+            InputStream in = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()).body();
+            streams.add(in);
+            connected.countDown();
+
+            Thread reader = new Thread(() -> {
+                byte[] buffer = new byte[64 * 1024];
+                int matched = 0;
+                int events = 0;
+                try {
+                    int n;
+                    while (events < BATCHES && (n = in.read(buffer)) > 0) {
+                        totalBytes.addAndGet(n);
+                        for (int i = 0; i < n; i++) {
+                            matched = buffer[i] == marker[matched] ? matched + 1 : (buffer[i] == marker[0] ? 1 : 0);
+                            if (matched == marker.length) {
+                                events++;
+                                matched = 0;
+                            }
+                        }
+                    }
+                } catch (Exception ignored) {
+                    // 연결 종료
+                } finally {
+                    done.countDown();
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        connected.await(10, TimeUnit.SECONDS);
+        waitUntil(() -> sseEmitterService.getEmitterCount() >= CLIENTS);
+
+        long cpuNanos = broadcast(() -> batches.forEach(sseEmitterService::sendBatchData));
+        done.await(60, TimeUnit.SECONDS);
+
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+        return new Result("SSE JSON (/api/sse/connect)", totalBytes.get() / CLIENTS, cpuNanos / CLIENTS, 0);
+    }
+
+    private Result runWebSocket(List<List<HttpPageSample>> batches, List<String> fields) throws Exception {
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        AtomicLong totalBytes = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        List<WebSocketSession> sessions = new ArrayList<>();
+        List<AtomicInteger> receivedByClient = new ArrayList<>();
+        String subscribe = fields.isEmpty()
+                ? "{\"type\":\"subscribe\",\"credits\":" + CREDITS + "}"
+                : "{\"type\":\"subscribe\",\"credits\":" + CREDITS + ",\"fields\":[\"" + String.join("\",\"", fields) + "\"]}";
+
+        for (int c = 0; c < CLIENTS; c++) {
+            AtomicInteger received = new AtomicInteger();
+            receivedByClient.add(received);
+            WebSocketSession session = client.execute(new AbstractWebSocketHandler() {
+
+                @Override
+                public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                    session.setBinaryMessageSizeLimit(16 * 1024 * 1024);
+                    session.sendMessage(new TextMessage(subscribe));
+                }
+
+                @Override
+                protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+                    totalBytes.addAndGet(message.getPayloadLength());
+                    // 배치 프레임마다 크레딧 1개 반환
+                    if (message.getPayload().get(3) == 1) {
+                        session.sendMessage(new TextMessage("{\"type\":\"ack\",\"credits\":1}"));
+                        if (received.incrementAndGet() == BATCHES) {
+                            done.countDown();
+                        }
+                    }
+                }
+            }, "ws://localhost:" + port + "/api/ws/stream").get(10, TimeUnit.SECONDS);
+            sessions.add(session);
+        }
+
+        waitUntil(() -> binaryStreamService.getSessionCount() >= CLIENTS);
+        Thread.sleep(200);  // subscribe 처리 대기
+
+        long cpuNanos = broadcast(() -> {
+            for (int from = 0; from < batches.size(); from += WINDOW) {
+                int to = Math.min(batches.size(), from + WINDOW);
+                for (List<HttpPageSample> batch : batches.subList(from, to)) {
+                    binaryStreamService.sendBatch(batch);
+                }
+                // 대기 중에는 이 스레드 CPU를 거의 쓰지 않으므로 측정값에 영향 없음
+                waitUntil(() -> receivedByClient.stream().allMatch(received -> received.get() >= to));
+            }
+        });
+        done.await(60, TimeUnit.SECONDS);
+        long dropped = (long) CLIENTS * BATCHES - receivedByClient.stream().mapToLong(AtomicInteger::get).sum();
+
+        for (WebSocketSession session : sessions) {
+            session.close();
+        }
+        String label = fields.isEmpty() ? "WebSocket 바이너리 (전체 컬럼)" : "WebSocket 바이너리 (" + fields.size() + "개 컬럼)";
+        return new Result(label, totalBytes.get() / CLIENTS, cpuNanos / CLIENTS, dropped);
+    }
+
+    private long broadcast(Broadcast action) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        action.run();
+        return threads.getCurrentThreadCpuTime() - start;
+    }
+
+    private interface Broadcast {
+        void run() throws InterruptedException;
+    }
+
+    private void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    // ============== 테스트 데이터 ==============
+    private List<List<HttpPageSample>> generateBatches() {
+        Random random = new Random(7);
+        String[] countries = {"KR", "US", "JP", "CN", "DE"};
+        String[] hosts = {"www.example.com", "api.example.com", "cdn.example.com", "m.example.com"};
+        String[] browsers = {"Chrome", "Safari", "Firefox", "Edge"};
+
+        List<List<HttpPageSample>> batches = new ArrayList<>();
+        for (int b = 0; b < BATCHES; b++) {
+            List<HttpPageSample> batch = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                HttpPageSample sample = new HttpPageSample();
+                BeanWrapper wrapper = new BeanWrapperImpl(sample);
+                for (PropertyDescriptor property : wrapper.getPropertyDescriptors()) {
+                    if (property.getWriteMethod() == null) continue;
+                    Class<?> type = property.getPropertyType();
+                    Object value;
+                    if (type == Integer.class) value = random.nextInt(100);
+                    else if (type == Long.class) value = (long) random.nextInt(1_000_000);
+                    else if (type == Double.class) value = random.nextDouble() * 10_000;
+                    else if (type == LocalDateTime.class) value = LocalDateTime.now();
+                    else if (type == String.class) value = "v" + random.nextInt(20);
+                    else continue;
+                    wrapper.setPropertyValue(property.getName(), value);
+                }
+                sample.setRowKey(UUID.randomUUID().toString());
+                sample.setCountryNameReq(countries[random.nextInt(countries.length)]);
+                sample.setHttpHost(hosts[random.nextInt(hosts.length)]);
+                sample.setUserAgentSoftwareName(browsers[random.nextInt(browsers.length)]);
+                batch.add(sample);
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private record Result(String label, long bytesPerClient, long cpuNanosPerClient, long droppedBatches) {
+        @Override
+        public String toString() {
+            return String.format("%-36s | 클라이언트당 %,12d bytes | 클라이언트당 CPU %,8.2f ms | 버려진 배치 %,d",
+                    label, bytesPerClient, cpuNanosPerClient / 1_000_000.0, droppedBatches);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.moa.moadata.websocket.handler;
+
+import com.moa.moadata.websocket.service.BinaryStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 잘못된 제어 메시지는 서버 오류가 아니라 BAD_DATA 로 닫는지 검증
+ */
+class BinaryStreamHandlerTest {
+
+    private final BinaryStreamService service = new BinaryStreamService(
+            Jackson2ObjectMapperBuilder.json().build(), 4, 64, 5000, 1024 * 1024);
+    private final BinaryStreamHandler handler = new BinaryStreamHandler(service);
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @BeforeEach
+    void setUp() {
+        when(session.getId()).thenReturn("ws-1");
+        when(session.isOpen()).thenReturn(true);
+        handler.afterConnectionEstablished(session);
+    }
+
+    @Test
+    void malformedJsonClosesWithBadData() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("{\"type\":"));
+
+        assertEquals(CloseStatus.BAD_DATA.getCode(), closedWith().getCode());
+    }
+
+    @Test
+    void wrongFieldTypeClosesWithBadData() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("{\"type\":\"ack\",\"credits\":\"many\"}"));
+
+        assertEquals(CloseStatus.BAD_DATA.getCode(), closedWith().getCode());
+    }
+
+    @Test
+    void unknownFieldClosesWithBadData() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("{\"type\":\"subscribe\",\"fields\":[\"noSuchField\"]}"));
+
+        CloseStatus status = closedWith();
+        assertEquals(CloseStatus.BAD_DATA.getCode(), status.getCode());
+        assertTrue(status.getReason().contains("noSuchField"));
+    }
+
+    @Test
+    void validSubscribeKeepsSessionOpen() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("{\"type\":\"subscribe\",\"fields\":[\"srcIp\"]}"));
+
+        verify(session).sendMessage(any(BinaryMessage.class));
+        verify(session, never()).close(any(CloseStatus.class));
+    }
+
+    private CloseStatus closedWith() throws Exception {
+        ArgumentCaptor<CloseStatus> status = ArgumentCaptor.forClass(CloseStatus.class);
+        verify(session).close(status.capture());
+        return status.getValue();
+    }
+}
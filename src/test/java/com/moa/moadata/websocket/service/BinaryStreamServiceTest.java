@@ -0,0 +1,99 @@
+package com.moa.moadata.websocket.service;
+
+import com.moa.moadata.model.HttpPageSample;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BinaryStreamServiceTest {
+
+    private static final String SUBSCRIBE = "{\"type\":\"subscribe\",\"credits\":8,\"fields\":[\"srcIp\"]}";
+
+    // 전송 시간 한도 50ms
+    private final BinaryStreamService service = new BinaryStreamService(
+            Jackson2ObjectMapperBuilder.json().build(), 4, 64, 50, 1024 * 1024);
+
+    @Test
+    void slowSessionIsClosedAndRemovedWithoutStoppingFanOut() throws Exception {
+        WebSocketSession fast = session("fast");
+        WebSocketSession slow = session("slow");
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.register(fast);
+        service.register(slow);
+        service.handleControl("fast", SUBSCRIBE);
+        service.handleControl("slow", SUBSCRIBE);
+
+        // 구독 (schema 프레임) 이후 slow 세션의 전송이 멈춤
+        doAnswer(invocation -> {
+            stuck.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendMessage(any(WebSocketMessage.class));
+
+        Thread first = new Thread(() -> service.sendBatch(batch()));
+        first.start();
+        assertTrue(stuck.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // 한도를 넘긴 세션은 SessionLimitExceededException → 닫고 제거, 나머지 세션에는 계속 전송
+        service.sendBatch(batch());
+        assertEquals(1, service.getSessionCount());
+        verify(slow).close(any(CloseStatus.class));
+
+        release.countDown();
+        first.join(5_000);
+        // schema + 배치 2개
+        verify(fast, times(3)).sendMessage(any(BinaryMessage.class));
+    }
+
+    @Test
+    void resubscribeEncodesNextBatchWithNewColumns() throws Exception {
+        WebSocketSession narrow = session("narrow");
+        WebSocketSession wide = session("wide");
+        service.register(narrow);
+        service.register(wide);
+        service.handleControl("narrow", SUBSCRIBE);
+        service.handleControl("wide", SUBSCRIBE);
+        service.handleControl("wide",
+                "{\"type\":\"subscribe\",\"credits\":8,\"fields\":[\"srcIp\",\"dstIp\",\"httpHost\"]}");
+
+        service.sendBatch(batch());
+
+        // 같은 키를 쓰던 구독자끼리도 다시 구독한 쪽은 자기 컬럼으로 인코딩된 프레임을 받음
+        assertTrue(lastFrameLength(wide) > lastFrameLength(narrow));
+    }
+
+    private static int lastFrameLength(WebSocketSession session) throws Exception {
+        ArgumentCaptor<BinaryMessage> frames = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session, atLeastOnce()).sendMessage(frames.capture());
+        return frames.getValue().getPayloadLength();
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static List<HttpPageSample> batch() {
+        HttpPageSample sample = new HttpPageSample();
+        sample.setSrcIp("10.0.0.1");
+        sample.setDstIp("10.0.0.2");
+        sample.setHttpHost("www.example.com");
+        return List.of(sample);
+    }
+}